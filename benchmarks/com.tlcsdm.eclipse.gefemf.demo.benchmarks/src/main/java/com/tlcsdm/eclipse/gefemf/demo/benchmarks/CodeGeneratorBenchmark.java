@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglCodeGenerator;
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglGeneratorOptions;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+
+/**
+ * Benchmarks generating the C header and source with {@link LvglCodeGenerator}.
+ * <p>
+ * The generator gets default {@link LvglGeneratorOptions}, so the results do not depend
+ * on the preferences of a workbench.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodeGeneratorBenchmark {
+
+	@Param({ "10", "1000", "100000" })
+	public int widgetCount;
+
+	@Param({ "0", "8", "256" })
+	public int maxDepth;
+
+	private LvglCodeGenerator generator;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		LvglScreen screen = SyntheticScreens.create(widgetCount, maxDepth, 42);
+		generator = new LvglCodeGenerator(screen, "bench_screen", new LvglGeneratorOptions());
+	}
+
+	@Benchmark
+	public String generateHeader() {
+		return generator.generateHeader();
+	}
+
+	@Benchmark
+	public String generateSource() {
+		return generator.generateSource();
+	}
+
+	@Benchmark
+	public void generateSourceToWriter() throws IOException {
+		generator.generateSource(Writer.nullWriter());
+	}
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.benchmarks;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
+import com.tlcsdm.eclipse.gefemf.demo.model.ModelElement;
+
+/**
+ * Benchmarks the fan-out of {@link ModelElement} property change events.
+ * <p>
+ * {@link #singleElement} changes one widget observed by {@code listenerCount} listeners;
+ * {@link #singleElementBatched} makes the same changes in one batch, delivering a single
+ * merged event.
+ * {@link #wholeScreen} changes every widget of a synthetic screen where each element has
+ * one listener, which is what the open editor looks like with one edit part per widget.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertyChangeBenchmark {
+
+	/**
+	 * Counts received events so the listener work cannot be optimized away.
+	 */
+	static class CountingListener implements PropertyChangeListener {
+
+		int events;
+
+		@Override
+		public void propertyChange(PropertyChangeEvent event) {
+			events++;
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class SingleElement {
+
+		@Param({ "1", "16", "256" })
+		public int listenerCount;
+
+		final CountingListener listener = new CountingListener();
+		LvglWidget widget;
+		int counter;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			widget = new LvglWidget("target", LvglWidget.WidgetType.BUTTON);
+			for (int i = 0; i < listenerCount; i++) {
+				// PropertyChangeSupport allows registering the same listener several times
+				widget.addPropertyChangeListener(listener);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class WholeScreen {
+
+		@Param({ "1000", "100000" })
+		public int widgetCount;
+
+		final CountingListener listener = new CountingListener();
+		List<LvglWidget> widgets;
+		int counter;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			LvglScreen screen = SyntheticScreens.create(widgetCount, 8, 42);
+			screen.addPropertyChangeListener(listener);
+			widgets = new ArrayList<>(widgetCount);
+			collect(screen.getWidgets(), widgets);
+			for (LvglWidget widget : widgets) {
+				widget.addPropertyChangeListener(listener);
+			}
+		}
+
+		private static void collect(List<LvglWidget> source, List<LvglWidget> result) {
+			for (LvglWidget widget : source) {
+				result.add(widget);
+				collect(widget.getChildren(), result);
+			}
+		}
+	}
+
+	@Benchmark
+	public int singleElement(SingleElement state) {
+		int value = ++state.counter;
+		LvglWidget widget = state.widget;
+		widget.setBgColor(value & 0xFFFFFF);
+		widget.setText(Integer.toString(value));
+		widget.setBounds(new Rectangle(value & 0xFF, value & 0xFF, 100, 40));
+		return state.listener.events;
+	}
+
+	@Benchmark
+	public int singleElementBatched(SingleElement state) {
+		int value = ++state.counter;
+		LvglWidget widget = state.widget;
+		ModelElement.beginBatch();
+		try {
+			widget.setBgColor(value & 0xFFFFFF);
+			widget.setText(Integer.toString(value));
+			widget.setBounds(new Rectangle(value & 0xFF, value & 0xFF, 100, 40));
+		} finally {
+			ModelElement.endBatch();
+		}
+		return state.listener.events;
+	}
+
+	@Benchmark
+	public int wholeScreen(WholeScreen state) {
+		int value = ++state.counter;
+		for (LvglWidget widget : state.widgets) {
+			widget.setBgColor(value & 0xFFFFFF);
+		}
+		return state.listener.events;
+	}
+}
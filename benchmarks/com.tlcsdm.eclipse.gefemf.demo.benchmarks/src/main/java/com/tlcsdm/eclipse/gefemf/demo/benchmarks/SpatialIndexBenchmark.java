@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
+import com.tlcsdm.eclipse.gefemf.demo.model.WidgetSpatialIndex;
+
+/**
+ * Benchmarks {@link WidgetSpatialIndex} on a flat synthetic screen.
+ * <p>
+ * {@link #findIndexed} looks up the widgets overlapping a small area through the index,
+ * {@link #findLinear} scans every widget like the code did before the index existed, and
+ * {@link #moveWidget} measures the cost the index adds to {@link LvglWidget#setBounds}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SpatialIndexBenchmark {
+
+	@Param({ "1000", "10000", "100000" })
+	public int widgetCount;
+
+	private LvglScreen screen;
+	private List<LvglWidget> widgets;
+	private int counter;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		screen = SyntheticScreens.create(widgetCount, 0, 42);
+		widgets = screen.getWidgets();
+		// Build the index outside of the measurement
+		screen.findWidgets(new Rectangle(0, 0, 1, 1));
+	}
+
+	private Rectangle nextArea() {
+		int value = ++counter;
+		return new Rectangle((value * 37) % 800, (value * 53) % 480, 40, 40);
+	}
+
+	@Benchmark
+	public int findIndexed() {
+		return screen.findWidgets(nextArea()).size();
+	}
+
+	@Benchmark
+	public int findLinear() {
+		Rectangle area = nextArea();
+		int count = 0;
+		for (LvglWidget widget : widgets) {
+			if (widget.getBounds().intersects(area)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public Rectangle moveWidget() {
+		Rectangle area = nextArea();
+		LvglWidget widget = widgets.get(counter % widgets.size());
+		widget.setBounds(new Rectangle(area.x, area.y, widget.getBounds().width, widget.getBounds().height));
+		return widget.getBounds();
+	}
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
+
+/**
+ * Builds deterministic synthetic LVGL screens for benchmarks.
+ * <p>
+ * A screen has exactly {@code widgetCount} widgets of all types with their type-specific
+ * properties filled in. With {@code maxDepth > 0} a chain of containers {@code maxDepth}
+ * levels deep is created first and the remaining widgets are spread over random containers
+ * that are not deeper than {@code maxDepth}; with {@code maxDepth == 0} the screen is flat.
+ * </p>
+ */
+public final class SyntheticScreens {
+
+	private static final LvglWidget.WidgetType[] TYPES = LvglWidget.WidgetType.values();
+	private static final String[] TEXTS = { "", "OK", "Cancel", "Temperature: 21.5 C", "Hello \"LVGL\" & <friends>",
+			"Multi\nline\ttext", "Ünïcödé 文字" };
+
+	private SyntheticScreens() {
+	}
+
+	/**
+	 * Create a screen with the given number of widgets and nesting depth.
+	 *
+	 * @param widgetCount total number of widgets, including containers
+	 * @param maxDepth    maximum container nesting depth, 0 for a flat screen
+	 * @param seed        random seed, the same arguments always produce the same screen
+	 */
+	public static LvglScreen create(int widgetCount, int maxDepth, long seed) {
+		Random random = new Random(seed);
+		LvglScreen screen = new LvglScreen("bench_screen");
+		screen.setWidth(800);
+		screen.setHeight(480);
+		screen.setBgColor(0x202020);
+
+		// Containers that may still receive children, with their depth
+		List<LvglWidget> containers = new ArrayList<>();
+		List<Integer> depths = new ArrayList<>();
+		int created = 0;
+
+		LvglWidget parent = null;
+		for (int depth = 1; depth <= maxDepth && created < widgetCount; depth++) {
+			LvglWidget container = createWidget(random, created++, LvglWidget.WidgetType.CONTAINER);
+			attach(screen, parent, container);
+			if (depth < maxDepth) {
+				containers.add(container);
+				depths.add(depth);
+			}
+			parent = container;
+		}
+
+		while (created < widgetCount) {
+			LvglWidget.WidgetType type = maxDepth > 0 && random.nextInt(10) == 0 ? LvglWidget.WidgetType.CONTAINER
+					: TYPES[random.nextInt(TYPES.length)];
+			LvglWidget widget = createWidget(random, created++, type);
+
+			int depth = 1;
+			parent = null;
+			if (!containers.isEmpty() && random.nextInt(4) != 0) {
+				int index = random.nextInt(containers.size());
+				parent = containers.get(index);
+				depth = depths.get(index) + 1;
+			}
+			attach(screen, parent, widget);
+			if (type == LvglWidget.WidgetType.CONTAINER && depth < maxDepth) {
+				containers.add(widget);
+				depths.add(depth);
+			}
+		}
+		return screen;
+	}
+
+	private static void attach(LvglScreen screen, LvglWidget parent, LvglWidget widget) {
+		if (parent != null) {
+			parent.addChild(widget);
+		} else {
+			screen.addWidget(widget);
+		}
+	}
+
+	private static LvglWidget createWidget(Random random, int index, LvglWidget.WidgetType type) {
+		LvglWidget widget = new LvglWidget(type.name().toLowerCase() + "_" + index, type);
+		widget.setText(TEXTS[random.nextInt(TEXTS.length)]);
+		widget.setBounds(new Rectangle(random.nextInt(800), random.nextInt(480), 20 + random.nextInt(200),
+				20 + random.nextInt(100)));
+		widget.setBgColor(random.nextInt(0x1000000));
+		widget.setTextColor(random.nextInt(0x1000000));
+		widget.setBorderWidth(random.nextInt(4));
+		widget.setBorderColor(random.nextInt(0x1000000));
+		widget.setRadius(random.nextInt(12));
+
+		switch (type) {
+		case IMAGE:
+			widget.setImageSource(random.nextBoolean() ? "img_logo_" + index : "S:/images/icon_" + index + ".png");
+			break;
+		case CHECKBOX:
+		case SWITCH:
+			widget.setChecked(random.nextBoolean());
+			break;
+		case SLIDER:
+		case ARC:
+		case BAR:
+			widget.setMinValue(random.nextInt(10));
+			widget.setMaxValue(50 + random.nextInt(200));
+			widget.setValue(random.nextInt(50));
+			break;
+		case TABLE:
+			widget.setRowCount(1 + random.nextInt(5));
+			widget.setColumnCount(1 + random.nextInt(5));
+			widget.setTableData("A,B,C;1,2,3;x,y,z");
+			break;
+		case CONTAINER:
+			LvglWidget.LayoutType[] layouts = LvglWidget.LayoutType.values();
+			widget.setLayoutType(layouts[random.nextInt(layouts.length)]);
+			LvglWidget.FlexAlign[] aligns = LvglWidget.FlexAlign.values();
+			LvglWidget.FlexFlow[] flows = LvglWidget.FlexFlow.values();
+			widget.setFlexFlow(flows[random.nextInt(flows.length)]);
+			widget.setFlexMainAlign(aligns[random.nextInt(aligns.length)]);
+			widget.setFlexCrossAlign(aligns[random.nextInt(aligns.length)]);
+			widget.setFlexTrackAlign(aligns[random.nextInt(aligns.length)]);
+			widget.setPadRow(random.nextInt(10));
+			widget.setPadColumn(random.nextInt(10));
+			break;
+		default:
+			break;
+		}
+		return widget;
+	}
+}
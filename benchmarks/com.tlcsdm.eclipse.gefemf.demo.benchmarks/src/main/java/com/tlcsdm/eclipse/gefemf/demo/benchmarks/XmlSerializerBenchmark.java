@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglXmlSerializer;
+
+/**
+ * Benchmarks loading and saving screens with {@link LvglXmlSerializer}, including the
+ * DOM based fallbacks for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlSerializerBenchmark {
+
+	@Param({ "10", "1000", "100000" })
+	public int widgetCount;
+
+	@Param({ "0", "8", "256" })
+	public int maxDepth;
+
+	private final LvglXmlSerializer serializer = new LvglXmlSerializer();
+	private LvglScreen screen;
+	private byte[] xml;
+	private ByteArrayOutputStream output;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		screen = SyntheticScreens.create(widgetCount, maxDepth, 42);
+		output = new ByteArrayOutputStream();
+		serializer.save(screen, output);
+		xml = output.toByteArray();
+	}
+
+	@Benchmark
+	public LvglScreen load() throws Exception {
+		return serializer.load(new ByteArrayInputStream(xml));
+	}
+
+	@Benchmark
+	public LvglScreen loadDom() throws Exception {
+		return serializer.loadDom(new ByteArrayInputStream(xml));
+	}
+
+	@Benchmark
+	public int save() throws Exception {
+		output.reset();
+		serializer.save(screen, output);
+		return output.size();
+	}
+
+	@Benchmark
+	public int saveDom() throws Exception {
+		output.reset();
+		serializer.saveDom(screen, output);
+		return output.size();
+	}
+}
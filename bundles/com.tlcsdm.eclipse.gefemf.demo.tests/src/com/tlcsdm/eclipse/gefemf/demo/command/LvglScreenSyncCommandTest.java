@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglBinarySerializer;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
+import com.tlcsdm.eclipse.gefemf.demo.model.TestScreens;
+
+/**
+ * Tests for {@link LvglScreenSyncCommand}.
+ */
+public class LvglScreenSyncCommandTest {
+
+	@Test
+	public void equalScreenHasNoChanges() throws Exception {
+		// Loaded like the editor does, so properties a file does not keep are not set
+		LvglScreen screen = copy(TestScreens.create(100, 3, 1));
+		LvglScreenSyncCommand command = new LvglScreenSyncCommand(screen, copy(screen));
+		assertFalse(command.hasChanges());
+		assertFalse(command.canExecute());
+	}
+
+	@Test
+	public void executeUndoAndRedo() throws Exception {
+		Random random = new Random(2);
+		for (int i = 0; i < 50; i++) {
+			LvglScreen screen = TestScreens.create(60, 3, i);
+			LvglScreen loaded = copy(screen);
+			for (int edits = 1 + random.nextInt(6); edits > 0; edits--) {
+				edit(random, loaded);
+			}
+			String before = TestScreens.toXml(screen);
+			String after = TestScreens.toXml(loaded);
+			List<LvglWidget> widgets = allWidgets(screen);
+
+			LvglScreenSyncCommand command = new LvglScreenSyncCommand(screen, loaded);
+			assertTrue(command.canExecute());
+			command.execute();
+			assertEquals(after, TestScreens.toXml(screen));
+			command.undo();
+			assertEquals(before, TestScreens.toXml(screen));
+			// Undo restores the original widgets, not equal ones
+			List<LvglWidget> restored = allWidgets(screen);
+			for (int j = 0; j < widgets.size(); j++) {
+				assertSame(widgets.get(j), restored.get(j));
+			}
+			command.redo();
+			assertEquals(after, TestScreens.toXml(screen));
+		}
+	}
+
+	@Test
+	public void keepsWidgetsMatchedByName() throws Exception {
+		LvglScreen screen = TestScreens.create(30, 2, 3);
+		LvglWidget first = screen.getWidgets().get(0);
+		LvglWidget last = screen.getWidgets().get(screen.getWidgets().size() - 1);
+		LvglScreen loaded = copy(screen);
+		// Moved to the front and changed
+		LvglWidget loadedLast = loaded.getWidgets().get(loaded.getWidgets().size() - 1);
+		loaded.removeWidget(loadedLast);
+		loaded.insertWidget(0, loadedLast);
+		loadedLast.setText("changed");
+		loadedLast.setBounds(new Rectangle(1, 2, 3, 4));
+
+		new LvglScreenSyncCommand(screen, loaded).execute();
+		assertSame(last, screen.getWidgets().get(0));
+		assertSame(first, screen.getWidgets().get(1));
+		assertEquals("changed", last.getText());
+		assertEquals(new Rectangle(1, 2, 3, 4), last.getBounds());
+	}
+
+	@Test
+	public void keepsRenamedWidget() throws Exception {
+		LvglScreen screen = screenOf(button("ok"), button("cancel"), label("title"));
+		LvglWidget cancel = screen.getWidgets().get(1);
+		LvglScreen loaded = copy(screen);
+		loaded.getWidgets().get(1).setName("abort");
+
+		new LvglScreenSyncCommand(screen, loaded).execute();
+		assertSame(cancel, screen.getWidgets().get(1));
+		assertEquals("abort", cancel.getName());
+	}
+
+	@Test
+	public void doesNotReuseUnrelatedWidgetsOfSameType() throws Exception {
+		LvglScreen screen = screenOf(button("ok"), button("help"), label("title"), button("cancel"));
+		LvglWidget ok = screen.getWidgets().get(0);
+		LvglWidget help = screen.getWidgets().get(1);
+		LvglWidget title = screen.getWidgets().get(2);
+		LvglWidget cancel = screen.getWidgets().get(3);
+		LvglScreen loaded = copy(screen);
+		// Two buttons deleted and two others added at other indices
+		loaded.removeWidget(loaded.getWidgets().get(0));
+		loaded.removeWidget(loaded.getWidgets().get(0));
+		LvglWidget loadedTitle = loaded.getWidgets().get(0);
+		loaded.removeWidget(loadedTitle);
+		loaded.insertWidget(1, loadedTitle);
+		LvglWidget retry = button("retry");
+		LvglWidget skip = button("skip");
+		loaded.addWidget(retry);
+		loaded.addWidget(skip);
+		String expected = TestScreens.toXml(loaded);
+
+		new LvglScreenSyncCommand(screen, loaded).execute();
+		assertEquals(expected, TestScreens.toXml(screen));
+		assertEquals(List.of(cancel, title, retry, skip), screen.getWidgets());
+		assertEquals("ok", ok.getName());
+		assertEquals("help", help.getName());
+	}
+
+	@Test
+	public void reusesOnlyRemainingWidgetOfSameType() throws Exception {
+		LvglScreen screen = screenOf(button("ok"), label("title"), button("cancel"));
+		LvglWidget ok = screen.getWidgets().get(0);
+		LvglScreen loaded = copy(screen);
+		// Taken as a rename, so the edit part of the button is kept
+		loaded.removeWidget(loaded.getWidgets().get(0));
+		loaded.addWidget(button("retry"));
+		String expected = TestScreens.toXml(loaded);
+
+		new LvglScreenSyncCommand(screen, loaded).execute();
+		assertEquals(expected, TestScreens.toXml(screen));
+		assertSame(ok, screen.getWidgets().get(2));
+		assertEquals("retry", ok.getName());
+	}
+
+	@Test
+	public void syncsNestedWidgetsAndScreenProperties() throws Exception {
+		LvglWidget panel = new LvglWidget("panel", LvglWidget.WidgetType.CONTAINER);
+		panel.addChild(button("inner"));
+		LvglScreen screen = screenOf(panel, label("title"));
+		LvglWidget inner = panel.getChildren().get(0);
+		LvglScreen loaded = copy(screen);
+		loaded.setName("renamed_screen");
+		loaded.setBgColor(0x123456);
+		loaded.getWidgets().get(0).getChildren().get(0).setText("inner text");
+		loaded.getWidgets().get(0).addChild(label("inner_label"));
+		String before = TestScreens.toXml(screen);
+		String expected = TestScreens.toXml(loaded);
+
+		LvglScreenSyncCommand command = new LvglScreenSyncCommand(screen, loaded);
+		command.execute();
+		assertEquals(expected, TestScreens.toXml(screen));
+		assertSame(panel, screen.getWidgets().get(0));
+		assertSame(inner, panel.getChildren().get(0));
+		assertEquals(2, panel.getChildren().size());
+		command.undo();
+		assertEquals(before, TestScreens.toXml(screen));
+		assertEquals(1, panel.getChildren().size());
+	}
+
+	/**
+	 * Make a random change to a screen as a user editing the XML source could.
+	 */
+	private static void edit(Random random, LvglScreen screen) {
+		List<LvglWidget> widgets = allWidgets(screen);
+		LvglWidget widget = widgets.get(random.nextInt(widgets.size()));
+		List<Consumer<LvglWidget>> edits = List.of(
+				w -> w.setText("edited " + random.nextInt(100)),
+				w -> w.setName(w.getName() + "_renamed"),
+				w -> w.setBounds(new Rectangle(random.nextInt(400), random.nextInt(300), 40, 20)),
+				w -> w.setBgColor(random.nextInt(0x1000000)),
+				w -> remove(screen, w),
+				w -> insert(screen, w, label("new_" + random.nextInt(1000))),
+				w -> {
+					remove(screen, w);
+					screen.insertWidget(random.nextInt(screen.getWidgets().size() + 1), w);
+				});
+		edits.get(random.nextInt(edits.size())).accept(widget);
+	}
+
+	private static void remove(LvglScreen screen, LvglWidget widget) {
+		if (widget.getParent() != null) {
+			widget.getParent().removeChild(widget);
+		} else {
+			screen.removeWidget(widget);
+		}
+	}
+
+	private static void insert(LvglScreen screen, LvglWidget sibling, LvglWidget widget) {
+		if (sibling.getParent() != null) {
+			sibling.getParent().insertChild(sibling.getParent().getChildren().indexOf(sibling), widget);
+		} else {
+			screen.insertWidget(screen.getWidgets().indexOf(sibling), widget);
+		}
+	}
+
+	private static List<LvglWidget> allWidgets(LvglScreen screen) {
+		List<LvglWidget> all = new ArrayList<>();
+		for (LvglWidget widget : screen.getWidgets()) {
+			addTree(widget, all);
+		}
+		return all;
+	}
+
+	private static void addTree(LvglWidget widget, List<LvglWidget> all) {
+		all.add(widget);
+		for (LvglWidget child : widget.getChildren()) {
+			addTree(child, all);
+		}
+	}
+
+	private static LvglScreen copy(LvglScreen screen) throws Exception {
+		return new LvglBinarySerializer().copy(screen);
+	}
+
+	private static LvglScreen screenOf(LvglWidget... widgets) {
+		LvglScreen screen = new LvglScreen("screen");
+		int y = 0;
+		for (LvglWidget widget : widgets) {
+			widget.setBounds(new Rectangle(10, y, 100, 30));
+			y += 40;
+			screen.addWidget(widget);
+		}
+		return screen;
+	}
+
+	private static LvglWidget button(String name) {
+		return new LvglWidget(name, LvglWidget.WidgetType.BUTTON);
+	}
+
+	private static LvglWidget label(String name) {
+		return new LvglWidget(name, LvglWidget.WidgetType.LABEL);
+	}
+}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
+import com.tlcsdm.eclipse.gefemf.demo.model.TestScreens;
+
+/**
+ * Tests for {@link LvglCodeGenerator}.
+ */
+public class LvglCodeGeneratorTest {
+
+	/** Sink counting the chunks it receives */
+	private static final class ChunkCounter implements Appendable {
+
+		private final StringBuilder content = new StringBuilder();
+		private int chunks;
+
+		@Override
+		public Appendable append(CharSequence csq) {
+			chunks++;
+			content.append(csq);
+			return this;
+		}
+
+		@Override
+		public Appendable append(CharSequence csq, int start, int end) {
+			return append(csq.subSequence(start, end));
+		}
+
+		@Override
+		public Appendable append(char c) {
+			return append(String.valueOf(c));
+		}
+	}
+
+	@Test
+	public void streamedOutputEqualsStringsInEveryMode() throws IOException {
+		for (LvglGeneratorOptions options : allOptions()) {
+			for (int depth = 0; depth <= 3; depth += 3) {
+				LvglScreen screen = TestScreens.create(200, depth, depth);
+				LvglCodeGenerator generator = new LvglCodeGenerator(screen, "main", options);
+				String mode = describe(options) + ", depth " + depth;
+
+				String header = generator.generateHeader();
+				StringWriter headerWriter = new StringWriter();
+				generator.generateHeader(headerWriter);
+				assertEquals(header, headerWriter.toString(), mode);
+
+				String source = generator.generateSource();
+				StringWriter sourceWriter = new StringWriter();
+				generator.generateSource(sourceWriter);
+				assertEquals(source, sourceWriter.toString(), mode);
+
+				ByteArrayOutputStream sourceBytes = new ByteArrayOutputStream();
+				generator.generateSource(Channels.newChannel(sourceBytes));
+				assertEquals(source, sourceBytes.toString(StandardCharsets.UTF_8), mode);
+			}
+		}
+	}
+
+	@Test
+	public void largeOutputIsStreamedInChunks() throws IOException {
+		LvglScreen screen = TestScreens.create(2000, 2, 5);
+		LvglCodeGenerator generator = new LvglCodeGenerator(screen, "main", new LvglGeneratorOptions());
+		ChunkCounter sink = new ChunkCounter();
+		generator.generateSource(sink);
+		assertEquals(generator.generateSource(), sink.content.toString());
+		assertTrue(sink.chunks > 1, "chunks: " + sink.chunks);
+	}
+
+	@Test
+	public void streamedUnitsEqualStringUnitsInEveryMode() throws IOException {
+		for (LvglGeneratorOptions options : allOptions()) {
+			LvglScreen screen = TestScreens.create(300, 3, 17);
+			LvglCodeGenerator generator = new LvglCodeGenerator(screen, "main", options);
+			String mode = describe(options);
+
+			Map<String, String> streamed = new ConcurrentHashMap<>();
+			generator.generateUnits((fileName, content) -> {
+				StringWriter writer = new StringWriter();
+				content.generate(writer);
+				streamed.put(fileName, writer.toString());
+			});
+			Map<String, String> units = generator.generateUnits();
+			assertIterableEquals(generator.getUnitFileNames(), units.keySet(), mode);
+			assertEquals(units, streamed, mode);
+
+			boolean split = options.isSplitUnits()
+					&& options.getCreationMode() == LvglGeneratorOptions.CreationMode.UNROLLED;
+			assertEquals(split, !units.isEmpty(), mode);
+			for (Map.Entry<String, String> unit : units.entrySet()) {
+				assertTrue(LvglCodeGenerator.isUnitFileName("main", unit.getKey()), unit.getKey());
+				assertTrue(LvglCodeGenerator.isUnitOf("main", unit.getValue()), unit.getKey());
+			}
+		}
+	}
+
+	@Test
+	public void unitsBelongToTheirScreenOnly() {
+		LvglGeneratorOptions options = new LvglGeneratorOptions();
+		options.setSplitUnits(true);
+		LvglScreen screen = TestScreens.create(100, 2, 23);
+		Map<String, String> units = new LvglCodeGenerator(screen, "main__x", options).generateUnits();
+		assertFalse(units.isEmpty());
+		for (Map.Entry<String, String> unit : units.entrySet()) {
+			// The name of a sibling screen's unit looks like one of "main", the content tells them apart
+			assertTrue(LvglCodeGenerator.isUnitFileName("main", unit.getKey()), unit.getKey());
+			assertFalse(LvglCodeGenerator.isUnitOf("main", unit.getValue()), unit.getKey());
+			assertTrue(LvglCodeGenerator.isUnitOf("main__x", unit.getValue().replace("\n", "\r\n")), unit.getKey());
+		}
+		assertFalse(LvglCodeGenerator.isUnitFileName("main", "main.c"));
+		assertFalse(LvglCodeGenerator.isUnitOf("main", "/* hand-written */\n"));
+	}
+
+	@Test
+	public void colorsAreWrittenLikeHexFormat() {
+		int[] colors = { 0, 0xF, 0xABCDEF, 0xFFFFFF, 0x1000000, 0x7FFFFFFF, -1, Integer.MIN_VALUE };
+		LvglScreen screen = new LvglScreen("colors");
+		for (int i = 0; i < colors.length; i++) {
+			LvglWidget widget = new LvglWidget("label_" + i, LvglWidget.WidgetType.LABEL);
+			widget.setBounds(new Rectangle(0, 20 * i, 100, 20));
+			widget.setBgColor(colors[i]);
+			widget.setTextColor(colors[colors.length - 1 - i]);
+			widget.setBorderWidth(1);
+			widget.setBorderColor(colors[i]);
+			screen.addWidget(widget);
+		}
+		String source = new LvglCodeGenerator(screen, "colors", new LvglGeneratorOptions()).generateSource();
+		for (int color : colors) {
+			String expected = "lv_color_hex(0x" + String.format("%06X", color) + ")";
+			assertTrue(source.contains(expected), expected);
+		}
+	}
+
+	@Test
+	public void outputDoesNotDependOnPreviousRuns() {
+		LvglGeneratorOptions options = new LvglGeneratorOptions();
+		options.setSharedStyles(true);
+		options.setStringPooling(true);
+		options.setSplitUnits(true);
+		LvglCodeGenerator generator = new LvglCodeGenerator(TestScreens.create(150, 2, 29), "main", options);
+		String source = generator.generateSource();
+		Map<String, String> units = generator.generateUnits();
+		assertEquals(source, generator.generateSource());
+		assertEquals(units, generator.generateUnits());
+	}
+
+	/**
+	 * @return options for every combination of the generation modes
+	 */
+	private static List<LvglGeneratorOptions> allOptions() {
+		List<LvglGeneratorOptions> all = new ArrayList<>();
+		for (int flags = 0; flags < 32; flags++) {
+			LvglGeneratorOptions options = new LvglGeneratorOptions("/* License */", "1.0.0");
+			options.setSharedStyles((flags & 1) != 0);
+			options.setCreationMode((flags & 2) != 0 ? LvglGeneratorOptions.CreationMode.TABLE
+					: LvglGeneratorOptions.CreationMode.UNROLLED);
+			options.setScreenManager((flags & 4) != 0);
+			options.setStringPooling((flags & 8) != 0);
+			options.setSplitUnits((flags & 16) != 0);
+			all.add(options);
+		}
+		return all;
+	}
+
+	private static String describe(LvglGeneratorOptions options) {
+		return "sharedStyles=" + options.isSharedStyles() + ", creationMode=" + options.getCreationMode()
+				+ ", screenManager=" + options.isScreenManager() + ", stringPooling=" + options.isStringPooling()
+				+ ", splitUnits=" + options.isSplitUnits();
+	}
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link LvglBinarySerializer}.
+ */
+public class LvglBinarySerializerTest {
+
+	private final LvglBinarySerializer serializer = new LvglBinarySerializer();
+
+	@Test
+	public void roundTripKeepsWhatTheXmlFormatKeeps() throws Exception {
+		for (int depth = 0; depth <= 4; depth += 2) {
+			LvglScreen screen = TestScreens.create(300, depth, depth);
+			LvglScreen loaded = serializer.load(new ByteArrayInputStream(save(screen)));
+			assertEquals(TestScreens.toXml(screen), TestScreens.toXml(loaded));
+		}
+	}
+
+	@Test
+	public void roundTripKeepsEmptyScreen() throws Exception {
+		LvglScreen screen = new LvglScreen("empty");
+		LvglScreen loaded = serializer.load(ByteBuffer.wrap(save(screen)));
+		assertEquals("empty", loaded.getName());
+		assertEquals(0, loaded.getWidgets().size());
+		assertEquals(TestScreens.toXml(screen), TestScreens.toXml(loaded));
+	}
+
+	@Test
+	public void loadsMappedFile() throws Exception {
+		LvglScreen screen = TestScreens.create(100, 3, 7);
+		Path file = Files.createTempFile("screen", "." + LvglBinarySerializer.FILE_EXTENSION);
+		try {
+			try (OutputStream out = Files.newOutputStream(file)) {
+				serializer.save(screen, out);
+			}
+			assertEquals(TestScreens.toXml(screen), TestScreens.toXml(serializer.load(file)));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void copySharesNoState() throws Exception {
+		LvglScreen screen = TestScreens.create(50, 2, 3);
+		String xml = TestScreens.toXml(screen);
+		LvglScreen copy = serializer.copy(screen);
+		assertNotSame(screen.getWidgets().get(0), copy.getWidgets().get(0));
+
+		copy.getWidgets().get(0).setName("renamed");
+		copy.getWidgets().get(0).getBounds().translate(5, 5);
+		copy.removeWidget(copy.getWidgets().get(1));
+		assertEquals(xml, TestScreens.toXml(screen));
+	}
+
+	@Test
+	public void rejectsOtherFiles() {
+		byte[] xml = "<?xml version=\"1.0\"?><screen/>".getBytes(StandardCharsets.UTF_8);
+		assertThrows(IOException.class, () -> serializer.load(ByteBuffer.wrap(xml)));
+	}
+
+	@Test
+	public void rejectsTruncatedFiles() throws Exception {
+		byte[] bytes = save(TestScreens.create(20, 1, 11));
+		for (int length : new int[] { 0, 3, 5, bytes.length / 2, bytes.length - 1 }) {
+			byte[] truncated = Arrays.copyOf(bytes, length);
+			assertThrows(IOException.class, () -> serializer.load(ByteBuffer.wrap(truncated)));
+		}
+	}
+
+	@Test
+	public void rejectsCorruptFiles() {
+		// A five byte varint with the top bits set decodes to a negative int
+		byte[] negative = { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F };
+		byte[] header = { 'G', 'E', 'F', 'B', 1 };
+		// String table count
+		assertCorrupt(header, negative);
+		// String length
+		assertCorrupt(header, new byte[] { 1 }, negative);
+		// Screen name reference
+		assertCorrupt(header, new byte[] { 0 }, negative);
+		// Screen name reference past the string table
+		assertCorrupt(header, new byte[] { 1, 1, 's', 1 });
+		// Widget count
+		byte[] screen = { 1, 1, 's', 0, 0, 0, 0 };
+		assertCorrupt(header, screen, negative);
+		// Widget type ordinals
+		assertCorrupt(header, screen, new byte[] { 1 }, negative);
+		assertCorrupt(header, screen, new byte[] { 1, 0x7F });
+	}
+
+	@Test
+	public void loadsDamagedFilesOnlyWithIOException() throws Exception {
+		byte[] bytes = save(TestScreens.create(20, 2, 12));
+		for (int i = 0; i < bytes.length; i++) {
+			for (byte value : new byte[] { (byte) 0xFF, 0x7F, 0 }) {
+				byte[] damaged = bytes.clone();
+				damaged[i] = value;
+				try {
+					serializer.load(ByteBuffer.wrap(damaged));
+				} catch (IOException e) {
+					// Expected for most damaged bytes
+				}
+			}
+		}
+	}
+
+	private void assertCorrupt(byte[]... parts) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (byte[] part : parts) {
+			out.writeBytes(part);
+		}
+		// Enough trailing bytes that no count exceeds the file size
+		out.writeBytes(new byte[64]);
+		byte[] bytes = out.toByteArray();
+		assertThrows(IOException.class, () -> serializer.load(ByteBuffer.wrap(bytes)));
+	}
+
+	private byte[] save(LvglScreen screen) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		serializer.save(screen, out);
+		return out.toByteArray();
+	}
+}
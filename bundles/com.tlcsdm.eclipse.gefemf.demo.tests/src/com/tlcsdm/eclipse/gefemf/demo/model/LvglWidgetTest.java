@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link LvglWidget}.
+ */
+public class LvglWidgetTest {
+
+	@Test
+	public void variableNameIsValidIdentifierUnchanged() {
+		String name = "btn_Ok_1";
+		assertSame(name, new LvglWidget(name, LvglWidget.WidgetType.BUTTON).getVariableName());
+	}
+
+	@Test
+	public void variableNameReplacesInvalidCharactersLikeRegex() {
+		String[] names = { "", "_", "1st", "9", "ok button", "a-b.c", "温度", "emoji😀end", "😀",
+				"tab\tname", "x$", "Zz_09" };
+		for (String name : names) {
+			assertEquals(regexVariableName(name), new LvglWidget(name, LvglWidget.WidgetType.LABEL).getVariableName(),
+					name);
+		}
+	}
+
+	/**
+	 * The conversion the generator used before it converted names character by character.
+	 */
+	private static String regexVariableName(String name) {
+		String varName = name.replaceAll("[^a-zA-Z0-9_]", "_");
+		if (!varName.isEmpty() && Character.isDigit(varName.charAt(0))) {
+			varName = "_" + varName;
+		}
+		if (varName.isEmpty()) {
+			varName = "_widget";
+		}
+		return varName;
+	}
+}
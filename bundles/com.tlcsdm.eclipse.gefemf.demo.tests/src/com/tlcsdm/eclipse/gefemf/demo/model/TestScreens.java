@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Builds deterministic LVGL screens for tests.
+ * <p>
+ * A screen has widgets of all types with their type-specific properties filled in.
+ * Containers, tab views and tile views receive children up to the given nesting depth,
+ * so the screens also have split units and lazy pages to generate.
+ * </p>
+ */
+public final class TestScreens {
+
+	private static final LvglWidget.WidgetType[] TYPES = LvglWidget.WidgetType.values();
+	private static final String[] TEXTS = { "", "OK", "Temperature: 21.5 C", "Hello \"LVGL\" & <friends>",
+			"Multi\nline\ttext", "Ünïcödé 文字" };
+
+	private TestScreens() {
+	}
+
+	/**
+	 * Create a screen with the given number of widgets and nesting depth.
+	 *
+	 * @param widgetCount total number of widgets
+	 * @param maxDepth    maximum nesting depth, 0 for a flat screen
+	 * @param seed        random seed, the same arguments always produce the same screen
+	 */
+	public static LvglScreen create(int widgetCount, int maxDepth, long seed) {
+		Random random = new Random(seed);
+		LvglScreen screen = new LvglScreen("test_screen");
+		screen.setWidth(800);
+		screen.setHeight(480);
+		screen.setBgColor(0x202020);
+
+		// Widgets that may still receive children, with their depth
+		List<LvglWidget> parents = new ArrayList<>();
+		List<Integer> depths = new ArrayList<>();
+		for (int i = 0; i < widgetCount; i++) {
+			LvglWidget widget = createWidget(random, i, TYPES[random.nextInt(TYPES.length)]);
+			int depth = 1;
+			if (!parents.isEmpty() && random.nextInt(3) != 0) {
+				int index = random.nextInt(parents.size());
+				parents.get(index).addChild(widget);
+				depth = depths.get(index) + 1;
+			} else {
+				screen.addWidget(widget);
+			}
+			if (isParentType(widget.getWidgetType()) && depth <= maxDepth) {
+				parents.add(widget);
+				depths.add(depth);
+			}
+		}
+		return screen;
+	}
+
+	/**
+	 * @return the screen as written by {@link LvglXmlSerializer}, which persists every
+	 *         property of the model
+	 */
+	public static String toXml(LvglScreen screen) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new LvglXmlSerializer().save(screen, out);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	private static boolean isParentType(LvglWidget.WidgetType type) {
+		return type == LvglWidget.WidgetType.CONTAINER || type == LvglWidget.WidgetType.TABVIEW
+				|| type == LvglWidget.WidgetType.TILEVIEW;
+	}
+
+	private static LvglWidget createWidget(Random random, int index, LvglWidget.WidgetType type) {
+		LvglWidget widget = new LvglWidget(type.name().toLowerCase() + "_" + index, type);
+		widget.setText(TEXTS[random.nextInt(TEXTS.length)]);
+		widget.setBounds(new Rectangle(random.nextInt(800) - 20, random.nextInt(480) - 20, 20 + random.nextInt(200),
+				20 + random.nextInt(100)));
+		widget.setBgColor(random.nextInt(0x1000000));
+		widget.setTextColor(random.nextInt(0x1000000));
+		widget.setBorderWidth(random.nextInt(4));
+		widget.setBorderColor(random.nextInt(0x1000000));
+		widget.setRadius(random.nextInt(12));
+
+		switch (type) {
+		case IMAGE:
+			widget.setImageSource(random.nextBoolean() ? "img_logo_" + index : "S:/images/icon_" + index + ".png");
+			break;
+		case CHECKBOX:
+		case SWITCH:
+			widget.setChecked(random.nextBoolean());
+			break;
+		case SLIDER:
+		case ARC:
+		case BAR:
+			widget.setMinValue(random.nextInt(10));
+			widget.setMaxValue(50 + random.nextInt(200));
+			widget.setValue(random.nextInt(50));
+			break;
+		case TABLE:
+			widget.setRowCount(1 + random.nextInt(5));
+			widget.setColumnCount(1 + random.nextInt(5));
+			widget.setTableData("A,B,C;1,2,3;x,y,z");
+			break;
+		case CONTAINER:
+			LvglWidget.LayoutType[] layouts = LvglWidget.LayoutType.values();
+			LvglWidget.FlexFlow[] flows = LvglWidget.FlexFlow.values();
+			LvglWidget.FlexAlign[] aligns = LvglWidget.FlexAlign.values();
+			widget.setLayoutType(layouts[random.nextInt(layouts.length)]);
+			widget.setFlexFlow(flows[random.nextInt(flows.length)]);
+			widget.setFlexMainAlign(aligns[random.nextInt(aligns.length)]);
+			widget.setFlexCrossAlign(aligns[random.nextInt(aligns.length)]);
+			widget.setFlexTrackAlign(aligns[random.nextInt(aligns.length)]);
+			widget.setPadRow(random.nextInt(10));
+			widget.setPadColumn(random.nextInt(10));
+			break;
+		default:
+			break;
+		}
+		return widget;
+	}
+}
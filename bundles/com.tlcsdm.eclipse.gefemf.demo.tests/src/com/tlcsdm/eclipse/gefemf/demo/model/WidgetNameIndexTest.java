@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link WidgetNameIndex} as kept up to date by {@link LvglScreen} and
+ * {@link LvglWidget}.
+ */
+public class WidgetNameIndexTest {
+
+	@Test
+	public void createsNamesNotInUse() {
+		LvglScreen screen = new LvglScreen("screen");
+		WidgetNameIndex index = screen.getNameIndex();
+		assertEquals("button_1", index.createUniqueName("button"));
+
+		screen.addWidget(widget("button_2"));
+		LvglWidget container = widget("container_1");
+		container.addChild(widget("button_3"));
+		screen.addWidget(container);
+		// Taken by its variable name, not by its name
+		screen.addWidget(widget("button 4"));
+		assertEquals("button_5", index.createUniqueName("button"));
+		assertEquals("label_1", index.createUniqueName("label"));
+	}
+
+	@Test
+	public void doesNotHandOutNamesAgain() {
+		LvglScreen screen = new LvglScreen("screen");
+		WidgetNameIndex index = screen.getNameIndex();
+		String first = index.createUniqueName("slider");
+		LvglWidget widget = widget(first);
+		screen.addWidget(widget);
+		screen.removeWidget(widget);
+		assertFalse(index.contains(first));
+		assertEquals("slider_2", index.createUniqueName("slider"));
+	}
+
+	@Test
+	public void findsNestedWidgets() {
+		LvglScreen screen = new LvglScreen("screen");
+		LvglWidget container = widget("container");
+		LvglWidget nested = widget("nested");
+		container.addChild(nested);
+		screen.addWidget(container);
+		WidgetNameIndex index = screen.getNameIndex();
+		assertSame(nested, index.find("nested"));
+
+		LvglWidget deeper = widget("deeper label");
+		nested.addChild(deeper);
+		assertSame(deeper, index.find("deeper_label"));
+
+		screen.removeWidget(container);
+		assertNull(index.find("container"));
+		assertNull(index.find("nested"));
+		assertNull(index.find("deeper_label"));
+
+		// A removed subtree is no longer tracked
+		nested.setName("renamed");
+		assertFalse(index.contains("renamed"));
+	}
+
+	@Test
+	public void tracksCollisions() {
+		LvglScreen screen = new LvglScreen("screen");
+		WidgetNameIndex index = screen.getNameIndex();
+		LvglWidget first = widget("ok-button");
+		LvglWidget second = widget("ok_button");
+		LvglWidget container = widget("panel");
+		LvglWidget third = widget("label");
+		LvglWidget fourth = widget("label");
+		screen.addWidget(first);
+		screen.addWidget(second);
+		screen.addWidget(container);
+		container.addChild(third);
+		screen.addWidget(fourth);
+
+		Map<String, List<LvglWidget>> collisions = index.getCollisions();
+		assertEquals(List.of("ok_button", "label"), List.copyOf(collisions.keySet()));
+		assertEquals(List.of(first, second), collisions.get("ok_button"));
+		assertEquals(List.of(third, fourth), collisions.get("label"));
+
+		second.setName("cancel_button");
+		screen.removeWidget(fourth);
+		assertTrue(index.getCollisions().isEmpty());
+		assertSame(first, index.find("ok_button"));
+		assertSame(second, index.find("cancel_button"));
+
+		third.setName("panel");
+		assertEquals(List.of(container, third), index.getCollisions().get("panel"));
+	}
+
+	@Test
+	public void indexCreatedLaterSeesExistingWidgets() {
+		LvglScreen screen = TestScreens.create(200, 3, 13);
+		screen.addWidget(widget(screen.getWidgets().get(0).getName()));
+		WidgetNameIndex index = screen.getNameIndex();
+		assertEquals(1, index.getCollisions().size());
+		assertSame(screen.getWidgets().get(0), index.find(screen.getWidgets().get(0).getVariableName()));
+	}
+
+	private static LvglWidget widget(String name) {
+		return new LvglWidget(name, LvglWidget.WidgetType.BUTTON);
+	}
+}
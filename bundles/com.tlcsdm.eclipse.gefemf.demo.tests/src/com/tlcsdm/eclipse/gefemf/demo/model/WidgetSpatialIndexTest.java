@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link WidgetSpatialIndex} and the queries of {@link LvglScreen} and
+ * {@link LvglWidget} using it.
+ */
+public class WidgetSpatialIndexTest {
+
+	@Test
+	public void findsOverlappingWidgets() {
+		Random random = new Random(1);
+		LvglScreen screen = new LvglScreen("screen");
+		for (int i = 0; i < 500; i++) {
+			screen.addWidget(createWidget(random, i));
+		}
+		assertQueries(random, screen.getWidgets(), screen::findWidgets);
+	}
+
+	@Test
+	public void followsMovedAndResizedWidgets() {
+		Random random = new Random(2);
+		LvglScreen screen = new LvglScreen("screen");
+		for (int i = 0; i < 300; i++) {
+			screen.addWidget(createWidget(random, i));
+		}
+		screen.findWidgets(new Rectangle(0, 0, 1, 1));
+
+		for (int i = 0; i < 300; i++) {
+			LvglWidget widget = screen.getWidgets().get(random.nextInt(300));
+			if (random.nextBoolean()) {
+				widget.setBounds(randomBounds(random));
+			} else {
+				// Commands change the rectangle in place before setting it again
+				Rectangle bounds = widget.getBounds();
+				bounds.translate(random.nextInt(400) - 200, random.nextInt(400) - 200);
+				bounds.width += random.nextInt(100) - 30;
+				bounds.height += random.nextInt(100) - 30;
+				widget.setBounds(bounds);
+			}
+		}
+		assertQueries(random, screen.getWidgets(), screen::findWidgets);
+	}
+
+	@Test
+	public void forgetsRemovedWidgets() {
+		Random random = new Random(3);
+		LvglScreen screen = new LvglScreen("screen");
+		for (int i = 0; i < 300; i++) {
+			screen.addWidget(createWidget(random, i));
+		}
+		screen.findWidgets(new Rectangle(0, 0, 1, 1));
+
+		List<LvglWidget> removed = new ArrayList<>();
+		for (int i = 0; i < 150; i++) {
+			LvglWidget widget = screen.getWidgets().get(random.nextInt(screen.getWidgets().size()));
+			screen.removeWidget(widget);
+			removed.add(widget);
+		}
+		// A removed widget that is still changed must not come back into the index
+		for (LvglWidget widget : removed) {
+			widget.setBounds(new Rectangle(0, 0, 2000, 2000));
+		}
+		for (int i = 0; i < 50; i++) {
+			screen.insertWidget(random.nextInt(screen.getWidgets().size() + 1), createWidget(random, 1000 + i));
+		}
+		assertQueries(random, screen.getWidgets(), screen::findWidgets);
+	}
+
+	@Test
+	public void followsWidgetsMovedBetweenContainers() {
+		Random random = new Random(4);
+		LvglWidget first = new LvglWidget("first", LvglWidget.WidgetType.CONTAINER);
+		LvglWidget second = new LvglWidget("second", LvglWidget.WidgetType.CONTAINER);
+		for (int i = 0; i < 200; i++) {
+			first.addChild(createWidget(random, i));
+		}
+		first.findChildren(new Rectangle(0, 0, 1, 1));
+		second.findChildren(new Rectangle(0, 0, 1, 1));
+
+		for (int i = 0; i < 100; i++) {
+			LvglWidget child = first.getChildren().get(random.nextInt(first.getChildren().size()));
+			first.removeChild(child);
+			second.addChild(child);
+			child.setBounds(randomBounds(random));
+		}
+		assertQueries(random, first.getChildren(), first::findChildren);
+		assertQueries(random, second.getChildren(), second::findChildren);
+	}
+
+	@Test
+	public void findsWidgetsAtPoints() {
+		Random random = new Random(5);
+		List<LvglWidget> widgets = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			widgets.add(createWidget(random, i));
+		}
+		WidgetSpatialIndex index = new WidgetSpatialIndex(widgets);
+		assertEquals(widgets.size(), index.size());
+		for (int i = 0; i < 500; i++) {
+			int x = random.nextInt(1400) - 200;
+			int y = random.nextInt(1000) - 200;
+			assertEquals(bruteForce(widgets, new Rectangle(x, y, 1, 1)), asSet(index.findAt(x, y)), x + "," + y);
+		}
+	}
+
+	@Test
+	public void widgetsWithoutSizeOverlapNothing() {
+		LvglScreen screen = new LvglScreen("screen");
+		LvglWidget empty = new LvglWidget("empty", LvglWidget.WidgetType.LABEL);
+		empty.setBounds(new Rectangle(10, 10, 0, 50));
+		LvglWidget negative = new LvglWidget("negative", LvglWidget.WidgetType.LABEL);
+		negative.setBounds(new Rectangle(10, 10, 50, -1));
+		screen.addWidget(empty);
+		screen.addWidget(negative);
+		assertTrue(screen.findWidgets(new Rectangle(0, 0, 100, 100)).isEmpty());
+		assertTrue(screen.findWidgets(new Rectangle(10, 10, 0, 0)).isEmpty());
+
+		negative.setBounds(new Rectangle(10, 10, 50, 50));
+		assertEquals(List.of(negative), screen.findWidgets(new Rectangle(0, 0, 100, 100)));
+	}
+
+	private interface Query {
+		List<LvglWidget> find(Rectangle area);
+	}
+
+	/**
+	 * Compare queries for random areas, from points to areas larger than the screen, with
+	 * a check of every widget.
+	 */
+	private static void assertQueries(Random random, List<LvglWidget> widgets, Query query) {
+		for (int i = 0; i < 500; i++) {
+			Rectangle area = switch (i % 3) {
+			case 0 -> new Rectangle(random.nextInt(1400) - 200, random.nextInt(1000) - 200, 1, 1);
+			case 1 -> randomBounds(random);
+			default -> new Rectangle(random.nextInt(400) - 1000, random.nextInt(400) - 1000, 3000,
+					random.nextInt(3000));
+			};
+			List<LvglWidget> found = query.find(area);
+			assertEquals(found.size(), asSet(found).size(), "duplicates for " + area);
+			assertEquals(bruteForce(widgets, area), asSet(found), area.toString());
+		}
+	}
+
+	private static Set<LvglWidget> bruteForce(List<LvglWidget> widgets, Rectangle area) {
+		Set<LvglWidget> result = Collections.newSetFromMap(new IdentityHashMap<>());
+		if (area.width <= 0 || area.height <= 0) {
+			return result;
+		}
+		for (LvglWidget widget : widgets) {
+			Rectangle bounds = widget.getBounds();
+			if (bounds.width > 0 && bounds.height > 0 && bounds.x < area.x + area.width
+					&& area.x < bounds.x + bounds.width && bounds.y < area.y + area.height
+					&& area.y < bounds.y + bounds.height) {
+				result.add(widget);
+			}
+		}
+		return result;
+	}
+
+	private static Set<LvglWidget> asSet(List<LvglWidget> widgets) {
+		Set<LvglWidget> result = Collections.newSetFromMap(new IdentityHashMap<>());
+		result.addAll(widgets);
+		return result;
+	}
+
+	private static LvglWidget createWidget(Random random, int index) {
+		LvglWidget widget = new LvglWidget("widget_" + index, LvglWidget.WidgetType.BUTTON);
+		widget.setBounds(randomBounds(random));
+		return widget;
+	}
+
+	/**
+	 * @return bounds of mostly small widgets, with some without size and some spanning
+	 *         many grid cells
+	 */
+	private static Rectangle randomBounds(Random random) {
+		int x = random.nextInt(1200) - 100;
+		int y = random.nextInt(800) - 100;
+		return switch (random.nextInt(10)) {
+		case 0 -> new Rectangle(x, y, random.nextInt(2), random.nextInt(2));
+		case 1 -> new Rectangle(x - 500, y - 500, 600 + random.nextInt(1000), 600 + random.nextInt(1000));
+		default -> new Rectangle(x, y, 1 + random.nextInt(150), 1 + random.nextInt(80));
+		};
+	}
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglCodeGenerator;
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglGeneratorOptions;
+import com.tlcsdm.eclipse.gefemf.demo.model.TestScreens;
+
+/**
+ * Tests for {@link GeneratedContent}.
+ */
+public class GeneratedContentTest {
+
+	@Test
+	public void keepsSmallAndLargeContent() throws IOException {
+		for (int size : new int[] { 0, 1, 8192, GeneratedContent.MEMORY_LIMIT, GeneratedContent.MEMORY_LIMIT + 1,
+				3 * GeneratedContent.MEMORY_LIMIT + 17 }) {
+			byte[] bytes = randomBytes(size);
+			GeneratedContent content = new GeneratedContent();
+			try {
+				// Written in uneven pieces, so some cross the memory limit
+				for (int offset = 0; offset < size; offset += 1000) {
+					content.write(bytes, offset, Math.min(1000, size - offset));
+				}
+				content.close();
+				assertEquals(size, content.size());
+				try (InputStream in = content.openStream()) {
+					assertArrayEquals(bytes, in.readAllBytes());
+				}
+				assertTrue(content.hasSameContent(new ByteArrayInputStream(bytes)));
+			} finally {
+				content.dispose();
+			}
+		}
+	}
+
+	@Test
+	public void detectsDifferentContent() throws IOException {
+		for (int size : new int[] { 100, GeneratedContent.MEMORY_LIMIT + 100 }) {
+			byte[] bytes = randomBytes(size);
+			GeneratedContent content = new GeneratedContent();
+			try {
+				content.write(bytes);
+				byte[] changed = bytes.clone();
+				changed[size - 1]++;
+				assertFalse(content.hasSameContent(new ByteArrayInputStream(changed)));
+				assertFalse(content.hasSameContent(new ByteArrayInputStream(Arrays.copyOf(bytes, size - 1))));
+				assertFalse(content.hasSameContent(new ByteArrayInputStream(Arrays.copyOf(bytes, size + 1))));
+			} finally {
+				content.dispose();
+			}
+		}
+	}
+
+	@Test
+	public void holdsStreamedGeneratorOutput() throws IOException {
+		LvglCodeGenerator generator = new LvglCodeGenerator(TestScreens.create(3000, 2, 31), "main",
+				new LvglGeneratorOptions());
+		GeneratedContent content = new GeneratedContent();
+		try {
+			Writer writer = new OutputStreamWriter(content, StandardCharsets.UTF_8);
+			generator.generateSource(writer);
+			writer.close();
+			byte[] expected = generator.generateSource().getBytes(StandardCharsets.UTF_8);
+			assertEquals(expected.length, content.size());
+			assertTrue(content.hasSameContent(new ByteArrayInputStream(expected)));
+		} finally {
+			content.dispose();
+		}
+	}
+
+	private static byte[] randomBytes(int size) {
+		byte[] bytes = new byte[size];
+		new Random(size).nextBytes(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TextDiff}.
+ */
+public class TextDiffTest {
+
+	@Test
+	public void equalTextsNeedNoReplacement() {
+		assertEquals(List.of(), TextDiff.compute("", ""));
+		assertEquals(List.of(), TextDiff.compute("a\nb\n", "a\nb\n"));
+	}
+
+	@Test
+	public void replacementIsNarrowedToChangedCharacters() {
+		String oldText = "<screen>\n  <widget name=\"ok\" x=\"10\"/>\n  <widget name=\"cancel\"/>\n</screen>\n";
+		String newText = "<screen>\n  <widget name=\"ok\" x=\"12\"/>\n  <widget name=\"cancel\"/>\n</screen>\n";
+		int offset = oldText.indexOf("10") + 1;
+		assertEquals(List.of(new TextDiff.Replacement(offset, 1, "2")), TextDiff.compute(oldText, newText));
+	}
+
+	@Test
+	public void handlesLastLineWithoutLineDelimiter() {
+		assertEquals(List.of(new TextDiff.Replacement(2, 1, "c")), TextDiff.compute("a\nb", "a\nc"));
+		assertEquals(List.of(new TextDiff.Replacement(3, 0, "\n")), TextDiff.compute("a\nb", "a\nb\n"));
+		assertEquals(List.of(new TextDiff.Replacement(3, 1, "")), TextDiff.compute("a\nb\n", "a\nb"));
+		assertEquals(List.of(new TextDiff.Replacement(3, 0, "\nc")), TextDiff.compute("a\nb", "a\nb\nc"));
+		assertApplies("", "a");
+		assertApplies("a", "");
+		assertApplies("x\ny", "y");
+		assertApplies("a\r\nb", "a\r\nb\r\n");
+	}
+
+	@Test
+	public void appliedReplacementsGiveNewText() {
+		Random random = new Random(1);
+		for (int i = 0; i < 500; i++) {
+			String oldText = randomText(random, random.nextInt(40));
+			String newText = edit(random, oldText, random.nextInt(8));
+			assertApplies(oldText, newText);
+		}
+	}
+
+	@Test
+	public void replacesMiddleAsWholeBeyondMaxEditDistance() {
+		StringBuilder oldText = new StringBuilder("header\n");
+		StringBuilder newText = new StringBuilder("header\n");
+		for (int i = 0; i < TextDiff.MAX_EDIT_DISTANCE; i++) {
+			oldText.append("old ").append(i).append('\n');
+			newText.append("new ").append(i).append('\n');
+		}
+		oldText.append("footer");
+		newText.append("footer");
+
+		List<TextDiff.Replacement> replacements = assertApplies(oldText.toString(), newText.toString());
+		assertEquals(1, replacements.size());
+		TextDiff.Replacement replacement = replacements.get(0);
+		assertEquals("header\n".length(), replacement.offset());
+		assertTrue(oldText.substring(replacement.offset() + replacement.length()).endsWith("\nfooter"));
+	}
+
+	@Test
+	public void findsLineChangesUpToMaxEditDistance() {
+		StringBuilder oldText = new StringBuilder();
+		StringBuilder newText = new StringBuilder();
+		for (int i = 0; i < 2000; i++) {
+			oldText.append("line ").append(i).append('\n');
+			newText.append("line ").append(i).append('\n');
+			if (i % 10 == 0) {
+				// 200 inserted lines, well within the edit distance
+				newText.append("inserted ").append(i).append('\n');
+			}
+		}
+		List<TextDiff.Replacement> replacements = assertApplies(oldText.toString(), newText.toString());
+		assertEquals(200, replacements.size());
+		for (TextDiff.Replacement replacement : replacements) {
+			assertEquals(0, replacement.length());
+		}
+	}
+
+	/**
+	 * Check that the replacements are ordered, do not overlap and turn the old text into
+	 * the new one when applied from the first to the last, as the editor does.
+	 */
+	private static List<TextDiff.Replacement> assertApplies(String oldText, String newText) {
+		List<TextDiff.Replacement> replacements = TextDiff.compute(oldText, newText);
+		StringBuilder text = new StringBuilder(oldText);
+		int start = 0;
+		int shift = 0;
+		for (TextDiff.Replacement replacement : replacements) {
+			assertTrue(replacement.offset() >= start
+					&& replacement.offset() + replacement.length() <= oldText.length(), replacements.toString());
+			start = replacement.offset() + replacement.length();
+			text.replace(replacement.offset() + shift, replacement.offset() + shift + replacement.length(),
+					replacement.text());
+			shift += replacement.text().length() - replacement.length();
+		}
+		assertEquals(newText, text.toString());
+		return replacements;
+	}
+
+	private static String randomText(Random random, int lines) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < lines; i++) {
+			text.append(randomLine(random));
+		}
+		if (random.nextBoolean() && text.length() > 0) {
+			// The last line has no line delimiter
+			text.setLength(text.length() - 1);
+		}
+		return text.toString();
+	}
+
+	/**
+	 * @return a line from a small set, so texts repeat lines like XML does
+	 */
+	private static String randomLine(Random random) {
+		return switch (random.nextInt(4)) {
+		case 0 -> "\n";
+		case 1 -> "  <widget name=\"w" + random.nextInt(5) + "\"/>\n";
+		case 2 -> "line " + random.nextInt(10) + "\r\n";
+		default -> "text " + random.nextInt(3) + "\n";
+		};
+	}
+
+	/**
+	 * Insert, delete and change random lines of a text.
+	 */
+	private static String edit(Random random, String text, int edits) {
+		List<String> lines = new ArrayList<>(List.of(text.split("(?<=\n)")));
+		if (text.isEmpty()) {
+			lines.clear();
+		}
+		for (int i = 0; i < edits; i++) {
+			int index = random.nextInt(lines.size() + 1);
+			switch (random.nextInt(3)) {
+			case 0:
+				lines.add(index, randomLine(random));
+				break;
+			case 1:
+				if (index < lines.size()) {
+					lines.remove(index);
+				}
+				break;
+			default:
+				if (index < lines.size()) {
+					lines.set(index, lines.get(index).replace('w', 'v').replace("text", "txt"));
+				}
+				break;
+			}
+		}
+		return String.join("", lines);
+	}
+}
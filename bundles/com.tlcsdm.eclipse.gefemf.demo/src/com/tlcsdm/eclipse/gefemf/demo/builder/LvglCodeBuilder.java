@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.builder;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import com.tlcsdm.eclipse.gefemf.demo.Activator;
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglCodeWriter;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglXmlSerializer;
+import com.tlcsdm.eclipse.gefemf.demo.util.ConsoleLogger;
+
+/**
+ * Incremental project builder that regenerates the LVGL C code of .gefxml files.
+ * <p>
+ * Incremental and auto builds only process the .gefxml files added or changed in the
+ * resource delta; full builds process every .gefxml file of the project. Problems are
+ * reported as markers on the .gefxml file instead of console output. Builds run in the
+ * workspace build job, so they never block the UI thread.
+ * </p>
+ */
+public class LvglCodeBuilder extends IncrementalProjectBuilder {
+
+	/** The builder ID, as declared in plugin.xml */
+	public static final String BUILDER_ID = Activator.PLUGIN_ID + ".lvglBuilder";
+
+	/** The problem marker type, as declared in plugin.xml */
+	public static final String MARKER_TYPE = Activator.PLUGIN_ID + ".lvglProblem";
+
+	/** Layout warnings reported per file, so a broken screen does not flood the Problems view */
+	private static final int MAX_LAYOUT_MARKERS = 50;
+
+	@Override
+	protected IProject[] build(int kind, Map<String, String> args, IProgressMonitor monitor) throws CoreException {
+		IResourceDelta delta = kind == FULL_BUILD ? null : getDelta(getProject());
+		List<IFile> diagramFiles = delta == null ? findAllDiagramFiles() : findChangedDiagramFiles(delta);
+
+		SubMonitor subMonitor = SubMonitor.convert(monitor, "Generating LVGL C code", diagramFiles.size());
+		for (IFile diagramFile : diagramFiles) {
+			if (subMonitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			subMonitor.subTask(diagramFile.getFullPath().toString());
+			generate(diagramFile, subMonitor.split(1));
+		}
+		return null;
+	}
+
+	@Override
+	protected void clean(IProgressMonitor monitor) throws CoreException {
+		getProject().deleteMarkers(MARKER_TYPE, true, IResource.DEPTH_INFINITE);
+	}
+
+	/**
+	 * Regenerate the code of one .gefxml file, replacing its markers with the outcome.
+	 */
+	private void generate(IFile diagramFile, IProgressMonitor monitor) throws CoreException {
+		diagramFile.deleteMarkers(MARKER_TYPE, false, IResource.DEPTH_ZERO);
+		try {
+			LvglScreen screen;
+			try (InputStream in = diagramFile.getContents(true)) {
+				screen = new LvglXmlSerializer().load(in);
+			}
+			if (screen.getWidgets().isEmpty()) {
+				addMarker(diagramFile, "The screen is empty, no LVGL C code was generated.", IMarker.SEVERITY_WARNING);
+				return;
+			}
+			validateLayout(diagramFile, screen);
+			new LvglCodeWriter().write(diagramFile, screen, monitor);
+		} catch (CoreException e) {
+			addMarker(diagramFile, "Failed to generate LVGL C code: " + e.getStatus().getMessage(),
+					IMarker.SEVERITY_ERROR);
+		} catch (Exception e) {
+			addMarker(diagramFile, "Failed to generate LVGL C code: " + e.getMessage(), IMarker.SEVERITY_ERROR);
+			ConsoleLogger.logError("Failed to generate code for " + diagramFile.getFullPath(), e);
+		}
+	}
+
+	private void validateLayout(IFile diagramFile, LvglScreen screen) throws CoreException {
+		List<String> problems = LvglLayoutValidator.findCoveredWidgets(screen);
+		for (int i = 0; i < Math.min(problems.size(), MAX_LAYOUT_MARKERS); i++) {
+			addMarker(diagramFile, problems.get(i), IMarker.SEVERITY_WARNING);
+		}
+		if (problems.size() > MAX_LAYOUT_MARKERS) {
+			addMarker(diagramFile, (problems.size() - MAX_LAYOUT_MARKERS) + " more widgets are covered by a sibling.",
+					IMarker.SEVERITY_WARNING);
+		}
+	}
+
+	private void addMarker(IFile file, String message, int severity) throws CoreException {
+		IMarker marker = file.createMarker(MARKER_TYPE);
+		marker.setAttribute(IMarker.MESSAGE, message);
+		marker.setAttribute(IMarker.SEVERITY, severity);
+	}
+
+	private List<IFile> findAllDiagramFiles() throws CoreException {
+		List<IFile> diagramFiles = new ArrayList<>();
+		getProject().accept((IResourceProxy proxy) -> {
+			if (proxy.getType() == IResource.FILE && proxy.getName().endsWith(LvglCodeWriter.DIAGRAM_EXTENSION)) {
+				diagramFiles.add((IFile) proxy.requestResource());
+			}
+			return true;
+		}, IResource.NONE);
+		return diagramFiles;
+	}
+
+	private List<IFile> findChangedDiagramFiles(IResourceDelta delta) throws CoreException {
+		List<IFile> diagramFiles = new ArrayList<>();
+		delta.accept(child -> {
+			IResource resource = child.getResource();
+			if (resource.getType() == IResource.FILE && resource.getName().endsWith(LvglCodeWriter.DIAGRAM_EXTENSION)) {
+				boolean added = child.getKind() == IResourceDelta.ADDED;
+				boolean changed = child.getKind() == IResourceDelta.CHANGED
+						&& (child.getFlags() & IResourceDelta.CONTENT) != 0;
+				if (added || changed) {
+					diagramFiles.add((IFile) resource);
+				}
+			}
+			return true;
+		});
+		return diagramFiles;
+	}
+}
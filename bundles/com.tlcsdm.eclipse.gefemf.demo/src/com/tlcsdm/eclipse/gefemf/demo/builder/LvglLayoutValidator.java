@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.builder;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget.WidgetType;
+
+/**
+ * Checks the layout of a screen for widgets that can never be seen.
+ * <p>
+ * A widget is reported when a sibling drawn after it has an opaque background by
+ * default and covers its bounds completely. Candidates are looked up in the spatial
+ * index of the parent, so a check costs about the number of overlapping siblings
+ * instead of the number of siblings. The pages of tab and tile views are shown one at a
+ * time and are not checked against each other.
+ * </p>
+ */
+public final class LvglLayoutValidator {
+
+	/** Widget types whose default theme style fills their bounds */
+	private static final Set<WidgetType> OPAQUE_TYPES = EnumSet.of(WidgetType.BUTTON, WidgetType.CONTAINER,
+			WidgetType.TEXTAREA, WidgetType.DROPDOWN, WidgetType.BUTTONMATRIX, WidgetType.CALENDAR,
+			WidgetType.CHART, WidgetType.KEYBOARD, WidgetType.LIST, WidgetType.MENU, WidgetType.MSGBOX,
+			WidgetType.ROLLER, WidgetType.SPINBOX, WidgetType.TABLE, WidgetType.TABVIEW, WidgetType.TILEVIEW,
+			WidgetType.WIN);
+
+	private LvglLayoutValidator() {
+	}
+
+	/**
+	 * Find the widgets of a screen that are covered by a sibling.
+	 *
+	 * @return one message per covered widget, in model order
+	 */
+	public static List<String> findCoveredWidgets(LvglScreen screen) {
+		List<String> problems = new ArrayList<>();
+		checkSiblings(screen.getWidgets(), screen::findWidgets, problems);
+		return problems;
+	}
+
+	private static void checkSiblings(List<LvglWidget> siblings, Function<Rectangle, List<LvglWidget>> finder,
+			List<String> problems) {
+		if (siblings.size() > 1) {
+			// Siblings later in the list are drawn on top
+			Map<LvglWidget, Integer> zOrder = new IdentityHashMap<>(siblings.size() * 2);
+			for (int i = 0; i < siblings.size(); i++) {
+				zOrder.put(siblings.get(i), i);
+			}
+			for (int i = 0; i < siblings.size(); i++) {
+				LvglWidget widget = siblings.get(i);
+				LvglWidget cover = findCover(widget, i, finder.apply(widget.getBounds()), zOrder);
+				if (cover != null) {
+					problems.add("Widget '" + widget.getName() + "' is completely covered by '" + cover.getName()
+							+ "' and will not be visible.");
+				}
+			}
+		}
+		for (LvglWidget widget : siblings) {
+			WidgetType type = widget.getWidgetType();
+			if (type == WidgetType.TABVIEW || type == WidgetType.TILEVIEW) {
+				for (LvglWidget page : widget.getChildren()) {
+					checkSiblings(page.getChildren(), page::findChildren, problems);
+				}
+			} else if (!widget.getChildren().isEmpty()) {
+				checkSiblings(widget.getChildren(), widget::findChildren, problems);
+			}
+		}
+	}
+
+	private static LvglWidget findCover(LvglWidget widget, int index, List<LvglWidget> overlapping,
+			Map<LvglWidget, Integer> zOrder) {
+		LvglWidget cover = null;
+		int coverIndex = Integer.MAX_VALUE;
+		for (LvglWidget candidate : overlapping) {
+			Integer candidateIndex = zOrder.get(candidate);
+			// Report the lowest cover, so the message does not depend on the index order
+			if (candidateIndex != null && candidateIndex > index && candidateIndex < coverIndex
+					&& OPAQUE_TYPES.contains(candidate.getWidgetType())
+					&& candidate.getBounds().contains(widget.getBounds())) {
+				cover = candidate;
+				coverIndex = candidateIndex;
+			}
+		}
+		return cover;
+	}
+}
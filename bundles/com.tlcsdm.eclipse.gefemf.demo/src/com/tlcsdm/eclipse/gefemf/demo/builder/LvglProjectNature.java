@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.ICommand;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IProjectNature;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+
+import com.tlcsdm.eclipse.gefemf.demo.Activator;
+
+/**
+ * Project nature that installs the {@link LvglCodeBuilder} on a project, so the
+ * LVGL C code of every .gefxml file is regenerated automatically.
+ */
+public class LvglProjectNature implements IProjectNature {
+
+	/** The nature ID, as declared in plugin.xml */
+	public static final String NATURE_ID = Activator.PLUGIN_ID + ".lvglNature";
+
+	private IProject project;
+
+	@Override
+	public void configure() throws CoreException {
+		IProjectDescription description = project.getDescription();
+		ICommand[] commands = description.getBuildSpec();
+		for (ICommand command : commands) {
+			if (LvglCodeBuilder.BUILDER_ID.equals(command.getBuilderName())) {
+				return;
+			}
+		}
+
+		ICommand[] newCommands = new ICommand[commands.length + 1];
+		System.arraycopy(commands, 0, newCommands, 0, commands.length);
+		ICommand command = description.newCommand();
+		command.setBuilderName(LvglCodeBuilder.BUILDER_ID);
+		newCommands[commands.length] = command;
+		description.setBuildSpec(newCommands);
+		project.setDescription(description, null);
+	}
+
+	@Override
+	public void deconfigure() throws CoreException {
+		IProjectDescription description = project.getDescription();
+		List<ICommand> commands = new ArrayList<>();
+		for (ICommand command : description.getBuildSpec()) {
+			if (!LvglCodeBuilder.BUILDER_ID.equals(command.getBuilderName())) {
+				commands.add(command);
+			}
+		}
+		description.setBuildSpec(commands.toArray(new ICommand[0]));
+		project.setDescription(description, null);
+
+		project.deleteMarkers(LvglCodeBuilder.MARKER_TYPE, true, IResource.DEPTH_INFINITE);
+	}
+
+	@Override
+	public IProject getProject() {
+		return project;
+	}
+
+	@Override
+	public void setProject(IProject project) {
+		this.project = project;
+	}
+}
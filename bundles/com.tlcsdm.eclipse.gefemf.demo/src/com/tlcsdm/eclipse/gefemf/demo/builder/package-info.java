@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+
+/**
+ * 项目构建器 - Project Builder
+ * 
+ * <p>本包在工作区构建时自动为 .gefxml 文件生成 LVGL C 代码。
+ * 
+ * <h2>核心类说明</h2>
+ * <ul>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.builder.LvglProjectNature} - 
+ *       LVGL 项目性质，configure/deconfigure 时在项目的构建规范中
+ *       添加或移除 LvglCodeBuilder</li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.builder.LvglLayoutValidator} - 
+ *       布局检查：控件被绘制在其后、默认背景不透明的同级控件完全覆盖时报告；
+ *       候选控件通过父控件的空间索引查找，Tab/Tile 页面之间不互相检查</li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.builder.LvglCodeBuilder} - 
+ *       增量项目构建器：
+ *       <ul>
+ *         <li>增量/自动构建只处理资源增量中新增或内容变化的 .gefxml 文件</li>
+ *         <li>完全构建（或没有增量时）处理项目中所有 .gefxml 文件</li>
+ *         <li>通过 LvglLayoutValidator 检查被同级不透明控件完全遮挡的控件，以警告标记报告</li>
+ *         <li>通过 LvglCodeWriter 生成 .h/.c，内容未变化时不写入</li>
+ *         <li>问题以 lvglProblem 标记报告在 .gefxml 文件上，显示在 Problems 视图中</li>
+ *       </ul>
+ *   </li>
+ * </ul>
+ * 
+ * <h2>扩展点注册</h2>
+ * <pre>
+ * &lt;extension id="lvglBuilder" point="org.eclipse.core.resources.builders"/&gt;
+ * &lt;extension id="lvglNature" point="org.eclipse.core.resources.natures"/&gt;
+ * &lt;extension id="lvglProblem" point="org.eclipse.core.resources.markers"/&gt;
+ * </pre>
+ * 
+ * <p>构建器在 Eclipse 的后台构建作业中运行，不会阻塞 UI 线程；
+ * 通过项目右键菜单"Toggle LVGL Code Generation"启用或禁用。
+ * 
+ * <h2>与其他包的关系</h2>
+ * <ul>
+ *   <li>使用 model 包的 LvglXmlSerializer 加载 .gefxml 文件</li>
+ *   <li>调用 generator 包的 LvglCodeWriter 生成代码</li>
+ *   <li>由 handler 包的 ToggleLvglNatureHandler 启用或禁用</li>
+ * </ul>
+ * 
+ * @see org.eclipse.core.resources.IncrementalProjectBuilder
+ * @see org.eclipse.core.resources.IProjectNature
+ */
+package com.tlcsdm.eclipse.gefemf.demo.builder;
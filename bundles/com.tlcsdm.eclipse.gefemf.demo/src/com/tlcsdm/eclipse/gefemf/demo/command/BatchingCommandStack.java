@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.command;
+
+import org.eclipse.gef.commands.Command;
+import org.eclipse.gef.commands.CommandStack;
+
+import com.tlcsdm.eclipse.gefemf.demo.model.ModelElement;
+
+/**
+ * Command stack that runs every execute, undo and redo in a model batch.
+ * <p>
+ * A compound command, such as the one the Properties view creates when a property of
+ * many selected widgets is changed, therefore fires one
+ * {@link ModelElement#PROPERTY_BATCH} event per changed element after all its commands
+ * ran, instead of one event per command, and the edit parts refresh once.
+ * </p>
+ */
+public class BatchingCommandStack extends CommandStack {
+
+	@Override
+	public void execute(Command command) {
+		ModelElement.runBatched(() -> super.execute(command));
+	}
+
+	@Override
+	public void undo() {
+		ModelElement.runBatched(super::undo);
+	}
+
+	@Override
+	public void redo() {
+		ModelElement.runBatched(super::redo);
+	}
+}
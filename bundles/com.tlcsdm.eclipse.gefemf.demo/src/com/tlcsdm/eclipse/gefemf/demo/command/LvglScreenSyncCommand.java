@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.command;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+import org.eclipse.gef.commands.Command;
+
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
+
+/**
+ * Command for bringing a screen in line with a screen loaded from its XML source.
+ * <p>
+ * The loaded widgets are matched to the existing widgets of the same parent by name and
+ * type. A remaining loaded widget is matched to a remaining existing widget of the same
+ * type only if it is the only one of its type left on both sides or the two are at the
+ * same index, which keeps a renamed widget without pairing unrelated ones.
+ * Matched widgets are kept and only their differing properties are set, so their edit
+ * parts, figures and selection survive. Unmatched widgets are removed, and unmatched
+ * loaded widgets are inserted with their children. The changes are computed when the
+ * command is created and replayed by undo and redo, so the commands below it on the
+ * command stack still refer to the widgets of the screen.
+ * </p>
+ */
+public class LvglScreenSyncCommand extends Command {
+
+	/** A property copied from the loaded widgets; the getter returns a value that is not shared */
+	private record Property<T>(Function<LvglWidget, T> getter, BiConsumer<LvglWidget, T> setter) {
+	}
+
+	private static final List<Property<?>> PROPERTIES = List.of(
+			new Property<>(LvglWidget::getName, LvglWidget::setName),
+			new Property<>(widget -> widget.getBounds().getCopy(), LvglWidget::setBounds),
+			new Property<>(LvglWidget::getText, LvglWidget::setText),
+			new Property<>(LvglWidget::getBgColor, LvglWidget::setBgColor),
+			new Property<>(LvglWidget::getTextColor, LvglWidget::setTextColor),
+			new Property<>(LvglWidget::getBorderWidth, LvglWidget::setBorderWidth),
+			new Property<>(LvglWidget::getBorderColor, LvglWidget::setBorderColor),
+			new Property<>(LvglWidget::getRadius, LvglWidget::setRadius),
+			new Property<>(LvglWidget::getImageSource, LvglWidget::setImageSource),
+			new Property<>(LvglWidget::isChecked, LvglWidget::setChecked),
+			new Property<>(LvglWidget::getValue, LvglWidget::setValue),
+			new Property<>(LvglWidget::getMinValue, LvglWidget::setMinValue),
+			new Property<>(LvglWidget::getMaxValue, LvglWidget::setMaxValue),
+			new Property<>(LvglWidget::getRowCount, LvglWidget::setRowCount),
+			new Property<>(LvglWidget::getColumnCount, LvglWidget::setColumnCount),
+			new Property<>(LvglWidget::getTableData, LvglWidget::setTableData),
+			new Property<>(LvglWidget::getLayoutType, LvglWidget::setLayoutType),
+			new Property<>(LvglWidget::getFlexFlow, LvglWidget::setFlexFlow),
+			new Property<>(LvglWidget::getFlexMainAlign, LvglWidget::setFlexMainAlign),
+			new Property<>(LvglWidget::getFlexCrossAlign, LvglWidget::setFlexCrossAlign),
+			new Property<>(LvglWidget::getFlexTrackAlign, LvglWidget::setFlexTrackAlign),
+			new Property<>(LvglWidget::getPadRow, LvglWidget::setPadRow),
+			new Property<>(LvglWidget::getPadColumn, LvglWidget::setPadColumn));
+
+	/** A change of the screen and how to take it back */
+	private record Change(Runnable apply, Runnable revert) {
+	}
+
+	/** The children of a screen or widget and how to change them */
+	private record Parent(List<LvglWidget> children, ObjIntConsumer<LvglWidget> insert,
+			Consumer<LvglWidget> remove) {
+	}
+
+	private final List<Change> changes = new ArrayList<>();
+
+	/**
+	 * @param screen the screen to change
+	 * @param loaded the screen loaded from the XML source; its widgets are moved into
+	 *               the screen when the command is executed, so it must not be used
+	 *               afterwards
+	 */
+	public LvglScreenSyncCommand(LvglScreen screen, LvglScreen loaded) {
+		setLabel("Edit XML Source");
+		addChange(screen::getName, screen::setName, loaded.getName());
+		addChange(screen::getWidth, screen::setWidth, loaded.getWidth());
+		addChange(screen::getHeight, screen::setHeight, loaded.getHeight());
+		addChange(screen::getBgColor, screen::setBgColor, loaded.getBgColor());
+		syncChildren(new Parent(screen.getWidgets(), (widget, index) -> screen.insertWidget(index, widget),
+				screen::removeWidget), loaded.getWidgets());
+	}
+
+	/**
+	 * @return true if the screen differs from the loaded screen
+	 */
+	public boolean hasChanges() {
+		return !changes.isEmpty();
+	}
+
+	@Override
+	public boolean canExecute() {
+		return hasChanges();
+	}
+
+	@Override
+	public void execute() {
+		for (Change change : changes) {
+			change.apply().run();
+		}
+	}
+
+	@Override
+	public void undo() {
+		for (int i = changes.size() - 1; i >= 0; i--) {
+			changes.get(i).revert().run();
+		}
+	}
+
+	@Override
+	public void redo() {
+		execute();
+	}
+
+	private <T> void addChange(Supplier<T> getter, Consumer<T> setter, T newValue) {
+		T oldValue = getter.get();
+		if (!Objects.equals(oldValue, newValue)) {
+			changes.add(new Change(() -> setter.accept(newValue), () -> setter.accept(oldValue)));
+		}
+	}
+
+	private <T> void addChange(LvglWidget widget, LvglWidget loaded, Property<T> property) {
+		T oldValue = property.getter().apply(widget);
+		T newValue = property.getter().apply(loaded);
+		if (!Objects.equals(oldValue, newValue)) {
+			changes.add(new Change(() -> property.setter().accept(widget, newValue),
+					() -> property.setter().accept(widget, oldValue)));
+		}
+	}
+
+	/**
+	 * Record the changes that turn the children of a parent into the loaded children,
+	 * and the changes of the matched children and their descendants.
+	 */
+	private void syncChildren(Parent parent, List<LvglWidget> loadedChildren) {
+		Map<LvglWidget, LvglWidget> matches = match(parent.children(), loadedChildren);
+
+		// The children in the order they will be in, to compute the indices of the changes
+		List<LvglWidget> current = new ArrayList<>(parent.children());
+		Set<LvglWidget> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+		kept.addAll(matches.values());
+		for (int i = current.size() - 1; i >= 0; i--) {
+			LvglWidget widget = current.get(i);
+			if (!kept.contains(widget)) {
+				int index = i;
+				changes.add(new Change(() -> parent.remove().accept(widget),
+						() -> parent.insert().accept(widget, index)));
+				current.remove(i);
+			}
+		}
+
+		for (int i = 0; i < loadedChildren.size(); i++) {
+			LvglWidget loaded = loadedChildren.get(i);
+			LvglWidget widget = matches.getOrDefault(loaded, loaded);
+			if (i < current.size() && current.get(i) == widget) {
+				continue;
+			}
+			int index = i;
+			if (widget == loaded) {
+				changes.add(new Change(() -> parent.insert().accept(widget, index),
+						() -> parent.remove().accept(widget)));
+				current.add(i, widget);
+			} else {
+				int oldIndex = current.indexOf(widget);
+				changes.add(new Change(() -> move(parent, widget, index), () -> move(parent, widget, oldIndex)));
+				current.remove(oldIndex);
+				current.add(i, widget);
+			}
+		}
+
+		for (LvglWidget loaded : loadedChildren) {
+			LvglWidget widget = matches.get(loaded);
+			if (widget == null) {
+				continue;
+			}
+			for (Property<?> property : PROPERTIES) {
+				addChange(widget, loaded, property);
+			}
+			syncChildren(new Parent(widget.getChildren(), (child, index) -> widget.insertChild(index, child),
+					widget::removeChild), loaded.getChildren());
+		}
+	}
+
+	private static void move(Parent parent, LvglWidget widget, int index) {
+		parent.remove().accept(widget);
+		parent.insert().accept(widget, index);
+	}
+
+	/**
+	 * Match loaded widgets to existing widgets of the same type, first by name. Of the
+	 * rest, a widget is matched by type if it is the only unmatched widget of its type on
+	 * both sides, or else to the unmatched widget of its type at the same index.
+	 *
+	 * @return the existing widget of every matched loaded widget
+	 */
+	private static Map<LvglWidget, LvglWidget> match(List<LvglWidget> widgets, List<LvglWidget> loadedWidgets) {
+		Map<LvglWidget, LvglWidget> matches = new IdentityHashMap<>();
+		Map<String, Deque<LvglWidget>> byName = new HashMap<>();
+		for (LvglWidget widget : widgets) {
+			byName.computeIfAbsent(widget.getName() + '\0' + widget.getWidgetType(), key -> new ArrayDeque<>())
+					.add(widget);
+		}
+		List<Integer> unmatched = new ArrayList<>();
+		for (int i = 0; i < loadedWidgets.size(); i++) {
+			LvglWidget loaded = loadedWidgets.get(i);
+			Deque<LvglWidget> named = byName.get(loaded.getName() + '\0' + loaded.getWidgetType());
+			if (named != null && !named.isEmpty()) {
+				matches.put(loaded, named.poll());
+			} else {
+				unmatched.add(i);
+			}
+		}
+		if (unmatched.isEmpty()) {
+			return matches;
+		}
+		Set<LvglWidget> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+		matched.addAll(matches.values());
+		Map<LvglWidget.WidgetType, List<Integer>> byType = new EnumMap<>(LvglWidget.WidgetType.class);
+		for (int i = 0; i < widgets.size(); i++) {
+			if (!matched.contains(widgets.get(i))) {
+				byType.computeIfAbsent(widgets.get(i).getWidgetType(), type -> new ArrayList<>()).add(i);
+			}
+		}
+		Map<LvglWidget.WidgetType, Integer> loadedTypeCounts = new EnumMap<>(LvglWidget.WidgetType.class);
+		for (int i : unmatched) {
+			loadedTypeCounts.merge(loadedWidgets.get(i).getWidgetType(), 1, Integer::sum);
+		}
+		for (int i : unmatched) {
+			LvglWidget loaded = loadedWidgets.get(i);
+			List<Integer> typed = byType.getOrDefault(loaded.getWidgetType(), List.of());
+			if (typed.size() == 1 && loadedTypeCounts.get(loaded.getWidgetType()) == 1) {
+				matches.put(loaded, widgets.get(typed.get(0)));
+			} else if (i < widgets.size() && widgets.get(i).getWidgetType() == loaded.getWidgetType()
+					&& !matched.contains(widgets.get(i))) {
+				matches.put(loaded, widgets.get(i));
+			}
+		}
+		return matches;
+	}
+}
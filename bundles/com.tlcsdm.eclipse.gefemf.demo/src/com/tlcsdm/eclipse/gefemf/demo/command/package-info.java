@@ -40,6 +40,24 @@
  *       将控件添加到容器命令</li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.command.LvglWidgetRemoveFromContainerCommand} - 
  *       从容器移除控件命令</li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.command.LvglScreenSyncCommand} - 
+ *       XML 源码同步命令，使屏幕与从 XML 加载的屏幕一致
+ *       <ul>
+ *         <li>创建时计算差异：控件按名称和类型匹配；其余控件只有在两侧都只剩一个该类型的控件、
+ *             或位于相同位置时才按类型匹配（保留重命名的控件），否则删除旧控件并插入新控件；
+ *             只记录不同的属性、增删和移动</li>
+ *         <li>execute()/redo() - 依次应用差异，匹配的控件对象保持不变</li>
+ *         <li>undo() - 逆序撤销差异</li>
+ *       </ul>
+ *   </li>
+ * </ul>
+ * 
+ * <h3>命令栈</h3>
+ * <ul>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.command.BatchingCommandStack} - 
+ *       在模型批处理中执行、撤销和重做命令，复合命令执行完后每个模型元素只触发一次
+ *       {@code PROPERTY_BATCH} 通知。属性视图对多选控件的修改
+ *       （GEF 的 UndoablePropertySheetEntry 生成的复合命令）因此只刷新一次</li>
  * </ul>
  * 
  * <h3>类图相关命令（参考实现）</h3>
@@ -21,11 +21,16 @@ import org.eclipse.gef.editparts.ScalableFreeformRootEditPart;
 import org.eclipse.gef.palette.PaletteRoot;
 import org.eclipse.gef.ui.palette.PaletteViewer;
 import org.eclipse.gef.ui.parts.GraphicalEditorWithPalette;
+import org.eclipse.gef.ui.properties.UndoablePropertySheetPage;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorSite;
 import org.eclipse.ui.IFileEditorInput;
 import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.actions.ActionFactory;
+import org.eclipse.ui.views.properties.IPropertySheetPage;
 
+import com.tlcsdm.eclipse.gefemf.demo.command.BatchingCommandStack;
+import com.tlcsdm.eclipse.gefemf.demo.command.LvglScreenSyncCommand;
 import com.tlcsdm.eclipse.gefemf.demo.editpart.LvglEditPartFactory;
 import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
 import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
@@ -43,7 +48,10 @@ public class DiagramEditor extends GraphicalEditorWithPalette implements Command
 	private LvglScreen screen;
 
 	public DiagramEditor() {
-		setEditDomain(new DefaultEditDomain(this));
+		DefaultEditDomain editDomain = new DefaultEditDomain(this);
+		// Compound commands, like a property change of many widgets, refresh the figures once
+		editDomain.setCommandStack(new BatchingCommandStack());
+		setEditDomain(editDomain);
 	}
 
 	@Override
@@ -130,7 +138,7 @@ public class DiagramEditor extends GraphicalEditorWithPalette implements Command
 
 	@Override
 	protected PaletteRoot getPaletteRoot() {
-		return LvglPaletteFactory.createPalette();
+		return LvglPaletteFactory.createPalette(this::getScreen);
 	}
 
 	/**
@@ -200,13 +208,29 @@ public class DiagramEditor extends GraphicalEditorWithPalette implements Command
 		super.updateActions(getStackActions());
 	}
 
+	/**
+	 * Provide a Properties view page that changes properties through the command stack.
+	 * When several widgets are selected, a change is applied to all of them as one
+	 * compound command that is undone in one step.
+	 */
+	@Override
+	public <T> T getAdapter(Class<T> type) {
+		if (type == IPropertySheetPage.class) {
+			return type.cast(new UndoablePropertySheetPage(getCommandStack(),
+					getActionRegistry().getAction(ActionFactory.UNDO.getId()),
+					getActionRegistry().getAction(ActionFactory.REDO.getId())));
+		}
+		return super.getAdapter(type);
+	}
+
 	public LvglScreen getScreen() {
 		return screen;
 	}
 
 	/**
 	 * Set the screen model and refresh the graphical viewer.
-	 * Used by the multi-page editor when XML content changes.
+	 * All edit parts are recreated; use {@link #syncScreen(LvglScreen)} to apply XML
+	 * changes to the current screen instead.
 	 */
 	public void setScreen(LvglScreen newScreen) {
 		this.screen = newScreen;
@@ -215,4 +239,31 @@ public class DiagramEditor extends GraphicalEditorWithPalette implements Command
 			viewer.setContents(screen);
 		}
 	}
+
+	/**
+	 * Bring the screen model in line with a screen loaded from the XML source.
+	 * Only the differences are applied, as one undoable command, so the edit parts of
+	 * unchanged widgets, the selection and the undo history are kept.
+	 * Used by the multi-page editor when XML content changes.
+	 *
+	 * @param loaded the loaded screen; its widgets may be moved into the screen model
+	 */
+	public void syncScreen(LvglScreen loaded) {
+		if (screen == null) {
+			setScreen(loaded);
+			return;
+		}
+		LvglScreenSyncCommand command = new LvglScreenSyncCommand(screen, loaded);
+		if (command.hasChanges()) {
+			getCommandStack().execute(command);
+		}
+	}
+
+	/**
+	 * Mark the current state as saved, after the model was saved through the XML source.
+	 */
+	public void markSaveLocation() {
+		getCommandStack().markSaveLocation();
+		firePropertyChange(PROP_DIRTY);
+	}
 }
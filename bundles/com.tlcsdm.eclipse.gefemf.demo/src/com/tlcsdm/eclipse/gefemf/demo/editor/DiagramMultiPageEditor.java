@@ -9,15 +9,21 @@ package com.tlcsdm.eclipse.gefemf.demo.editor;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.gef.commands.CommandStack;
 import org.eclipse.jface.dialogs.ErrorDialog;
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.DocumentRewriteSession;
+import org.eclipse.jface.text.DocumentRewriteSessionType;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IEditorInput;
@@ -30,10 +36,12 @@ import org.eclipse.ui.editors.text.TextEditor;
 import org.eclipse.ui.ide.IDE;
 import org.eclipse.ui.part.FileEditorInput;
 import org.eclipse.ui.part.MultiPageEditorPart;
+import org.eclipse.ui.views.properties.IPropertySheetPage;
 
 import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
 import com.tlcsdm.eclipse.gefemf.demo.model.LvglXmlSerializer;
 import com.tlcsdm.eclipse.gefemf.demo.util.ConsoleLogger;
+import com.tlcsdm.eclipse.gefemf.demo.util.TextDiff;
 
 /**
  * Multi-page editor for LVGL UI design.
@@ -68,6 +76,12 @@ public class DiagramMultiPageEditor extends MultiPageEditorPart implements IReso
 	/** Document listener to track XML changes */
 	private IDocumentListener documentListener;
 
+	/**
+	 * Flag to track if the model was changed since the XML was last synchronized.
+	 * Unlike the dirty state, it is also set by undoing to the save location.
+	 */
+	private boolean modelModified = false;
+
 	/**
 	 * Creates a multi-page editor.
 	 */
@@ -85,6 +99,12 @@ public class DiagramMultiPageEditor extends MultiPageEditorPart implements IReso
 			graphicalEditor = new DiagramEditor();
 			int index = addPage(graphicalEditor, getEditorInput());
 			setPageText(index, "Design");
+			CommandStack commandStack = graphicalEditor.getAdapter(CommandStack.class);
+			commandStack.addCommandStackEventListener(event -> {
+				if (event.isPostChangeEvent()) {
+					modelModified = true;
+				}
+			});
 		} catch (PartInitException e) {
 			ErrorDialog.openError(
 				getSite().getShell(),
@@ -168,6 +188,8 @@ public class DiagramMultiPageEditor extends MultiPageEditorPart implements IReso
 			textEditor.doSave(monitor);
 			// Refresh UI editor with new content
 			refreshGraphicalEditor();
+			// The model now matches the saved file
+			graphicalEditor.markSaveLocation();
 			// Reset the xmlModified flag since we've synchronized
 			xmlModified = false;
 		} else {
@@ -238,7 +260,7 @@ public class DiagramMultiPageEditor extends MultiPageEditorPart implements IReso
 			// Switching to UI page after XML was modified - refresh UI
 			refreshGraphicalEditor();
 			xmlModified = false;
-		} else if (newPageIndex == XML_PAGE_INDEX && graphicalEditor.isDirty()) {
+		} else if (newPageIndex == XML_PAGE_INDEX && modelModified) {
 			// Switching to XML page after UI was modified - refresh XML
 			refreshTextEditor();
 		}
@@ -257,8 +279,9 @@ public class DiagramMultiPageEditor extends MultiPageEditorPart implements IReso
 					ByteArrayInputStream bais = new ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8));
 					LvglScreen newScreen = serializer.load(bais);
 					
-					// Update the graphical editor's model
-					graphicalEditor.setScreen(newScreen);
+					// Apply only the differences, keeping edit parts, selection and undo history
+					graphicalEditor.syncScreen(newScreen);
+					modelModified = false;
 				}
 			}
 		} catch (Exception e) {
@@ -279,14 +302,8 @@ public class DiagramMultiPageEditor extends MultiPageEditorPart implements IReso
 				
 				IDocument document = textEditor.getDocumentProvider().getDocument(getEditorInput());
 				if (document != null) {
-					// Temporarily remove listener to avoid triggering xmlModified
-					if (documentListener != null) {
-						document.removeDocumentListener(documentListener);
-					}
-					document.set(baos.toString(StandardCharsets.UTF_8));
-					if (documentListener != null) {
-						document.addDocumentListener(documentListener);
-					}
+					updateDocument(document, baos.toString(StandardCharsets.UTF_8));
+					modelModified = false;
 				}
 			}
 		} catch (Exception e) {
@@ -294,6 +311,40 @@ public class DiagramMultiPageEditor extends MultiPageEditorPart implements IReso
 		}
 	}
 
+	/**
+	 * Replace the regions of the document that differ from a new text, so the text
+	 * editor keeps its selection, scroll position and undo history for the rest.
+	 */
+	private void updateDocument(IDocument document, String text) throws BadLocationException {
+		List<TextDiff.Replacement> replacements = TextDiff.compute(document.get(), text);
+		if (replacements.isEmpty()) {
+			return;
+		}
+		// Temporarily remove listener to avoid triggering xmlModified
+		if (documentListener != null) {
+			document.removeDocumentListener(documentListener);
+		}
+		DocumentRewriteSession session = null;
+		if (replacements.size() > 1 && document instanceof IDocumentExtension4 extension) {
+			session = extension.startRewriteSession(DocumentRewriteSessionType.SEQUENTIAL);
+		}
+		try {
+			// Applied from the first to the last, as TextDiff.compute describes
+			int shift = 0;
+			for (TextDiff.Replacement replacement : replacements) {
+				document.replace(replacement.offset() + shift, replacement.length(), replacement.text());
+				shift += replacement.text().length() - replacement.length();
+			}
+		} finally {
+			if (session != null) {
+				((IDocumentExtension4) document).stopRewriteSession(session);
+			}
+			if (documentListener != null) {
+				document.addDocumentListener(documentListener);
+			}
+		}
+	}
+
 	/**
 	 * Refresh the text editor with content from the graphical model and save it.
 	 * This ensures the text editor is synchronized and not marked dirty after save.
@@ -311,20 +362,14 @@ public class DiagramMultiPageEditor extends MultiPageEditorPart implements IReso
 				
 				IDocument document = textEditor.getDocumentProvider().getDocument(getEditorInput());
 				if (document != null) {
-					// Temporarily remove listener to avoid triggering xmlModified
-					if (documentListener != null) {
-						document.removeDocumentListener(documentListener);
-					}
-					document.set(baos.toString(StandardCharsets.UTF_8));
-					if (documentListener != null) {
-						document.addDocumentListener(documentListener);
-					}
+					updateDocument(document, baos.toString(StandardCharsets.UTF_8));
 					// Reset the document provider by reloading content from the file.
 					// Since graphicalEditor.doSave() has already saved the XML to file,
 					// this reloads the saved content and clears the text editor's dirty state.
 					textEditor.getDocumentProvider().resetDocument(getEditorInput());
-					// Reset xmlModified since content is now synchronized
+					// Reset xmlModified and modelModified since content is now synchronized
 					xmlModified = false;
+					modelModified = false;
 				}
 			}
 		} catch (Exception e) {
@@ -350,6 +395,18 @@ public class DiagramMultiPageEditor extends MultiPageEditorPart implements IReso
 		}
 	}
 
+	/**
+	 * Use the Properties view page of the graphical editor, so property changes are made
+	 * through its command stack and can be undone.
+	 */
+	@Override
+	public <T> T getAdapter(Class<T> adapter) {
+		if (adapter == IPropertySheetPage.class && graphicalEditor != null) {
+			return graphicalEditor.getAdapter(adapter);
+		}
+		return super.getAdapter(adapter);
+	}
+
 	/**
 	 * Get the screen model from the graphical editor.
 	 */
@@ -6,18 +6,14 @@
  ******************************************************************************/
 package com.tlcsdm.eclipse.gefemf.demo.editor;
 
-import java.io.ByteArrayInputStream;
-
-import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.ui.IWorkbenchPart;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 
 import com.tlcsdm.eclipse.gefemf.demo.Activator;
-import com.tlcsdm.eclipse.gefemf.demo.generator.LvglCodeGenerator;
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglCodeGenerationJob;
 import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
 import com.tlcsdm.eclipse.gefemf.demo.util.ConsoleLogger;
 
@@ -61,36 +57,7 @@ public class GenerateLvglCodeAction extends Action {
 		try {
 			IFile diagramFile = (IFile) diagramEditor.getEditorInput().getAdapter(IFile.class);
 			if (diagramFile != null) {
-				IContainer parentFolder = diagramFile.getParent();
-				String baseName = diagramFile.getName();
-				if (baseName.endsWith(".gefxml")) {
-					baseName = baseName.substring(0, baseName.length() - 7);
-				}
-
-				LvglCodeGenerator generator = new LvglCodeGenerator(screen, baseName);
-				String headerCode = generator.generateHeader();
-				String sourceCode = generator.generateSource();
-
-				IFile headerFile = parentFolder.getFile(new org.eclipse.core.runtime.Path(baseName + ".h"));
-				ByteArrayInputStream headerSource = new ByteArrayInputStream(headerCode.getBytes("UTF-8"));
-				if (headerFile.exists()) {
-					headerFile.setContents(headerSource, true, true, new NullProgressMonitor());
-				} else {
-					headerFile.create(headerSource, true, new NullProgressMonitor());
-				}
-
-				IFile sourceFile = parentFolder.getFile(new org.eclipse.core.runtime.Path(baseName + ".c"));
-				ByteArrayInputStream cSource = new ByteArrayInputStream(sourceCode.getBytes("UTF-8"));
-				if (sourceFile.exists()) {
-					sourceFile.setContents(cSource, true, true, new NullProgressMonitor());
-				} else {
-					sourceFile.create(cSource, true, new NullProgressMonitor());
-				}
-
-				ConsoleLogger.logInfo("Successfully generated LVGL C code: " + headerFile.getFullPath() + ", " + sourceFile.getFullPath());
-				ConsoleLogger.writeToConsole("Successfully generated LVGL C code:");
-				ConsoleLogger.writeToConsole("  " + headerFile.getFullPath().toString());
-				ConsoleLogger.writeToConsole("  " + sourceFile.getFullPath().toString());
+				new LvglCodeGenerationJob(diagramFile, screen).schedule();
 			}
 		} catch (Exception e) {
 			ConsoleLogger.logError("Failed to generate code: " + e.getMessage(), e);
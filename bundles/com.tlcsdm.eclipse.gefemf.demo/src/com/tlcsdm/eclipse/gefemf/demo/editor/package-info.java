@@ -18,7 +18,13 @@
  *         <li>第一页：图形编辑器 (DiagramEditor)，可视化设计界面</li>
  *         <li>第二页：XML 源码编辑器，直接编辑 XML 格式的模型文件</li>
  *       </ul>
- *       两个页面自动同步，切换时更新对方的内容。
+ *       两个页面自动同步，切换时更新对方的内容，且都是增量同步：
+ *       <ul>
+ *         <li>XML → 模型：解析文档后由 LvglScreenSyncCommand 按父控件、名称和类型将元素匹配到现有控件，
+ *             只应用有差异的属性和增删的控件，作为一条可撤销命令执行，保留 EditPart、选中状态和撤销历史</li>
+ *         <li>模型 → XML：序列化后由 TextDiff 逐行比较，只对变化的区域调用 IDocument.replace()，
+ *             文本编辑器保留其余部分的撤销历史和滚动位置</li>
+ *       </ul>
  *   </li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.editor.DiagramEditor} - 
  *       GEF 图形编辑器，继承自 GraphicalEditorWithPalette：
@@ -26,7 +32,9 @@
  *         <li>管理 GraphicalViewer（画布）和 PaletteViewer（调色板）</li>
  *         <li>加载和保存模型 (.gefxml 文件)</li>
  *         <li>配置 EditPartFactory、RootEditPart 等</li>
- *         <li>管理 CommandStack 实现撤销/重做</li>
+ *         <li>管理 CommandStack 实现撤销/重做，使用 BatchingCommandStack 合并每条命令的模型通知</li>
+ *         <li>提供 UndoablePropertySheetPage，属性视图的修改通过 CommandStack 执行；
+ *             多选控件时一次修改作为一条复合命令应用到所有控件，可一步撤销</li>
  *       </ul>
  *   </li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.editor.DiagramEditorActionBarContributor} - 
@@ -39,7 +47,7 @@
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.editor.DiagramContextMenuProvider} - 
  *       右键上下文菜单提供者，定义画布上的右键菜单项</li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.editor.GenerateLvglCodeAction} - 
- *       生成 LVGL 代码动作，调用 LvglCodeGenerator 生成 C 代码</li>
+ *       生成 LVGL 代码动作，通过后台 LvglCodeGenerationJob 增量生成 C 代码</li>
  * </ul>
  * 
  * <h2>编辑器注册</h2>
@@ -68,8 +76,8 @@
  * ├── PaletteViewer (调色板)
  * │   └── PaletteRoot (LvglPaletteFactory.createPalette())
  * │
- * ├── CommandStack (命令栈)
- * │   └── 管理撤销/重做历史
+ * ├── CommandStack (BatchingCommandStack)
+ * │   └── 管理撤销/重做历史，每次执行/撤销/重做只触发一次批量通知
  * │
  * └── ActionRegistry (动作注册表)
  *     └── 注册各种编辑动作
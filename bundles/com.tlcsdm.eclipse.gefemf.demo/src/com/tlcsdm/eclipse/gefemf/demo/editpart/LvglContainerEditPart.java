@@ -9,6 +9,9 @@ package com.tlcsdm.eclipse.gefemf.demo.editpart;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 import org.eclipse.draw2d.ChopboxAnchor;
 import org.eclipse.draw2d.ConnectionAnchor;
@@ -32,8 +35,21 @@ import com.tlcsdm.eclipse.gefemf.demo.property.LvglWidgetPropertySource;
  */
 public class LvglContainerEditPart extends AbstractGraphicalEditPart implements PropertyChangeListener, NodeEditPart {
 
+	/**
+	 * The figure update of every property shown by the figure, except the bounds. A
+	 * change only runs the updates of the changed properties.
+	 */
+	private static final Map<String, BiConsumer<LvglContainerFigure, LvglWidget>> FIGURE_UPDATES = Map.of(
+			LvglWidget.PROPERTY_WIDGET_TYPE, (figure, widget) -> figure.setWidgetType(widget.getWidgetType()),
+			ModelElement.PROPERTY_NAME, (figure, widget) -> figure.setWidgetName(widget.getName()),
+			LvglWidget.PROPERTY_TEXT, (figure, widget) -> figure.setWidgetText(widget.getText()),
+			LvglWidget.PROPERTY_BG_COLOR, (figure, widget) -> figure.setWidgetBgColor(widget.getBgColor()));
+
 	private ConnectionAnchor anchor;
 
+	/** The Properties view asks for the adapter on every selection, so it is created once */
+	private IPropertySource propertySource;
+
 	@Override
 	protected IFigure createFigure() {
 		return new LvglContainerFigure();
@@ -78,25 +94,36 @@ public class LvglContainerEditPart extends AbstractGraphicalEditPart implements
 	protected void refreshVisuals() {
 		LvglContainerFigure figure = (LvglContainerFigure) getFigure();
 		LvglWidget widget = (LvglWidget) getModel();
+		for (BiConsumer<LvglContainerFigure, LvglWidget> update : FIGURE_UPDATES.values()) {
+			update.accept(figure, widget);
+		}
+		refreshBounds();
+	}
 
-		figure.setWidgetType(widget.getWidgetType());
-		figure.setWidgetName(widget.getName());
-		figure.setWidgetText(widget.getText());
-		figure.setWidgetBgColor(widget.getBgColor());
-
-		Rectangle bounds = widget.getBounds();
-		((GraphicalEditPart) getParent()).setLayoutConstraint(this, figure, bounds);
+	private void refreshBounds() {
+		Rectangle bounds = ((LvglWidget) getModel()).getBounds();
+		((GraphicalEditPart) getParent()).setLayoutConstraint(this, getFigure(), bounds);
 	}
 
 	@Override
 	public void propertyChange(PropertyChangeEvent evt) {
-		String prop = evt.getPropertyName();
-		if (ModelElement.PROPERTY_LAYOUT.equals(prop) || ModelElement.PROPERTY_NAME.equals(prop)
-				|| "widgetType".equals(prop) || "text".equals(prop) || "bgColor".equals(prop)) {
-			refreshVisuals();
-		} else if (ModelElement.PROPERTY_ADD.equals(prop) || ModelElement.PROPERTY_REMOVE.equals(prop)) {
+		// A batch of changes updates each changed property and the children once
+		Set<String> changed = ModelElement.getChangedProperties(evt);
+		LvglContainerFigure figure = (LvglContainerFigure) getFigure();
+		LvglWidget widget = (LvglWidget) getModel();
+		for (String property : changed) {
+			BiConsumer<LvglContainerFigure, LvglWidget> update = FIGURE_UPDATES.get(property);
+			if (update != null) {
+				update.accept(figure, widget);
+			}
+		}
+		if (changed.contains(ModelElement.PROPERTY_LAYOUT)) {
+			refreshBounds();
+		}
+		if (changed.contains(ModelElement.PROPERTY_ADD) || changed.contains(ModelElement.PROPERTY_REMOVE)) {
 			refreshChildren();
-		} else if (ModelElement.PROPERTY_CONNECTION.equals(prop)) {
+		}
+		if (changed.contains(ModelElement.PROPERTY_CONNECTION)) {
 			refreshSourceConnections();
 			refreshTargetConnections();
 		}
@@ -143,7 +170,10 @@ public class LvglContainerEditPart extends AbstractGraphicalEditPart implements
 	@Override
 	public <T> T getAdapter(Class<T> adapter) {
 		if (adapter == IPropertySource.class) {
-			return (T) new LvglWidgetPropertySource((LvglWidget) getModel());
+			if (propertySource == null) {
+				propertySource = new LvglWidgetPropertySource((LvglWidget) getModel());
+			}
+			return (T) propertySource;
 		}
 		return super.getAdapter(adapter);
 	}
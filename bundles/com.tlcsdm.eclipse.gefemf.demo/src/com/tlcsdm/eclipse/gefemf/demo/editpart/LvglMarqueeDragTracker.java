@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.editpart;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.XYLayout;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.gef.GraphicalEditPart;
+import org.eclipse.gef.tools.MarqueeDragTracker;
+
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
+
+/**
+ * Drag tracker selecting the widgets within a marquee dragged on the empty area of a
+ * screen.
+ * <p>
+ * Instead of testing the figure of every edit part of the viewer, the widgets
+ * overlapping the marquee are looked up in the spatial index of the screen, and of each
+ * container the marquee overlaps, and only their figures are tested.
+ * </p>
+ */
+public class LvglMarqueeDragTracker extends MarqueeDragTracker {
+
+	public LvglMarqueeDragTracker() {
+		setMarqueeBehavior(BEHAVIOR_NODES_CONTAINED);
+	}
+
+	@Override
+	protected Collection<GraphicalEditPart> calculatePrimaryMarqueeSelectedEditParts() {
+		Collection<GraphicalEditPart> selected = new ArrayList<>();
+		if (getCurrentViewer().getContents() instanceof GraphicalEditPart contents) {
+			collect(contents, getCurrentMarqueeSelectionRectangle(), selected);
+		}
+		return selected;
+	}
+
+	/**
+	 * Add the selectable children of an edit part whose figures lie within the marquee,
+	 * and continue with the children of the children overlapping it.
+	 *
+	 * @param marquee the marquee, in absolute coordinates
+	 */
+	private void collect(GraphicalEditPart parent, Rectangle marquee, Collection<GraphicalEditPart> selected) {
+		List<LvglWidget> widgets;
+		if (parent.getModel() instanceof LvglScreen screen) {
+			widgets = screen.findWidgets(toModel(parent.getContentPane(), marquee));
+		} else if (parent.getModel() instanceof LvglWidget widget && !widget.getChildren().isEmpty()) {
+			widgets = widget.findChildren(toModel(parent.getContentPane(), marquee));
+		} else {
+			return;
+		}
+		Map<?, ?> registry = getCurrentViewer().getEditPartRegistry();
+		for (LvglWidget widget : widgets) {
+			if (registry.get(widget) instanceof GraphicalEditPart child) {
+				if (isMarqueeSelectable(child) && isWithin(child.getFigure(), marquee)) {
+					selected.add(child);
+				}
+				collect(child, marquee, selected);
+			}
+		}
+	}
+
+	/**
+	 * Convert an absolute rectangle into the coordinates the children of a figure are
+	 * laid out in, which are the coordinates of their widgets.
+	 */
+	private static Rectangle toModel(IFigure contentPane, Rectangle absolute) {
+		Rectangle area = absolute.getCopy();
+		contentPane.translateToRelative(area);
+		if (contentPane.getLayoutManager() instanceof XYLayout layout) {
+			area.translate(layout.getOrigin(contentPane).getNegated());
+		}
+		return area;
+	}
+
+	private static boolean isWithin(IFigure figure, Rectangle marquee) {
+		Rectangle bounds = figure.getBounds().getCopy();
+		figure.translateToAbsolute(bounds);
+		return figure.isShowing() && marquee.contains(bounds);
+	}
+}
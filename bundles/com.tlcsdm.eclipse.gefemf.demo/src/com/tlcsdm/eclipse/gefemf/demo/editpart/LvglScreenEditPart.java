@@ -9,6 +9,7 @@ package com.tlcsdm.eclipse.gefemf.demo.editpart;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.draw2d.ColorConstants;
 import org.eclipse.draw2d.Figure;
@@ -16,10 +17,16 @@ import org.eclipse.draw2d.FreeformLayer;
 import org.eclipse.draw2d.FreeformLayout;
 import org.eclipse.draw2d.IFigure;
 import org.eclipse.draw2d.LineBorder;
+import org.eclipse.draw2d.TreeSearch;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.gef.DragTracker;
+import org.eclipse.gef.GraphicalEditPart;
+import org.eclipse.gef.Request;
 import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
 import org.eclipse.ui.views.properties.IPropertySource;
 
 import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
 import com.tlcsdm.eclipse.gefemf.demo.model.ModelElement;
 import com.tlcsdm.eclipse.gefemf.demo.property.LvglScreenPropertySource;
 
@@ -28,9 +35,36 @@ import com.tlcsdm.eclipse.gefemf.demo.property.LvglScreenPropertySource;
  */
 public class LvglScreenEditPart extends AbstractGraphicalEditPart implements PropertyChangeListener {
 
+	/**
+	 * Screen figure finding the widget figure at a point through the spatial index of the
+	 * screen. Only where several widgets overlap the point are the widget figures searched
+	 * in their stacking order.
+	 */
+	private class ScreenLayer extends FreeformLayer {
+
+		@Override
+		protected IFigure findDescendantAtExcluding(int x, int y, TreeSearch search) {
+			// The widget figures are laid out at the bounds of their widgets
+			List<LvglWidget> widgets = ((LvglScreen) getModel()).findWidgets(new Rectangle(x, y, 1, 1));
+			if (widgets.isEmpty()) {
+				return null;
+			}
+			if (widgets.size() == 1
+					&& getViewer().getEditPartRegistry().get(widgets.get(0)) instanceof GraphicalEditPart child
+					&& child.getFigure().getParent() == this) {
+				IFigure figure = child.getFigure();
+				return figure.isVisible() ? figure.findFigureAt(x, y, search) : null;
+			}
+			return super.findDescendantAtExcluding(x, y, search);
+		}
+	}
+
+	/** The Properties view asks for the adapter on every selection, so it is created once */
+	private IPropertySource propertySource;
+
 	@Override
 	protected IFigure createFigure() {
-		Figure figure = new FreeformLayer();
+		Figure figure = new ScreenLayer();
 		figure.setLayoutManager(new FreeformLayout());
 		figure.setBorder(new LineBorder(ColorConstants.lightGray, 1));
 		figure.setBackgroundColor(ColorConstants.white);
@@ -43,6 +77,11 @@ public class LvglScreenEditPart extends AbstractGraphicalEditPart implements Pro
 		installEditPolicy(org.eclipse.gef.EditPolicy.LAYOUT_ROLE, new LvglScreenLayoutEditPolicy());
 	}
 
+	@Override
+	public DragTracker getDragTracker(Request request) {
+		return new LvglMarqueeDragTracker();
+	}
+
 	@Override
 	public void activate() {
 		if (!isActive()) {
@@ -66,8 +105,9 @@ public class LvglScreenEditPart extends AbstractGraphicalEditPart implements Pro
 
 	@Override
 	public void propertyChange(PropertyChangeEvent evt) {
-		String prop = evt.getPropertyName();
-		if (ModelElement.PROPERTY_ADD.equals(prop) || ModelElement.PROPERTY_REMOVE.equals(prop)) {
+		// A batch of changes refreshes the children once
+		Set<String> changed = ModelElement.getChangedProperties(evt);
+		if (changed.contains(ModelElement.PROPERTY_ADD) || changed.contains(ModelElement.PROPERTY_REMOVE)) {
 			refreshChildren();
 		}
 	}
@@ -76,7 +116,10 @@ public class LvglScreenEditPart extends AbstractGraphicalEditPart implements Pro
 	@Override
 	public <T> T getAdapter(Class<T> adapter) {
 		if (adapter == IPropertySource.class) {
-			return (T) new LvglScreenPropertySource((LvglScreen) getModel());
+			if (propertySource == null) {
+				propertySource = new LvglScreenPropertySource((LvglScreen) getModel());
+			}
+			return (T) propertySource;
 		}
 		return super.getAdapter(adapter);
 	}
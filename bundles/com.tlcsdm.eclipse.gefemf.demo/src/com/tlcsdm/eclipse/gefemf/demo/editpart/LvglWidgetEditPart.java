@@ -8,6 +8,9 @@ package com.tlcsdm.eclipse.gefemf.demo.editpart;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 import org.eclipse.draw2d.ChopboxAnchor;
 import org.eclipse.draw2d.ConnectionAnchor;
@@ -30,8 +33,28 @@ import com.tlcsdm.eclipse.gefemf.demo.property.LvglWidgetPropertySource;
  */
 public class LvglWidgetEditPart extends AbstractGraphicalEditPart implements PropertyChangeListener, NodeEditPart {
 
+	/**
+	 * The figure update of every property shown by the figure, except the bounds. A
+	 * change only runs the updates of the changed properties.
+	 */
+	private static final Map<String, BiConsumer<LvglWidgetFigure, LvglWidget>> FIGURE_UPDATES = Map.ofEntries(
+			Map.entry(LvglWidget.PROPERTY_WIDGET_TYPE, (figure, widget) -> figure.setWidgetType(widget.getWidgetType())),
+			Map.entry(ModelElement.PROPERTY_NAME, (figure, widget) -> figure.setWidgetName(widget.getName())),
+			Map.entry(LvglWidget.PROPERTY_TEXT, (figure, widget) -> figure.setWidgetText(widget.getText())),
+			Map.entry(LvglWidget.PROPERTY_BG_COLOR, (figure, widget) -> figure.setWidgetBgColor(widget.getBgColor())),
+			Map.entry(LvglWidget.PROPERTY_CHECKED, (figure, widget) -> figure.setChecked(widget.isChecked())),
+			Map.entry(LvglWidget.PROPERTY_VALUE, (figure, widget) -> figure.setValue(widget.getValue())),
+			Map.entry(LvglWidget.PROPERTY_MIN_VALUE, (figure, widget) -> figure.setMinValue(widget.getMinValue())),
+			Map.entry(LvglWidget.PROPERTY_MAX_VALUE, (figure, widget) -> figure.setMaxValue(widget.getMaxValue())),
+			Map.entry(LvglWidget.PROPERTY_ROW_COUNT, (figure, widget) -> figure.setRowCount(widget.getRowCount())),
+			Map.entry(LvglWidget.PROPERTY_COLUMN_COUNT,
+					(figure, widget) -> figure.setColumnCount(widget.getColumnCount())));
+
 	private ConnectionAnchor anchor;
 
+	/** The Properties view asks for the adapter on every selection, so it is created once */
+	private IPropertySource propertySource;
+
 	@Override
 	protected IFigure createFigure() {
 		return new LvglWidgetFigure();
@@ -69,32 +92,33 @@ public class LvglWidgetEditPart extends AbstractGraphicalEditPart implements Pro
 	protected void refreshVisuals() {
 		LvglWidgetFigure figure = (LvglWidgetFigure) getFigure();
 		LvglWidget widget = (LvglWidget) getModel();
+		for (BiConsumer<LvglWidgetFigure, LvglWidget> update : FIGURE_UPDATES.values()) {
+			update.accept(figure, widget);
+		}
+		refreshBounds();
+	}
 
-		figure.setWidgetType(widget.getWidgetType());
-		figure.setWidgetName(widget.getName());
-		figure.setWidgetText(widget.getText());
-		figure.setWidgetBgColor(widget.getBgColor());
-		// Update new widget-specific visual properties
-		figure.setChecked(widget.isChecked());
-		figure.setValue(widget.getValue());
-		figure.setMinValue(widget.getMinValue());
-		figure.setMaxValue(widget.getMaxValue());
-		figure.setRowCount(widget.getRowCount());
-		figure.setColumnCount(widget.getColumnCount());
-
-		Rectangle bounds = widget.getBounds();
-		((GraphicalEditPart) getParent()).setLayoutConstraint(this, figure, bounds);
+	private void refreshBounds() {
+		Rectangle bounds = ((LvglWidget) getModel()).getBounds();
+		((GraphicalEditPart) getParent()).setLayoutConstraint(this, getFigure(), bounds);
 	}
 
 	@Override
 	public void propertyChange(PropertyChangeEvent evt) {
-		String prop = evt.getPropertyName();
-		if (ModelElement.PROPERTY_LAYOUT.equals(prop) || ModelElement.PROPERTY_NAME.equals(prop)
-				|| "widgetType".equals(prop) || "text".equals(prop) || "bgColor".equals(prop)
-				|| "checked".equals(prop) || "value".equals(prop) || "minValue".equals(prop)
-				|| "maxValue".equals(prop) || "rowCount".equals(prop) || "columnCount".equals(prop)) {
-			refreshVisuals();
-		} else if (ModelElement.PROPERTY_CONNECTION.equals(prop)) {
+		// A batch of changes updates each changed property once
+		Set<String> changed = ModelElement.getChangedProperties(evt);
+		LvglWidgetFigure figure = (LvglWidgetFigure) getFigure();
+		LvglWidget widget = (LvglWidget) getModel();
+		for (String property : changed) {
+			BiConsumer<LvglWidgetFigure, LvglWidget> update = FIGURE_UPDATES.get(property);
+			if (update != null) {
+				update.accept(figure, widget);
+			}
+		}
+		if (changed.contains(ModelElement.PROPERTY_LAYOUT)) {
+			refreshBounds();
+		}
+		if (changed.contains(ModelElement.PROPERTY_CONNECTION)) {
 			refreshSourceConnections();
 			refreshTargetConnections();
 		}
@@ -141,7 +165,10 @@ public class LvglWidgetEditPart extends AbstractGraphicalEditPart implements Pro
 	@Override
 	public <T> T getAdapter(Class<T> adapter) {
 		if (adapter == IPropertySource.class) {
-			return (T) new LvglWidgetPropertySource((LvglWidget) getModel());
+			if (propertySource == null) {
+				propertySource = new LvglWidgetPropertySource((LvglWidget) getModel());
+			}
+			return (T) propertySource;
 		}
 		return super.getAdapter(adapter);
 	}
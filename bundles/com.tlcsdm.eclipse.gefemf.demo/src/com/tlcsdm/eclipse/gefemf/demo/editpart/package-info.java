@@ -24,24 +24,30 @@
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.editpart.LvglScreenEditPart} - 
  *       屏幕控制器，管理整个画布和所有顶级控件
  *       <ul>
- *         <li>createFigure() - 创建屏幕画布 Figure</li>
+ *         <li>createFigure() - 创建屏幕画布 Figure；命中测试通过屏幕的空间索引查找鼠标位置下的控件，
+ *             只有多个控件在该点重叠时才按层叠顺序遍历控件 Figure</li>
  *         <li>getModelChildren() - 返回屏幕上的所有控件</li>
  *         <li>createEditPolicies() - 安装布局编辑策略</li>
+ *         <li>getDragTracker() - 在屏幕空白处拖动时返回框选工具 LvglMarqueeDragTracker</li>
  *       </ul>
  *   </li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.editpart.LvglWidgetEditPart} - 
  *       控件控制器，管理单个 LVGL 控件
  *       <ul>
  *         <li>createFigure() - 创建 LvglWidgetFigure</li>
- *         <li>refreshVisuals() - 同步模型属性到 Figure</li>
- *         <li>propertyChange() - 响应模型属性变化</li>
- *         <li>getAdapter() - 提供属性视图适配器</li>
+ *         <li>refreshVisuals() - 通过分发表 FIGURE_UPDATES 同步所有模型属性到 Figure</li>
+ *         <li>propertyChange() - 按属性名在分发表中查找，只更新变化属性对应的 Figure 字段，
+ *             例如 value 变化只调用 setValue()；批量修改（PROPERTY_BATCH）中每个属性只更新一次</li>
+ *         <li>getAdapter() - 提供属性视图适配器，属性源每个 EditPart 只创建一次</li>
  *       </ul>
  *   </li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.editpart.LvglContainerEditPart} - 
- *       容器控件控制器，支持嵌套子控件</li>
+ *       容器控件控制器，支持嵌套子控件，属性变化同样通过分发表只更新变化的字段</li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.editpart.ConnectionEditPart} - 
  *       连接线控制器</li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.editpart.LvglMarqueeDragTracker} - 
+ *       框选工具，通过屏幕和容器的空间索引查找与选框重叠的控件，只检查这些控件的 Figure
+ *       是否完全位于选框内，而不是遍历查看器中的所有 EditPart</li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.editpart.LvglEditPartFactory} - 
  *       EditPart 工厂，根据模型类型创建对应的 EditPart</li>
  * </ul>
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.figure;
+
+import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Colors shared by all LVGL figures of a display.
+ * <p>
+ * The colors come from the JFace resource manager of the current display, which counts
+ * the references per RGB value: a native color is allocated when the first figure
+ * acquires it and disposed when the last figure releases it, or with the display. A
+ * screen with thousands of widgets therefore holds one color handle per distinct
+ * background color. Must be called on the UI thread.
+ * </p>
+ */
+public final class LvglColorRegistry {
+
+	private LvglColorRegistry() {
+	}
+
+	/**
+	 * Acquire the shared color of an RGB value. Every call must be paired with a
+	 * {@link #release(int)} of the same value; the color must not be disposed.
+	 *
+	 * @param rgb the color as 0xRRGGBB
+	 * @return the shared color
+	 */
+	public static Color acquire(int rgb) {
+		return JFaceResources.getResources(Display.getCurrent()).createColor(toRGB(rgb));
+	}
+
+	/**
+	 * Release a color acquired by {@link #acquire(int)}.
+	 *
+	 * @param rgb the color as 0xRRGGBB
+	 */
+	public static void release(int rgb) {
+		Display display = Display.getCurrent();
+		// The resource manager has already disposed its colors along with the display
+		if (display != null && !display.isDisposed()) {
+			JFaceResources.getResources(display).destroyColor(toRGB(rgb));
+		}
+	}
+
+	private static RGB toRGB(int rgb) {
+		return new RGB((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+	}
+}
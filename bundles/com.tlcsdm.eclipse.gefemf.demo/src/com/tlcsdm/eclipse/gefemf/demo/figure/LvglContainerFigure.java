@@ -15,7 +15,6 @@ import org.eclipse.draw2d.LineBorder;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
-import org.eclipse.swt.widgets.Display;
 
 import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
 
@@ -27,6 +26,8 @@ public class LvglContainerFigure extends Figure {
 	private final Label nameLabel;
 	private final Label typeLabel;
 	private String text = "";
+	private int bgColor;
+	/** The shared color of bgColor, acquired from LvglColorRegistry, or null */
 	private Color bgColorInstance;
 
 	public LvglContainerFigure() {
@@ -58,15 +59,16 @@ public class LvglContainerFigure extends Figure {
 	}
 
 	public void setWidgetBgColor(int color) {
-		// Dispose old color if we created one
-		if (bgColorInstance != null && !bgColorInstance.isDisposed()) {
-			bgColorInstance.dispose();
+		if (bgColorInstance != null && color == bgColor) {
+			// refreshVisuals() sets every property, most of them unchanged
+			return;
+		}
+		Color newColor = LvglColorRegistry.acquire(color);
+		if (bgColorInstance != null) {
+			LvglColorRegistry.release(bgColor);
 		}
-		// Create new color from hex value
-		int r = (color >> 16) & 0xFF;
-		int g = (color >> 8) & 0xFF;
-		int b = color & 0xFF;
-		bgColorInstance = new Color(Display.getCurrent(), r, g, b);
+		bgColor = color;
+		bgColorInstance = newColor;
 		repaint();
 	}
 
@@ -103,11 +105,11 @@ public class LvglContainerFigure extends Figure {
 	}
 
 	/**
-	 * Dispose of any resources created by this figure.
+	 * Release the shared resources used by this figure.
 	 */
 	public void dispose() {
-		if (bgColorInstance != null && !bgColorInstance.isDisposed()) {
-			bgColorInstance.dispose();
+		if (bgColorInstance != null) {
+			LvglColorRegistry.release(bgColor);
 			bgColorInstance = null;
 		}
 	}
@@ -15,7 +15,6 @@ import org.eclipse.draw2d.XYLayout;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
-import org.eclipse.swt.widgets.Display;
 
 import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
 
@@ -32,6 +31,7 @@ public class LvglWidgetFigure extends Figure {
 	private LvglWidget.WidgetType widgetType = LvglWidget.WidgetType.BUTTON;
 	private String text = "";
 	private int bgColor = 0xFFFFFF;
+	/** The shared color of bgColor, acquired from LvglColorRegistry, or null */
 	private Color bgColorInstance;
 	// New widget-specific visual properties
 	private boolean checked = false;
@@ -65,16 +65,16 @@ public class LvglWidgetFigure extends Figure {
 	}
 
 	public void setWidgetBgColor(int color) {
-		this.bgColor = color;
-		// Dispose old color if we created one
-		if (bgColorInstance != null && !bgColorInstance.isDisposed()) {
-			bgColorInstance.dispose();
+		if (bgColorInstance != null && color == bgColor) {
+			// refreshVisuals() sets every property, most of them unchanged
+			return;
 		}
-		// Create new color from hex value
-		int r = (color >> 16) & 0xFF;
-		int g = (color >> 8) & 0xFF;
-		int b = color & 0xFF;
-		bgColorInstance = new Color(Display.getCurrent(), r, g, b);
+		Color newColor = LvglColorRegistry.acquire(color);
+		if (bgColorInstance != null) {
+			LvglColorRegistry.release(bgColor);
+		}
+		bgColor = color;
+		bgColorInstance = newColor;
 		repaint();
 	}
 
@@ -499,11 +499,11 @@ public class LvglWidgetFigure extends Figure {
 	}
 
 	/**
-	 * Dispose of any resources created by this figure.
+	 * Release the shared resources used by this figure.
 	 */
 	public void dispose() {
-		if (bgColorInstance != null && !bgColorInstance.isDisposed()) {
-			bgColorInstance.dispose();
+		if (bgColorInstance != null) {
+			LvglColorRegistry.release(bgColor);
 			bgColorInstance = null;
 		}
 	}
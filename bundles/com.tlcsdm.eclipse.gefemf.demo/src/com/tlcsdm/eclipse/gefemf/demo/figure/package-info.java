@@ -33,6 +33,9 @@
  *   </li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.figure.LvglContainerFigure} - 
  *       容器控件图形，支持子控件的布局和显示</li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.figure.LvglColorRegistry} - 
+ *       所有控件图形共享的颜色，来自当前 Display 的 JFace 资源管理器，按 RGB 引用计数；
+ *       同一颜色只分配一个原生句柄，最后一个图形释放时销毁；背景色未变化时 setWidgetBgColor() 不做任何操作</li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.figure.ClassNodeFigure} - 
  *       类节点图形，用于类图显示（作为参考实现）</li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.figure.ConnectionFigure} - 
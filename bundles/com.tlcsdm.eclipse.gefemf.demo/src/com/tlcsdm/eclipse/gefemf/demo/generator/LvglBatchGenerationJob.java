@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.generator;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.MultiRule;
+
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglXmlSerializer;
+import com.tlcsdm.eclipse.gefemf.demo.util.ConsoleLogger;
+
+/**
+ * Background job that regenerates the LVGL C code of many .gefxml files at once.
+ * <p>
+ * The selected files, folders and projects are expanded to all .gefxml files they
+ * contain. Loading and generating is spread over a fork-join pool without holding
+ * any workspace lock. All results are then written in a single workspace operation,
+ * so resource change listeners and builders are notified once for the whole batch.
+ * </p>
+ */
+public class LvglBatchGenerationJob extends Job {
+
+	private final List<IResource> resources;
+
+	/**
+	 * @param resources .gefxml files, folders and projects to generate code for
+	 */
+	public LvglBatchGenerationJob(Collection<? extends IResource> resources) {
+		super("Generating LVGL C code");
+		this.resources = new ArrayList<>(resources);
+		setUser(true);
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, getName(), 10);
+		ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		List<ForkJoinTask<LvglCodeWriter.GeneratedCode>> tasks = new ArrayList<>();
+		List<LvglCodeWriter.GeneratedCode> generated = new ArrayList<>();
+		try {
+			List<IFile> diagramFiles = collectDiagramFiles(subMonitor.split(1));
+			if (diagramFiles.isEmpty()) {
+				ConsoleLogger.writeToConsole("Warning: No .gefxml files found in the selection.");
+				return Status.OK_STATUS;
+			}
+
+			generateAll(diagramFiles, pool, tasks, generated, subMonitor.split(6));
+			List<LvglCodeWriter.Result> results = writeAll(generated, subMonitor.split(3));
+
+			int updated = 0;
+			for (LvglCodeWriter.Result result : results) {
+				if (!result.isUpToDate()) {
+					LvglCodeWriter.logResult(result);
+					updated++;
+				}
+			}
+			int failed = diagramFiles.size() - results.size();
+			String summary = "LVGL C code generation finished for " + diagramFiles.size() + " file(s): " + updated
+					+ " updated, " + (results.size() - updated) + " up to date, " + failed + " skipped or failed";
+			ConsoleLogger.logInfo(summary);
+			ConsoleLogger.writeToConsole(summary);
+			return Status.OK_STATUS;
+		} catch (OperationCanceledException e) {
+			ConsoleLogger.writeToConsole("LVGL C code generation cancelled.");
+			return Status.CANCEL_STATUS;
+		} catch (CoreException e) {
+			ConsoleLogger.writeToConsole("Error: Failed to generate code: " + e.getMessage());
+			return e.getStatus();
+		} finally {
+			disposeAll(pool, tasks);
+		}
+	}
+
+	/**
+	 * Stop the pool and dispose the code of every task that completed, including code
+	 * that was not collected or written because of an error or cancellation, which
+	 * would otherwise keep its temporary files.
+	 */
+	private void disposeAll(ForkJoinPool pool, List<ForkJoinTask<LvglCodeWriter.GeneratedCode>> tasks) {
+		pool.shutdownNow();
+		// Running tasks are not interrupted, so wait for the code they may still create
+		boolean interrupted = false;
+		while (!pool.isTerminated()) {
+			try {
+				pool.awaitTermination(1, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		for (ForkJoinTask<LvglCodeWriter.GeneratedCode> task : tasks) {
+			LvglCodeWriter.GeneratedCode code = task.isCompletedNormally() ? task.join() : null;
+			if (code != null) {
+				code.dispose();
+			}
+		}
+	}
+
+	/**
+	 * Expand the selected resources to the .gefxml files they contain, without duplicates.
+	 */
+	private List<IFile> collectDiagramFiles(IProgressMonitor monitor) throws CoreException {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, resources.size());
+		Set<IFile> diagramFiles = new LinkedHashSet<>();
+		for (IResource resource : resources) {
+			if (resource instanceof IFile file) {
+				if (file.getName().endsWith(LvglCodeWriter.DIAGRAM_EXTENSION)) {
+					diagramFiles.add(file);
+				}
+			} else if (resource instanceof IContainer container && container.isAccessible()) {
+				container.accept((IResourceProxy proxy) -> {
+					if (proxy.getType() == IResource.FILE
+							&& proxy.getName().endsWith(LvglCodeWriter.DIAGRAM_EXTENSION)) {
+						diagramFiles.add((IFile) proxy.requestResource());
+					}
+					return true;
+				}, IResource.NONE);
+			}
+			subMonitor.split(1);
+		}
+		return new ArrayList<>(diagramFiles);
+	}
+
+	/**
+	 * Load and generate all files in parallel. Progress is reported from the job thread
+	 * as the tasks complete in order; files that fail are reported and left out.
+	 *
+	 * @param tasks     receives the task of every file, so the caller can dispose their
+	 *                  code when the job ends
+	 * @param generated receives the generated code of every file that did not fail
+	 */
+	private void generateAll(List<IFile> diagramFiles, ForkJoinPool pool,
+			List<ForkJoinTask<LvglCodeWriter.GeneratedCode>> tasks, List<LvglCodeWriter.GeneratedCode> generated,
+			IProgressMonitor monitor) {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, diagramFiles.size());
+		// The pool threads only check for cancellation, so running tasks stop early
+		IProgressMonitor cancelMonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return subMonitor.isCanceled();
+			}
+		};
+		for (IFile diagramFile : diagramFiles) {
+			tasks.add(pool.submit(() -> generate(diagramFile, cancelMonitor)));
+		}
+
+		for (int i = 0; i < tasks.size(); i++) {
+			IFile diagramFile = diagramFiles.get(i);
+			subMonitor.subTask(diagramFile.getFullPath().toString());
+			try {
+				LvglCodeWriter.GeneratedCode code = tasks.get(i).get();
+				if (code != null) {
+					generated.add(code);
+				} else {
+					ConsoleLogger.writeToConsole("Warning: Skipped empty screen " + diagramFile.getFullPath());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof OperationCanceledException) {
+					throw new OperationCanceledException();
+				}
+				ConsoleLogger.logError("Failed to generate code for " + diagramFile.getFullPath(), cause);
+				ConsoleLogger.writeToConsole(
+						"Error: Failed to generate code for " + diagramFile.getFullPath() + ": " + cause.getMessage());
+			}
+			subMonitor.split(1);
+		}
+	}
+
+	/**
+	 * Load one file and generate its code. Runs on a pool thread, so it does not
+	 * write to the console itself.
+	 *
+	 * @param monitor checked for cancellation before each part of the code
+	 * @return the generated code, or null if the screen is empty
+	 */
+	private LvglCodeWriter.GeneratedCode generate(IFile diagramFile, IProgressMonitor monitor) throws Exception {
+		LvglScreen screen;
+		try (InputStream in = diagramFile.getContents(true)) {
+			screen = new LvglXmlSerializer().load(in);
+		}
+		if (screen.getWidgets().isEmpty()) {
+			return null;
+		}
+		return new LvglCodeWriter().generate(diagramFile, screen, monitor);
+	}
+
+	/**
+	 * Write all generated code in one workspace operation locking only the output folders.
+	 */
+	private List<LvglCodeWriter.Result> writeAll(List<LvglCodeWriter.GeneratedCode> generated,
+			IProgressMonitor monitor) throws CoreException {
+		Set<ISchedulingRule> folders = new LinkedHashSet<>();
+		for (LvglCodeWriter.GeneratedCode code : generated) {
+			if (!code.isUpToDate()) {
+				folders.add(code.getDiagramFile().getParent());
+			}
+		}
+
+		List<LvglCodeWriter.Result> results = new ArrayList<>(generated.size());
+		IWorkspaceRunnable writeAll = writeMonitor -> {
+			SubMonitor subMonitor = SubMonitor.convert(writeMonitor, generated.size());
+			LvglCodeWriter writer = new LvglCodeWriter();
+			for (LvglCodeWriter.GeneratedCode code : generated) {
+				results.add(writer.write(code, subMonitor.split(1)));
+			}
+		};
+		if (folders.isEmpty()) {
+			// All code is up to date and writing it touches no resource, so no operation
+			// is run without a scheduling rule
+			writeAll.run(monitor);
+		} else {
+			ResourcesPlugin.getWorkspace().run(writeAll, MultiRule.combine(folders.toArray(new ISchedulingRule[0])),
+					IWorkspace.AVOID_UPDATE, monitor);
+		}
+		return results;
+	}
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.generator;
+
+import java.io.IOException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.WorkspaceJob;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+
+import com.tlcsdm.eclipse.gefemf.demo.Activator;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglBinarySerializer;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.util.ConsoleLogger;
+
+/**
+ * Background job that generates and writes the LVGL C code of one screen.
+ * <p>
+ * The job works on a snapshot of the screen taken when it is created, so the
+ * editor can keep modifying its model while the job runs. Its scheduling rule is
+ * the folder the code is written to, so generation for other folders and
+ * unrelated workspace operations are not blocked. The job reports progress for
+ * generating the header, the source, the split units and the screen manager and for
+ * writing every file, and can be cancelled between any two of them.
+ * </p>
+ */
+public class LvglCodeGenerationJob extends WorkspaceJob {
+
+	private final IFile diagramFile;
+	private final LvglScreen snapshot;
+
+	/**
+	 * Create the job. Must be called on the thread that owns the screen model,
+	 * typically the UI thread, because the screen is copied here.
+	 *
+	 * @param diagramFile the .gefxml file the screen belongs to
+	 * @param screen      the screen model
+	 * @throws IOException if the screen cannot be copied
+	 */
+	public LvglCodeGenerationJob(IFile diagramFile, LvglScreen screen) throws IOException {
+		super("Generating LVGL C code for " + diagramFile.getName());
+		this.diagramFile = diagramFile;
+		this.snapshot = new LvglBinarySerializer().copy(screen);
+		setRule(diagramFile.getParent());
+		setUser(true);
+	}
+
+	@Override
+	public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, getName(), 1);
+		try {
+			LvglCodeWriter.Result result = new LvglCodeWriter().write(diagramFile, snapshot, subMonitor.split(1));
+			LvglCodeWriter.logResult(result);
+			return Status.OK_STATUS;
+		} catch (OperationCanceledException e) {
+			ConsoleLogger.writeToConsole("LVGL C code generation cancelled: " + diagramFile.getFullPath());
+			return Status.CANCEL_STATUS;
+		} catch (CoreException e) {
+			ConsoleLogger.writeToConsole("Error: Failed to generate code: " + e.getMessage());
+			return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Failed to generate code: " + e.getMessage(), e);
+		}
+	}
+}
@@ -6,26 +6,154 @@
  ******************************************************************************/
 package com.tlcsdm.eclipse.gefemf.demo.generator;
 
-import com.tlcsdm.eclipse.gefemf.demo.Activator;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
 import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
 import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
-import com.tlcsdm.eclipse.gefemf.demo.preferences.LvglPreferenceConstants;
 
 /**
  * Code generator that generates LVGL C code from the screen model.
  */
 public class LvglCodeGenerator {
 
+	private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+	private static final Pattern IMAGE_REFERENCE = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+	private static final Pattern SYMBOL_MACRO = Pattern.compile("LV_SYMBOL_[A-Z_]+");
+	private static final Pattern QUOTED_PATH_INVALID = Pattern.compile(".*[;{}()\\[\\]].*");
+	private static final Pattern PATH_INVALID = Pattern.compile(".*[;{}()\\[\\]&].*");
+
+	/** Buffered output handed to a streaming sink at once */
+	private static final int FLUSH_THRESHOLD = 16 * 1024;
+
+	/** Rough output size per widget, used to size the output buffer up front */
+	private static final int HEADER_BYTES_PER_WIDGET = 32;
+	private static final int SOURCE_BYTES_PER_WIDGET = 384;
+
+	/** Separates the generation name from the container name in the file names of split units */
+	private static final String UNIT_SEPARATOR = "__";
+
+	/** Name of the header shared by the split units, after the separator */
+	private static final String UNITS_HEADER_NAME = "units";
+
+	/**
+	 * Brief of every split unit file, followed by " of " and the generation name of the
+	 * screen it belongs to; tells generated units apart from hand-written files and from
+	 * the units of other screens
+	 */
+	public static final String UNIT_MARKER = "@brief LVGL UI screen unit";
+
 	private final LvglScreen screen;
 	private final String baseName;
+	private final LvglGeneratorOptions options;
+
+	/** Shared styles by style, with their index; only set while generating the source */
+	private Map<Style, Integer> sharedStyles = Map.of();
+
+	/** Strings shared with the other screens of a batch, or null */
+	private LvglStringPool sharedStrings;
+
+	/** Symbols of the pooled strings by text; only set while generating the source */
+	private Map<String, String> stringSymbols = Map.of();
+
+	/**
+	 * Sink receiving the output of the current thread while streaming, none when
+	 * generating a String; per thread because the split units are streamed in parallel
+	 */
+	private final ThreadLocal<Appendable> sink = new ThreadLocal<>();
+
+	/**
+	 * The local style properties of a widget; null components are not set.
+	 */
+	record Style(Integer bgColor, Integer textColor, Integer borderWidth, Integer borderColor,
+			Integer radius) {
+
+		/**
+		 * @return the number of style properties that are set
+		 */
+		int propertyCount() {
+			int count = 0;
+			for (Integer value : new Integer[] { bgColor, textColor, borderWidth, borderColor, radius }) {
+				if (value != null) {
+					count++;
+				}
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Generates the content of one file into a sink.
+	 */
+	@FunctionalInterface
+	public interface FileContent {
+
+		/**
+		 * @throws IOException if the sink fails
+		 */
+		void generate(Appendable out) throws IOException;
+	}
+
+	/**
+	 * Receives the files the source is split into, see {@link LvglCodeGenerator#generateUnits(UnitConsumer)}.
+	 */
+	@FunctionalInterface
+	public interface UnitConsumer {
+
+		/**
+		 * Receive one file and generate its content into a sink of the consumer's choice
+		 * before returning. Called concurrently for different files.
+		 *
+		 * @param fileName the name of the file
+		 * @param content  generates the content of the file
+		 * @throws IOException if the content cannot be generated or stored
+		 */
+		void accept(String fileName, FileContent content) throws IOException;
+	}
 
 	public LvglCodeGenerator(LvglScreen screen) {
 		this(screen, null);
 	}
 
 	public LvglCodeGenerator(LvglScreen screen, String baseName) {
+		this(screen, baseName, LvglGeneratorOptions.fromPreferences());
+	}
+
+	public LvglCodeGenerator(LvglScreen screen, String baseName, LvglGeneratorOptions options) {
 		this.screen = screen;
 		this.baseName = baseName;
+		this.options = options;
+	}
+
+	/**
+	 * Set the strings shared with the other screens of a batch. Shared strings are
+	 * referenced through the strings unit of the pool instead of being defined in the
+	 * screen's source; they are pooled regardless of {@link LvglGeneratorOptions#isStringPooling()}.
+	 *
+	 * @param sharedStrings the pool all screens of the batch were added to, or null
+	 */
+	public void setSharedStrings(LvglStringPool sharedStrings) {
+		this.sharedStrings = sharedStrings;
 	}
 
 	/**
@@ -36,30 +164,367 @@ public class LvglCodeGenerator {
 	}
 
 	/**
-	 * Get the license header from preferences.
+	 * Get the license header from the generator options.
 	 * 
 	 * @return the license header text, or empty string if not configured
 	 */
 	private String getLicenseHeader() {
-		if (Activator.getDefault() != null) {
-			String header = Activator.getDefault().getPreferenceStore()
-					.getString(LvglPreferenceConstants.P_LICENSE_HEADER);
-			if (header != null && !header.isEmpty()) {
-				// Ensure the header ends with a newline
-				if (!header.endsWith("\n")) {
-					header = header + "\n";
-				}
-				return header + "\n";
+		String header = options.getLicenseHeader();
+		if (header != null && !header.isEmpty()) {
+			// Ensure the header ends with a newline
+			if (!header.endsWith("\n")) {
+				header = header + "\n";
 			}
+			return header + "\n";
 		}
 		return "";
 	}
 
+	/**
+	 * Check that every widget maps to its own C variable, using the name index of the
+	 * screen instead of walking the widget tree.
+	 *
+	 * @throws IllegalStateException if widgets share a variable name, as the generated
+	 *                               code would not compile
+	 */
+	public void checkVariableNames() {
+		Map<String, List<LvglWidget>> collisions = screen.getNameIndex().getCollisions();
+		if (collisions.isEmpty()) {
+			return;
+		}
+		StringBuilder message = new StringBuilder("Widgets share a C variable name:");
+		for (Map.Entry<String, List<LvglWidget>> collision : collisions.entrySet()) {
+			message.append(' ').append(collision.getKey()).append(" (");
+			for (int i = 0; i < collision.getValue().size(); i++) {
+				message.append(i > 0 ? ", '" : "'").append(collision.getValue().get(i).getName()).append('\'');
+			}
+			message.append(')');
+		}
+		throw new IllegalStateException(message.toString());
+	}
+
+	/**
+	 * Compute a hash of everything the generated code depends on: the screen model,
+	 * the generation name, the license header and the generator version. Equal hashes
+	 * produce equal output, so callers can skip generation when the hash is unchanged.
+	 * 
+	 * @return the SHA-256 hash as a hex string
+	 */
+	public String computeInputHash() {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+		try (DataOutputStream out = new DataOutputStream(
+				new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+			if (options.getGeneratorVersion() != null) {
+				writeHashString(out, options.getGeneratorVersion());
+			}
+			writeHashString(out, getGenerationName());
+			writeHashString(out, getLicenseHeader());
+			out.writeBoolean(options.isSharedStyles());
+			out.writeInt(options.getCreationMode().ordinal());
+			out.writeBoolean(options.isScreenManager());
+			out.writeBoolean(options.isStringPooling());
+			out.writeBoolean(options.isSplitUnits());
+			out.writeBoolean(sharedStrings != null);
+			if (sharedStrings != null) {
+				// Another screen of the batch can share or stop sharing a string of this one
+				for (String text : collectStrings(screen)) {
+					writeHashString(out, sharedStrings.getSymbol(text));
+				}
+			}
+			writeHashString(out, screen.getName());
+			out.writeInt(screen.getWidth());
+			out.writeInt(screen.getHeight());
+			out.writeInt(screen.getBgColor());
+			out.writeInt(screen.getWidgets().size());
+			for (LvglWidget widget : screen.getWidgets()) {
+				hashWidget(out, widget);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private void hashWidget(DataOutputStream out, LvglWidget widget) throws IOException {
+		writeHashString(out, widget.getName());
+		out.writeInt(widget.getWidgetType().ordinal());
+		writeHashString(out, widget.getText());
+		out.writeInt(widget.getBounds().x);
+		out.writeInt(widget.getBounds().y);
+		out.writeInt(widget.getBounds().width);
+		out.writeInt(widget.getBounds().height);
+		out.writeInt(widget.getBgColor());
+		out.writeInt(widget.getTextColor());
+		out.writeInt(widget.getBorderWidth());
+		out.writeInt(widget.getBorderColor());
+		out.writeInt(widget.getRadius());
+		writeHashString(out, widget.getImageSource());
+		out.writeBoolean(widget.isChecked());
+		out.writeInt(widget.getValue());
+		out.writeInt(widget.getMinValue());
+		out.writeInt(widget.getMaxValue());
+		out.writeInt(widget.getRowCount());
+		out.writeInt(widget.getColumnCount());
+		writeHashString(out, widget.getTableData());
+		out.writeInt(widget.getLayoutType().ordinal());
+		out.writeInt(widget.getFlexFlow().ordinal());
+		out.writeInt(widget.getFlexMainAlign().ordinal());
+		out.writeInt(widget.getFlexCrossAlign().ordinal());
+		out.writeInt(widget.getFlexTrackAlign().ordinal());
+		out.writeInt(widget.getPadRow());
+		out.writeInt(widget.getPadColumn());
+		out.writeInt(widget.getChildren().size());
+		for (LvglWidget child : widget.getChildren()) {
+			hashWidget(out, child);
+		}
+	}
+
+	private void writeHashString(DataOutputStream out, String value) throws IOException {
+		// Length prefix keeps adjacent strings from running into each other; -1 marks null
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(value.length());
+		out.writeChars(value);
+	}
+
 	/**
 	 * Generate the header file content.
 	 */
 	public String generateHeader() {
-		StringBuilder sb = new StringBuilder();
+		StringBuilder sb = new StringBuilder(estimateSize(HEADER_BYTES_PER_WIDGET));
+		writeHeader(sb);
+		return sb.toString();
+	}
+
+	/**
+	 * Generate the header file content into a sink, such as a {@link java.io.Writer}.
+	 * The output is handed to the sink in chunks while it is generated.
+	 *
+	 * @throws IOException if the sink fails
+	 */
+	public void generateHeader(Appendable out) throws IOException {
+		generate(out, this::writeHeader);
+	}
+
+	/**
+	 * Generate the source file content.
+	 */
+	public String generateSource() {
+		StringBuilder sb = new StringBuilder(estimateSize(SOURCE_BYTES_PER_WIDGET));
+		writeSource(sb);
+		return sb.toString();
+	}
+
+	/**
+	 * Generate the source file content into a sink, such as a {@link java.io.Writer}.
+	 * The output is handed to the sink in chunks while it is generated.
+	 *
+	 * @throws IOException if the sink fails
+	 */
+	public void generateSource(Appendable out) throws IOException {
+		generate(out, this::writeSource);
+	}
+
+	/**
+	 * Generate the header file content as UTF-8 into a channel, such as a
+	 * {@link java.nio.channels.FileChannel}. The channel is not closed.
+	 *
+	 * @throws IOException if the channel fails
+	 */
+	public void generateHeader(WritableByteChannel channel) throws IOException {
+		Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8);
+		generateHeader(writer);
+		writer.flush();
+	}
+
+	/**
+	 * Generate the source file content as UTF-8 into a channel, such as a
+	 * {@link java.nio.channels.FileChannel}. The channel is not closed.
+	 *
+	 * @throws IOException if the channel fails
+	 */
+	public void generateSource(WritableByteChannel channel) throws IOException {
+		Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8);
+		generateSource(writer);
+		writer.flush();
+	}
+
+	/**
+	 * Get the names of the files the source is split into with
+	 * {@link LvglGeneratorOptions#isSplitUnits()}: the header shared by the units, then one
+	 * source per top-level widget with children.
+	 *
+	 * @return the file names, empty if the source is not split
+	 */
+	public List<String> getUnitFileNames() {
+		List<LvglWidget> unitRoots = getUnitRoots();
+		if (unitRoots.isEmpty()) {
+			return List.of();
+		}
+		List<String> fileNames = new ArrayList<>(unitRoots.size() + 1);
+		fileNames.add(getUnitsHeaderName() + ".h");
+		for (LvglWidget root : unitRoots) {
+			fileNames.add(getUnitName(root) + ".c");
+		}
+		return fileNames;
+	}
+
+	/**
+	 * Generate the files the source is split into with {@link LvglGeneratorOptions#isSplitUnits()}.
+	 * Each unit defines the function creating one top-level widget and its children,
+	 * which the create function of the screen calls. The shared header is handed to the
+	 * consumer first, then the units are generated in parallel. Each file is streamed
+	 * into the sink the consumer chooses, in chunks, like {@link #generateSource(Appendable)}.
+	 *
+	 * @param consumer receives each file of {@link #getUnitFileNames()}; not called if
+	 *                 the source is not split
+	 * @throws IOException if the consumer fails
+	 */
+	public void generateUnits(UnitConsumer consumer) throws IOException {
+		List<LvglWidget> unitRoots = getUnitRoots();
+		if (unitRoots.isEmpty()) {
+			return;
+		}
+		String identifier = sanitizeIdentifier(getGenerationName());
+		stringSymbols = collectStringSymbols(identifier);
+		sharedStyles = options.isSharedStyles() ? collectSharedStyles(2) : Map.of();
+		try {
+			consumer.accept(getUnitsHeaderName() + ".h",
+					out -> generate(out, sb -> writeUnitsHeader(sb, identifier, unitRoots)));
+			// The units only read the model and the state collected above
+			unitRoots.parallelStream().forEach(root -> {
+				try {
+					consumer.accept(getUnitName(root) + ".c",
+							out -> generate(out, sb -> writeUnit(sb, root, identifier)));
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			sharedStyles = Map.of();
+			stringSymbols = Map.of();
+		}
+	}
+
+	/**
+	 * Generate the files the source is split into as Strings, see
+	 * {@link #generateUnits(UnitConsumer)}.
+	 *
+	 * @return the content of each file by file name, in the order of {@link #getUnitFileNames()};
+	 *         empty if the source is not split
+	 */
+	public Map<String, String> generateUnits() {
+		Map<String, String> contents = new ConcurrentHashMap<>();
+		try {
+			generateUnits((fileName, content) -> {
+				StringBuilder sb = new StringBuilder();
+				content.generate(sb);
+				contents.put(fileName, sb.toString());
+			});
+		} catch (IOException e) {
+			// A StringBuilder does not fail
+			throw new UncheckedIOException(e);
+		}
+		Map<String, String> units = new LinkedHashMap<>();
+		for (String fileName : getUnitFileNames()) {
+			units.put(fileName, contents.get(fileName));
+		}
+		return units;
+	}
+
+	/**
+	 * Check whether a file may be a split unit of a screen, by its name. The name also
+	 * matches the units of a screen whose name starts with this screen's name and the
+	 * separator, and hand-written files; use {@link #isUnitOf(String, CharSequence)} on
+	 * the content before deleting a file that is no longer generated.
+	 *
+	 * @param generationName the base name of the screen's files
+	 * @param fileName       the name of the file to check
+	 */
+	public static boolean isUnitFileName(String generationName, String fileName) {
+		return fileName.startsWith(generationName + UNIT_SEPARATOR)
+				&& (fileName.endsWith(".c") || fileName.endsWith(".h"));
+	}
+
+	/**
+	 * Check whether the content of a file is a split unit generated for a screen: it
+	 * contains {@link #UNIT_MARKER} naming exactly this screen at the end of a line.
+	 *
+	 * @param generationName the base name of the screen's files
+	 * @param content        the content of the file to check
+	 */
+	public static boolean isUnitOf(String generationName, CharSequence content) {
+		String marker = getUnitMarker(generationName);
+		String text = content.toString();
+		for (int index = text.indexOf(marker); index >= 0; index = text.indexOf(marker, index + 1)) {
+			int end = index + marker.length();
+			if (end == text.length() || text.charAt(end) == '\n' || text.charAt(end) == '\r') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String getUnitMarker(String generationName) {
+		return UNIT_MARKER + " of " + generationName;
+	}
+
+	private void generate(Appendable out, Consumer<StringBuilder> writer) throws IOException {
+		StringBuilder sb = new StringBuilder(2 * FLUSH_THRESHOLD);
+		sink.set(out);
+		try {
+			writer.accept(sb);
+			out.append(sb);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			sink.remove();
+		}
+	}
+
+	/**
+	 * Hand the buffered output to the sink once enough has accumulated. Only called
+	 * between widgets, on the buffer passed to the write methods.
+	 */
+	private void flushIfFull(StringBuilder sb) {
+		Appendable out = sink.get();
+		if (out != null && sb.length() >= FLUSH_THRESHOLD) {
+			try {
+				out.append(sb);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			sb.setLength(0);
+		}
+	}
+
+	/**
+	 * Estimate the output size from the number of widgets, so the buffer of a large
+	 * screen does not grow by repeated copying.
+	 */
+	private int estimateSize(int bytesPerWidget) {
+		long size = 1024 + (long) countWidgets(screen.getWidgets()) * bytesPerWidget;
+		return (int) Math.min(size, Integer.MAX_VALUE - 8);
+	}
+
+	private int countWidgets(List<LvglWidget> widgets) {
+		int count = widgets.size();
+		for (LvglWidget widget : widgets) {
+			count += countWidgets(widget.getChildren());
+		}
+		return count;
+	}
+
+	private void writeHeader(StringBuilder sb) {
 		String generationName = getGenerationName();
 		// Sanitize identifiers used in C code
 		String identifier = sanitizeIdentifier(generationName);
@@ -76,14 +541,22 @@ public class LvglCodeGenerator {
 		sb.append("#ifndef ").append(guardName).append("\n");
 		sb.append("#define ").append(guardName).append("\n\n");
 
-		sb.append("#include \"lvgl.h\"\n\n");
+		sb.append("#include \"lvgl.h\"\n");
+		if (options.isScreenManager()) {
+			sb.append("#include \"").append(LvglScreenManagerGenerator.BASE_NAME).append(".h\"\n");
+		}
+		sb.append("\n");
 
 		sb.append("#ifdef __cplusplus\n");
 		sb.append("extern \"C\" {\n");
 		sb.append("#endif\n\n");
 
 		// Declare screen object
-		sb.append("extern lv_obj_t *").append(identifier).append(";\n\n");
+		sb.append("extern lv_obj_t *").append(identifier).append(";\n");
+		if (options.isScreenManager()) {
+			sb.append("extern const lvgl_screen_t ").append(identifier).append("_screen;\n");
+		}
+		sb.append("\n");
 
 		// Declare widget objects
 		for (LvglWidget widget : screen.getWidgets()) {
@@ -95,21 +568,21 @@ public class LvglCodeGenerator {
 		// Function declarations
 		sb.append("void ").append(identifier).append("_create(void);\n");
 		sb.append("void ").append(identifier).append("_delete(void);\n");
+		if (options.isScreenManager()) {
+			sb.append("void ").append(identifier).append("_show(void);\n");
+			if (!collectLazyPages().isEmpty()) {
+				sb.append("void ").append(identifier).append("_show_page(lv_obj_t *page);\n");
+			}
+		}
 
 		sb.append("\n#ifdef __cplusplus\n");
 		sb.append("}\n");
 		sb.append("#endif\n\n");
 
 		sb.append("#endif /* ").append(guardName).append(" */\n");
-
-		return sb.toString();
 	}
 
-	/**
-	 * Generate the source file content.
-	 */
-	public String generateSource() {
-		StringBuilder sb = new StringBuilder();
+	private void writeSource(StringBuilder sb) {
 		String generationName = getGenerationName();
 		// Sanitize the identifier used in C code
 		String identifier = sanitizeIdentifier(generationName);
@@ -122,7 +595,15 @@ public class LvglCodeGenerator {
 		sb.append(" * @brief LVGL UI screen implementation - auto-generated\n");
 		sb.append(" */\n\n");
 
-		sb.append("#include \"").append(generationName).append(".h\"\n\n");
+		stringSymbols = collectStringSymbols(identifier);
+		sb.append("#include \"").append(generationName).append(".h\"\n");
+		if (!getUnitRoots().isEmpty()) {
+			sb.append("#include \"").append(getUnitsHeaderName()).append(".h\"\n");
+		}
+		if (usesSharedStrings()) {
+			sb.append("#include \"").append(LvglStringPool.BASE_NAME).append(".h\"\n");
+		}
+		sb.append("\n");
 
 		// Define screen object
 		sb.append("lv_obj_t *").append(identifier).append(" = NULL;\n\n");
@@ -134,18 +615,78 @@ public class LvglCodeGenerator {
 
 		sb.append("\n");
 
+		generatePooledStrings(sb);
+
+		// The table references every style by index, the unrolled code only styles used more than once
+		boolean tableMode = options.getCreationMode() == LvglGeneratorOptions.CreationMode.TABLE
+				&& !screen.getWidgets().isEmpty();
+		if (tableMode) {
+			sharedStyles = collectSharedStyles(1);
+		} else {
+			sharedStyles = options.isSharedStyles() ? collectSharedStyles(2) : Map.of();
+		}
+		if (!sharedStyles.isEmpty()) {
+			generateSharedStyles(sb, identifier);
+		}
+
+		List<LvglWidget> widgets = new ArrayList<>();
+		List<Integer> parents = new ArrayList<>();
+		List<LvglWidget> lazyPages = new ArrayList<>();
+		// Index range of the widgets created eagerly, then of the content of each lazy page
+		List<int[]> ranges = new ArrayList<>();
+		if (tableMode) {
+			// The content of a lazy page follows all eagerly created widgets, as one contiguous range
+			List<Integer> lazyIndices = new ArrayList<>();
+			for (LvglWidget widget : screen.getWidgets()) {
+				flattenWidgets(widget, -1, widgets, parents, lazyIndices);
+			}
+			ranges.add(new int[] { 0, widgets.size() });
+			for (int i = 0; i < lazyIndices.size(); i++) {
+				int pageIndex = lazyIndices.get(i);
+				LvglWidget page = widgets.get(pageIndex);
+				int first = widgets.size();
+				for (LvglWidget child : page.getChildren()) {
+					flattenWidgets(child, pageIndex, widgets, parents, lazyIndices);
+				}
+				lazyPages.add(page);
+				ranges.add(new int[] { first, widgets.size() });
+			}
+			generateWidgetTable(sb, identifier, widgets, parents);
+			if (!lazyPages.isEmpty()) {
+				generateTableRangeFunction(sb, identifier, widgets);
+			}
+		} else {
+			lazyPages = collectLazyPages();
+		}
+
+		if (!lazyPages.isEmpty()) {
+			generateLazyPages(sb, identifier, lazyPages, widgets, ranges);
+		}
+
 		// Create function
 		sb.append("void ").append(identifier).append("_create(void) {\n");
 		sb.append("    ").append(identifier).append(" = lv_obj_create(NULL);\n");
 		sb.append("    lv_obj_set_size(").append(identifier).append(", ");
 		sb.append(screen.getWidth()).append(", ").append(screen.getHeight()).append(");\n");
 		sb.append("    lv_obj_set_style_bg_color(").append(identifier);
-		sb.append(", lv_color_hex(0x").append(String.format("%06X", screen.getBgColor()));
+		appendHex(sb.append(", lv_color_hex(0x"), screen.getBgColor());
 		sb.append("), LV_PART_MAIN);\n\n");
+		if (!sharedStyles.isEmpty()) {
+			sb.append("    ").append(identifier).append("_init_styles();\n\n");
+		}
 
 		// Create widgets
-		for (LvglWidget widget : screen.getWidgets()) {
-			generateWidgetCreation(sb, widget, identifier, "    ");
+		if (tableMode) {
+			generateTableCreation(sb, identifier, widgets, ranges.get(0), !lazyPages.isEmpty());
+		} else {
+			for (LvglWidget widget : screen.getWidgets()) {
+				if (isUnitRoot(widget)) {
+					sb.append("    ").append(identifier).append("_create_").append(widget.getVariableName());
+					sb.append("();\n\n");
+				} else {
+					generateWidgetCreation(sb, widget, identifier, "    ");
+				}
+			}
 		}
 
 		sb.append("}\n\n");
@@ -155,14 +696,26 @@ public class LvglCodeGenerator {
 		sb.append("    if (").append(identifier).append(" != NULL) {\n");
 		sb.append("        lv_obj_del(").append(identifier).append(");\n");
 		sb.append("        ").append(identifier).append(" = NULL;\n");
+		if (!lazyPages.isEmpty()) {
+			sb.append("        for (uint32_t i = 0; i < sizeof(").append(identifier).append("_page_loaded) / sizeof(");
+			sb.append(identifier).append("_page_loaded[0]); i++) {\n");
+			sb.append("            ").append(identifier).append("_page_loaded[i] = false;\n");
+			sb.append("        }\n");
+		}
 		sb.append("    }\n");
 		sb.append("}\n");
 
-		return sb.toString();
+		if (options.isScreenManager()) {
+			generateScreenDescriptor(sb, identifier);
+		}
+
+		sharedStyles = Map.of();
+		stringSymbols = Map.of();
 	}
 
 	private void generateWidgetDeclarations(StringBuilder sb, LvglWidget widget) {
 		sb.append("extern lv_obj_t *").append(widget.getVariableName()).append(";\n");
+		flushIfFull(sb);
 		for (LvglWidget child : widget.getChildren()) {
 			generateWidgetDeclarations(sb, child);
 		}
@@ -170,6 +723,7 @@ public class LvglCodeGenerator {
 
 	private void generateWidgetDefinitions(StringBuilder sb, LvglWidget widget) {
 		sb.append("lv_obj_t *").append(widget.getVariableName()).append(" = NULL;\n");
+		flushIfFull(sb);
 		for (LvglWidget child : widget.getChildren()) {
 			generateWidgetDefinitions(sb, child);
 		}
@@ -190,39 +744,79 @@ public class LvglCodeGenerator {
 		sb.append(indent).append("lv_obj_set_size(").append(varName).append(", ");
 		sb.append(widget.getBounds().width).append(", ").append(widget.getBounds().height).append(");\n");
 
+		generateText(sb, widget, varName, indent);
+		generateTypeProperties(sb, widget, varName, indent);
+
+		// Set styles, through a shared style if other widgets look the same
+		Style style = getStyle(widget);
+		Integer sharedStyle = style != null ? sharedStyles.get(style) : null;
+		if (sharedStyle != null) {
+			sb.append(indent).append("lv_obj_add_style(").append(varName).append(", &");
+			sb.append(getStyleName(sharedStyle)).append(", LV_PART_MAIN);\n");
+		} else {
+			generateLocalStyles(sb, widget, varName, indent);
+		}
+
+		// Set layout for containers
+		if (widget.getWidgetType() == LvglWidget.WidgetType.CONTAINER && widget.getLayoutType() != LvglWidget.LayoutType.NONE) {
+			generateLayoutCode(sb, widget, varName, indent);
+		}
+
+		// The content of a lazy page is created by its load function on first show
+		if (isLazyPage(widget)) {
+			sb.append(indent).append("lv_obj_add_flag(").append(varName).append(", LV_OBJ_FLAG_HIDDEN);\n\n");
+			return;
+		}
+
+		sb.append("\n");
+		flushIfFull(sb);
+
+		// Create child widgets
+		for (LvglWidget child : widget.getChildren()) {
+			generateWidgetCreation(sb, child, varName, indent);
+		}
+	}
+
+	private void generateText(StringBuilder sb, LvglWidget widget, String varName, String indent) {
 		// Set text if applicable
 		String text = widget.getText();
 		if (text != null && !text.isEmpty()) {
 			switch (widget.getWidgetType()) {
 			case LABEL:
 				sb.append(indent).append("lv_label_set_text(").append(varName);
-				sb.append(", \"").append(escapeString(text)).append("\");\n");
+				sb.append(", ").append(getStringExpression(text)).append(");\n");
 				break;
 			case BUTTON:
 				// Create a label inside the button
 				sb.append(indent).append("{\n");
 				sb.append(indent).append("    lv_obj_t *label = lv_label_create(").append(varName).append(");\n");
-				sb.append(indent).append("    lv_label_set_text(label, \"").append(escapeString(text)).append("\");\n");
+				sb.append(indent).append("    lv_label_set_text(label, ").append(getStringExpression(text)).append(");\n");
 				sb.append(indent).append("    lv_obj_center(label);\n");
 				sb.append(indent).append("}\n");
 				break;
 			case CHECKBOX:
 				sb.append(indent).append("lv_checkbox_set_text(").append(varName);
-				sb.append(", \"").append(escapeString(text)).append("\");\n");
+				sb.append(", ").append(getStringExpression(text)).append(");\n");
 				break;
 			case DROPDOWN:
 				sb.append(indent).append("lv_dropdown_set_options(").append(varName);
-				sb.append(", \"").append(escapeString(text)).append("\");\n");
+				sb.append(", ").append(getStringExpression(text)).append(");\n");
 				break;
 			case TEXTAREA:
 				sb.append(indent).append("lv_textarea_set_text(").append(varName);
-				sb.append(", \"").append(escapeString(text)).append("\");\n");
+				sb.append(", ").append(getStringExpression(text)).append(");\n");
 				break;
 			default:
 				break;
 			}
 		}
+	}
 
+	/**
+	 * Generate the properties specific to the widget type, such as image sources,
+	 * checked states, value ranges and table cells.
+	 */
+	private void generateTypeProperties(StringBuilder sb, LvglWidget widget, String varName, String indent) {
 		// Set image source if applicable
 		if (widget.getWidgetType() == LvglWidget.WidgetType.IMAGE) {
 			String imageSource = widget.getImageSource();
@@ -282,23 +876,582 @@ public class LvglCodeGenerator {
 					for (int col = 0; col < cols.length && col < widget.getColumnCount(); col++) {
 						String cellText = cols[col].trim();
 						sb.append(indent).append("lv_table_set_cell_value(").append(varName).append(", ");
-						sb.append(row).append(", ").append(col).append(", \"").append(escapeString(cellText)).append("\");\n");
+						sb.append(row).append(", ").append(col).append(", ").append(getStringExpression(cellText)).append(");\n");
 					}
 				}
 			}
 		}
+	}
+
+	/**
+	 * Collect the distinct texts the generated code passes to LVGL: widget texts and
+	 * table cells, in the order they are first used.
+	 */
+	static Set<String> collectStrings(LvglScreen screen) {
+		Set<String> strings = new LinkedHashSet<>();
+		for (LvglWidget widget : screen.getWidgets()) {
+			collectStrings(widget, strings);
+		}
+		return strings;
+	}
+
+	private static void collectStrings(LvglWidget widget, Set<String> strings) {
+		if (getTextKind(widget) != null) {
+			strings.add(widget.getText());
+		}
+		String tableData = widget.getTableData();
+		if (widget.getWidgetType() == LvglWidget.WidgetType.TABLE && tableData != null && !tableData.isEmpty()) {
+			String[] rows = tableData.split(";");
+			for (int row = 0; row < rows.length && row < widget.getRowCount(); row++) {
+				String[] cols = rows[row].split(",");
+				for (int col = 0; col < cols.length && col < widget.getColumnCount(); col++) {
+					strings.add(cols[col].trim());
+				}
+			}
+		}
+		for (LvglWidget child : widget.getChildren()) {
+			collectStrings(child, strings);
+		}
+	}
+
+	/**
+	 * Assign a symbol to every string of the screen that is pooled: the symbol from the
+	 * shared pool for strings shared with other screens, otherwise a static array of
+	 * this screen when string pooling is enabled.
+	 *
+	 * @return the symbols by text; strings without a symbol are written inline
+	 */
+	private Map<String, String> collectStringSymbols(String identifier) {
+		if (!options.isStringPooling() && sharedStrings == null) {
+			return Map.of();
+		}
+		Map<String, String> symbols = new LinkedHashMap<>();
+		int localCount = 0;
+		for (String text : collectStrings(screen)) {
+			String symbol = sharedStrings != null ? sharedStrings.getSymbol(text) : null;
+			if (symbol == null && options.isStringPooling()) {
+				symbol = identifier + "_str_" + localCount++;
+			}
+			if (symbol != null) {
+				symbols.put(text, symbol);
+			}
+		}
+		return symbols;
+	}
+
+	private boolean usesSharedStrings() {
+		if (sharedStrings != null) {
+			for (String text : stringSymbols.keySet()) {
+				if (sharedStrings.getSymbol(text) != null) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Define the pooled strings of this screen. Each text is escaped once, however
+	 * often it is used.
+	 */
+	private void generatePooledStrings(StringBuilder sb) {
+		// The split units reference the strings of the screen through the units header
+		String declaration = isSplit() ? "const char " : "static const char ";
+		boolean hasLocal = false;
+		for (Map.Entry<String, String> entry : stringSymbols.entrySet()) {
+			if (sharedStrings != null && sharedStrings.getSymbol(entry.getKey()) != null) {
+				continue;
+			}
+			sb.append(declaration).append(entry.getValue()).append("[] = \"");
+			sb.append(escapeString(entry.getKey())).append("\";\n");
+			hasLocal = true;
+			flushIfFull(sb);
+		}
+		if (hasLocal) {
+			sb.append("\n");
+		}
+	}
+
+	/**
+	 * Get the C expression passing a text to LVGL: the symbol of its pooled array, or a
+	 * string literal.
+	 */
+	private String getStringExpression(String text) {
+		String symbol = stringSymbols.get(text);
+		return symbol != null ? symbol : "\"" + escapeString(text) + "\"";
+	}
+
+	/**
+	 * List the widgets in creation order together with the index of their parent,
+	 * -1 for widgets placed directly on the screen. The content of lazy pages is
+	 * skipped; the indices of the pages are added to {@code lazyPages}.
+	 */
+	private void flattenWidgets(LvglWidget widget, int parent, List<LvglWidget> widgets, List<Integer> parents,
+			List<Integer> lazyPages) {
+		int index = widgets.size();
+		widgets.add(widget);
+		parents.add(parent);
+		if (isLazyPage(widget)) {
+			lazyPages.add(index);
+			return;
+		}
+		for (LvglWidget child : widget.getChildren()) {
+			flattenWidgets(child, index, widgets, parents, lazyPages);
+		}
+	}
+
+	/**
+	 * Check whether the content of a widget is created on first show rather than with
+	 * the screen. With the screen manager, these are all pages of tab and tile views
+	 * except the first, which is visible initially.
+	 */
+	private boolean isLazyPage(LvglWidget widget) {
+		return isLazyPage(widget, options);
+	}
+
+	static boolean isLazyPage(LvglWidget widget, LvglGeneratorOptions options) {
+		LvglWidget parent = widget.getParent();
+		if (!options.isScreenManager() || parent == null) {
+			return false;
+		}
+		LvglWidget.WidgetType parentType = parent.getWidgetType();
+		return (parentType == LvglWidget.WidgetType.TABVIEW || parentType == LvglWidget.WidgetType.TILEVIEW)
+				&& parent.getChildren().indexOf(widget) > 0;
+	}
+
+	/**
+	 * Collect the lazy pages in the order their load functions are generated: the pages
+	 * created with the screen first, then the pages nested in lazy pages.
+	 */
+	private List<LvglWidget> collectLazyPages() {
+		List<LvglWidget> lazyPages = new ArrayList<>();
+		for (LvglWidget widget : screen.getWidgets()) {
+			collectLazyPages(widget, lazyPages);
+		}
+		for (int i = 0; i < lazyPages.size(); i++) {
+			for (LvglWidget child : lazyPages.get(i).getChildren()) {
+				collectLazyPages(child, lazyPages);
+			}
+		}
+		return lazyPages;
+	}
+
+	private void collectLazyPages(LvglWidget widget, List<LvglWidget> lazyPages) {
+		if (isLazyPage(widget)) {
+			lazyPages.add(widget);
+			return;
+		}
+		for (LvglWidget child : widget.getChildren()) {
+			collectLazyPages(child, lazyPages);
+		}
+	}
+
+	/**
+	 * Check whether the source is split into units: only the unrolled code is, and only
+	 * if a top-level widget has children.
+	 */
+	private boolean isSplit() {
+		return !getUnitRoots().isEmpty();
+	}
+
+	/**
+	 * Collect the top-level widgets whose subtree is created in a unit of its own.
+	 */
+	private List<LvglWidget> getUnitRoots() {
+		return getUnitRoots(screen, options);
+	}
+
+	static List<LvglWidget> getUnitRoots(LvglScreen screen, LvglGeneratorOptions options) {
+		if (!options.isSplitUnits() || options.getCreationMode() != LvglGeneratorOptions.CreationMode.UNROLLED) {
+			return List.of();
+		}
+		List<LvglWidget> unitRoots = new ArrayList<>();
+		for (LvglWidget widget : screen.getWidgets()) {
+			if (!widget.getChildren().isEmpty()) {
+				unitRoots.add(widget);
+			}
+		}
+		return unitRoots;
+	}
+
+	private boolean isUnitRoot(LvglWidget widget) {
+		return options.isSplitUnits() && options.getCreationMode() == LvglGeneratorOptions.CreationMode.UNROLLED
+				&& widget.getParent() == null && !widget.getChildren().isEmpty();
+	}
+
+	private String getUnitsHeaderName() {
+		return getGenerationName() + UNIT_SEPARATOR + UNITS_HEADER_NAME;
+	}
+
+	private String getUnitName(LvglWidget root) {
+		return getGenerationName() + UNIT_SEPARATOR + root.getVariableName();
+	}
+
+	/**
+	 * Generate the header shared by the units and the screen's source, declaring the
+	 * create function of each unit and the pooled strings and shared styles they use.
+	 */
+	private void writeUnitsHeader(StringBuilder sb, String identifier, List<LvglWidget> unitRoots) {
+		String guardName = identifier.toUpperCase() + UNIT_SEPARATOR + UNITS_HEADER_NAME.toUpperCase() + "_H";
+		sb.append(getLicenseHeader());
+
+		sb.append("/**\n");
+		sb.append(" * @file ").append(getUnitsHeaderName()).append(".h\n");
+		sb.append(" * ").append(getUnitMarker(getGenerationName())).append("\n");
+		sb.append(" * Declarations shared by the units - auto-generated\n");
+		sb.append(" */\n\n");
+
+		sb.append("#ifndef ").append(guardName).append("\n");
+		sb.append("#define ").append(guardName).append("\n\n");
+
+		sb.append("#include \"").append(getGenerationName()).append(".h\"\n");
+		if (usesSharedStrings()) {
+			sb.append("#include \"").append(LvglStringPool.BASE_NAME).append(".h\"\n");
+		}
+		sb.append("\n");
+
+		sb.append("#ifdef __cplusplus\n");
+		sb.append("extern \"C\" {\n");
+		sb.append("#endif\n\n");
+
+		if (!sharedStyles.isEmpty()) {
+			for (int index : sharedStyles.values()) {
+				sb.append("extern lv_style_t ").append(getStyleName(index)).append(";\n");
+			}
+			sb.append("\n");
+		}
+
+		boolean hasLocal = false;
+		for (Map.Entry<String, String> entry : stringSymbols.entrySet()) {
+			if (sharedStrings == null || sharedStrings.getSymbol(entry.getKey()) == null) {
+				sb.append("extern const char ").append(entry.getValue()).append("[];\n");
+				hasLocal = true;
+			}
+		}
+		if (hasLocal) {
+			sb.append("\n");
+		}
+
+		for (LvglWidget root : unitRoots) {
+			sb.append("void ").append(identifier).append("_create_").append(root.getVariableName());
+			sb.append("(void);\n");
+		}
+
+		sb.append("\n#ifdef __cplusplus\n");
+		sb.append("}\n");
+		sb.append("#endif\n\n");
+
+		sb.append("#endif /* ").append(guardName).append(" */\n");
+	}
+
+	/**
+	 * Generate the source of one unit, creating a top-level widget and its children.
+	 */
+	private void writeUnit(StringBuilder sb, LvglWidget root, String identifier) {
+		sb.append(getLicenseHeader());
+
+		sb.append("/**\n");
+		sb.append(" * @file ").append(getUnitName(root)).append(".c\n");
+		sb.append(" * ").append(getUnitMarker(getGenerationName())).append("\n");
+		sb.append(" * Creates ").append(root.getVariableName()).append(" and its children - auto-generated\n");
+		sb.append(" */\n\n");
+
+		sb.append("#include \"").append(getUnitsHeaderName()).append(".h\"\n\n");
+
+		sb.append("void ").append(identifier).append("_create_").append(root.getVariableName()).append("(void) {\n");
+		generateWidgetCreation(sb, root, identifier, "    ");
+		sb.append("}\n");
+	}
+
+	/**
+	 * Generate a load function for each lazy page, creating its content, and the
+	 * show_page function that calls it on the first show of the page.
+	 *
+	 * @param widgets the flattened widgets in table mode, empty otherwise
+	 * @param ranges  in table mode the widget index range of the eager widgets followed
+	 *                by the range of each lazy page's content
+	 */
+	private void generateLazyPages(StringBuilder sb, String identifier, List<LvglWidget> lazyPages,
+			List<LvglWidget> widgets, List<int[]> ranges) {
+		for (int i = 0; i < lazyPages.size(); i++) {
+			LvglWidget page = lazyPages.get(i);
+			sb.append("static void ").append(identifier).append("_load_").append(page.getVariableName());
+			sb.append("(void) {\n");
+			if (widgets.isEmpty()) {
+				for (LvglWidget child : page.getChildren()) {
+					generateWidgetCreation(sb, child, page.getVariableName(), "    ");
+				}
+			} else {
+				generateTableCreation(sb, identifier, widgets, ranges.get(i + 1), true);
+			}
+			sb.append("}\n\n");
+		}
+
+		sb.append("typedef struct {\n");
+		sb.append("    lv_obj_t **obj;\n");
+		sb.append("    void (*load)(void);\n");
+		sb.append("} ").append(identifier).append("_page_t;\n\n");
 
+		sb.append("static const ").append(identifier).append("_page_t ").append(identifier).append("_pages[] = {\n");
+		for (LvglWidget page : lazyPages) {
+			sb.append("    { &").append(page.getVariableName()).append(", ").append(identifier);
+			sb.append("_load_").append(page.getVariableName()).append(" },\n");
+		}
+		sb.append("};\n\n");
+
+		sb.append("static bool ").append(identifier).append("_page_loaded[").append(lazyPages.size()).append("];\n\n");
+
+		sb.append("void ").append(identifier).append("_show_page(lv_obj_t *page) {\n");
+		sb.append("    for (uint32_t i = 0; i < sizeof(").append(identifier).append("_pages) / sizeof(");
+		sb.append(identifier).append("_pages[0]); i++) {\n");
+		sb.append("        if (*").append(identifier).append("_pages[i].obj == page && !").append(identifier);
+		sb.append("_page_loaded[i]) {\n");
+		sb.append("            ").append(identifier).append("_page_loaded[i] = true;\n");
+		sb.append("            ").append(identifier).append("_pages[i].load();\n");
+		sb.append("        }\n");
+		sb.append("    }\n\n");
+		sb.append("    lv_obj_t *parent = lv_obj_get_parent(page);\n");
+		sb.append("    for (uint32_t i = 0; i < lv_obj_get_child_cnt(parent); i++) {\n");
+		sb.append("        lv_obj_add_flag(lv_obj_get_child(parent, (int32_t)i), LV_OBJ_FLAG_HIDDEN);\n");
+		sb.append("    }\n");
+		sb.append("    lv_obj_clear_flag(page, LV_OBJ_FLAG_HIDDEN);\n");
+		sb.append("}\n\n");
+	}
+
+	/**
+	 * Generate the descriptor registering the screen with the screen manager and the
+	 * function showing the screen through it.
+	 */
+	private void generateScreenDescriptor(StringBuilder sb, String identifier) {
+		sb.append("\nconst lvgl_screen_t ").append(identifier).append("_screen = {\n");
+		sb.append("    \"").append(identifier).append("\",\n");
+		sb.append("    &").append(identifier).append(",\n");
+		sb.append("    ").append(identifier).append("_create,\n");
+		sb.append("    ").append(identifier).append("_delete\n");
+		sb.append("};\n\n");
+
+		sb.append("void ").append(identifier).append("_show(void) {\n");
+		sb.append("    lvgl_screen_manager_show(&").append(identifier).append("_screen);\n");
+		sb.append("}\n");
+	}
+
+	/**
+	 * Get the kind of text setter the generic creation loop uses for a widget.
+	 *
+	 * @return the text kind suffix, or null if the widget has no text to set
+	 */
+	private static String getTextKind(LvglWidget widget) {
+		String text = widget.getText();
+		if (text == null || text.isEmpty()) {
+			return null;
+		}
+		switch (widget.getWidgetType()) {
+		case LABEL:
+			return "LABEL";
+		case BUTTON:
+			return "BUTTON";
+		case CHECKBOX:
+			return "CHECKBOX";
+		case DROPDOWN:
+			return "DROPDOWN";
+		case TEXTAREA:
+			return "TEXTAREA";
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Generate the constant widget descriptor table and its helpers for the table
+	 * creation mode.
+	 */
+	private void generateWidgetTable(StringBuilder sb, String identifier, List<LvglWidget> widgets,
+			List<Integer> parents) {
+		String prefix = identifier.toUpperCase();
+
+		// Only the create functions of widget types on this screen are linked in
+		Map<String, Integer> createFunctions = new LinkedHashMap<>();
+		boolean hasText = false;
+		for (LvglWidget widget : widgets) {
+			createFunctions.putIfAbsent(getCreateFunction(widget.getWidgetType()), createFunctions.size());
+			hasText |= getTextKind(widget) != null;
+		}
+
+		sb.append("typedef lv_obj_t *(*").append(identifier).append("_create_fn_t)(lv_obj_t *parent);\n\n");
+
+		sb.append("typedef enum {\n");
+		sb.append("    ").append(prefix).append("_TEXT_NONE,\n");
+		sb.append("    ").append(prefix).append("_TEXT_LABEL,\n");
+		sb.append("    ").append(prefix).append("_TEXT_BUTTON,\n");
+		sb.append("    ").append(prefix).append("_TEXT_CHECKBOX,\n");
+		sb.append("    ").append(prefix).append("_TEXT_DROPDOWN,\n");
+		sb.append("    ").append(prefix).append("_TEXT_TEXTAREA\n");
+		sb.append("} ").append(identifier).append("_text_kind_t;\n\n");
+
+		sb.append("typedef struct {\n");
+		sb.append("    lv_obj_t **obj;\n");
+		sb.append("    const char *text;\n");
+		sb.append("    int32_t x;\n");
+		sb.append("    int32_t y;\n");
+		sb.append("    int32_t width;\n");
+		sb.append("    int32_t height;\n");
+		sb.append("    int32_t parent;\n");
+		sb.append("    int32_t style;\n");
+		sb.append("    uint8_t create;\n");
+		sb.append("    uint8_t text_kind;\n");
+		sb.append("} ").append(identifier).append("_widget_desc_t;\n\n");
+
+		sb.append("static const ").append(identifier).append("_create_fn_t ").append(identifier);
+		sb.append("_create_fns[] = {\n");
+		for (String createFunction : createFunctions.keySet()) {
+			sb.append("    ").append(createFunction).append(",\n");
+		}
+		sb.append("};\n\n");
+
+		if (!sharedStyles.isEmpty()) {
+			sb.append("static lv_style_t *const ").append(identifier).append("_styles[] = {\n");
+			for (int index : sharedStyles.values()) {
+				sb.append("    &").append(getStyleName(index)).append(",\n");
+			}
+			sb.append("};\n\n");
+		}
+
+		sb.append("static const ").append(identifier).append("_widget_desc_t ").append(identifier);
+		sb.append("_widgets[] = {\n");
+		for (int i = 0; i < widgets.size(); i++) {
+			LvglWidget widget = widgets.get(i);
+			String textKind = getTextKind(widget);
+			Style style = getStyle(widget);
+			sb.append("    { &").append(widget.getVariableName()).append(", ");
+			if (textKind != null) {
+				sb.append(getStringExpression(widget.getText()));
+			} else {
+				sb.append("NULL");
+			}
+			sb.append(", ").append(widget.getBounds().x).append(", ").append(widget.getBounds().y);
+			sb.append(", ").append(widget.getBounds().width).append(", ").append(widget.getBounds().height);
+			sb.append(", ").append(parents.get(i));
+			sb.append(", ").append(style != null ? sharedStyles.get(style) : -1);
+			sb.append(", ").append(createFunctions.get(getCreateFunction(widget.getWidgetType())));
+			sb.append(", ").append(prefix).append("_TEXT_").append(textKind != null ? textKind : "NONE");
+			sb.append(" },\n");
+			flushIfFull(sb);
+		}
+		sb.append("};\n\n");
+
+		if (hasText) {
+			sb.append("static void ").append(identifier).append("_set_text(lv_obj_t *obj, uint8_t kind, const char *text) {\n");
+			sb.append("    switch (kind) {\n");
+			sb.append("    case ").append(prefix).append("_TEXT_LABEL:\n");
+			sb.append("        lv_label_set_text(obj, text);\n");
+			sb.append("        break;\n");
+			sb.append("    case ").append(prefix).append("_TEXT_BUTTON: {\n");
+			sb.append("        lv_obj_t *label = lv_label_create(obj);\n");
+			sb.append("        lv_label_set_text(label, text);\n");
+			sb.append("        lv_obj_center(label);\n");
+			sb.append("        break;\n");
+			sb.append("    }\n");
+			sb.append("    case ").append(prefix).append("_TEXT_CHECKBOX:\n");
+			sb.append("        lv_checkbox_set_text(obj, text);\n");
+			sb.append("        break;\n");
+			sb.append("    case ").append(prefix).append("_TEXT_DROPDOWN:\n");
+			sb.append("        lv_dropdown_set_options(obj, text);\n");
+			sb.append("        break;\n");
+			sb.append("    case ").append(prefix).append("_TEXT_TEXTAREA:\n");
+			sb.append("        lv_textarea_set_text(obj, text);\n");
+			sb.append("        break;\n");
+			sb.append("    default:\n");
+			sb.append("        break;\n");
+			sb.append("    }\n");
+			sb.append("}\n\n");
+		}
+	}
+
+	/**
+	 * Generate the generic loop creating the widgets from the descriptor table, followed
+	 * by the type-specific properties and layouts, which are rare enough to stay unrolled.
+	 *
+	 * @param range         the index range of the widgets to create
+	 * @param rangeFunction true to call the range function shared with the lazy pages
+	 *                      instead of generating the loop inline
+	 */
+	private void generateTableCreation(StringBuilder sb, String identifier, List<LvglWidget> widgets, int[] range,
+			boolean rangeFunction) {
+		if (rangeFunction) {
+			sb.append("    ").append(identifier).append("_create_range(").append(range[0]).append(", ");
+			sb.append(range[1]).append(");\n\n");
+		} else {
+			generateTableLoop(sb, identifier, widgets, "0",
+					"sizeof(" + identifier + "_widgets) / sizeof(" + identifier + "_widgets[0])");
+		}
+
+		for (LvglWidget widget : widgets.subList(range[0], range[1])) {
+			StringBuilder properties = new StringBuilder();
+			generateTypeProperties(properties, widget, widget.getVariableName(), "    ");
+			if (widget.getWidgetType() == LvglWidget.WidgetType.CONTAINER
+					&& widget.getLayoutType() != LvglWidget.LayoutType.NONE) {
+				generateLayoutCode(properties, widget, widget.getVariableName(), "    ");
+			}
+			if (isLazyPage(widget)) {
+				properties.append("    lv_obj_add_flag(").append(widget.getVariableName());
+				properties.append(", LV_OBJ_FLAG_HIDDEN);\n");
+			}
+			if (properties.length() > 0) {
+				sb.append(properties).append("\n");
+				flushIfFull(sb);
+			}
+		}
+	}
+
+	/**
+	 * Generate the function creating a range of widgets from the descriptor table, used
+	 * when the content of lazy pages is created separately from the screen.
+	 */
+	private void generateTableRangeFunction(StringBuilder sb, String identifier, List<LvglWidget> widgets) {
+		sb.append("static void ").append(identifier).append("_create_range(uint32_t first, uint32_t end) {\n");
+		generateTableLoop(sb, identifier, widgets, "first", "end");
+		sb.append("}\n\n");
+	}
+
+	private void generateTableLoop(StringBuilder sb, String identifier, List<LvglWidget> widgets, String first,
+			String end) {
+		boolean hasText = widgets.stream().anyMatch(widget -> getTextKind(widget) != null);
+
+		sb.append("    for (uint32_t i = ").append(first).append("; i < ").append(end).append("; i++) {\n");
+		sb.append("        const ").append(identifier).append("_widget_desc_t *desc = &").append(identifier);
+		sb.append("_widgets[i];\n");
+		sb.append("        lv_obj_t *parent = desc->parent < 0 ? ").append(identifier).append(" : *");
+		sb.append(identifier).append("_widgets[desc->parent].obj;\n");
+		sb.append("        lv_obj_t *obj = ").append(identifier).append("_create_fns[desc->create](parent);\n");
+		sb.append("        *desc->obj = obj;\n");
+		sb.append("        lv_obj_set_pos(obj, desc->x, desc->y);\n");
+		sb.append("        lv_obj_set_size(obj, desc->width, desc->height);\n");
+		if (hasText) {
+			sb.append("        if (desc->text != NULL) {\n");
+			sb.append("            ").append(identifier).append("_set_text(obj, desc->text_kind, desc->text);\n");
+			sb.append("        }\n");
+		}
+		if (!sharedStyles.isEmpty()) {
+			sb.append("        if (desc->style >= 0) {\n");
+			sb.append("            lv_obj_add_style(obj, ").append(identifier);
+			sb.append("_styles[desc->style], LV_PART_MAIN);\n");
+			sb.append("        }\n");
+		}
+		sb.append("    }\n\n");
+	}
+
+	private void generateLocalStyles(StringBuilder sb, LvglWidget widget, String varName, String indent) {
 		// Set background color
 		if (widget.getBgColor() != 0xFFFFFF) {
 			sb.append(indent).append("lv_obj_set_style_bg_color(").append(varName);
-			sb.append(", lv_color_hex(0x").append(String.format("%06X", widget.getBgColor()));
+			appendHex(sb.append(", lv_color_hex(0x"), widget.getBgColor());
 			sb.append("), LV_PART_MAIN);\n");
 		}
 
 		// Set text color
 		if (widget.getTextColor() != 0x000000) {
 			sb.append(indent).append("lv_obj_set_style_text_color(").append(varName);
-			sb.append(", lv_color_hex(0x").append(String.format("%06X", widget.getTextColor()));
+			appendHex(sb.append(", lv_color_hex(0x"), widget.getTextColor());
 			sb.append("), LV_PART_MAIN);\n");
 		}
 
@@ -308,7 +1461,7 @@ public class LvglCodeGenerator {
 			sb.append(", ").append(widget.getBorderWidth()).append(", LV_PART_MAIN);\n");
 
 			sb.append(indent).append("lv_obj_set_style_border_color(").append(varName);
-			sb.append(", lv_color_hex(0x").append(String.format("%06X", widget.getBorderColor()));
+			appendHex(sb.append(", lv_color_hex(0x"), widget.getBorderColor());
 			sb.append("), LV_PART_MAIN);\n");
 		}
 
@@ -317,20 +1470,102 @@ public class LvglCodeGenerator {
 			sb.append(indent).append("lv_obj_set_style_radius(").append(varName);
 			sb.append(", ").append(widget.getRadius()).append(", LV_PART_MAIN);\n");
 		}
+	}
 
-		// Set layout for containers
-		if (widget.getWidgetType() == LvglWidget.WidgetType.CONTAINER && widget.getLayoutType() != LvglWidget.LayoutType.NONE) {
-			generateLayoutCode(sb, widget, varName, indent);
+	/**
+	 * Get the local style properties of a widget, using the same conditions as the
+	 * generated lv_obj_set_style_* calls.
+	 *
+	 * @return the style, or null if the widget has no local style properties
+	 */
+	static Style getStyle(LvglWidget widget) {
+		Integer bgColor = widget.getBgColor() != 0xFFFFFF ? widget.getBgColor() : null;
+		Integer textColor = widget.getTextColor() != 0x000000 ? widget.getTextColor() : null;
+		Integer borderWidth = widget.getBorderWidth() > 0 ? widget.getBorderWidth() : null;
+		Integer borderColor = widget.getBorderWidth() > 0 ? widget.getBorderColor() : null;
+		Integer radius = widget.getRadius() > 0 ? widget.getRadius() : null;
+		if (bgColor == null && textColor == null && borderWidth == null && radius == null) {
+			return null;
 		}
+		return new Style(bgColor, textColor, borderWidth, borderColor, radius);
+	}
 
-		sb.append("\n");
+	/**
+	 * Collect the styles used by at least {@code minUses} widgets, numbered in the
+	 * order the widgets are created so the output is stable.
+	 */
+	private Map<Style, Integer> collectSharedStyles(int minUses) {
+		Map<Style, Integer> uses = new LinkedHashMap<>();
+		for (LvglWidget widget : screen.getWidgets()) {
+			countStyles(widget, uses);
+		}
+		Map<Style, Integer> shared = new LinkedHashMap<>();
+		for (Map.Entry<Style, Integer> entry : uses.entrySet()) {
+			if (entry.getValue() >= minUses) {
+				shared.put(entry.getKey(), shared.size());
+			}
+		}
+		return shared;
+	}
 
-		// Create child widgets
+	private void countStyles(LvglWidget widget, Map<Style, Integer> uses) {
+		Style style = getStyle(widget);
+		if (style != null) {
+			uses.merge(style, 1, Integer::sum);
+		}
 		for (LvglWidget child : widget.getChildren()) {
-			generateWidgetCreation(sb, child, varName, indent);
+			countStyles(child, uses);
 		}
 	}
 
+	private String getStyleName(int index) {
+		return sanitizeIdentifier(getGenerationName()) + "_style_" + index;
+	}
+
+	/**
+	 * Define the shared styles and a function initializing them once. Styles are
+	 * kept across create/delete cycles, lv_style_init must not run twice on them.
+	 */
+	private void generateSharedStyles(StringBuilder sb, String identifier) {
+		String declaration = isSplit() ? "lv_style_t " : "static lv_style_t ";
+		for (int index : sharedStyles.values()) {
+			sb.append(declaration).append(getStyleName(index)).append(";\n");
+		}
+		sb.append("\n");
+
+		sb.append("static void ").append(identifier).append("_init_styles(void) {\n");
+		sb.append("    static bool initialized = false;\n");
+		sb.append("    if (initialized) {\n");
+		sb.append("        return;\n");
+		sb.append("    }\n");
+		sb.append("    initialized = true;\n");
+		for (Map.Entry<Style, Integer> entry : sharedStyles.entrySet()) {
+			Style style = entry.getKey();
+			String styleName = getStyleName(entry.getValue());
+			sb.append("\n");
+			sb.append("    lv_style_init(&").append(styleName).append(");\n");
+			if (style.bgColor() != null) {
+				sb.append("    lv_style_set_bg_color(&").append(styleName);
+				appendHex(sb.append(", lv_color_hex(0x"), style.bgColor()).append("));\n");
+			}
+			if (style.textColor() != null) {
+				sb.append("    lv_style_set_text_color(&").append(styleName);
+				appendHex(sb.append(", lv_color_hex(0x"), style.textColor()).append("));\n");
+			}
+			if (style.borderWidth() != null) {
+				sb.append("    lv_style_set_border_width(&").append(styleName);
+				sb.append(", ").append(style.borderWidth()).append(");\n");
+				sb.append("    lv_style_set_border_color(&").append(styleName);
+				appendHex(sb.append(", lv_color_hex(0x"), style.borderColor()).append("));\n");
+			}
+			if (style.radius() != null) {
+				sb.append("    lv_style_set_radius(&").append(styleName);
+				sb.append(", ").append(style.radius()).append(");\n");
+			}
+		}
+		sb.append("}\n\n");
+	}
+
 	private void generateLayoutCode(StringBuilder sb, LvglWidget widget, String varName, String indent) {
 		LvglWidget.LayoutType layoutType = widget.getLayoutType();
 
@@ -434,7 +1669,7 @@ public class LvglCodeGenerator {
 		}
 	}
 
-	private String escapeString(String str) {
+	static String escapeString(String str) {
 		return str.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n").replace("\r", "\\r");
 	}
 
@@ -446,12 +1681,31 @@ public class LvglCodeGenerator {
 		if (str == null || str.isEmpty()) {
 			return "_";
 		}
-		String sanitized = str.replaceAll("[^a-zA-Z0-9_]", "_");
+		StringBuilder sanitized = new StringBuilder(str.length() + 1);
 		// C identifiers cannot start with a digit
-		if (Character.isDigit(sanitized.charAt(0))) {
-			sanitized = "_" + sanitized;
+		if (str.charAt(0) >= '0' && str.charAt(0) <= '9') {
+			sanitized.append('_');
+		}
+		for (int i = 0; i < str.length(); i = str.offsetByCodePoints(i, 1)) {
+			int c = str.codePointAt(i);
+			sanitized.append(isIdentifierCharacter(c) ? (char) c : '_');
+		}
+		return sanitized.toString();
+	}
+
+	private static boolean isIdentifierCharacter(int c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+	}
+
+	/**
+	 * Append a color as at least six upper-case hex digits, like {@code %06X}.
+	 */
+	private static StringBuilder appendHex(StringBuilder sb, int value) {
+		int digits = Math.max(6, (Integer.SIZE - Integer.numberOfLeadingZeros(value) + 3) / 4);
+		for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+			sb.append(HEX_DIGITS[(value >>> shift) & 0xF]);
 		}
-		return sanitized;
+		return sb;
 	}
 
 	/**
@@ -474,7 +1728,7 @@ public class LvglCodeGenerator {
 		if (trimmed.startsWith("&")) {
 			String identifier = trimmed.substring(1);
 			// Validate the identifier part
-			if (identifier.matches("[a-zA-Z_][a-zA-Z0-9_]*")) {
+			if (IMAGE_REFERENCE.matcher(identifier).matches()) {
 				return trimmed;
 			}
 			return null;
@@ -482,7 +1736,7 @@ public class LvglCodeGenerator {
 		
 		// Check for LV_SYMBOL macro
 		if (trimmed.startsWith("LV_SYMBOL_")) {
-			if (trimmed.matches("LV_SYMBOL_[A-Z_]+")) {
+			if (SYMBOL_MACRO.matcher(trimmed).matches()) {
 				return trimmed;
 			}
 			return null;
@@ -493,7 +1747,7 @@ public class LvglCodeGenerator {
 			// Already quoted - validate and escape the content
 			String content = trimmed.substring(1, trimmed.length() - 1);
 			// Basic path validation - no code injection characters
-			if (!content.matches(".*[;{}()\\[\\]].*")) {
+			if (!QUOTED_PATH_INVALID.matcher(content).matches()) {
 				return "\"" + escapeString(content) + "\"";
 			}
 			return null;
@@ -501,7 +1755,7 @@ public class LvglCodeGenerator {
 		
 		// Unquoted string - treat as path and add quotes
 		// Basic path validation - no code injection characters
-		if (!trimmed.matches(".*[;{}()\\[\\]&].*")) {
+		if (!PATH_INVALID.matcher(trimmed).matches()) {
 			return "\"" + escapeString(trimmed) + "\"";
 		}
 		
@@ -0,0 +1,498 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.generator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.QualifiedName;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+
+import com.tlcsdm.eclipse.gefemf.demo.Activator;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.util.ConsoleLogger;
+import com.tlcsdm.eclipse.gefemf.demo.util.GeneratedContent;
+import com.tlcsdm.eclipse.gefemf.demo.util.GeneratedFileWriter;
+
+/**
+ * Writes the generated header and source next to a .gefxml file, using the
+ * file's base name.
+ * <p>
+ * Generation is incremental. The input hash of the last run and a digest of the
+ * modification stamps of the files it produced are kept as a persistent property of
+ * the .gefxml file; when neither changed, nothing is generated. Otherwise the new output is
+ * compared with the files on disk and only files whose content differs are written.
+ * </p>
+ * <p>
+ * With {@link LvglGeneratorOptions#isScreenManager()} the shared screen manager is
+ * written into the same folder as well.
+ * </p>
+ * <p>
+ * With {@link LvglGeneratorOptions#isSplitUnits()} the units the source is split into
+ * are written next to it; only units whose content changed are rewritten, and units of
+ * containers that no longer exist are deleted.
+ * </p>
+ * <p>
+ * Generating and writing can be done separately: {@link #generate(IFile, LvglScreen)}
+ * does not touch the workspace and can run in parallel, while
+ * {@link #write(GeneratedCode, IProgressMonitor)} writes the result.
+ * </p>
+ * <p>
+ * The generated files are streamed into {@link GeneratedContent}, which moves large
+ * content to a temporary file, and from there into the workspace, so memory use stays
+ * bounded however large the screen is.
+ * </p>
+ */
+public class LvglCodeWriter {
+
+	/** Extension of LVGL UI design files */
+	public static final String DIAGRAM_EXTENSION = ".gefxml";
+
+	private static final QualifiedName GENERATION_STATE = new QualifiedName(Activator.PLUGIN_ID, "generationState");
+
+	/**
+	 * Outcome of writing the generated code for one .gefxml file.
+	 */
+	public static class Result {
+
+		private final IFile headerFile;
+		private final IFile sourceFile;
+		private final boolean headerWritten;
+		private final boolean sourceWritten;
+		private final int unitCount;
+		private final int unitsWritten;
+
+		Result(IFile headerFile, IFile sourceFile, boolean headerWritten, boolean sourceWritten, int unitCount,
+				int unitsWritten) {
+			this.headerFile = headerFile;
+			this.sourceFile = sourceFile;
+			this.headerWritten = headerWritten;
+			this.sourceWritten = sourceWritten;
+			this.unitCount = unitCount;
+			this.unitsWritten = unitsWritten;
+		}
+
+		public IFile getHeaderFile() {
+			return headerFile;
+		}
+
+		public IFile getSourceFile() {
+			return sourceFile;
+		}
+
+		public boolean isHeaderWritten() {
+			return headerWritten;
+		}
+
+		public boolean isSourceWritten() {
+			return sourceWritten;
+		}
+
+		/**
+		 * @return the number of files the source is split into, 0 if it is not split
+		 */
+		public int getUnitCount() {
+			return unitCount;
+		}
+
+		/**
+		 * @return the number of split unit files that were written or deleted
+		 */
+		public int getUnitsWritten() {
+			return unitsWritten;
+		}
+
+		/**
+		 * @return true if no file had to be written
+		 */
+		public boolean isUpToDate() {
+			return !headerWritten && !sourceWritten && unitsWritten == 0;
+		}
+	}
+
+	/**
+	 * Get the base name of a .gefxml file, i.e. the file name without the extension.
+	 */
+	public static String getBaseName(IFile diagramFile) {
+		String baseName = diagramFile.getName();
+		if (baseName.endsWith(DIAGRAM_EXTENSION)) {
+			baseName = baseName.substring(0, baseName.length() - DIAGRAM_EXTENSION.length());
+		}
+		return baseName;
+	}
+
+	/**
+	 * Report the result of a generation run to the platform log and console.
+	 */
+	public static void logResult(Result result) {
+		String header = result.getHeaderFile().getFullPath().toString();
+		String source = result.getSourceFile().getFullPath().toString();
+		if (result.isUpToDate()) {
+			ConsoleLogger.logInfo("LVGL C code is up to date: " + header + ", " + source);
+			ConsoleLogger.writeToConsole("LVGL C code is up to date:");
+		} else {
+			ConsoleLogger.logInfo("Successfully generated LVGL C code: " + header + ", " + source);
+			ConsoleLogger.writeToConsole("Successfully generated LVGL C code:");
+		}
+		ConsoleLogger.writeToConsole("  " + header + (result.isHeaderWritten() ? "" : " (unchanged)"));
+		ConsoleLogger.writeToConsole("  " + source + (result.isSourceWritten() ? "" : " (unchanged)"));
+		if (result.getUnitCount() > 0 || result.getUnitsWritten() > 0) {
+			ConsoleLogger.writeToConsole("  " + result.getUnitCount() + " split unit file(s), "
+					+ result.getUnitsWritten() + " written or deleted");
+		}
+	}
+
+	/**
+	 * Generated code of one screen that has not been written yet.
+	 */
+	public static class GeneratedCode {
+
+		private final IFile diagramFile;
+		private final IFile headerFile;
+		private final IFile sourceFile;
+		private final String inputHash;
+		private final GeneratedContent header;
+		private final GeneratedContent source;
+		private IFile managerHeaderFile;
+		private IFile managerSourceFile;
+		private GeneratedContent managerHeader;
+		private GeneratedContent managerSource;
+		private Map<IFile, GeneratedContent> units = Map.of();
+
+		GeneratedCode(IFile diagramFile, IFile headerFile, IFile sourceFile, String inputHash,
+				GeneratedContent header, GeneratedContent source) {
+			this.diagramFile = diagramFile;
+			this.headerFile = headerFile;
+			this.sourceFile = sourceFile;
+			this.inputHash = inputHash;
+			this.header = header;
+			this.source = source;
+		}
+
+		void setScreenManager(IFile managerHeaderFile, IFile managerSourceFile, GeneratedContent managerHeader,
+				GeneratedContent managerSource) {
+			this.managerHeaderFile = managerHeaderFile;
+			this.managerSourceFile = managerSourceFile;
+			this.managerHeader = managerHeader;
+			this.managerSource = managerSource;
+		}
+
+		void setUnits(Map<IFile, GeneratedContent> units) {
+			this.units = units;
+		}
+
+		public IFile getDiagramFile() {
+			return diagramFile;
+		}
+
+		/**
+		 * @return true if the last generation is still valid and nothing has to be written
+		 */
+		public boolean isUpToDate() {
+			return header == null;
+		}
+
+		/**
+		 * Release the generated content and its temporary files. Called by
+		 * {@link LvglCodeWriter#write(GeneratedCode, IProgressMonitor)}; callers that
+		 * drop the code without writing it must call it themselves.
+		 */
+		public void dispose() {
+			if (header != null) {
+				header.dispose();
+				source.dispose();
+			}
+			if (managerHeader != null) {
+				managerHeader.dispose();
+				managerSource.dispose();
+			}
+			for (GeneratedContent unit : units.values()) {
+				unit.dispose();
+			}
+		}
+	}
+
+	/**
+	 * Generate the code for the screen and write it next to the .gefxml file.
+	 *
+	 * @param diagramFile the .gefxml file the screen belongs to
+	 * @param screen      the screen model
+	 * @param monitor     the progress monitor, may be null
+	 * @return which of the generated files were written
+	 * @throws CoreException              if widgets share a variable name or a file cannot be read or written
+	 * @throws OperationCanceledException if the monitor is cancelled; files written before stay
+	 */
+	public Result write(IFile diagramFile, LvglScreen screen, IProgressMonitor monitor) throws CoreException {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, 2);
+		GeneratedCode code = generate(diagramFile, screen, subMonitor.split(1));
+		try {
+			return write(code, subMonitor.split(1));
+		} finally {
+			code.dispose();
+		}
+	}
+
+	/**
+	 * Generate the code for the screen without touching the workspace. Safe to call
+	 * from any thread, as long as the screen is not modified concurrently.
+	 *
+	 * @param diagramFile the .gefxml file the screen belongs to
+	 * @param screen      the screen model
+	 * @return the generated code, to be passed to {@link #write(GeneratedCode, IProgressMonitor)}
+	 * @throws CoreException if widgets share a variable name or the state of the last
+	 *                       generation cannot be read
+	 */
+	public GeneratedCode generate(IFile diagramFile, LvglScreen screen) throws CoreException {
+		return generate(diagramFile, screen, null);
+	}
+
+	/**
+	 * Generate the code for the screen without touching the workspace, reporting
+	 * progress for the header, the source, the split units and the screen manager.
+	 * Cancellation is checked between them and before every unit.
+	 *
+	 * @param diagramFile the .gefxml file the screen belongs to
+	 * @param screen      the screen model
+	 * @param monitor     the progress monitor, may be null
+	 * @return the generated code, to be passed to {@link #write(GeneratedCode, IProgressMonitor)}
+	 * @throws CoreException              if widgets share a variable name or the state of
+	 *                                    the last generation cannot be read
+	 * @throws OperationCanceledException if the monitor is cancelled
+	 */
+	public GeneratedCode generate(IFile diagramFile, LvglScreen screen, IProgressMonitor monitor)
+			throws CoreException {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, 10);
+		IContainer parentFolder = diagramFile.getParent();
+		String baseName = getBaseName(diagramFile);
+		IFile headerFile = parentFolder.getFile(new Path(baseName + ".h"));
+		IFile sourceFile = parentFolder.getFile(new Path(baseName + ".c"));
+
+		LvglGeneratorOptions options = LvglGeneratorOptions.fromPreferences();
+		IFile managerHeaderFile = parentFolder.getFile(new Path(LvglScreenManagerGenerator.BASE_NAME + ".h"));
+		IFile managerSourceFile = parentFolder.getFile(new Path(LvglScreenManagerGenerator.BASE_NAME + ".c"));
+		boolean managerMissing = options.isScreenManager() && (!managerHeaderFile.exists() || !managerSourceFile.exists());
+
+		LvglCodeGenerator generator = new LvglCodeGenerator(screen, baseName, options);
+		try {
+			generator.checkVariableNames();
+		} catch (IllegalStateException e) {
+			throw new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID, e.getMessage()));
+		}
+		List<IFile> outputFiles = new ArrayList<>();
+		outputFiles.add(headerFile);
+		outputFiles.add(sourceFile);
+		List<String> unitFileNames = generator.getUnitFileNames();
+		for (String unitFileName : unitFileNames) {
+			outputFiles.add(parentFolder.getFile(new Path(unitFileName)));
+		}
+		String inputHash = generator.computeInputHash();
+		if (!managerMissing && isUpToDate(diagramFile, inputHash, outputFiles)) {
+			return new GeneratedCode(diagramFile, headerFile, sourceFile, inputHash, null, null);
+		}
+		GeneratedCode code = new GeneratedCode(diagramFile, headerFile, sourceFile, inputHash,
+				new GeneratedContent(), new GeneratedContent());
+		boolean generated = false;
+		try {
+			subMonitor.split(1);
+			subMonitor.subTask(headerFile.getName());
+			try (Writer headerWriter = new OutputStreamWriter(code.header, StandardCharsets.UTF_8)) {
+				generator.generateHeader(headerWriter);
+			}
+			subMonitor.split(unitFileNames.isEmpty() ? 8 : 4);
+			subMonitor.subTask(sourceFile.getName());
+			try (Writer sourceWriter = new OutputStreamWriter(code.source, StandardCharsets.UTF_8)) {
+				generator.generateSource(sourceWriter);
+			}
+			if (!unitFileNames.isEmpty()) {
+				subMonitor.split(4);
+				subMonitor.subTask(unitFileNames.size() + " split units");
+				generateUnits(code, generator, subMonitor);
+			}
+			if (options.isScreenManager()) {
+				subMonitor.split(1);
+				subMonitor.subTask(LvglScreenManagerGenerator.BASE_NAME);
+				LvglScreenManagerGenerator managerGenerator = new LvglScreenManagerGenerator(options);
+				GeneratedContent managerHeader = new GeneratedContent();
+				GeneratedContent managerSource = new GeneratedContent();
+				code.setScreenManager(managerHeaderFile, managerSourceFile, managerHeader, managerSource);
+				try (Writer headerWriter = new OutputStreamWriter(managerHeader, StandardCharsets.UTF_8);
+						Writer sourceWriter = new OutputStreamWriter(managerSource, StandardCharsets.UTF_8)) {
+					managerGenerator.generateHeader(headerWriter);
+					managerGenerator.generateSource(sourceWriter);
+				}
+			}
+			subMonitor.done();
+			generated = true;
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID,
+					"Failed to generate code for " + diagramFile.getFullPath(), e));
+		} finally {
+			if (!generated) {
+				code.dispose();
+			}
+		}
+		return code;
+	}
+
+	/**
+	 * Generate the split units in parallel, each into a content of its own. The pool
+	 * threads only check the monitor for cancellation, they do not report progress.
+	 */
+	private void generateUnits(GeneratedCode code, LvglCodeGenerator generator, IProgressMonitor monitor)
+			throws IOException {
+		IContainer parentFolder = code.headerFile.getParent();
+		Map<String, GeneratedContent> unitContents = new ConcurrentHashMap<>();
+		try {
+			generator.generateUnits((fileName, content) -> {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				GeneratedContent unit = new GeneratedContent();
+				unitContents.put(fileName, unit);
+				try (Writer unitWriter = new OutputStreamWriter(unit, StandardCharsets.UTF_8)) {
+					content.generate(unitWriter);
+				}
+			});
+		} finally {
+			// Also after a failure, so that dispose() releases the units generated so far
+			Map<IFile, GeneratedContent> units = new LinkedHashMap<>();
+			for (String unitFileName : generator.getUnitFileNames()) {
+				GeneratedContent unit = unitContents.remove(unitFileName);
+				if (unit != null) {
+					units.put(parentFolder.getFile(new Path(unitFileName)), unit);
+				}
+			}
+			code.setUnits(units);
+		}
+	}
+
+	/**
+	 * Write generated code into the workspace, skipping files whose content is unchanged.
+	 *
+	 * @param code    the code returned by {@link #generate(IFile, LvglScreen)}
+	 * @param monitor the progress monitor, may be null
+	 * @return which of the generated files were written
+	 * @throws CoreException if a file cannot be read or written
+	 */
+	public Result write(GeneratedCode code, IProgressMonitor monitor) throws CoreException {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, 5 + code.units.size());
+		if (code.isUpToDate()) {
+			return new Result(code.headerFile, code.sourceFile, false, false, 0, 0);
+		}
+		boolean headerWritten;
+		boolean sourceWritten;
+		List<IFile> outputFiles = new ArrayList<>();
+		outputFiles.add(code.headerFile);
+		outputFiles.add(code.sourceFile);
+		int unitsWritten = 0;
+		try {
+			headerWritten = GeneratedFileWriter.writeIfChanged(code.headerFile, code.header, subMonitor.split(1));
+			sourceWritten = GeneratedFileWriter.writeIfChanged(code.sourceFile, code.source, subMonitor.split(1));
+			if (code.managerHeader != null) {
+				// Shared by all screens in the folder; identical content is not written again
+				GeneratedFileWriter.writeIfChanged(code.managerHeaderFile, code.managerHeader, subMonitor.split(1));
+				GeneratedFileWriter.writeIfChanged(code.managerSourceFile, code.managerSource, subMonitor.split(1));
+			}
+			for (Map.Entry<IFile, GeneratedContent> unit : code.units.entrySet()) {
+				if (GeneratedFileWriter.writeIfChanged(unit.getKey(), unit.getValue(), subMonitor.split(1))) {
+					unitsWritten++;
+				}
+				outputFiles.add(unit.getKey());
+			}
+		} finally {
+			code.dispose();
+		}
+		unitsWritten += deleteStaleUnits(code, subMonitor.split(1));
+
+		code.diagramFile.setPersistentProperty(GENERATION_STATE, formatState(code.inputHash, outputFiles));
+		return new Result(code.headerFile, code.sourceFile, headerWritten, sourceWritten, code.units.size(),
+				unitsWritten);
+	}
+
+	/**
+	 * Delete the split units of the screen that were not generated this time, such as
+	 * the unit of a removed container. Only files whose unit marker names this screen
+	 * are deleted, not the units of a screen whose name starts with this one's.
+	 *
+	 * @return the number of deleted files
+	 */
+	private int deleteStaleUnits(GeneratedCode code, IProgressMonitor monitor) throws CoreException {
+		String baseName = getBaseName(code.diagramFile);
+		int deleted = 0;
+		for (IResource member : code.headerFile.getParent().members()) {
+			if (member instanceof IFile file && LvglCodeGenerator.isUnitFileName(baseName, file.getName())
+					&& !code.units.containsKey(file) && isGeneratedUnit(file, baseName)) {
+				file.delete(true, monitor);
+				deleted++;
+			}
+		}
+		return deleted;
+	}
+
+	private boolean isGeneratedUnit(IFile file, String baseName) throws CoreException {
+		try (InputStream in = file.getContents(true)) {
+			return LvglCodeGenerator.isUnitOf(baseName, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID,
+					"Failed to read " + file.getFullPath(), e));
+		}
+	}
+
+	/**
+	 * Check whether the last generation used the same input and its output files
+	 * have not been modified since.
+	 */
+	private boolean isUpToDate(IFile diagramFile, String inputHash, List<IFile> outputFiles) throws CoreException {
+		for (IFile file : outputFiles) {
+			if (!file.exists() || !file.isSynchronized(IResource.DEPTH_ZERO)) {
+				return false;
+			}
+		}
+		String state = diagramFile.getPersistentProperty(GENERATION_STATE);
+		return state != null && state.equals(formatState(inputHash, outputFiles));
+	}
+
+	/**
+	 * Format the input hash and a digest of the modification stamps of the header, the
+	 * source and the split units, in this order. The digest keeps the state at a fixed
+	 * size, within the 2 KB limit of persistent properties however many units there are.
+	 */
+	private String formatState(String inputHash, List<IFile> outputFiles) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+		ByteBuffer stamp = ByteBuffer.allocate(Long.BYTES);
+		for (IFile file : outputFiles) {
+			digest.update(stamp.clear().putLong(file.getModificationStamp()).array());
+		}
+		return inputHash + ':' + HexFormat.of().formatHex(digest.digest());
+	}
+}
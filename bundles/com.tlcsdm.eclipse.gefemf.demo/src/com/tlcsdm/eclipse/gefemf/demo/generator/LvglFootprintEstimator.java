@@ -0,0 +1,389 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.generator;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
+
+/**
+ * Estimates the RAM and flash footprint of the code {@link LvglCodeGenerator} generates
+ * for a screen, without generating it.
+ * <p>
+ * The estimate walks the model once and follows the same rules as the generator: which
+ * calls are emitted, which styles are shared and which strings are copied by LVGL at
+ * runtime. Sizes assume a 32-bit target with the default LVGL 9 configuration and
+ * include the heap allocator overhead; they are meant for sizing partitions, not as
+ * exact numbers. The content of lazily created pages is counted as if it was shown.
+ * </p>
+ */
+public class LvglFootprintEstimator {
+
+	private static final int POINTER_SIZE = 4;
+	private static final int HEAP_OVERHEAD = 8;
+
+	/** lv_obj_t with its allocation */
+	private static final int OBJECT_SIZE = 56;
+	/** lv_obj_spec_attr_t, allocated for objects with children */
+	private static final int SPEC_ATTR_SIZE = 48;
+	private static final int LABEL_SIZE = 88;
+
+	/** Style list entry and lv_style_t of an object's local style */
+	private static final int LOCAL_STYLE_SIZE = 24;
+	/** Style list entry referencing a shared style */
+	private static final int STYLE_REFERENCE_SIZE = 8;
+	/** Static lv_style_t and the allocation of its values */
+	private static final int SHARED_STYLE_SIZE = 16;
+	private static final int STYLE_PROPERTY_SIZE = 8;
+
+	/** Thumb-2 code of a call with constant arguments */
+	private static final int CALL_SIZE = 12;
+	/** Extra code of an lv_color_hex() argument */
+	private static final int COLOR_ARGUMENT_SIZE = 6;
+	private static final int FUNCTION_SIZE = 24;
+	/** The widget_desc_t of the table creation mode */
+	private static final int DESCRIPTOR_SIZE = 36;
+	private static final int TABLE_LOOP_SIZE = 96;
+
+	private final LvglScreen screen;
+	private final LvglGeneratorOptions options;
+
+	private boolean tableMode;
+	private Map<LvglCodeGenerator.Style, Integer> styleUses;
+	private EnumSet<LvglWidget.WidgetType> usedTypes;
+	/** Texts already counted, with string pooling */
+	private Set<String> pooledStrings;
+
+	public LvglFootprintEstimator(LvglScreen screen, LvglGeneratorOptions options) {
+		this.screen = screen;
+		this.options = options;
+	}
+
+	/**
+	 * Estimate the footprint of the screen.
+	 */
+	public LvglFootprintReport estimate() {
+		tableMode = options.getCreationMode() == LvglGeneratorOptions.CreationMode.TABLE
+				&& !screen.getWidgets().isEmpty();
+		styleUses = new HashMap<>();
+		usedTypes = EnumSet.noneOf(LvglWidget.WidgetType.class);
+		pooledStrings = new HashSet<>();
+		for (LvglWidget widget : screen.getWidgets()) {
+			collectUsage(widget);
+		}
+
+		// Shared styles are allocated once per screen and initialized by their own function
+		int sharedStyleRam = 0;
+		int fixedCodeBytes = 2 * FUNCTION_SIZE + 3 * CALL_SIZE + COLOR_ARGUMENT_SIZE;
+		int sharedStyles = 0;
+		for (Map.Entry<LvglCodeGenerator.Style, Integer> entry : styleUses.entrySet()) {
+			if (isShared(entry.getKey())) {
+				sharedStyles++;
+				sharedStyleRam += SHARED_STYLE_SIZE + entry.getKey().propertyCount() * STYLE_PROPERTY_SIZE;
+				fixedCodeBytes += CALL_SIZE + getStyleCode(entry.getKey());
+			}
+		}
+		if (sharedStyles > 0) {
+			fixedCodeBytes += FUNCTION_SIZE + CALL_SIZE;
+		}
+		if (tableMode) {
+			fixedCodeBytes += TABLE_LOOP_SIZE + sharedStyles * POINTER_SIZE + usedTypes.size() * POINTER_SIZE;
+		}
+		if (options.isScreenManager()) {
+			fixedCodeBytes += 4 * POINTER_SIZE + FUNCTION_SIZE + CALL_SIZE;
+		}
+		// Every split unit adds a create function and its call
+		fixedCodeBytes += LvglCodeGenerator.getUnitRoots(screen, options).size() * (FUNCTION_SIZE + CALL_SIZE);
+
+		int screenRam = OBJECT_SIZE + POINTER_SIZE;
+		if (!screen.getWidgets().isEmpty()) {
+			screenRam += SPEC_ATTR_SIZE + screen.getWidgets().size() * POINTER_SIZE;
+		}
+
+		List<LvglFootprintReport.WidgetFootprint> widgets = new ArrayList<>();
+		for (LvglWidget widget : screen.getWidgets()) {
+			estimateWidget(widget, widgets);
+		}
+		return new LvglFootprintReport(screen.getName(), widgets, screenRam, sharedStyleRam, fixedCodeBytes);
+	}
+
+	/**
+	 * Count the uses of every style and collect the widget types on the screen.
+	 */
+	private void collectUsage(LvglWidget widget) {
+		usedTypes.add(widget.getWidgetType());
+		LvglCodeGenerator.Style style = LvglCodeGenerator.getStyle(widget);
+		if (style != null) {
+			styleUses.merge(style, 1, Integer::sum);
+		}
+		for (LvglWidget child : widget.getChildren()) {
+			collectUsage(child);
+		}
+	}
+
+	/**
+	 * Same rule as the generator: in table mode every style is shared, otherwise only
+	 * styles used more than once and only with the shared styles option.
+	 */
+	private boolean isShared(LvglCodeGenerator.Style style) {
+		if (tableMode) {
+			return true;
+		}
+		return options.isSharedStyles() && styleUses.get(style) > 1;
+	}
+
+	private void estimateWidget(LvglWidget widget, List<LvglFootprintReport.WidgetFootprint> widgets) {
+		LvglWidget.WidgetType type = widget.getWidgetType();
+		int objectRam = getObjectSize(type) + POINTER_SIZE;
+		int styleRam = 0;
+		int stringBytes = 0;
+		// Creation, position and size are in the descriptor in table mode
+		int codeBytes = tableMode ? DESCRIPTOR_SIZE : 3 * CALL_SIZE;
+
+		int childCount = widget.getChildren().size();
+		String text = widget.getText();
+		if (text != null && !text.isEmpty()) {
+			int textBytes = utf8Length(text) + 1;
+			switch (type) {
+			case LABEL:
+			case CHECKBOX:
+			case DROPDOWN:
+			case TEXTAREA:
+				// LVGL copies the text to the heap
+				objectRam += textBytes + HEAP_OVERHEAD;
+				stringBytes += getLiteralSize(text, textBytes);
+				codeBytes += tableMode ? 0 : CALL_SIZE;
+				break;
+			case BUTTON:
+				objectRam += LABEL_SIZE + textBytes + HEAP_OVERHEAD;
+				stringBytes += getLiteralSize(text, textBytes);
+				codeBytes += tableMode ? 0 : 3 * CALL_SIZE;
+				childCount++;
+				break;
+			default:
+				break;
+			}
+		}
+		if (childCount > 0) {
+			objectRam += SPEC_ATTR_SIZE + childCount * POINTER_SIZE;
+		}
+
+		switch (type) {
+		case IMAGE:
+			String imageSource = widget.getImageSource() != null ? widget.getImageSource().trim() : "";
+			if (!imageSource.isEmpty()) {
+				codeBytes += CALL_SIZE;
+				if (!imageSource.startsWith("&") && !imageSource.startsWith("LV_SYMBOL_")) {
+					stringBytes += utf8Length(imageSource) + 1;
+				}
+			}
+			break;
+		case CHECKBOX:
+		case SWITCH:
+			codeBytes += widget.isChecked() ? CALL_SIZE : 0;
+			break;
+		case SLIDER:
+		case ARC:
+		case BAR:
+			codeBytes += 2 * CALL_SIZE;
+			break;
+		case TABLE:
+			int cells = widget.getRowCount() * widget.getColumnCount();
+			objectRam += cells * POINTER_SIZE + widget.getRowCount() * POINTER_SIZE + 2 * HEAP_OVERHEAD;
+			codeBytes += 2 * CALL_SIZE;
+			int[] cellBytes = estimateTableCells(widget);
+			objectRam += cellBytes[0];
+			stringBytes += cellBytes[1];
+			codeBytes += cellBytes[2];
+			break;
+		default:
+			break;
+		}
+
+		// Local style properties share one local style per object
+		int localProperties = 0;
+		LvglCodeGenerator.Style style = LvglCodeGenerator.getStyle(widget);
+		if (style != null) {
+			if (isShared(style)) {
+				styleRam += STYLE_REFERENCE_SIZE;
+				codeBytes += tableMode ? 0 : CALL_SIZE;
+			} else {
+				localProperties += style.propertyCount();
+				codeBytes += getStyleCode(style);
+			}
+		}
+		if (type == LvglWidget.WidgetType.CONTAINER && widget.getLayoutType() != LvglWidget.LayoutType.NONE) {
+			codeBytes += (widget.getLayoutType() == LvglWidget.LayoutType.FLEX ? 3 : 1) * CALL_SIZE;
+			if (widget.getPadRow() > 0 || widget.getPadColumn() > 0) {
+				localProperties += 2;
+				codeBytes += 2 * CALL_SIZE;
+			}
+		}
+		if (localProperties > 0) {
+			styleRam += LOCAL_STYLE_SIZE + localProperties * STYLE_PROPERTY_SIZE;
+		}
+
+		// A lazy page is hidden and gets a load function and an entry in the page table
+		if (LvglCodeGenerator.isLazyPage(widget, options)) {
+			codeBytes += CALL_SIZE + FUNCTION_SIZE + 2 * POINTER_SIZE;
+		}
+
+		widgets.add(new LvglFootprintReport.WidgetFootprint(widget.getName(), type, objectRam, styleRam,
+				stringBytes, codeBytes));
+		for (LvglWidget child : widget.getChildren()) {
+			estimateWidget(child, widgets);
+		}
+	}
+
+	/**
+	 * Estimate the cells the generator fills from the table data.
+	 *
+	 * @return the heap used by the cell texts, their string literals and the code setting them
+	 */
+	private int[] estimateTableCells(LvglWidget widget) {
+		int[] bytes = new int[3];
+		String tableData = widget.getTableData();
+		if (tableData == null || tableData.isEmpty()) {
+			return bytes;
+		}
+		String[] rows = tableData.split(";");
+		for (int row = 0; row < rows.length && row < widget.getRowCount(); row++) {
+			String[] cols = rows[row].split(",");
+			for (int col = 0; col < cols.length && col < widget.getColumnCount(); col++) {
+				String cellText = cols[col].trim();
+				int textBytes = utf8Length(cellText) + 1;
+				// Each cell is copied with a leading control byte
+				bytes[0] += textBytes + 1 + HEAP_OVERHEAD;
+				bytes[1] += getLiteralSize(cellText, textBytes);
+				bytes[2] += CALL_SIZE;
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * Get the flash used by the literal of a text; with string pooling, a text used
+	 * again is counted only at its first use.
+	 */
+	private int getLiteralSize(String text, int textBytes) {
+		if (options.isStringPooling() && !pooledStrings.add(text)) {
+			return 0;
+		}
+		return textBytes;
+	}
+
+	/**
+	 * Get the UTF-8 length of a string without encoding it.
+	 */
+	private static int utf8Length(String text) {
+		int length = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c < 0x80) {
+				length++;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+					&& Character.isLowSurrogate(text.charAt(i + 1))) {
+				length += 4;
+				i++;
+			} else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * Code setting the properties of a style, one call per property.
+	 */
+	private int getStyleCode(LvglCodeGenerator.Style style) {
+		int colors = (style.bgColor() != null ? 1 : 0) + (style.textColor() != null ? 1 : 0)
+				+ (style.borderColor() != null ? 1 : 0);
+		return style.propertyCount() * CALL_SIZE + colors * COLOR_ARGUMENT_SIZE;
+	}
+
+	/**
+	 * Get the RAM of an LVGL object of the given type, including the internal child
+	 * objects LVGL creates for it, such as the label of a text area.
+	 */
+	private int getObjectSize(LvglWidget.WidgetType type) {
+		switch (type) {
+		case LABEL:
+			return LABEL_SIZE;
+		case SLIDER:
+			return 104;
+		case SWITCH:
+			return 64;
+		case CHECKBOX:
+			return 68;
+		case DROPDOWN:
+			return 100;
+		case TEXTAREA:
+			return 116 + LABEL_SIZE + SPEC_ATTR_SIZE;
+		case IMAGE:
+			return 96;
+		case ARC:
+			return 88;
+		case BAR:
+			return 92;
+		case ANIMIMG:
+			return 136;
+		case ARCLABEL:
+			return 104;
+		case BUTTONMATRIX:
+		case KEYBOARD:
+			return 88;
+		case CALENDAR:
+			return 104 + 88 + SPEC_ATTR_SIZE;
+		case CANVAS:
+			return 100;
+		case CHART:
+			return 152;
+		case IMAGEBUTTON:
+			return 88;
+		case LED:
+			return 64;
+		case LINE:
+			return 68;
+		case MENU:
+			return 136 + 3 * OBJECT_SIZE + SPEC_ATTR_SIZE;
+		case MSGBOX:
+			return 72 + 3 * OBJECT_SIZE + SPEC_ATTR_SIZE;
+		case ROLLER:
+			return 72 + LABEL_SIZE + SPEC_ATTR_SIZE;
+		case SCALE:
+			return 136;
+		case SPANGROUP:
+			return 104;
+		case SPINBOX:
+			return 132 + LABEL_SIZE + SPEC_ATTR_SIZE;
+		case SPINNER:
+			return 96;
+		case TABLE:
+			return 96;
+		case TABVIEW:
+			return 64 + 2 * OBJECT_SIZE + 88 + SPEC_ATTR_SIZE;
+		case TILEVIEW:
+			return 64;
+		case WIN:
+			return OBJECT_SIZE + 2 * OBJECT_SIZE + SPEC_ATTR_SIZE;
+		case BUTTON:
+		case CONTAINER:
+		case LIST:
+		default:
+			return OBJECT_SIZE;
+		}
+	}
+}
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
+
+/**
+ * Estimated RAM and flash footprint of the code generated for one screen, as computed
+ * by {@link LvglFootprintEstimator}. All sizes are in bytes.
+ */
+public class LvglFootprintReport {
+
+	/**
+	 * Estimated footprint of a single widget.
+	 */
+	public static class WidgetFootprint {
+
+		private final String name;
+		private final LvglWidget.WidgetType widgetType;
+		private final int objectRam;
+		private final int styleRam;
+		private final int stringBytes;
+		private final int codeBytes;
+
+		WidgetFootprint(String name, LvglWidget.WidgetType widgetType, int objectRam, int styleRam, int stringBytes,
+				int codeBytes) {
+			this.name = name;
+			this.widgetType = widgetType;
+			this.objectRam = objectRam;
+			this.styleRam = styleRam;
+			this.stringBytes = stringBytes;
+			this.codeBytes = codeBytes;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public LvglWidget.WidgetType getWidgetType() {
+			return widgetType;
+		}
+
+		/**
+		 * @return heap used by the LVGL object, its internal child objects and copied texts,
+		 *         plus the global pointer variable
+		 */
+		public int getObjectRam() {
+			return objectRam;
+		}
+
+		/**
+		 * @return heap used by local style properties, or by the references to shared styles
+		 */
+		public int getStyleRam() {
+			return styleRam;
+		}
+
+		/**
+		 * @return flash used by string literals
+		 */
+		public int getStringBytes() {
+			return stringBytes;
+		}
+
+		/**
+		 * @return flash used by the creation code or the table descriptor of the widget
+		 */
+		public int getCodeBytes() {
+			return codeBytes;
+		}
+
+		public int getRam() {
+			return objectRam + styleRam;
+		}
+
+		public int getFlash() {
+			return stringBytes + codeBytes;
+		}
+	}
+
+	private final String screenName;
+	private final List<WidgetFootprint> widgets;
+	private final int screenRam;
+	private final int sharedStyleRam;
+	private final int fixedCodeBytes;
+
+	LvglFootprintReport(String screenName, List<WidgetFootprint> widgets, int screenRam, int sharedStyleRam,
+			int fixedCodeBytes) {
+		this.screenName = screenName;
+		this.widgets = Collections.unmodifiableList(widgets);
+		this.screenRam = screenRam;
+		this.sharedStyleRam = sharedStyleRam;
+		this.fixedCodeBytes = fixedCodeBytes;
+	}
+
+	public String getScreenName() {
+		return screenName;
+	}
+
+	/**
+	 * @return the footprint of every widget, in creation order
+	 */
+	public List<WidgetFootprint> getWidgets() {
+		return widgets;
+	}
+
+	/**
+	 * @return RAM of the screen object itself
+	 */
+	public int getScreenRam() {
+		return screenRam;
+	}
+
+	/**
+	 * @return RAM of the shared style objects, counted once per screen
+	 */
+	public int getSharedStyleRam() {
+		return sharedStyleRam;
+	}
+
+	/**
+	 * @return flash used once per screen: the create and delete functions, style
+	 *         initialization and, in table mode, the creation loop
+	 */
+	public int getFixedCodeBytes() {
+		return fixedCodeBytes;
+	}
+
+	public int getObjectRam() {
+		int total = screenRam;
+		for (WidgetFootprint widget : widgets) {
+			total += widget.getObjectRam();
+		}
+		return total;
+	}
+
+	public int getStyleRam() {
+		int total = sharedStyleRam;
+		for (WidgetFootprint widget : widgets) {
+			total += widget.getStyleRam();
+		}
+		return total;
+	}
+
+	public int getStringBytes() {
+		int total = 0;
+		for (WidgetFootprint widget : widgets) {
+			total += widget.getStringBytes();
+		}
+		return total;
+	}
+
+	public int getCodeBytes() {
+		int total = fixedCodeBytes;
+		for (WidgetFootprint widget : widgets) {
+			total += widget.getCodeBytes();
+		}
+		return total;
+	}
+
+	public int getTotalRam() {
+		return getObjectRam() + getStyleRam();
+	}
+
+	public int getTotalFlash() {
+		return getStringBytes() + getCodeBytes();
+	}
+
+	/**
+	 * Format the report for the console: the totals followed by the RAM and flash
+	 * used per widget type, largest RAM first.
+	 */
+	public String format() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Estimated footprint of ").append(screenName).append(" (").append(widgets.size())
+				.append(" widgets):\n");
+		sb.append(String.format("  RAM   %8d bytes (objects %d, styles %d)%n", getTotalRam(), getObjectRam(),
+				getStyleRam()));
+		sb.append(String.format("  Flash %8d bytes (code %d, strings %d)%n", getTotalFlash(), getCodeBytes(),
+				getStringBytes()));
+
+		Map<LvglWidget.WidgetType, int[]> byType = new EnumMap<>(LvglWidget.WidgetType.class);
+		for (WidgetFootprint widget : widgets) {
+			int[] totals = byType.computeIfAbsent(widget.getWidgetType(), type -> new int[3]);
+			totals[0]++;
+			totals[1] += widget.getRam();
+			totals[2] += widget.getFlash();
+		}
+		List<Map.Entry<LvglWidget.WidgetType, int[]>> types = new ArrayList<>(byType.entrySet());
+		types.sort(Comparator.comparingInt((Map.Entry<LvglWidget.WidgetType, int[]> entry) -> entry.getValue()[1])
+				.reversed());
+		if (!types.isEmpty()) {
+			sb.append(String.format("  %-16s %6s %10s %10s%n", "Type", "Count", "RAM", "Flash"));
+			for (Map.Entry<LvglWidget.WidgetType, int[]> entry : types) {
+				int[] totals = entry.getValue();
+				sb.append(String.format("  %-16s %6d %10d %10d%n", entry.getKey().getDisplayName(), totals[0],
+						totals[1], totals[2]));
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.generator;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+
+import com.tlcsdm.eclipse.gefemf.demo.Activator;
+import com.tlcsdm.eclipse.gefemf.demo.preferences.LvglPreferenceConstants;
+
+/**
+ * Settings the code generator depends on besides the screen model.
+ * <p>
+ * Inside the workbench the options come from the plug-in preferences, see
+ * {@link #fromPreferences()}. Headless callers create the options directly, so the
+ * generator never touches the plug-in {@link Activator}.
+ * </p>
+ */
+public class LvglGeneratorOptions {
+
+	/**
+	 * How the generated create function builds the widgets.
+	 */
+	public enum CreationMode {
+		/** One block of LVGL calls per widget */
+		UNROLLED,
+		/** A constant widget descriptor table and a generic creation loop */
+		TABLE;
+
+		/**
+		 * Parse a mode name, falling back to {@link #UNROLLED} for unknown names.
+		 */
+		public static CreationMode fromName(String name) {
+			for (CreationMode mode : values()) {
+				if (mode.name().equals(name)) {
+					return mode;
+				}
+			}
+			return UNROLLED;
+		}
+	}
+
+	private String licenseHeader;
+	private String generatorVersion;
+	private boolean sharedStyles;
+	private CreationMode creationMode = CreationMode.UNROLLED;
+	private boolean screenManager;
+	private boolean stringPooling;
+	private boolean splitUnits;
+
+	public LvglGeneratorOptions() {
+		this("", null);
+	}
+
+	/**
+	 * @param licenseHeader    the license header placed at the top of generated files, may be empty
+	 * @param generatorVersion the generator version, included in the input hash; may be null
+	 */
+	public LvglGeneratorOptions(String licenseHeader, String generatorVersion) {
+		this.licenseHeader = licenseHeader;
+		this.generatorVersion = generatorVersion;
+	}
+
+	/**
+	 * Create options from the plug-in preferences. Falls back to an empty license
+	 * header when the plug-in is not running.
+	 */
+	public static LvglGeneratorOptions fromPreferences() {
+		Activator activator = Activator.getDefault();
+		if (activator == null) {
+			return new LvglGeneratorOptions();
+		}
+		IPreferenceStore store = activator.getPreferenceStore();
+		LvglGeneratorOptions options = new LvglGeneratorOptions(
+				store.getString(LvglPreferenceConstants.P_LICENSE_HEADER),
+				activator.getBundle().getVersion().toString());
+		options.setSharedStyles(store.getBoolean(LvglPreferenceConstants.P_SHARED_STYLES));
+		options.setCreationMode(CreationMode.fromName(store.getString(LvglPreferenceConstants.P_CREATION_MODE)));
+		options.setScreenManager(store.getBoolean(LvglPreferenceConstants.P_SCREEN_MANAGER));
+		options.setStringPooling(store.getBoolean(LvglPreferenceConstants.P_STRING_POOLING));
+		options.setSplitUnits(store.getBoolean(LvglPreferenceConstants.P_SPLIT_UNITS));
+		return options;
+	}
+
+	public String getLicenseHeader() {
+		return licenseHeader;
+	}
+
+	public void setLicenseHeader(String licenseHeader) {
+		this.licenseHeader = licenseHeader;
+	}
+
+	public String getGeneratorVersion() {
+		return generatorVersion;
+	}
+
+	public void setGeneratorVersion(String generatorVersion) {
+		this.generatorVersion = generatorVersion;
+	}
+
+	/**
+	 * @return true if widgets with identical local styles share a static lv_style_t
+	 *         applied with lv_obj_add_style, instead of setting the style properties
+	 *         on every widget
+	 */
+	public boolean isSharedStyles() {
+		return sharedStyles;
+	}
+
+	public void setSharedStyles(boolean sharedStyles) {
+		this.sharedStyles = sharedStyles;
+	}
+
+	/**
+	 * @return how widgets are created; in {@link CreationMode#TABLE} mode every widget
+	 *         style is shared, regardless of {@link #isSharedStyles()}
+	 */
+	public CreationMode getCreationMode() {
+		return creationMode;
+	}
+
+	public void setCreationMode(CreationMode creationMode) {
+		this.creationMode = creationMode;
+	}
+
+	/**
+	 * @return true if screens register with the generated screen manager, which creates
+	 *         them on first show and caches recently used ones, and if the content of
+	 *         tab and tile view pages other than the first is created on first show
+	 */
+	public boolean isScreenManager() {
+		return screenManager;
+	}
+
+	public void setScreenManager(boolean screenManager) {
+		this.screenManager = screenManager;
+	}
+
+	/**
+	 * @return true if every distinct text of a screen is written once as a static const
+	 *         char array and referenced by its symbol, instead of repeating the literal
+	 *         at every use
+	 */
+	public boolean isStringPooling() {
+		return stringPooling;
+	}
+
+	public void setStringPooling(boolean stringPooling) {
+		this.stringPooling = stringPooling;
+	}
+
+	/**
+	 * @return true if the subtree of every top-level widget with children is created by
+	 *         a function in a source file of its own, so the compiler can build the parts
+	 *         of a large screen in parallel; only applies to {@link CreationMode#UNROLLED}
+	 */
+	public boolean isSplitUnits() {
+		return splitUnits;
+	}
+
+	public void setSplitUnits(boolean splitUnits) {
+		this.splitUnits = splitUnits;
+	}
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Generates the screen manager shared by all screens generated with
+ * {@link LvglGeneratorOptions#isScreenManager()}.
+ * <p>
+ * Every screen describes itself with a {@code lvgl_screen_t}. The manager creates a
+ * screen the first time it is shown and keeps the most recently used inactive screens
+ * alive in a small cache; screens that drop out of the cache are deleted and created
+ * again on their next show. The cache size can be changed at runtime, down to 0 to
+ * keep only the active screen in memory.
+ * </p>
+ */
+public class LvglScreenManagerGenerator {
+
+	/** Base name of the generated screen manager files */
+	public static final String BASE_NAME = "lvgl_screen_manager";
+
+	private final LvglGeneratorOptions options;
+
+	public LvglScreenManagerGenerator(LvglGeneratorOptions options) {
+		this.options = options;
+	}
+
+	private String getLicenseHeader() {
+		String header = options.getLicenseHeader();
+		if (header != null && !header.isEmpty()) {
+			if (!header.endsWith("\n")) {
+				header = header + "\n";
+			}
+			return header + "\n";
+		}
+		return "";
+	}
+
+	/**
+	 * Generate the header file content.
+	 */
+	public String generateHeader() {
+		StringBuilder sb = new StringBuilder();
+		try {
+			generateHeader(sb);
+		} catch (IOException e) {
+			// A StringBuilder does not fail
+			throw new UncheckedIOException(e);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Generate the header file content into a sink, such as a {@link java.io.Writer}.
+	 *
+	 * @throws IOException if the sink fails
+	 */
+	public void generateHeader(Appendable sb) throws IOException {
+		sb.append(getLicenseHeader());
+
+		sb.append("/**\n");
+		sb.append(" * @file ").append(BASE_NAME).append(".h\n");
+		sb.append(" * @brief LVGL screen manager - auto-generated\n");
+		sb.append(" */\n\n");
+
+		sb.append("#ifndef LVGL_SCREEN_MANAGER_H\n");
+		sb.append("#define LVGL_SCREEN_MANAGER_H\n\n");
+
+		sb.append("#include \"lvgl.h\"\n\n");
+
+		sb.append("#ifdef __cplusplus\n");
+		sb.append("extern \"C\" {\n");
+		sb.append("#endif\n\n");
+
+		sb.append("/** Maximum number of inactive screens kept alive, at least 1 */\n");
+		sb.append("#ifndef LVGL_SCREEN_MANAGER_MAX_CACHE\n");
+		sb.append("#define LVGL_SCREEN_MANAGER_MAX_CACHE 4\n");
+		sb.append("#endif\n\n");
+
+		sb.append("typedef struct {\n");
+		sb.append("    const char *name;\n");
+		sb.append("    lv_obj_t **root;\n");
+		sb.append("    void (*create)(void);\n");
+		sb.append("    void (*destroy)(void);\n");
+		sb.append("} lvgl_screen_t;\n\n");
+
+		sb.append("void lvgl_screen_manager_show(const lvgl_screen_t *screen);\n");
+		sb.append("const lvgl_screen_t *lvgl_screen_manager_get_active(void);\n");
+		sb.append("void lvgl_screen_manager_set_cache_size(uint32_t size);\n");
+		sb.append("void lvgl_screen_manager_clear_cache(void);\n");
+
+		sb.append("\n#ifdef __cplusplus\n");
+		sb.append("}\n");
+		sb.append("#endif\n\n");
+
+		sb.append("#endif /* LVGL_SCREEN_MANAGER_H */\n");
+	}
+
+	/**
+	 * Generate the source file content.
+	 */
+	public String generateSource() {
+		StringBuilder sb = new StringBuilder();
+		try {
+			generateSource(sb);
+		} catch (IOException e) {
+			// A StringBuilder does not fail
+			throw new UncheckedIOException(e);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Generate the source file content into a sink, such as a {@link java.io.Writer}.
+	 *
+	 * @throws IOException if the sink fails
+	 */
+	public void generateSource(Appendable sb) throws IOException {
+		sb.append(getLicenseHeader());
+
+		sb.append("/**\n");
+		sb.append(" * @file ").append(BASE_NAME).append(".c\n");
+		sb.append(" * @brief LVGL screen manager implementation - auto-generated\n");
+		sb.append(" */\n\n");
+
+		sb.append("#include \"").append(BASE_NAME).append(".h\"\n\n");
+
+		sb.append("#if LVGL_SCREEN_MANAGER_MAX_CACHE < 1\n");
+		sb.append("#error \"LVGL_SCREEN_MANAGER_MAX_CACHE must be at least 1\"\n");
+		sb.append("#endif\n\n");
+
+		sb.append("static const lvgl_screen_t *active_screen = NULL;\n\n");
+		sb.append("/* Inactive screens that are still alive, most recently used first */\n");
+		sb.append("static const lvgl_screen_t *cached_screens[LVGL_SCREEN_MANAGER_MAX_CACHE];\n");
+		sb.append("static uint32_t cached_count = 0;\n");
+		sb.append("static uint32_t cache_size = LVGL_SCREEN_MANAGER_MAX_CACHE;\n\n");
+
+		sb.append("static void trim_cache(uint32_t size) {\n");
+		sb.append("    while (cached_count > size) {\n");
+		sb.append("        cached_count--;\n");
+		sb.append("        cached_screens[cached_count]->destroy();\n");
+		sb.append("        cached_screens[cached_count] = NULL;\n");
+		sb.append("    }\n");
+		sb.append("}\n\n");
+
+		sb.append("static void remove_cached(const lvgl_screen_t *screen) {\n");
+		sb.append("    for (uint32_t i = 0; i < cached_count; i++) {\n");
+		sb.append("        if (cached_screens[i] == screen) {\n");
+		sb.append("            for (uint32_t j = i + 1; j < cached_count; j++) {\n");
+		sb.append("                cached_screens[j - 1] = cached_screens[j];\n");
+		sb.append("            }\n");
+		sb.append("            cached_count--;\n");
+		sb.append("            cached_screens[cached_count] = NULL;\n");
+		sb.append("            return;\n");
+		sb.append("        }\n");
+		sb.append("    }\n");
+		sb.append("}\n\n");
+
+		sb.append("void lvgl_screen_manager_show(const lvgl_screen_t *screen) {\n");
+		sb.append("    const lvgl_screen_t *previous = active_screen;\n");
+		sb.append("    if (screen == previous && *screen->root != NULL) {\n");
+		sb.append("        return;\n");
+		sb.append("    }\n\n");
+		sb.append("    remove_cached(screen);\n");
+		sb.append("    if (*screen->root == NULL) {\n");
+		sb.append("        screen->create();\n");
+		sb.append("    }\n");
+		sb.append("    lv_scr_load(*screen->root);\n");
+		sb.append("    active_screen = screen;\n\n");
+		sb.append("    if (previous == NULL || previous == screen) {\n");
+		sb.append("        return;\n");
+		sb.append("    }\n");
+		sb.append("    if (cache_size == 0) {\n");
+		sb.append("        previous->destroy();\n");
+		sb.append("        return;\n");
+		sb.append("    }\n");
+		sb.append("    /* Make room for the previous screen by deleting the least recently used one */\n");
+		sb.append("    trim_cache(cache_size - 1);\n");
+		sb.append("    for (uint32_t i = cached_count; i > 0; i--) {\n");
+		sb.append("        cached_screens[i] = cached_screens[i - 1];\n");
+		sb.append("    }\n");
+		sb.append("    cached_screens[0] = previous;\n");
+		sb.append("    cached_count++;\n");
+		sb.append("}\n\n");
+
+		sb.append("const lvgl_screen_t *lvgl_screen_manager_get_active(void) {\n");
+		sb.append("    return active_screen;\n");
+		sb.append("}\n\n");
+
+		sb.append("void lvgl_screen_manager_set_cache_size(uint32_t size) {\n");
+		sb.append("    cache_size = size < LVGL_SCREEN_MANAGER_MAX_CACHE ? size : LVGL_SCREEN_MANAGER_MAX_CACHE;\n");
+		sb.append("    trim_cache(cache_size);\n");
+		sb.append("}\n\n");
+
+		sb.append("void lvgl_screen_manager_clear_cache(void) {\n");
+		sb.append("    trim_cache(0);\n");
+		sb.append("}\n");
+	}
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.generator;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+
+/**
+ * String literals shared by the screens of one generation batch.
+ * <p>
+ * All screens of the batch are added before the first one is generated. Texts used by
+ * more than one screen are written once into the generated strings unit and referenced
+ * by every screen through an extern symbol; texts used by a single screen stay in the
+ * screen's own source. Adding screens is not thread-safe, but once all screens are added
+ * the pool is only read and can be shared by generators running in parallel.
+ * </p>
+ */
+public class LvglStringPool {
+
+	/** Base name of the generated strings files */
+	public static final String BASE_NAME = "lvgl_strings";
+
+	private static final String SYMBOL_PREFIX = "lvgl_str_";
+
+	private final LvglGeneratorOptions options;
+
+	/** Number of screens using each text */
+	private final Map<String, Integer> screenCounts = new HashMap<>();
+
+	/** Symbols of the shared texts, in the order they became shared */
+	private final Map<String, String> symbols = new LinkedHashMap<>();
+
+	public LvglStringPool(LvglGeneratorOptions options) {
+		this.options = options;
+	}
+
+	/**
+	 * Add the texts of a screen. A text gets its symbol as soon as a second screen uses it,
+	 * so the symbols only depend on the order the screens are added.
+	 */
+	public void addScreen(LvglScreen screen) {
+		for (String text : LvglCodeGenerator.collectStrings(screen)) {
+			if (screenCounts.merge(text, 1, Integer::sum) == 2) {
+				symbols.put(text, SYMBOL_PREFIX + symbols.size());
+			}
+		}
+	}
+
+	/**
+	 * @return the symbol of a text shared by several screens, or null if the text is not shared
+	 */
+	public String getSymbol(String text) {
+		return symbols.get(text);
+	}
+
+	/**
+	 * @return true if no text is used by more than one screen
+	 */
+	public boolean isEmpty() {
+		return symbols.isEmpty();
+	}
+
+	private String getLicenseHeader() {
+		String header = options.getLicenseHeader();
+		if (header != null && !header.isEmpty()) {
+			if (!header.endsWith("\n")) {
+				header = header + "\n";
+			}
+			return header + "\n";
+		}
+		return "";
+	}
+
+	/**
+	 * Generate the header file content.
+	 */
+	public String generateHeader() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(getLicenseHeader());
+
+		sb.append("/**\n");
+		sb.append(" * @file ").append(BASE_NAME).append(".h\n");
+		sb.append(" * @brief Strings shared by LVGL UI screens - auto-generated\n");
+		sb.append(" */\n\n");
+
+		sb.append("#ifndef LVGL_STRINGS_H\n");
+		sb.append("#define LVGL_STRINGS_H\n\n");
+
+		sb.append("#ifdef __cplusplus\n");
+		sb.append("extern \"C\" {\n");
+		sb.append("#endif\n\n");
+
+		for (String symbol : symbols.values()) {
+			sb.append("extern const char ").append(symbol).append("[];\n");
+		}
+
+		sb.append("\n#ifdef __cplusplus\n");
+		sb.append("}\n");
+		sb.append("#endif\n\n");
+
+		sb.append("#endif /* LVGL_STRINGS_H */\n");
+		return sb.toString();
+	}
+
+	/**
+	 * Generate the source file content.
+	 */
+	public String generateSource() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(getLicenseHeader());
+
+		sb.append("/**\n");
+		sb.append(" * @file ").append(BASE_NAME).append(".c\n");
+		sb.append(" * @brief Strings shared by LVGL UI screens - auto-generated\n");
+		sb.append(" */\n\n");
+
+		sb.append("#include \"").append(BASE_NAME).append(".h\"\n\n");
+
+		for (Map.Entry<String, String> entry : symbols.entrySet()) {
+			sb.append("const char ").append(entry.getValue()).append("[] = \"");
+			sb.append(LvglCodeGenerator.escapeString(entry.getKey())).append("\";\n");
+		}
+		return sb.toString();
+	}
+}
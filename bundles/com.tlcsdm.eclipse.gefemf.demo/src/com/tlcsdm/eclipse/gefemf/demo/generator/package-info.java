@@ -15,6 +15,8 @@
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.generator.LvglCodeGenerator} - 
  *       LVGL 代码生成器，将 LvglScreen 模型转换为 C 代码：
  *       <ul>
+ *         <li>checkVariableNames() - 通过屏幕的名称索引检查控件 C 变量名是否重复，
+ *             重复时生成的代码无法编译，抛出 IllegalStateException</li>
  *         <li>generateHeader() - 生成头文件 (.h)
  *           <ul>
  *             <li>包含保护宏 (#ifndef/#define/#endif)</li>
@@ -32,12 +34,96 @@
  *                 <li>遍历创建所有控件 (lv_xxx_create)</li>
  *                 <li>设置位置和大小 (lv_obj_set_pos/size)</li>
  *                 <li>设置文本、颜色等属性</li>
+ *                 <li>启用共享样式时，样式相同的多个控件共用一个静态 lv_style_t，
+ *                     只初始化一次并通过 lv_obj_add_style 应用</li>
+ *                 <li>表格创建模式下，控件的创建函数、父控件、位置、大小、样式和文本
+ *                     写入只读描述符数组，由一个通用循环创建，减小代码体积；
+ *                     控件类型特有的属性仍逐个生成</li>
+ *                 <li>启用屏幕管理器时，Tab/Tile 视图除第一页外的页面以 LV_OBJ_FLAG_HIDDEN 创建，
+ *                     页面内容由 load 函数在 show_page() 首次显示该页时创建</li>
+ *                 <li>启用字符串池时，屏幕中每个不同的文本只生成一个 static const char 数组，
+ *                     文本、下拉选项和表格单元格通过符号引用，每个文本只转义一次</li>
  *                 <li>递归处理嵌套子控件</li>
  *               </ul>
  *             </li>
  *             <li>delete 函数实现 (lv_obj_del)</li>
+ *             <li>启用屏幕管理器时，生成 lvgl_screen_t 描述符和 show 函数</li>
  *           </ul>
  *         </li>
+ *         <li>generateUnits() - 启用拆分编译单元时（仅逐个生成模式），每个有子控件的顶层控件
+ *             生成单独的 &lt;name&gt;__&lt;控件&gt;.c，其中的 &lt;name&gt;_create_&lt;控件&gt;() 创建该子树，
+ *             由屏幕的 create 函数调用；共用的 &lt;name&gt;__units.h 声明这些函数以及它们引用的
+ *             共享样式和字符串。各单元并行生成，固件构建时可并行编译、只重新编译变化的单元；
+ *             generateUnits(UnitConsumer) 把每个单元文件交给调用方，由调用方选择输出目标，
+ *             各单元与 generateSource(Appendable) 一样按块流式输出，不在内存中保留整个单元</li>
+ *         <li>generateHeader(Appendable)/generateSource(Appendable) - 生成到 Writer 等输出目标，
+ *             按块交给输出目标，不在内存中保留整个文件；
+ *             WritableByteChannel 重载以 UTF-8 写入 FileChannel 等通道</li>
+ *         <li>computeInputHash() - 计算模型、文件名、许可证头和生成器版本的哈希，
+ *             用于判断生成结果是否可能变化</li>
+ *         <li>生成过程不使用 String.format 和逐次编译的正则表达式：颜色由十六进制编码器输出，
+ *             C 标识符逐字符转换，图片源校验使用预编译的 Pattern；输出缓冲区按控件数量预先分配</li>
+ *       </ul>
+ *   </li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.generator.LvglGeneratorOptions} - 
+ *       生成选项（许可证头、生成器版本、共享样式、创建模式 CreationMode、屏幕管理器、字符串池等），可注入代码生成器；
+ *       fromPreferences() 从插件首选项读取，无界面运行时直接构造，不依赖 Activator</li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.generator.LvglScreenManagerGenerator} - 
+ *       生成所有屏幕共用的屏幕管理器 lvgl_screen_manager.h/.c：
+ *       <ul>
+ *         <li>屏幕首次显示时才创建</li>
+ *         <li>按最近使用顺序缓存非活动屏幕，超出缓存大小的屏幕被删除，再次显示时重新创建</li>
+ *         <li>缓存大小可在运行时调整，内存紧张的设备可设为 0</li>
+ *       </ul>
+ *   </li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.generator.LvglStringPool} - 
+ *       一批生成中多个屏幕共用的字符串池：
+ *       <ul>
+ *         <li>生成前加入该批的所有屏幕，被多个屏幕使用的文本分配 lvgl_str_N 符号</li>
+ *         <li>生成 lvgl_strings.h/.c，共享文本只在其中定义一次，屏幕源文件通过 extern 引用</li>
+ *         <li>只被一个屏幕使用的文本仍定义在该屏幕的源文件中</li>
+ *       </ul>
+ *   </li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.generator.LvglFootprintEstimator} - 
+ *       占用估算器，不生成代码，按与生成器相同的规则一次遍历模型，估算：
+ *       <ul>
+ *         <li>每个控件按 WidgetType 的 LVGL 对象 RAM（含内部子对象和 LVGL 复制的文本）</li>
+ *         <li>本地样式和共享样式的 RAM</li>
+ *         <li>字符串常量字节数和代码大小（Flash）</li>
+ *       </ul>
+ *       数值按 32 位目标和 LVGL 9 默认配置估算，用于规划分区大小；
+ *       结果为 {@link com.tlcsdm.eclipse.gefemf.demo.generator.LvglFootprintReport}，可格式化为控制台报告</li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.generator.LvglCodeWriter} - 
+ *       将生成的 .h/.c 文件写入 .gefxml 所在目录，增量生成：
+ *       <ul>
+ *         <li>生成前检查控件变量名是否重复，重复时以 CoreException 报告，不写入任何文件</li>
+ *         <li>上次生成的输入哈希和输出文件修改戳的摘要（SHA-256，长度固定，单元再多也不超过持久属性 2 KB 的限制）保存为 .gefxml 的持久属性，
+ *             均未变化时直接跳过生成</li>
+ *         <li>否则生成代码并与磁盘上的文件逐字节比较，只写入内容有变化的文件，
+ *             避免修改时间戳触发 CDT 全量重新编译</li>
+ *         <li>generate() 只生成不写入，可在任意线程并行执行；write() 写入工作区</li>
+ *         <li>代码以流的方式生成到 GeneratedContent（较大时转存到临时文件），再流式写入 IFile，
+ *             不生成完整的 String 和字节数组；拆分的单元和屏幕管理器文件同样如此</li>
+ *         <li>启用屏幕管理器时，同时写入该目录共用的屏幕管理器文件</li>
+ *         <li>启用拆分编译单元时，只写入内容有变化的单元，并删除已不存在的容器留下的单元文件
+ *             （只删除生成标记中记录的所属屏幕与当前屏幕完全相同的文件，不会删除名称以当前屏幕名开头的其他屏幕的单元）</li>
+ *       </ul>
+ *   </li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.generator.LvglCodeGenerationJob} - 
+ *       后台代码生成作业（WorkspaceJob）：
+ *       <ul>
+ *         <li>创建时在 UI 线程通过二进制格式复制屏幕模型快照，编辑器可继续修改模型</li>
+ *         <li>调度规则仅为输出目录，不阻塞其他目录的生成和无关的工作区操作</li>
+ *         <li>按阶段报告进度（头文件、源文件、拆分单元、屏幕管理器，写入时按文件），
+ *             各阶段之间和每个单元生成前检查取消，取消时已写入的文件保留，下次生成时重新比较</li>
+ *       </ul>
+ *   </li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.generator.LvglBatchGenerationJob} - 
+ *       批量代码生成作业：
+ *       <ul>
+ *         <li>将选中的文件、文件夹和项目展开为其中所有的 .gefxml 文件</li>
+ *         <li>在 ForkJoinPool 中并行加载和生成，不持有工作区锁</li>
+ *         <li>所有结果在一个 IWorkspaceRunnable 中写入，资源变更事件只触发一次</li>
  *       </ul>
  *   </li>
  * </ul>
@@ -101,9 +187,10 @@
  * <h2>与其他包的关系</h2>
  * <ul>
  *   <li>读取 model 包的 LvglScreen 和 LvglWidget</li>
- *   <li>被 handler 包的 GenerateCodeHandler 调用</li>
- *   <li>被 editor 包的 GenerateLvglCodeAction 调用</li>
- *   <li>读取 preferences 包的许可证头配置</li>
+ *   <li>被 handler 包的 GenerateCodeHandler 调用（通过 LvglCodeGenerationJob）</li>
+ *   <li>被 editor 包的 GenerateLvglCodeAction 调用（通过 LvglCodeGenerationJob）</li>
+ *   <li>通过 LvglGeneratorOptions 读取 preferences 包的许可证头配置</li>
+ *   <li>被 headless 包的命令行生成器调用</li>
  * </ul>
  * 
  * @see com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen
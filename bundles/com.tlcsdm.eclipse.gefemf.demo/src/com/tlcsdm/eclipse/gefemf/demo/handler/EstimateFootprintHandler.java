@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.handler;
+
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.handlers.HandlerUtil;
+
+import com.tlcsdm.eclipse.gefemf.demo.editor.DiagramEditor;
+import com.tlcsdm.eclipse.gefemf.demo.editor.DiagramMultiPageEditor;
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglFootprintReport;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.util.ConsoleLogger;
+import com.tlcsdm.eclipse.gefemf.demo.view.LvglFootprintView;
+
+/**
+ * Handler for the Estimate Footprint command.
+ * Writes the estimated RAM and flash footprint of the screen in the active editor to
+ * the console and shows the per-widget numbers in the footprint view.
+ */
+public class EstimateFootprintHandler extends AbstractHandler {
+
+	@Override
+	public Object execute(ExecutionEvent event) throws ExecutionException {
+		IEditorPart editor = HandlerUtil.getActiveEditor(event);
+
+		LvglScreen screen;
+		if (editor instanceof DiagramMultiPageEditor multiPageEditor) {
+			screen = multiPageEditor.getScreen();
+		} else if (editor instanceof DiagramEditor diagramEditor) {
+			screen = diagramEditor.getScreen();
+		} else {
+			ConsoleLogger.logWarning("Please open an LVGL UI editor first.");
+			ConsoleLogger.writeToConsole("Warning: Please open an LVGL UI editor first.");
+			return null;
+		}
+		if (screen == null) {
+			return null;
+		}
+
+		try {
+			IWorkbenchPage page = HandlerUtil.getActiveWorkbenchWindowChecked(event).getActivePage();
+			boolean opened = page.findView(LvglFootprintView.ID) == null;
+			LvglFootprintView view = (LvglFootprintView) page.showView(LvglFootprintView.ID);
+			// A view that has just been opened estimated the screen of the active editor already
+			LvglFootprintReport report = opened && view.getScreen() == screen ? view.getReport()
+					: view.showScreen(screen);
+			ConsoleLogger.writeToConsole(report.format().stripTrailing());
+		} catch (PartInitException e) {
+			ConsoleLogger.logError("Failed to open the footprint view: " + e.getMessage(), e);
+		}
+		return null;
+	}
+}
@@ -6,12 +6,9 @@
  ******************************************************************************/
 package com.tlcsdm.eclipse.gefemf.demo.handler;
 
-import java.io.ByteArrayInputStream;
-
 import org.eclipse.core.commands.AbstractHandler;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
-import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.runtime.CoreException;
@@ -21,7 +18,7 @@ import org.eclipse.ui.handlers.HandlerUtil;
 
 import com.tlcsdm.eclipse.gefemf.demo.editor.DiagramEditor;
 import com.tlcsdm.eclipse.gefemf.demo.editor.DiagramMultiPageEditor;
-import com.tlcsdm.eclipse.gefemf.demo.generator.LvglCodeGenerator;
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglCodeGenerationJob;
 import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
 import com.tlcsdm.eclipse.gefemf.demo.util.ConsoleLogger;
 
@@ -55,44 +52,11 @@ public class GenerateCodeHandler extends AbstractHandler {
 			return null;
 		}
 
-		// Save generated files in the same folder as the gefxml file with the same base name
 		try {
 			if (diagramFile != null) {
-				// Get the parent folder and base name of the gefxml file
-				IContainer parentFolder = diagramFile.getParent();
-				String baseName = diagramFile.getName();
-				// Remove the .gefxml extension to get the base name
-				if (baseName.endsWith(".gefxml")) {
-					baseName = baseName.substring(0, baseName.length() - 7);
-				}
-
-				// Generate code using the file base name
-				LvglCodeGenerator generator = new LvglCodeGenerator(screen, baseName);
-				String headerCode = generator.generateHeader();
-				String sourceCode = generator.generateSource();
-
-				// Generate header file with same name as gefxml
-				IFile headerFile = parentFolder.getFile(new org.eclipse.core.runtime.Path(baseName + ".h"));
-				ByteArrayInputStream headerSource = new ByteArrayInputStream(headerCode.getBytes("UTF-8"));
-				if (headerFile.exists()) {
-					headerFile.setContents(headerSource, true, true, new NullProgressMonitor());
-				} else {
-					headerFile.create(headerSource, true, new NullProgressMonitor());
-				}
-
-				// Generate source file with same name as gefxml
-				IFile sourceFile = parentFolder.getFile(new org.eclipse.core.runtime.Path(baseName + ".c"));
-				ByteArrayInputStream cSource = new ByteArrayInputStream(sourceCode.getBytes("UTF-8"));
-				if (sourceFile.exists()) {
-					sourceFile.setContents(cSource, true, true, new NullProgressMonitor());
-				} else {
-					sourceFile.create(cSource, true, new NullProgressMonitor());
-				}
-
-				ConsoleLogger.logInfo("Successfully generated LVGL C code: " + headerFile.getFullPath() + ", " + sourceFile.getFullPath());
-				ConsoleLogger.writeToConsole("Successfully generated LVGL C code:");
-				ConsoleLogger.writeToConsole("  " + headerFile.getFullPath().toString());
-				ConsoleLogger.writeToConsole("  " + sourceFile.getFullPath().toString());
+				// Save generated files in the same folder as the gefxml file with the same base name,
+				// generating from a snapshot of the screen in the background
+				new LvglCodeGenerationJob(diagramFile, screen).schedule();
 			}
 		} catch (Exception e) {
 			ConsoleLogger.logError("Failed to generate code: " + e.getMessage(), e);
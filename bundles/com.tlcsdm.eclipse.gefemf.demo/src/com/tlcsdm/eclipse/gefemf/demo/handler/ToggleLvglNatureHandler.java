@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.handler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.runtime.Adapters;
+import org.eclipse.jface.viewers.ISelection;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.ui.handlers.HandlerUtil;
+
+import com.tlcsdm.eclipse.gefemf.demo.builder.LvglProjectNature;
+import com.tlcsdm.eclipse.gefemf.demo.util.ConsoleLogger;
+
+/**
+ * Handler for adding or removing the LVGL nature on the selected projects.
+ * Projects with the nature regenerate their LVGL C code automatically on build.
+ */
+public class ToggleLvglNatureHandler extends AbstractHandler {
+
+	@Override
+	public Object execute(ExecutionEvent event) throws ExecutionException {
+		ISelection selection = HandlerUtil.getCurrentSelection(event);
+		if (!(selection instanceof IStructuredSelection)) {
+			return null;
+		}
+
+		for (Object element : ((IStructuredSelection) selection).toList()) {
+			IProject project = Adapters.adapt(element, IProject.class);
+			if (project != null && project.isOpen()) {
+				toggleNature(project);
+			}
+		}
+		return null;
+	}
+
+	private void toggleNature(IProject project) {
+		try {
+			IProjectDescription description = project.getDescription();
+			List<String> natureIds = new ArrayList<>(Arrays.asList(description.getNatureIds()));
+			boolean enable = !natureIds.remove(LvglProjectNature.NATURE_ID);
+			if (enable) {
+				natureIds.add(LvglProjectNature.NATURE_ID);
+			}
+			description.setNatureIds(natureIds.toArray(new String[0]));
+			project.setDescription(description, null);
+
+			String state = enable ? "enabled" : "disabled";
+			ConsoleLogger.logInfo("LVGL automatic code generation " + state + " for " + project.getName());
+			ConsoleLogger.writeToConsole("LVGL automatic code generation " + state + " for " + project.getName());
+		} catch (Exception e) {
+			ConsoleLogger.logError("Failed to toggle LVGL nature: " + e.getMessage(), e);
+			ConsoleLogger.writeToConsole("Error: Failed to toggle LVGL nature: " + e.getMessage());
+		}
+	}
+}
@@ -16,16 +16,26 @@
  *       生成代码命令处理器，响应工具栏"Generate C Code"按钮点击：
  *       <ul>
  *         <li>获取当前活动编辑器中的 LvglScreen</li>
- *         <li>创建 LvglCodeGenerator 实例</li>
- *         <li>生成 .h 和 .c 文件</li>
+ *         <li>通过后台 LvglCodeGenerationJob 生成 .h 和 .c 文件（内容未变化时跳过写入）</li>
  *         <li>在控制台输出生成结果</li>
  *       </ul>
  *   </li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.handler.GenerateCodeFromFileHandler} - 
  *       从文件生成代码命令处理器，响应右键菜单"Generate LVGL C Code"：
  *       <ul>
- *         <li>从选中的 .gefxml 文件加载模型</li>
- *         <li>生成代码文件到同一目录</li>
+ *         <li>支持多选 .gefxml 文件、文件夹和项目</li>
+ *         <li>通过后台 LvglBatchGenerationJob 批量生成代码文件到各自的目录</li>
+ *       </ul>
+ *   </li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.handler.ToggleLvglNatureHandler} - 
+ *       切换 LVGL 项目性质，响应项目右键菜单"Toggle LVGL Code Generation"，
+ *       启用后由 builder 包的 LvglCodeBuilder 在构建时自动生成代码</li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.handler.EstimateFootprintHandler} - 
+ *       估算占用命令处理器，响应工具栏"Estimate Footprint"按钮：
+ *       <ul>
+ *         <li>通过 LvglFootprintView.showScreen() 由视图估算当前编辑器中屏幕生成代码的 RAM 和 Flash 占用，
+ *             视图刚打开时直接使用它已为当前编辑器算出的结果，不重复估算</li>
+ *         <li>在控制台输出汇总报告，并在 LVGL Footprint 视图中显示每个控件的明细</li>
  *       </ul>
  *   </li>
  * </ul>
@@ -54,7 +64,7 @@
  *   &lt;/menuContribution&gt;
  *   &lt;menuContribution locationURI="popup:org.eclipse.ui.popup.any"&gt;
  *     &lt;command commandId="...commands.generateFromFile"&gt;
- *       &lt;visibleWhen&gt;...只在 .gefxml 文件上显示&lt;/visibleWhen&gt;
+ *       &lt;visibleWhen&gt;...只在 .gefxml 文件、文件夹和项目上显示&lt;/visibleWhen&gt;
  *     &lt;/command&gt;
  *   &lt;/menuContribution&gt;
  * &lt;/extension&gt;
@@ -72,7 +82,7 @@
  *         │
  *         ├── 从 event 获取当前选择或活动编辑器
  *         ├── 获取 LvglScreen 模型
- *         ├── 调用 LvglCodeGenerator
+ *         ├── 调用 LvglCodeWriter（增量生成，跳过未变化的文件）
  *         └── 输出生成结果
  * </pre>
  * 
@@ -81,6 +91,7 @@
  *   <li>获取 editor 包的当前编辑器</li>
  *   <li>读取 model 包的 LvglScreen</li>
  *   <li>调用 generator 包生成代码</li>
+ *   <li>为项目添加或移除 builder 包的 LvglProjectNature</li>
  *   <li>使用 util 包输出日志</li>
  * </ul>
  * 
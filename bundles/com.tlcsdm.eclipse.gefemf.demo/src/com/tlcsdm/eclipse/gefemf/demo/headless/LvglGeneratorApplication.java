@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.headless;
+
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+
+/**
+ * Equinox application running the {@link LvglHeadlessGenerator} without a workbench.
+ * The exit code of the generator becomes the exit code of the Eclipse process.
+ * <pre>
+ * eclipse -nosplash -consoleLog -application com.tlcsdm.eclipse.gefemf.demo.generate [options] &lt;file|directory|glob&gt;...
+ * </pre>
+ */
+public class LvglGeneratorApplication implements IApplication {
+
+	@Override
+	public Object start(IApplicationContext context) throws Exception {
+		String[] args = (String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS);
+		return new LvglHeadlessGenerator(System.out, System.err).run(args != null ? args : new String[0]);
+	}
+
+	@Override
+	public void stop() {
+		// Generation is not interruptible, the application ends when it completes
+	}
+}
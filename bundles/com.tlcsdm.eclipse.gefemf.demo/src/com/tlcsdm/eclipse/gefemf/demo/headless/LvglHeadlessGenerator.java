@@ -0,0 +1,527 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.headless;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglCodeGenerator;
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglCodeWriter;
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglGeneratorOptions;
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglScreenManagerGenerator;
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglStringPool;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglXmlSerializer;
+import com.tlcsdm.eclipse.gefemf.demo.preferences.LvglPreferenceConstants;
+
+/**
+ * Command-line LVGL code generator for builds without a workbench.
+ * <p>
+ * Only the model and generator are used, so it runs both as a plain Java program
+ * ({@link #main(String[])}) and inside Equinox through {@link LvglGeneratorApplication}.
+ * Inputs are .gefxml files, directories (searched recursively) or glob patterns.
+ * Files are generated in parallel and only written when their content changed.
+ * Generated code is streamed into a temporary file next to its target, which replaces
+ * the target only when the content differs, so large screens are never held in memory
+ * and a build never sees a partly written file.
+ * </p>
+ * <pre>
+ * Usage: [options] &lt;file|directory|glob&gt;...
+ *   -o, --output &lt;dir&gt;          write all files into this directory instead of next to each .gefxml
+ *   -l, --license-header &lt;file&gt; read the license header from this file
+ *       --no-license-header     generate without a license header
+ *   -j, --threads &lt;n&gt;           number of files generated in parallel
+ *       --shared-styles         share identical widget styles through static lv_style_t objects
+ *       --table                 create widgets from a constant descriptor table in a loop
+ *       --screen-manager        generate the screen manager, create screens and pages on first show
+ *       --string-pool           write every distinct text of a screen once as a static const char array
+ *       --shared-strings        also share texts used by several screens through a generated strings unit
+ *       --split-units           write the subtree of each top-level container into a source file of its own
+ * </pre>
+ * <p>
+ * With {@code --shared-strings} all screens are loaded before the first one is
+ * generated, because a screen's code depends on which of its texts other screens use.
+ * With {@code --split-units} the units of a screen are generated in parallel, only
+ * changed units are rewritten and units of removed containers are deleted.
+ * </p>
+ */
+public class LvglHeadlessGenerator {
+
+	/** Exit code when all files were generated */
+	public static final int EXIT_OK = 0;
+
+	/** Exit code when at least one file could not be generated */
+	public static final int EXIT_FAILED = 1;
+
+	/** Exit code for invalid arguments or when no input file was found */
+	public static final int EXIT_USAGE = 2;
+
+	private static final String GLOB_CHARACTERS = "*?[{";
+
+	private final PrintStream out;
+	private final PrintStream err;
+
+	private final List<String> inputs = new ArrayList<>();
+	private Path outputDirectory;
+	private Path licenseHeaderFile;
+	private boolean licenseHeaderEnabled = true;
+	private boolean sharedStyles;
+	private LvglGeneratorOptions.CreationMode creationMode = LvglGeneratorOptions.CreationMode.UNROLLED;
+	private boolean screenManager;
+	private boolean stringPooling;
+	private boolean sharedStrings;
+	private boolean splitUnits;
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	public LvglHeadlessGenerator(PrintStream out, PrintStream err) {
+		this.out = out;
+		this.err = err;
+	}
+
+	public static void main(String[] args) {
+		System.exit(new LvglHeadlessGenerator(System.out, System.err).run(args));
+	}
+
+	/**
+	 * Generate the code for the given command-line arguments.
+	 *
+	 * @return one of {@link #EXIT_OK}, {@link #EXIT_FAILED} and {@link #EXIT_USAGE}
+	 */
+	public int run(String[] args) {
+		List<Path> diagramFiles;
+		LvglGeneratorOptions options;
+		try {
+			parseArguments(args);
+			diagramFiles = resolveInputs();
+			options = createOptions();
+			checkOutputNames(diagramFiles);
+		} catch (IllegalArgumentException | IOException e) {
+			err.println("Error: " + e.getMessage());
+			printUsage();
+			return EXIT_USAGE;
+		}
+
+		if (screenManager) {
+			// Written before the pool starts, as all screens in a directory share the files
+			try {
+				writeScreenManager(diagramFiles, options);
+			} catch (IOException e) {
+				err.println("Error: " + e.getMessage());
+				return EXIT_FAILED;
+			}
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			int failed = 0;
+			List<Path> generatedFiles = diagramFiles;
+			List<LvglScreen> screens = null;
+			LvglStringPool stringPool = null;
+			if (sharedStrings) {
+				// Every screen must be in the pool before the first one is generated
+				List<ForkJoinTask<LvglScreen>> loads = new ArrayList<>(diagramFiles.size());
+				for (Path diagramFile : diagramFiles) {
+					loads.add(pool.submit(() -> load(diagramFile)));
+				}
+				generatedFiles = new ArrayList<>(diagramFiles.size());
+				screens = new ArrayList<>(diagramFiles.size());
+				stringPool = new LvglStringPool(options);
+				for (int i = 0; i < loads.size(); i++) {
+					try {
+						LvglScreen screen = loads.get(i).get();
+						stringPool.addScreen(screen);
+						generatedFiles.add(diagramFiles.get(i));
+						screens.add(screen);
+					} catch (ExecutionException e) {
+						err.println("Error: " + diagramFiles.get(i) + ": " + e.getCause().getMessage());
+						failed++;
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						err.println("Error: Interrupted");
+						return EXIT_FAILED;
+					}
+				}
+				try {
+					writeStringPool(generatedFiles, stringPool);
+				} catch (IOException e) {
+					err.println("Error: " + e.getMessage());
+					return EXIT_FAILED;
+				}
+			}
+
+			List<ForkJoinTask<String>> tasks = new ArrayList<>(generatedFiles.size());
+			for (int i = 0; i < generatedFiles.size(); i++) {
+				Path diagramFile = generatedFiles.get(i);
+				LvglScreen screen = screens != null ? screens.get(i) : null;
+				LvglStringPool strings = stringPool;
+				tasks.add(pool.submit(() -> generate(diagramFile, screen, options, strings)));
+			}
+
+			for (int i = 0; i < tasks.size(); i++) {
+				try {
+					out.println(tasks.get(i).get());
+				} catch (ExecutionException e) {
+					err.println("Error: " + generatedFiles.get(i) + ": " + e.getCause().getMessage());
+					failed++;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					err.println("Error: Interrupted");
+					return EXIT_FAILED;
+				}
+			}
+			out.println("Processed " + diagramFiles.size() + " file(s), " + failed + " failed");
+			return failed == 0 ? EXIT_OK : EXIT_FAILED;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private void parseArguments(String[] args) {
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			switch (arg) {
+			case "-o", "--output" -> outputDirectory = Paths.get(requireValue(args, ++i, arg));
+			case "-l", "--license-header" -> licenseHeaderFile = Paths.get(requireValue(args, ++i, arg));
+			case "--no-license-header" -> licenseHeaderEnabled = false;
+			case "--shared-styles" -> sharedStyles = true;
+			case "--table" -> creationMode = LvglGeneratorOptions.CreationMode.TABLE;
+			case "--screen-manager" -> screenManager = true;
+			case "--string-pool" -> stringPooling = true;
+			case "--shared-strings" -> sharedStrings = true;
+			case "--split-units" -> splitUnits = true;
+			case "-j", "--threads" -> {
+				String value = requireValue(args, ++i, arg);
+				try {
+					parallelism = Integer.parseInt(value);
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("Invalid thread count: " + value);
+				}
+				if (parallelism < 1) {
+					throw new IllegalArgumentException("Invalid thread count: " + value);
+				}
+			}
+			default -> {
+				if (arg.startsWith("-")) {
+					throw new IllegalArgumentException("Unknown option: " + arg);
+				}
+				inputs.add(arg);
+			}
+			}
+		}
+		if (inputs.isEmpty()) {
+			throw new IllegalArgumentException("No input files given");
+		}
+	}
+
+	private String requireValue(String[] args, int index, String option) {
+		if (index >= args.length) {
+			throw new IllegalArgumentException("Missing value for " + option);
+		}
+		return args[index];
+	}
+
+	private LvglGeneratorOptions createOptions() throws IOException {
+		String licenseHeader = "";
+		if (licenseHeaderFile != null) {
+			licenseHeader = Files.readString(licenseHeaderFile, StandardCharsets.UTF_8);
+		} else if (licenseHeaderEnabled) {
+			licenseHeader = LvglPreferenceConstants.DEFAULT_LICENSE_HEADER;
+		}
+		LvglGeneratorOptions options = new LvglGeneratorOptions(licenseHeader, null);
+		options.setSharedStyles(sharedStyles);
+		options.setCreationMode(creationMode);
+		options.setScreenManager(screenManager);
+		options.setStringPooling(stringPooling || sharedStrings);
+		options.setSplitUnits(splitUnits);
+		return options;
+	}
+
+	/**
+	 * Expand the inputs to .gefxml files, without duplicates.
+	 */
+	private List<Path> resolveInputs() throws IOException {
+		Set<Path> diagramFiles = new LinkedHashSet<>();
+		for (String input : inputs) {
+			int globIndex = indexOfGlob(input);
+			if (globIndex >= 0) {
+				// Walk the directory in front of the first glob character and match the rest
+				int separator = Math.max(input.lastIndexOf('/', globIndex), input.lastIndexOf('\\', globIndex));
+				Path base = separator < 0 ? Paths.get(".") : Paths.get(input.substring(0, separator + 1));
+				PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + input.substring(separator + 1));
+				collect(base, file -> matcher.matches(base.relativize(file)), diagramFiles);
+			} else {
+				Path path = Paths.get(input);
+				if (Files.isDirectory(path)) {
+					collect(path, file -> true, diagramFiles);
+				} else if (Files.isRegularFile(path)) {
+					if (!input.endsWith(LvglCodeWriter.DIAGRAM_EXTENSION)) {
+						throw new IllegalArgumentException("Not a " + LvglCodeWriter.DIAGRAM_EXTENSION + " file: " + input);
+					}
+					diagramFiles.add(path.toAbsolutePath().normalize());
+				} else {
+					throw new IllegalArgumentException("No such file or directory: " + input);
+				}
+			}
+		}
+		if (diagramFiles.isEmpty()) {
+			throw new IllegalArgumentException("No " + LvglCodeWriter.DIAGRAM_EXTENSION + " files found");
+		}
+		return new ArrayList<>(diagramFiles);
+	}
+
+	private void collect(Path directory, Predicate<Path> filter, Set<Path> diagramFiles) throws IOException {
+		if (!Files.isDirectory(directory)) {
+			return;
+		}
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.filter(Files::isRegularFile)
+					.filter(file -> file.getFileName().toString().endsWith(LvglCodeWriter.DIAGRAM_EXTENSION))
+					.filter(filter)
+					.sorted()
+					.forEachOrdered(file -> diagramFiles.add(file.toAbsolutePath().normalize()));
+		}
+	}
+
+	private int indexOfGlob(String input) {
+		for (int i = 0; i < input.length(); i++) {
+			if (GLOB_CHARACTERS.indexOf(input.charAt(i)) >= 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * With a single output directory, two inputs with the same base name would overwrite each other.
+	 */
+	private void checkOutputNames(List<Path> diagramFiles) {
+		if (outputDirectory == null) {
+			return;
+		}
+		Map<String, Path> baseNames = new HashMap<>();
+		for (Path diagramFile : diagramFiles) {
+			Path previous = baseNames.putIfAbsent(getBaseName(diagramFile), diagramFile);
+			if (previous != null) {
+				throw new IllegalArgumentException(
+						"Both " + previous + " and " + diagramFile + " would generate into the same files");
+			}
+		}
+	}
+
+	/**
+	 * Write the screen manager into every directory that receives generated code.
+	 */
+	private void writeScreenManager(List<Path> diagramFiles, LvglGeneratorOptions options) throws IOException {
+		LvglScreenManagerGenerator generator = new LvglScreenManagerGenerator(options);
+		writeSharedUnit(diagramFiles, LvglScreenManagerGenerator.BASE_NAME, generator.generateHeader(),
+				generator.generateSource());
+	}
+
+	/**
+	 * Write the strings shared by the screens into every directory that receives generated code.
+	 */
+	private void writeStringPool(List<Path> diagramFiles, LvglStringPool stringPool) throws IOException {
+		writeSharedUnit(diagramFiles, LvglStringPool.BASE_NAME, stringPool.generateHeader(),
+				stringPool.generateSource());
+	}
+
+	private void writeSharedUnit(List<Path> diagramFiles, String baseName, String headerContent,
+			String sourceContent) throws IOException {
+		Set<Path> directories = new LinkedHashSet<>();
+		for (Path diagramFile : diagramFiles) {
+			directories.add(outputDirectory != null ? outputDirectory : diagramFile.getParent());
+		}
+		byte[] header = headerContent.getBytes(StandardCharsets.UTF_8);
+		byte[] source = sourceContent.getBytes(StandardCharsets.UTF_8);
+		for (Path directory : directories) {
+			Files.createDirectories(directory);
+			Path headerFile = directory.resolve(baseName + ".h");
+			Path sourceFile = directory.resolve(baseName + ".c");
+			boolean headerWritten = writeIfChanged(headerFile, header);
+			boolean sourceWritten = writeIfChanged(sourceFile, source);
+			out.println("Generated " + headerFile + (headerWritten ? "" : " (unchanged)") + ", " + sourceFile
+					+ (sourceWritten ? "" : " (unchanged)"));
+		}
+	}
+
+	/**
+	 * Load one file. Runs on a pool thread.
+	 */
+	private LvglScreen load(Path diagramFile) throws Exception {
+		try (InputStream in = Files.newInputStream(diagramFile)) {
+			return new LvglXmlSerializer().load(in);
+		}
+	}
+
+	/**
+	 * Generate one file. Runs on a pool thread.
+	 *
+	 * @param screen      the loaded screen, or null to load it here
+	 * @param stringPool  the strings shared by all screens, or null
+	 * @return the line to report for this file
+	 */
+	private String generate(Path diagramFile, LvglScreen screen, LvglGeneratorOptions options,
+			LvglStringPool stringPool) throws Exception {
+		if (screen == null) {
+			screen = load(diagramFile);
+		}
+		if (screen.getWidgets().isEmpty()) {
+			return "Skipped empty screen " + diagramFile;
+		}
+
+		String baseName = getBaseName(diagramFile);
+		Path directory = outputDirectory != null ? outputDirectory : diagramFile.getParent();
+		Files.createDirectories(directory);
+		Path headerFile = directory.resolve(baseName + ".h");
+		Path sourceFile = directory.resolve(baseName + ".c");
+
+		LvglCodeGenerator generator = new LvglCodeGenerator(screen, baseName, options);
+		generator.checkVariableNames();
+		generator.setSharedStrings(stringPool);
+		boolean headerWritten = writeIfChanged(headerFile, generator::generateHeader);
+		boolean sourceWritten = writeIfChanged(sourceFile, generator::generateSource);
+		String result = "Generated " + headerFile + (headerWritten ? "" : " (unchanged)") + ", " + sourceFile
+				+ (sourceWritten ? "" : " (unchanged)");
+
+		// The units are generated in parallel, each streamed into a temporary file of its own
+		Set<String> unitFileNames = new HashSet<>(generator.getUnitFileNames());
+		AtomicInteger unitsWritten = new AtomicInteger();
+		generator.generateUnits((fileName, content) -> {
+			if (writeIfChanged(directory.resolve(fileName), channel -> {
+				Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8);
+				content.generate(writer);
+				writer.flush();
+			})) {
+				unitsWritten.incrementAndGet();
+			}
+		});
+		int deleted = deleteStaleUnits(directory, baseName, unitFileNames);
+		if (!unitFileNames.isEmpty() || deleted > 0) {
+			result += ", " + unitFileNames.size() + " split unit(s), " + (unitsWritten.get() + deleted)
+					+ " written or deleted";
+		}
+		return result;
+	}
+
+	/**
+	 * Delete the split units of a screen that were not generated this time, such as the
+	 * unit of a removed container. Only files whose unit marker names this screen are
+	 * deleted, not the units of a screen whose name starts with this one's.
+	 *
+	 * @return the number of deleted files
+	 */
+	private int deleteStaleUnits(Path directory, String baseName, Set<String> unitFileNames) throws IOException {
+		List<Path> staleUnits;
+		try (Stream<Path> files = Files.list(directory)) {
+			staleUnits = files.filter(file -> {
+				String fileName = file.getFileName().toString();
+				return LvglCodeGenerator.isUnitFileName(baseName, fileName) && !unitFileNames.contains(fileName);
+			}).toList();
+		}
+		int deleted = 0;
+		for (Path file : staleUnits) {
+			if (Files.isRegularFile(file) && LvglCodeGenerator.isUnitOf(baseName,
+					new String(Files.readAllBytes(file), StandardCharsets.UTF_8))) {
+				Files.delete(file);
+				deleted++;
+			}
+		}
+		return deleted;
+	}
+
+	private String getBaseName(Path diagramFile) {
+		String baseName = diagramFile.getFileName().toString();
+		return baseName.substring(0, baseName.length() - LvglCodeWriter.DIAGRAM_EXTENSION.length());
+	}
+
+	/**
+	 * Write the file unless it already has exactly this content, keeping its timestamp for make.
+	 */
+	private boolean writeIfChanged(Path file, byte[] content) throws IOException {
+		if (Files.isRegularFile(file) && Files.size(file) == content.length
+				&& Arrays.equals(Files.readAllBytes(file), content)) {
+			return false;
+		}
+		Files.write(file, content);
+		return true;
+	}
+
+	/**
+	 * Generates the content of a file into a channel.
+	 */
+	@FunctionalInterface
+	private interface ContentGenerator {
+		void generate(WritableByteChannel channel) throws IOException;
+	}
+
+	/**
+	 * Generate the content into a temporary file next to the target and move it over the
+	 * target unless the target already has exactly this content.
+	 */
+	private boolean writeIfChanged(Path file, ContentGenerator generator) throws IOException {
+		Path temporaryFile = file.resolveSibling("." + file.getFileName() + ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				generator.generate(channel);
+			}
+			if (Files.isRegularFile(file) && Files.mismatch(file, temporaryFile) == -1) {
+				return false;
+			}
+			try {
+				Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+			return true;
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+	private void printUsage() {
+		err.println("Usage: [options] <file|directory|glob>...");
+		err.println("  -o, --output <dir>          write all files into this directory instead of next to each .gefxml");
+		err.println("  -l, --license-header <file> read the license header from this file");
+		err.println("      --no-license-header     generate without a license header");
+		err.println("  -j, --threads <n>           number of files generated in parallel");
+		err.println("      --shared-styles         share identical widget styles through static lv_style_t objects");
+		err.println("      --table                 create widgets from a constant descriptor table in a loop");
+		err.println("      --screen-manager        generate the screen manager, create screens and pages on first show");
+		err.println("      --string-pool           write every distinct text of a screen once as a static const char array");
+		err.println("      --shared-strings        also share texts used by several screens through a generated strings unit");
+		err.println("      --split-units           write the subtree of each top-level container into a source file of its own");
+	}
+}
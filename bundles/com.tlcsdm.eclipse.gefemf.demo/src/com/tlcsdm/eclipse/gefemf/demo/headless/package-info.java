@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+
+/**
+ * 命令行生成 - Headless Generation
+ * 
+ * <p>本包提供不依赖工作台和 UI 的 LVGL 代码生成器，用于 CI 等无界面环境。
+ * 
+ * <h2>核心类说明</h2>
+ * <ul>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.headless.LvglHeadlessGenerator} - 
+ *       命令行生成器，只使用 model 和 generator 包：
+ *       <ul>
+ *         <li>输入为 .gefxml 文件、目录（递归查找）或 glob 模式</li>
+ *         <li>在 ForkJoinPool 中并行加载和生成，只写入内容有变化的文件</li>
+ *         <li>代码通过 FileChannel 流式写入目标旁的临时文件，内容变化时原子替换目标文件</li>
+ *         <li>许可证头通过 LvglGeneratorOptions 注入，不读取插件首选项</li>
+ *         <li>--shared-strings 时先加载所有屏幕建立 LvglStringPool，再并行生成，
+ *             多个屏幕共用的文本写入 lvgl_strings.h/.c</li>
+ *         <li>--split-units 时每个顶层容器的子树并行流式写入单独的源文件，只写入变化的单元，
+ *             删除已不存在的容器的单元文件</li>
+ *         <li>控件 C 变量名重复的屏幕不生成代码，计为失败</li>
+ *         <li>退出码：0 成功，1 有文件失败，2 参数错误</li>
+ *       </ul>
+ *   </li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.headless.LvglGeneratorApplication} - 
+ *       Equinox 应用，将命令行参数交给 LvglHeadlessGenerator，并以其结果作为进程退出码</li>
+ * </ul>
+ * 
+ * <h2>运行方式</h2>
+ * <pre>
+ * eclipse -nosplash -consoleLog -application com.tlcsdm.eclipse.gefemf.demo.generate [options] &lt;file|directory|glob&gt;...
+ * java -cp ... com.tlcsdm.eclipse.gefemf.demo.headless.LvglHeadlessGenerator [options] &lt;file|directory|glob&gt;...
+ * </pre>
+ * 
+ * @see org.eclipse.equinox.app.IApplication
+ */
+package com.tlcsdm.eclipse.gefemf.demo.headless;
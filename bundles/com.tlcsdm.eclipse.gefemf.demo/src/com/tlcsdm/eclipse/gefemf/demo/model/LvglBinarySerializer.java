@@ -0,0 +1,381 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.model;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Serializer for the compact binary LVGL screen format (.gefbin).
+ * <p>
+ * The binary format is meant as a cache or sidecar next to the XML file, which stays
+ * the source of truth. It carries exactly the information {@link LvglXmlSerializer}
+ * persists, so a screen loaded from either format yields the same model.
+ * </p>
+ * <p>
+ * Layout (all integers are unsigned LEB128 varints, signed values are zigzag encoded):
+ * </p>
+ * <pre>
+ * magic "GEFB", version
+ * string table: count, then per string its length and UTF-16 code units
+ * screen: name, width, height, bgColor, widget count, widgets
+ * widget: type, name, text, x, y, width, height, bgColor, textColor, borderWidth,
+ *         borderColor, radius, type-specific fields, child count, children
+ * </pre>
+ * <p>
+ * Strings are referenced by their index in the string table. Enums are stored as
+ * ordinals. A damaged file, with a count, reference or ordinal out of range, is
+ * rejected with an {@link IOException} like a truncated one.
+ * </p>
+ */
+public class LvglBinarySerializer {
+
+	/**
+	 * File extension of the binary format.
+	 */
+	public static final String FILE_EXTENSION = "gefbin";
+
+	private static final byte[] MAGIC = { 'G', 'E', 'F', 'B' };
+	private static final int VERSION = 1;
+
+	/**
+	 * Load an LVGL screen from a .gefbin file by memory-mapping it.
+	 */
+	public LvglScreen load(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return load(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Load an LVGL screen from a stream containing the binary format.
+	 */
+	public LvglScreen load(InputStream inputStream) throws IOException {
+		return load(ByteBuffer.wrap(inputStream.readAllBytes()));
+	}
+
+	/**
+	 * Load an LVGL screen from a buffer positioned at the start of the binary format.
+	 */
+	public LvglScreen load(ByteBuffer buffer) throws IOException {
+		try {
+			for (byte b : MAGIC) {
+				if (buffer.get() != b) {
+					throw new IOException("Not an LVGL binary screen file");
+				}
+			}
+			int version = readUnsigned(buffer);
+			if (version != VERSION) {
+				throw new IOException("Unsupported LVGL binary screen version: " + version);
+			}
+
+			String[] strings = new String[readCount(buffer)];
+			for (int i = 0; i < strings.length; i++) {
+				char[] chars = new char[readCount(buffer)];
+				for (int j = 0; j < chars.length; j++) {
+					chars[j] = (char) readUnsigned(buffer);
+				}
+				strings[i] = new String(chars);
+			}
+
+			LvglScreen screen = new LvglScreen();
+			screen.setName(readString(buffer, strings));
+			screen.setWidth(readSigned(buffer));
+			screen.setHeight(readSigned(buffer));
+			screen.setBgColor(readUnsigned(buffer));
+
+			int count = readCount(buffer);
+			for (int i = 0; i < count; i++) {
+				screen.addWidget(readWidget(buffer, strings));
+			}
+			return screen;
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Truncated LVGL binary screen file", e);
+		}
+	}
+
+	/**
+	 * Create a deep copy of an LVGL screen by round-tripping it through the binary format.
+	 * The copy shares no state with the original, so it can be handed to another thread.
+	 */
+	public LvglScreen copy(LvglScreen screen) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		save(screen, out);
+		return load(ByteBuffer.wrap(out.toByteArray()));
+	}
+
+	/**
+	 * Save an LVGL screen in the binary format. The stream is flushed but not closed.
+	 */
+	public void save(LvglScreen screen, OutputStream outputStream) throws IOException {
+		StringTable strings = new StringTable();
+		strings.add(screen.getName());
+		for (LvglWidget widget : screen.getWidgets()) {
+			collectStrings(widget, strings);
+		}
+
+		OutputStream out = new BufferedOutputStream(outputStream);
+		out.write(MAGIC);
+		writeUnsigned(out, VERSION);
+
+		writeUnsigned(out, strings.values.size());
+		for (String value : strings.values) {
+			writeUnsigned(out, value.length());
+			for (int i = 0; i < value.length(); i++) {
+				writeUnsigned(out, value.charAt(i));
+			}
+		}
+
+		writeUnsigned(out, strings.indexOf(screen.getName()));
+		writeSigned(out, screen.getWidth());
+		writeSigned(out, screen.getHeight());
+		writeUnsigned(out, screen.getBgColor() & 0xFFFFFF);
+
+		writeUnsigned(out, screen.getWidgets().size());
+		for (LvglWidget widget : screen.getWidgets()) {
+			writeWidget(out, widget, strings);
+		}
+		out.flush();
+	}
+
+	private void collectStrings(LvglWidget widget, StringTable strings) {
+		strings.add(widget.getName());
+		strings.add(widget.getText());
+		if (hasImageSource(widget)) {
+			strings.add(widget.getImageSource());
+		}
+		if (widget.getWidgetType() == LvglWidget.WidgetType.TABLE) {
+			strings.add(widget.getTableData());
+		}
+		for (LvglWidget child : widget.getChildren()) {
+			collectStrings(child, strings);
+		}
+	}
+
+	/*
+	 * Type-specific fields follow the same conditions as the XML attributes,
+	 * so both formats persist the same information.
+	 */
+	private void writeWidget(OutputStream out, LvglWidget widget, StringTable strings) throws IOException {
+		LvglWidget.WidgetType type = widget.getWidgetType();
+		Rectangle bounds = widget.getBounds();
+
+		writeUnsigned(out, type.ordinal());
+		writeUnsigned(out, strings.indexOf(widget.getName()));
+		writeUnsigned(out, strings.indexOf(widget.getText()));
+		writeSigned(out, bounds.x);
+		writeSigned(out, bounds.y);
+		writeSigned(out, bounds.width);
+		writeSigned(out, bounds.height);
+		writeUnsigned(out, widget.getBgColor() & 0xFFFFFF);
+		writeUnsigned(out, widget.getTextColor() & 0xFFFFFF);
+		writeSigned(out, widget.getBorderWidth());
+		writeUnsigned(out, widget.getBorderColor() & 0xFFFFFF);
+		writeSigned(out, widget.getRadius());
+
+		if (type == LvglWidget.WidgetType.IMAGE) {
+			writeUnsigned(out, hasImageSource(widget) ? strings.indexOf(widget.getImageSource()) + 1 : 0);
+		}
+		if (type == LvglWidget.WidgetType.CHECKBOX || type == LvglWidget.WidgetType.SWITCH) {
+			writeUnsigned(out, widget.isChecked() ? 1 : 0);
+		}
+		if (isValueWidget(type)) {
+			writeSigned(out, widget.getValue());
+			writeSigned(out, widget.getMinValue());
+			writeSigned(out, widget.getMaxValue());
+		}
+		if (type == LvglWidget.WidgetType.TABLE) {
+			writeSigned(out, widget.getRowCount());
+			writeSigned(out, widget.getColumnCount());
+			writeUnsigned(out, strings.indexOf(widget.getTableData()));
+		}
+		if (type == LvglWidget.WidgetType.CONTAINER) {
+			writeUnsigned(out, widget.getLayoutType().ordinal());
+			if (widget.getLayoutType() == LvglWidget.LayoutType.FLEX) {
+				writeUnsigned(out, widget.getFlexFlow().ordinal());
+				writeUnsigned(out, widget.getFlexMainAlign().ordinal());
+				writeUnsigned(out, widget.getFlexCrossAlign().ordinal());
+				writeUnsigned(out, widget.getFlexTrackAlign().ordinal());
+			}
+			writeSigned(out, widget.getPadRow());
+			writeSigned(out, widget.getPadColumn());
+		}
+
+		writeUnsigned(out, widget.getChildren().size());
+		for (LvglWidget child : widget.getChildren()) {
+			writeWidget(out, child, strings);
+		}
+	}
+
+	private LvglWidget readWidget(ByteBuffer buffer, String[] strings) throws IOException {
+		LvglWidget widget = new LvglWidget();
+		LvglWidget.WidgetType type = enumValue(LvglWidget.WidgetType.values(), readUnsigned(buffer));
+		widget.setWidgetType(type);
+		widget.setName(readString(buffer, strings));
+		widget.setText(readString(buffer, strings));
+
+		int x = readSigned(buffer);
+		int y = readSigned(buffer);
+		int width = readSigned(buffer);
+		int height = readSigned(buffer);
+		widget.setBounds(new Rectangle(x, y, width, height));
+
+		widget.setBgColor(readUnsigned(buffer));
+		widget.setTextColor(readUnsigned(buffer));
+		widget.setBorderWidth(readSigned(buffer));
+		widget.setBorderColor(readUnsigned(buffer));
+		widget.setRadius(readSigned(buffer));
+
+		if (type == LvglWidget.WidgetType.IMAGE) {
+			int index = readUnsigned(buffer);
+			if (index != 0) {
+				widget.setImageSource(stringAt(strings, index - 1));
+			}
+		}
+		if (type == LvglWidget.WidgetType.CHECKBOX || type == LvglWidget.WidgetType.SWITCH) {
+			widget.setChecked(readUnsigned(buffer) != 0);
+		}
+		if (isValueWidget(type)) {
+			widget.setValue(readSigned(buffer));
+			widget.setMinValue(readSigned(buffer));
+			widget.setMaxValue(readSigned(buffer));
+		}
+		if (type == LvglWidget.WidgetType.TABLE) {
+			widget.setRowCount(readSigned(buffer));
+			widget.setColumnCount(readSigned(buffer));
+			widget.setTableData(readString(buffer, strings));
+		}
+		if (type == LvglWidget.WidgetType.CONTAINER) {
+			LvglWidget.LayoutType layoutType = enumValue(LvglWidget.LayoutType.values(), readUnsigned(buffer));
+			widget.setLayoutType(layoutType);
+			if (layoutType == LvglWidget.LayoutType.FLEX) {
+				LvglWidget.FlexAlign[] aligns = LvglWidget.FlexAlign.values();
+				widget.setFlexFlow(enumValue(LvglWidget.FlexFlow.values(), readUnsigned(buffer)));
+				widget.setFlexMainAlign(enumValue(aligns, readUnsigned(buffer)));
+				widget.setFlexCrossAlign(enumValue(aligns, readUnsigned(buffer)));
+				widget.setFlexTrackAlign(enumValue(aligns, readUnsigned(buffer)));
+			}
+			widget.setPadRow(readSigned(buffer));
+			widget.setPadColumn(readSigned(buffer));
+		}
+
+		int count = readCount(buffer);
+		for (int i = 0; i < count; i++) {
+			widget.addChild(readWidget(buffer, strings));
+		}
+		return widget;
+	}
+
+	private boolean hasImageSource(LvglWidget widget) {
+		return widget.getWidgetType() == LvglWidget.WidgetType.IMAGE && widget.getImageSource() != null
+				&& !widget.getImageSource().isEmpty();
+	}
+
+	private boolean isValueWidget(LvglWidget.WidgetType type) {
+		return type == LvglWidget.WidgetType.SLIDER || type == LvglWidget.WidgetType.ARC
+				|| type == LvglWidget.WidgetType.BAR;
+	}
+
+	private <E extends Enum<E>> E enumValue(E[] values, int ordinal) throws IOException {
+		if (ordinal < 0 || ordinal >= values.length) {
+			throw new IOException("Invalid " + values.getClass().getComponentType().getSimpleName()
+					+ " ordinal in LVGL binary screen file: " + ordinal);
+		}
+		return values[ordinal];
+	}
+
+	private String readString(ByteBuffer buffer, String[] strings) throws IOException {
+		return stringAt(strings, readUnsigned(buffer));
+	}
+
+	private String stringAt(String[] strings, int index) throws IOException {
+		if (index < 0 || index >= strings.length) {
+			throw new IOException("Invalid string reference in LVGL binary screen file: " + index);
+		}
+		return strings[index];
+	}
+
+	/**
+	 * Read a length or count, rejecting negative values and values larger than the
+	 * remaining input could hold.
+	 */
+	private int readCount(ByteBuffer buffer) throws IOException {
+		int count = readUnsigned(buffer);
+		if (count < 0) {
+			throw new IOException("Corrupt LVGL binary screen file: negative count " + count);
+		}
+		if (count > buffer.remaining()) {
+			throw new IOException("Corrupt LVGL binary screen file: count " + count + " exceeds file size");
+		}
+		return count;
+	}
+
+	private int readUnsigned(ByteBuffer buffer) throws IOException {
+		int result = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			byte b = buffer.get();
+			result |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return result;
+			}
+		}
+		throw new IOException("Malformed varint in LVGL binary screen file");
+	}
+
+	private int readSigned(ByteBuffer buffer) throws IOException {
+		int value = readUnsigned(buffer);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private void writeUnsigned(OutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private void writeSigned(OutputStream out, int value) throws IOException {
+		writeUnsigned(out, (value << 1) ^ (value >> 31));
+	}
+
+	/**
+	 * Insertion-ordered table of distinct strings. Null is stored as the empty string,
+	 * which is what the XML loader reads for a missing attribute.
+	 */
+	private static final class StringTable {
+
+		private final List<String> values = new ArrayList<>();
+		private final Map<String, Integer> indexes = new HashMap<>();
+
+		void add(String value) {
+			String key = value != null ? value : "";
+			if (!indexes.containsKey(key)) {
+				indexes.put(key, values.size());
+				values.add(key);
+			}
+		}
+
+		int indexOf(String value) {
+			return indexes.get(value != null ? value : "");
+		}
+	}
+}
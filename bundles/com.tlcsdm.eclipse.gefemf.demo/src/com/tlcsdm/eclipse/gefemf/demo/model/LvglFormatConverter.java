@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.model;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Converts LVGL screens between the XML (.gefxml) and binary (.gefbin) formats.
+ */
+public class LvglFormatConverter {
+
+	private final LvglXmlSerializer xmlSerializer = new LvglXmlSerializer();
+	private final LvglBinarySerializer binarySerializer = new LvglBinarySerializer();
+
+	/**
+	 * Convert XML read from the input stream into the binary format.
+	 */
+	public void xmlToBinary(InputStream xmlInput, OutputStream binaryOutput) throws Exception {
+		binarySerializer.save(xmlSerializer.load(xmlInput), binaryOutput);
+	}
+
+	/**
+	 * Convert the binary format read from the input stream into XML.
+	 */
+	public void binaryToXml(InputStream binaryInput, OutputStream xmlOutput) throws Exception {
+		xmlSerializer.save(binarySerializer.load(binaryInput), xmlOutput);
+	}
+
+	/**
+	 * Convert an XML file into a binary file, replacing the target if it exists.
+	 */
+	public void xmlToBinary(Path xmlFile, Path binaryFile) throws Exception {
+		try (InputStream in = Files.newInputStream(xmlFile);
+				OutputStream out = Files.newOutputStream(binaryFile)) {
+			xmlToBinary(in, out);
+		}
+	}
+
+	/**
+	 * Convert a binary file into an XML file, replacing the target if it exists.
+	 * The binary file is memory-mapped.
+	 */
+	public void binaryToXml(Path binaryFile, Path xmlFile) throws Exception {
+		LvglScreen screen = binarySerializer.load(binaryFile);
+		try (OutputStream out = Files.newOutputStream(xmlFile)) {
+			xmlSerializer.save(screen, out);
+		}
+	}
+}
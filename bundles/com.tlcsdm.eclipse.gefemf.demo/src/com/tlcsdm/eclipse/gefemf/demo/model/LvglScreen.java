@@ -9,6 +9,7 @@ package com.tlcsdm.eclipse.gefemf.demo.model;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.emf.ecore.EObject;
 
 /**
@@ -18,12 +19,23 @@ public class LvglScreen extends ModelElement {
 
 	private static final long serialVersionUID = 1L;
 
+	// Property names of the change events, in addition to those of ModelElement
+	public static final String PROPERTY_WIDTH = "width";
+	public static final String PROPERTY_HEIGHT = "height";
+	public static final String PROPERTY_BG_COLOR = "bgColor";
+
 	private String name = "screen";
 	private int width = 480;
 	private int height = 320;
 	private int bgColor = 0xFFFFFF;
 	private final List<LvglWidget> widgets = new ArrayList<>();
 
+	/** Index of the top-level widgets, created by the first query */
+	private transient WidgetSpatialIndex widgetIndex;
+
+	/** Index of the variable names of all widgets, created by the first query */
+	private transient WidgetNameIndex nameIndex;
+
 	public LvglScreen() {
 		// Default constructor
 	}
@@ -49,7 +61,7 @@ public class LvglScreen extends ModelElement {
 	public void setWidth(int width) {
 		int oldValue = this.width;
 		this.width = width;
-		firePropertyChange("width", oldValue, width);
+		firePropertyChange(PROPERTY_WIDTH, oldValue, width);
 	}
 
 	public int getHeight() {
@@ -59,7 +71,7 @@ public class LvglScreen extends ModelElement {
 	public void setHeight(int height) {
 		int oldValue = this.height;
 		this.height = height;
-		firePropertyChange("height", oldValue, height);
+		firePropertyChange(PROPERTY_HEIGHT, oldValue, height);
 	}
 
 	public int getBgColor() {
@@ -69,7 +81,7 @@ public class LvglScreen extends ModelElement {
 	public void setBgColor(int bgColor) {
 		int oldValue = this.bgColor;
 		this.bgColor = bgColor;
-		firePropertyChange("bgColor", oldValue, bgColor);
+		firePropertyChange(PROPERTY_BG_COLOR, oldValue, bgColor);
 	}
 
 	public List<LvglWidget> getWidgets() {
@@ -78,19 +90,62 @@ public class LvglScreen extends ModelElement {
 
 	public void addWidget(LvglWidget widget) {
 		widgets.add(widget);
+		if (widgetIndex != null) {
+			widgetIndex.add(widget);
+		}
+		if (nameIndex != null) {
+			nameIndex.addTopLevel(widget);
+		}
 		firePropertyChange(PROPERTY_ADD, null, widget);
 	}
 
 	public void insertWidget(int index, LvglWidget widget) {
 		widgets.add(index, widget);
+		if (widgetIndex != null) {
+			widgetIndex.add(widget);
+		}
+		if (nameIndex != null) {
+			nameIndex.addTopLevel(widget);
+		}
 		firePropertyChange(PROPERTY_ADD, null, widget);
 	}
 
 	public void removeWidget(LvglWidget widget) {
 		widgets.remove(widget);
+		if (widgetIndex != null) {
+			widgetIndex.remove(widget);
+		}
+		if (nameIndex != null) {
+			nameIndex.removeTopLevel(widget);
+		}
 		firePropertyChange(PROPERTY_REMOVE, widget, null);
 	}
 
+	/**
+	 * Find the top-level widgets whose bounds overlap an area, using the spatial index
+	 * of the widgets.
+	 *
+	 * @param area the area, in screen coordinates
+	 * @return the overlapping widgets, in no particular order
+	 */
+	public List<LvglWidget> findWidgets(Rectangle area) {
+		if (widgetIndex == null) {
+			widgetIndex = new WidgetSpatialIndex(widgets);
+		}
+		return widgetIndex.findIntersecting(area);
+	}
+
+	/**
+	 * Get the index of the C variable names of all widgets of this screen, including
+	 * nested widgets. The index is created on the first call and kept up to date.
+	 */
+	public WidgetNameIndex getNameIndex() {
+		if (nameIndex == null) {
+			nameIndex = new WidgetNameIndex(widgets);
+		}
+		return nameIndex;
+	}
+
 	@Override
 	public EObject toEObject() {
 		// Not used for LVGL - we use XML serialization instead
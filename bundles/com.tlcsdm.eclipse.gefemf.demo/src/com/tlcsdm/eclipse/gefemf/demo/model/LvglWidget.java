@@ -19,6 +19,30 @@ public class LvglWidget extends ModelElement {
 
 	private static final long serialVersionUID = 1L;
 
+	// Property names of the change events, in addition to those of ModelElement
+	public static final String PROPERTY_WIDGET_TYPE = "widgetType";
+	public static final String PROPERTY_TEXT = "text";
+	public static final String PROPERTY_BG_COLOR = "bgColor";
+	public static final String PROPERTY_TEXT_COLOR = "textColor";
+	public static final String PROPERTY_BORDER_WIDTH = "borderWidth";
+	public static final String PROPERTY_BORDER_COLOR = "borderColor";
+	public static final String PROPERTY_RADIUS = "radius";
+	public static final String PROPERTY_IMAGE_SOURCE = "imageSource";
+	public static final String PROPERTY_CHECKED = "checked";
+	public static final String PROPERTY_VALUE = "value";
+	public static final String PROPERTY_MIN_VALUE = "minValue";
+	public static final String PROPERTY_MAX_VALUE = "maxValue";
+	public static final String PROPERTY_ROW_COUNT = "rowCount";
+	public static final String PROPERTY_COLUMN_COUNT = "columnCount";
+	public static final String PROPERTY_TABLE_DATA = "tableData";
+	public static final String PROPERTY_LAYOUT_TYPE = "layoutType";
+	public static final String PROPERTY_FLEX_FLOW = "flexFlow";
+	public static final String PROPERTY_FLEX_MAIN_ALIGN = "flexMainAlign";
+	public static final String PROPERTY_FLEX_CROSS_ALIGN = "flexCrossAlign";
+	public static final String PROPERTY_FLEX_TRACK_ALIGN = "flexTrackAlign";
+	public static final String PROPERTY_PAD_ROW = "padRow";
+	public static final String PROPERTY_PAD_COLUMN = "padColumn";
+
 	public enum WidgetType {
 		BUTTON("lv_btn", "Button"),
 		LABEL("lv_label", "Label"),
@@ -194,6 +218,13 @@ public class LvglWidget extends ModelElement {
 	private int padRow = 0;
 	private int padColumn = 0;
 
+	/** Index of the children, created by the first query */
+	private transient WidgetSpatialIndex childIndex;
+	/** The index of the screen or container this widget is in, if that index exists */
+	private transient WidgetSpatialIndex containerIndex;
+	/** The name index of the screen, set on top-level widgets only while that index exists */
+	private transient WidgetNameIndex nameIndex;
+
 	public LvglWidget() {
 		// Default constructor
 	}
@@ -210,6 +241,10 @@ public class LvglWidget extends ModelElement {
 	public void setName(String name) {
 		String oldValue = this.name;
 		this.name = name;
+		WidgetNameIndex index = findNameIndex();
+		if (index != null) {
+			index.rename(this, toVariableName(oldValue));
+		}
 		firePropertyChange(PROPERTY_NAME, oldValue, name);
 	}
 
@@ -220,7 +255,7 @@ public class LvglWidget extends ModelElement {
 	public void setWidgetType(WidgetType widgetType) {
 		WidgetType oldValue = this.widgetType;
 		this.widgetType = widgetType;
-		firePropertyChange("widgetType", oldValue, widgetType);
+		firePropertyChange(PROPERTY_WIDGET_TYPE, oldValue, widgetType);
 	}
 
 	public Rectangle getBounds() {
@@ -230,6 +265,9 @@ public class LvglWidget extends ModelElement {
 	public void setBounds(Rectangle bounds) {
 		Rectangle oldValue = this.bounds;
 		this.bounds = bounds;
+		if (containerIndex != null) {
+			containerIndex.update(this);
+		}
 		firePropertyChange(PROPERTY_LAYOUT, oldValue, bounds);
 	}
 
@@ -240,7 +278,7 @@ public class LvglWidget extends ModelElement {
 	public void setText(String text) {
 		String oldValue = this.text;
 		this.text = text;
-		firePropertyChange("text", oldValue, text);
+		firePropertyChange(PROPERTY_TEXT, oldValue, text);
 	}
 
 	public List<LvglWidget> getChildren() {
@@ -248,17 +286,76 @@ public class LvglWidget extends ModelElement {
 	}
 
 	public void addChild(LvglWidget child) {
-		children.add(child);
+		insertChild(children.size(), child);
+	}
+
+	public void insertChild(int position, LvglWidget child) {
+		children.add(position, child);
 		child.setParent(this);
+		if (childIndex != null) {
+			childIndex.add(child);
+		}
+		WidgetNameIndex index = findNameIndex();
+		if (index != null) {
+			index.addTree(child);
+		}
 		firePropertyChange(PROPERTY_ADD, null, child);
 	}
 
 	public void removeChild(LvglWidget child) {
 		children.remove(child);
 		child.setParent(null);
+		if (childIndex != null) {
+			childIndex.remove(child);
+		}
+		WidgetNameIndex index = findNameIndex();
+		if (index != null) {
+			index.removeTree(child);
+		}
 		firePropertyChange(PROPERTY_REMOVE, child, null);
 	}
 
+	/**
+	 * Find the children whose bounds overlap an area, using the spatial index of the
+	 * children.
+	 *
+	 * @param area the area, relative to this widget
+	 * @return the overlapping children, in no particular order
+	 */
+	public List<LvglWidget> findChildren(Rectangle area) {
+		if (childIndex == null) {
+			childIndex = new WidgetSpatialIndex(children);
+		}
+		return childIndex.findIntersecting(area);
+	}
+
+	WidgetSpatialIndex getContainerIndex() {
+		return containerIndex;
+	}
+
+	void setContainerIndex(WidgetSpatialIndex containerIndex) {
+		this.containerIndex = containerIndex;
+	}
+
+	WidgetNameIndex getNameIndex() {
+		return nameIndex;
+	}
+
+	void setNameIndex(WidgetNameIndex nameIndex) {
+		this.nameIndex = nameIndex;
+	}
+
+	/**
+	 * @return the name index of the screen this widget is in, or null
+	 */
+	private WidgetNameIndex findNameIndex() {
+		LvglWidget root = this;
+		while (root.parent != null) {
+			root = root.parent;
+		}
+		return root.nameIndex;
+	}
+
 	public LvglWidget getParent() {
 		return parent;
 	}
@@ -274,7 +371,7 @@ public class LvglWidget extends ModelElement {
 	public void setBgColor(int bgColor) {
 		int oldValue = this.bgColor;
 		this.bgColor = bgColor;
-		firePropertyChange("bgColor", oldValue, bgColor);
+		firePropertyChange(PROPERTY_BG_COLOR, oldValue, bgColor);
 	}
 
 	public int getTextColor() {
@@ -284,7 +381,7 @@ public class LvglWidget extends ModelElement {
 	public void setTextColor(int textColor) {
 		int oldValue = this.textColor;
 		this.textColor = textColor;
-		firePropertyChange("textColor", oldValue, textColor);
+		firePropertyChange(PROPERTY_TEXT_COLOR, oldValue, textColor);
 	}
 
 	public int getBorderWidth() {
@@ -294,7 +391,7 @@ public class LvglWidget extends ModelElement {
 	public void setBorderWidth(int borderWidth) {
 		int oldValue = this.borderWidth;
 		this.borderWidth = borderWidth;
-		firePropertyChange("borderWidth", oldValue, borderWidth);
+		firePropertyChange(PROPERTY_BORDER_WIDTH, oldValue, borderWidth);
 	}
 
 	public int getBorderColor() {
@@ -304,7 +401,7 @@ public class LvglWidget extends ModelElement {
 	public void setBorderColor(int borderColor) {
 		int oldValue = this.borderColor;
 		this.borderColor = borderColor;
-		firePropertyChange("borderColor", oldValue, borderColor);
+		firePropertyChange(PROPERTY_BORDER_COLOR, oldValue, borderColor);
 	}
 
 	public int getRadius() {
@@ -314,7 +411,7 @@ public class LvglWidget extends ModelElement {
 	public void setRadius(int radius) {
 		int oldValue = this.radius;
 		this.radius = radius;
-		firePropertyChange("radius", oldValue, radius);
+		firePropertyChange(PROPERTY_RADIUS, oldValue, radius);
 	}
 
 	public String getImageSource() {
@@ -324,7 +421,7 @@ public class LvglWidget extends ModelElement {
 	public void setImageSource(String imageSource) {
 		String oldValue = this.imageSource;
 		this.imageSource = imageSource != null ? imageSource : "";
-		firePropertyChange("imageSource", oldValue, this.imageSource);
+		firePropertyChange(PROPERTY_IMAGE_SOURCE, oldValue, this.imageSource);
 	}
 
 	// Checkbox/Switch checked state
@@ -336,7 +433,7 @@ public class LvglWidget extends ModelElement {
 	public void setChecked(boolean checked) {
 		boolean oldValue = this.checked;
 		this.checked = checked;
-		firePropertyChange("checked", oldValue, checked);
+		firePropertyChange(PROPERTY_CHECKED, oldValue, checked);
 	}
 
 	// Value-based properties (for Slider, Arc, Bar)
@@ -348,7 +445,7 @@ public class LvglWidget extends ModelElement {
 	public void setValue(int value) {
 		int oldValue = this.value;
 		this.value = value;
-		firePropertyChange("value", oldValue, value);
+		firePropertyChange(PROPERTY_VALUE, oldValue, value);
 	}
 
 	public int getMinValue() {
@@ -358,7 +455,7 @@ public class LvglWidget extends ModelElement {
 	public void setMinValue(int minValue) {
 		int oldValue = this.minValue;
 		this.minValue = minValue;
-		firePropertyChange("minValue", oldValue, minValue);
+		firePropertyChange(PROPERTY_MIN_VALUE, oldValue, minValue);
 	}
 
 	public int getMaxValue() {
@@ -368,7 +465,7 @@ public class LvglWidget extends ModelElement {
 	public void setMaxValue(int maxValue) {
 		int oldValue = this.maxValue;
 		this.maxValue = maxValue;
-		firePropertyChange("maxValue", oldValue, maxValue);
+		firePropertyChange(PROPERTY_MAX_VALUE, oldValue, maxValue);
 	}
 
 	// Table properties
@@ -380,7 +477,7 @@ public class LvglWidget extends ModelElement {
 	public void setRowCount(int rowCount) {
 		int oldValue = this.rowCount;
 		this.rowCount = rowCount;
-		firePropertyChange("rowCount", oldValue, rowCount);
+		firePropertyChange(PROPERTY_ROW_COUNT, oldValue, rowCount);
 	}
 
 	public int getColumnCount() {
@@ -390,7 +487,7 @@ public class LvglWidget extends ModelElement {
 	public void setColumnCount(int columnCount) {
 		int oldValue = this.columnCount;
 		this.columnCount = columnCount;
-		firePropertyChange("columnCount", oldValue, columnCount);
+		firePropertyChange(PROPERTY_COLUMN_COUNT, oldValue, columnCount);
 	}
 
 	public String getTableData() {
@@ -400,7 +497,7 @@ public class LvglWidget extends ModelElement {
 	public void setTableData(String tableData) {
 		String oldValue = this.tableData;
 		this.tableData = tableData != null ? tableData : "";
-		firePropertyChange("tableData", oldValue, this.tableData);
+		firePropertyChange(PROPERTY_TABLE_DATA, oldValue, this.tableData);
 	}
 
 	// Layout properties getters and setters
@@ -412,7 +509,7 @@ public class LvglWidget extends ModelElement {
 	public void setLayoutType(LayoutType layoutType) {
 		LayoutType oldValue = this.layoutType;
 		this.layoutType = layoutType != null ? layoutType : LayoutType.NONE;
-		firePropertyChange("layoutType", oldValue, this.layoutType);
+		firePropertyChange(PROPERTY_LAYOUT_TYPE, oldValue, this.layoutType);
 	}
 
 	public FlexFlow getFlexFlow() {
@@ -422,7 +519,7 @@ public class LvglWidget extends ModelElement {
 	public void setFlexFlow(FlexFlow flexFlow) {
 		FlexFlow oldValue = this.flexFlow;
 		this.flexFlow = flexFlow != null ? flexFlow : FlexFlow.ROW;
-		firePropertyChange("flexFlow", oldValue, this.flexFlow);
+		firePropertyChange(PROPERTY_FLEX_FLOW, oldValue, this.flexFlow);
 	}
 
 	public FlexAlign getFlexMainAlign() {
@@ -432,7 +529,7 @@ public class LvglWidget extends ModelElement {
 	public void setFlexMainAlign(FlexAlign flexMainAlign) {
 		FlexAlign oldValue = this.flexMainAlign;
 		this.flexMainAlign = flexMainAlign != null ? flexMainAlign : FlexAlign.START;
-		firePropertyChange("flexMainAlign", oldValue, this.flexMainAlign);
+		firePropertyChange(PROPERTY_FLEX_MAIN_ALIGN, oldValue, this.flexMainAlign);
 	}
 
 	public FlexAlign getFlexCrossAlign() {
@@ -442,7 +539,7 @@ public class LvglWidget extends ModelElement {
 	public void setFlexCrossAlign(FlexAlign flexCrossAlign) {
 		FlexAlign oldValue = this.flexCrossAlign;
 		this.flexCrossAlign = flexCrossAlign != null ? flexCrossAlign : FlexAlign.START;
-		firePropertyChange("flexCrossAlign", oldValue, this.flexCrossAlign);
+		firePropertyChange(PROPERTY_FLEX_CROSS_ALIGN, oldValue, this.flexCrossAlign);
 	}
 
 	public FlexAlign getFlexTrackAlign() {
@@ -452,7 +549,7 @@ public class LvglWidget extends ModelElement {
 	public void setFlexTrackAlign(FlexAlign flexTrackAlign) {
 		FlexAlign oldValue = this.flexTrackAlign;
 		this.flexTrackAlign = flexTrackAlign != null ? flexTrackAlign : FlexAlign.START;
-		firePropertyChange("flexTrackAlign", oldValue, this.flexTrackAlign);
+		firePropertyChange(PROPERTY_FLEX_TRACK_ALIGN, oldValue, this.flexTrackAlign);
 	}
 
 	public int getPadRow() {
@@ -462,7 +559,7 @@ public class LvglWidget extends ModelElement {
 	public void setPadRow(int padRow) {
 		int oldValue = this.padRow;
 		this.padRow = padRow;
-		firePropertyChange("padRow", oldValue, padRow);
+		firePropertyChange(PROPERTY_PAD_ROW, oldValue, padRow);
 	}
 
 	public int getPadColumn() {
@@ -472,7 +569,7 @@ public class LvglWidget extends ModelElement {
 	public void setPadColumn(int padColumn) {
 		int oldValue = this.padColumn;
 		this.padColumn = padColumn;
-		firePropertyChange("padColumn", oldValue, padColumn);
+		firePropertyChange(PROPERTY_PAD_COLUMN, oldValue, padColumn);
 	}
 
 	public List<Connection> getSourceConnections() {
@@ -514,15 +611,42 @@ public class LvglWidget extends ModelElement {
 	 * Ensures the name is a valid C identifier.
 	 */
 	public String getVariableName() {
-		String varName = name.replaceAll("[^a-zA-Z0-9_]", "_");
+		return toVariableName(name);
+	}
+
+	/**
+	 * Convert a widget name to the C identifier {@link #getVariableName()} uses for it.
+	 */
+	public static String toVariableName(String name) {
+		// Handle empty name
+		if (name.isEmpty()) {
+			return "_widget";
+		}
 		// C identifiers cannot start with a digit
-		if (!varName.isEmpty() && Character.isDigit(varName.charAt(0))) {
-			varName = "_" + varName;
+		boolean leadingDigit = name.charAt(0) >= '0' && name.charAt(0) <= '9';
+		int invalid = 0;
+		while (invalid < name.length() && isIdentifierCharacter(name.charAt(invalid))) {
+			invalid++;
 		}
-		// Handle empty name
-		if (varName.isEmpty()) {
-			varName = "_widget";
+		if (invalid == name.length() && !leadingDigit) {
+			// Already a valid identifier, which is the common case
+			return name;
 		}
-		return varName;
+
+		StringBuilder varName = new StringBuilder(name.length() + 1);
+		if (leadingDigit) {
+			varName.append('_');
+		}
+		varName.append(name, 0, invalid);
+		for (int i = invalid; i < name.length(); i = name.offsetByCodePoints(i, 1)) {
+			int c = name.codePointAt(i);
+			// One underscore per code point, also for characters outside the BMP
+			varName.append(c < 0x80 && isIdentifierCharacter((char) c) ? (char) c : '_');
+		}
+		return varName.toString();
+	}
+
+	private static boolean isIdentifierCharacter(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
 	}
 }
@@ -6,11 +6,22 @@
  ******************************************************************************/
 package com.tlcsdm.eclipse.gefemf.demo.model;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
@@ -20,23 +31,72 @@ import javax.xml.transform.stream.StreamResult;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
+import org.w3c.dom.Node;
 
 /**
  * XML serializer for LVGL screen models.
+ * <p>
+ * Loading uses a StAX pull parser that builds the model in a single forward
+ * pass; the DOM based loader is kept as a fallback via {@link #loadDom(InputStream)}.
+ * Both loaders share the same attribute mapping and produce identical models.
+ * </p>
+ * <p>
+ * Saving streams the elements straight to the output stream. The DOM + Transformer
+ * based writer is kept as {@link #saveDom(LvglScreen, OutputStream)}; both produce
+ * byte-identical output (alphabetically ordered attributes, two-space indentation).
+ * </p>
  */
 public class LvglXmlSerializer {
 
+	private static final String ELEMENT_SCREEN = "lvgl-screen";
+	private static final String ELEMENT_WIDGET = "widget";
+	private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+	private static final String INDENT = "  ";
+	private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+	/**
+	 * Reads attribute values by name, returning an empty string for missing attributes.
+	 */
+	@FunctionalInterface
+	private interface AttributeSource {
+		String get(String name);
+	}
+
+	private XMLInputFactory inputFactory;
+
 	/**
-	 * Save an LVGL screen to XML.
+	 * Save an LVGL screen to XML by streaming the elements directly to the output stream.
+	 * The stream is flushed but not closed.
 	 */
 	public void save(LvglScreen screen, OutputStream outputStream) throws Exception {
+		XmlOutput out = new XmlOutput(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+
+		out.write(XML_DECLARATION);
+		out.newLine();
+
+		// Attributes are written in alphabetical order, matching the DOM serialization
+		out.write('<');
+		out.write(ELEMENT_SCREEN);
+		out.attribute("bgColor", formatColor(screen.getBgColor()));
+		out.attribute("height", String.valueOf(screen.getHeight()));
+		out.attribute("name", screen.getName());
+		out.attribute("width", String.valueOf(screen.getWidth()));
+		writeContent(out, ELEMENT_SCREEN, screen.getWidgets(), 0);
+
+		out.flush();
+	}
+
+	/**
+	 * Save an LVGL screen to XML by building a DOM and running it through an identity transform.
+	 * Kept as a fallback for the streaming writer.
+	 */
+	public void saveDom(LvglScreen screen, OutputStream outputStream) throws Exception {
 		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
 		DocumentBuilder builder = factory.newDocumentBuilder();
 		Document doc = builder.newDocument();
 
 		// Root element
-		Element root = doc.createElement("lvgl-screen");
+		Element root = doc.createElement(ELEMENT_SCREEN);
 		root.setAttribute("name", screen.getName());
 		root.setAttribute("width", String.valueOf(screen.getWidth()));
 		root.setAttribute("height", String.valueOf(screen.getHeight()));
@@ -58,36 +118,191 @@ public class LvglXmlSerializer {
 	}
 
 	/**
-	 * Load an LVGL screen from XML.
+	 * Load an LVGL screen from XML using the streaming (StAX) parser.
 	 */
 	public LvglScreen load(InputStream inputStream) throws Exception {
+		XMLStreamReader reader = getInputFactory().createXMLStreamReader(inputStream);
+		try {
+			LvglScreen screen = new LvglScreen();
+			Deque<LvglWidget> parents = new ArrayDeque<>();
+			AttributeSource attributes = name -> {
+				String value = reader.getAttributeValue(null, name);
+				return value != null ? value : "";
+			};
+			boolean rootSeen = false;
+			// Depth inside an element that is neither the root nor a widget; its subtree is ignored
+			int skipDepth = 0;
+
+			while (reader.hasNext()) {
+				int event = reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					if (skipDepth > 0) {
+						skipDepth++;
+					} else if (!rootSeen) {
+						rootSeen = true;
+						applyScreenAttributes(screen, attributes);
+					} else if (isWidgetElement(reader)) {
+						LvglWidget widget = parseWidgetAttributes(attributes);
+						LvglWidget parent = parents.peek();
+						if (parent != null) {
+							parent.addChild(widget);
+						} else {
+							screen.addWidget(widget);
+						}
+						parents.push(widget);
+					} else {
+						skipDepth = 1;
+					}
+				} else if (event == XMLStreamConstants.END_ELEMENT) {
+					if (skipDepth > 0) {
+						skipDepth--;
+					} else if (!parents.isEmpty()) {
+						parents.pop();
+					}
+				}
+			}
+			return screen;
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Load an LVGL screen from XML by building a full DOM first.
+	 * Kept as a fallback for the streaming loader.
+	 */
+	public LvglScreen loadDom(InputStream inputStream) throws Exception {
 		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
 		DocumentBuilder builder = factory.newDocumentBuilder();
 		Document doc = builder.parse(inputStream);
 
 		Element root = doc.getDocumentElement();
 		LvglScreen screen = new LvglScreen();
-		screen.setName(root.getAttribute("name"));
-		screen.setWidth(parseInt(root.getAttribute("width"), 480));
-		screen.setHeight(parseInt(root.getAttribute("height"), 320));
-		screen.setBgColor(parseColor(root.getAttribute("bgColor")));
-
-		// Load widgets
-		NodeList widgetNodes = root.getElementsByTagName("widget");
-		for (int i = 0; i < widgetNodes.getLength(); i++) {
-			Element widgetElement = (Element) widgetNodes.item(i);
-			// Only process direct children
-			if (widgetElement.getParentNode() == root) {
-				LvglWidget widget = parseWidget(widgetElement);
-				screen.addWidget(widget);
+		applyScreenAttributes(screen, root::getAttribute);
+
+		// Load widgets (direct children only)
+		for (Node node = root.getFirstChild(); node != null; node = node.getNextSibling()) {
+			if (isWidgetElement(node)) {
+				screen.addWidget(parseWidget((Element) node));
 			}
 		}
 
 		return screen;
 	}
 
+	private XMLInputFactory getInputFactory() {
+		if (inputFactory == null) {
+			inputFactory = XMLInputFactory.newInstance();
+			inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		}
+		return inputFactory;
+	}
+
+	private boolean isWidgetElement(XMLStreamReader reader) {
+		String prefix = reader.getPrefix();
+		return ELEMENT_WIDGET.equals(reader.getLocalName()) && (prefix == null || prefix.isEmpty());
+	}
+
+	private boolean isWidgetElement(Node node) {
+		return node.getNodeType() == Node.ELEMENT_NODE && ELEMENT_WIDGET.equals(node.getNodeName());
+	}
+
+	private void applyScreenAttributes(LvglScreen screen, AttributeSource attributes) {
+		screen.setName(attributes.get("name"));
+		screen.setWidth(parseInt(attributes.get("width"), 480));
+		screen.setHeight(parseInt(attributes.get("height"), 320));
+		screen.setBgColor(parseColor(attributes.get("bgColor")));
+	}
+
+	private void writeWidget(XmlOutput out, LvglWidget widget, int depth) throws IOException {
+		LvglWidget.WidgetType type = widget.getWidgetType();
+		boolean container = type == LvglWidget.WidgetType.CONTAINER;
+		boolean flex = container && widget.getLayoutType() == LvglWidget.LayoutType.FLEX;
+		boolean valueWidget = type == LvglWidget.WidgetType.SLIDER || type == LvglWidget.WidgetType.ARC
+				|| type == LvglWidget.WidgetType.BAR;
+		boolean table = type == LvglWidget.WidgetType.TABLE;
+		Rectangle bounds = widget.getBounds();
+
+		out.indent(depth);
+		out.write('<');
+		out.write(ELEMENT_WIDGET);
+
+		// Attributes are written in alphabetical order, matching the DOM serialization
+		out.attribute("bgColor", formatColor(widget.getBgColor()));
+		out.attribute("borderColor", formatColor(widget.getBorderColor()));
+		out.attribute("borderWidth", String.valueOf(widget.getBorderWidth()));
+		if (type == LvglWidget.WidgetType.CHECKBOX || type == LvglWidget.WidgetType.SWITCH) {
+			out.attribute("checked", String.valueOf(widget.isChecked()));
+		}
+		if (table) {
+			out.attribute("columnCount", String.valueOf(widget.getColumnCount()));
+		}
+		if (flex) {
+			out.attribute("flexCrossAlign", widget.getFlexCrossAlign().name());
+			out.attribute("flexFlow", widget.getFlexFlow().name());
+			out.attribute("flexMainAlign", widget.getFlexMainAlign().name());
+			out.attribute("flexTrackAlign", widget.getFlexTrackAlign().name());
+		}
+		out.attribute("height", String.valueOf(bounds.height));
+		if (type == LvglWidget.WidgetType.IMAGE && widget.getImageSource() != null && !widget.getImageSource().isEmpty()) {
+			out.attribute("imageSource", widget.getImageSource());
+		}
+		if (container) {
+			out.attribute("layoutType", widget.getLayoutType().name());
+		}
+		if (valueWidget) {
+			out.attribute("maxValue", String.valueOf(widget.getMaxValue()));
+			out.attribute("minValue", String.valueOf(widget.getMinValue()));
+		}
+		out.attribute("name", widget.getName());
+		if (container) {
+			out.attribute("padColumn", String.valueOf(widget.getPadColumn()));
+			out.attribute("padRow", String.valueOf(widget.getPadRow()));
+		}
+		out.attribute("radius", String.valueOf(widget.getRadius()));
+		if (table) {
+			out.attribute("rowCount", String.valueOf(widget.getRowCount()));
+			if (widget.getTableData() != null && !widget.getTableData().isEmpty()) {
+				out.attribute("tableData", widget.getTableData());
+			}
+		}
+		out.attribute("text", widget.getText());
+		out.attribute("textColor", formatColor(widget.getTextColor()));
+		out.attribute("type", type.name());
+		if (valueWidget) {
+			out.attribute("value", String.valueOf(widget.getValue()));
+		}
+		out.attribute("width", String.valueOf(bounds.width));
+		out.attribute("x", String.valueOf(bounds.x));
+		out.attribute("y", String.valueOf(bounds.y));
+
+		writeContent(out, ELEMENT_WIDGET, widget.getChildren(), depth);
+	}
+
+	/**
+	 * Close the start tag of an element and write its child widgets, if any.
+	 */
+	private void writeContent(XmlOutput out, String elementName, List<LvglWidget> children, int depth)
+			throws IOException {
+		if (children.isEmpty()) {
+			out.write("/>");
+			out.newLine();
+			return;
+		}
+		out.write('>');
+		out.newLine();
+		for (LvglWidget child : children) {
+			writeWidget(out, child, depth + 1);
+		}
+		out.indent(depth);
+		out.write("</");
+		out.write(elementName);
+		out.write('>');
+		out.newLine();
+	}
+
 	private Element createWidgetElement(Document doc, LvglWidget widget) {
-		Element element = doc.createElement("widget");
+		Element element = doc.createElement(ELEMENT_WIDGET);
 		element.setAttribute("name", widget.getName());
 		element.setAttribute("type", widget.getWidgetType().name());
 		element.setAttribute("text", widget.getText());
@@ -153,10 +368,23 @@ public class LvglXmlSerializer {
 	}
 
 	private LvglWidget parseWidget(Element element) {
+		LvglWidget widget = parseWidgetAttributes(element::getAttribute);
+
+		// Parse child widgets (direct children only)
+		for (Node node = element.getFirstChild(); node != null; node = node.getNextSibling()) {
+			if (isWidgetElement(node)) {
+				widget.addChild(parseWidget((Element) node));
+			}
+		}
+
+		return widget;
+	}
+
+	private LvglWidget parseWidgetAttributes(AttributeSource attributes) {
 		LvglWidget widget = new LvglWidget();
-		widget.setName(element.getAttribute("name"));
+		widget.setName(attributes.get("name"));
 
-		String typeStr = element.getAttribute("type");
+		String typeStr = attributes.get("type");
 		if (typeStr != null && !typeStr.isEmpty()) {
 			try {
 				widget.setWidgetType(LvglWidget.WidgetType.valueOf(typeStr));
@@ -165,62 +393,62 @@ public class LvglXmlSerializer {
 			}
 		}
 
-		widget.setText(element.getAttribute("text"));
+		widget.setText(attributes.get("text"));
 
-		int x = parseInt(element.getAttribute("x"), 0);
-		int y = parseInt(element.getAttribute("y"), 0);
-		int width = parseInt(element.getAttribute("width"), 100);
-		int height = parseInt(element.getAttribute("height"), 40);
+		int x = parseInt(attributes.get("x"), 0);
+		int y = parseInt(attributes.get("y"), 0);
+		int width = parseInt(attributes.get("width"), 100);
+		int height = parseInt(attributes.get("height"), 40);
 		widget.setBounds(new Rectangle(x, y, width, height));
 
-		widget.setBgColor(parseColor(element.getAttribute("bgColor")));
-		widget.setTextColor(parseColor(element.getAttribute("textColor")));
-		widget.setBorderWidth(parseInt(element.getAttribute("borderWidth"), 0));
-		widget.setBorderColor(parseColor(element.getAttribute("borderColor")));
-		widget.setRadius(parseInt(element.getAttribute("radius"), 0));
+		widget.setBgColor(parseColor(attributes.get("bgColor")));
+		widget.setTextColor(parseColor(attributes.get("textColor")));
+		widget.setBorderWidth(parseInt(attributes.get("borderWidth"), 0));
+		widget.setBorderColor(parseColor(attributes.get("borderColor")));
+		widget.setRadius(parseInt(attributes.get("radius"), 0));
 
 		// Image-specific property
-		String imageSource = element.getAttribute("imageSource");
+		String imageSource = attributes.get("imageSource");
 		if (imageSource != null && !imageSource.isEmpty()) {
 			widget.setImageSource(imageSource);
 		}
 
 		// Checkbox/Switch checked state
-		String checkedStr = element.getAttribute("checked");
+		String checkedStr = attributes.get("checked");
 		if (checkedStr != null && !checkedStr.isEmpty()) {
 			widget.setChecked(Boolean.parseBoolean(checkedStr));
 		}
 
 		// Value properties (only for Slider, Arc, Bar)
-		String valueStr = element.getAttribute("value");
+		String valueStr = attributes.get("value");
 		if (valueStr != null && !valueStr.isEmpty()) {
 			widget.setValue(parseInt(valueStr, 0));
 		}
-		String minValueStr = element.getAttribute("minValue");
+		String minValueStr = attributes.get("minValue");
 		if (minValueStr != null && !minValueStr.isEmpty()) {
 			widget.setMinValue(parseInt(minValueStr, 0));
 		}
-		String maxValueStr = element.getAttribute("maxValue");
+		String maxValueStr = attributes.get("maxValue");
 		if (maxValueStr != null && !maxValueStr.isEmpty()) {
 			widget.setMaxValue(parseInt(maxValueStr, 100));
 		}
 
 		// Table properties (only for Table widgets)
-		String rowCountStr = element.getAttribute("rowCount");
+		String rowCountStr = attributes.get("rowCount");
 		if (rowCountStr != null && !rowCountStr.isEmpty()) {
 			widget.setRowCount(parseInt(rowCountStr, 3));
 		}
-		String columnCountStr = element.getAttribute("columnCount");
+		String columnCountStr = attributes.get("columnCount");
 		if (columnCountStr != null && !columnCountStr.isEmpty()) {
 			widget.setColumnCount(parseInt(columnCountStr, 3));
 		}
-		String tableData = element.getAttribute("tableData");
+		String tableData = attributes.get("tableData");
 		if (tableData != null && !tableData.isEmpty()) {
 			widget.setTableData(tableData);
 		}
 
 		// Layout properties
-		String layoutTypeStr = element.getAttribute("layoutType");
+		String layoutTypeStr = attributes.get("layoutType");
 		if (layoutTypeStr != null && !layoutTypeStr.isEmpty()) {
 			try {
 				widget.setLayoutType(LvglWidget.LayoutType.valueOf(layoutTypeStr));
@@ -228,7 +456,7 @@ public class LvglXmlSerializer {
 				widget.setLayoutType(LvglWidget.LayoutType.NONE);
 			}
 		}
-		String flexFlowStr = element.getAttribute("flexFlow");
+		String flexFlowStr = attributes.get("flexFlow");
 		if (flexFlowStr != null && !flexFlowStr.isEmpty()) {
 			try {
 				widget.setFlexFlow(LvglWidget.FlexFlow.valueOf(flexFlowStr));
@@ -236,7 +464,7 @@ public class LvglXmlSerializer {
 				widget.setFlexFlow(LvglWidget.FlexFlow.ROW);
 			}
 		}
-		String flexMainAlignStr = element.getAttribute("flexMainAlign");
+		String flexMainAlignStr = attributes.get("flexMainAlign");
 		if (flexMainAlignStr != null && !flexMainAlignStr.isEmpty()) {
 			try {
 				widget.setFlexMainAlign(LvglWidget.FlexAlign.valueOf(flexMainAlignStr));
@@ -244,7 +472,7 @@ public class LvglXmlSerializer {
 				widget.setFlexMainAlign(LvglWidget.FlexAlign.START);
 			}
 		}
-		String flexCrossAlignStr = element.getAttribute("flexCrossAlign");
+		String flexCrossAlignStr = attributes.get("flexCrossAlign");
 		if (flexCrossAlignStr != null && !flexCrossAlignStr.isEmpty()) {
 			try {
 				widget.setFlexCrossAlign(LvglWidget.FlexAlign.valueOf(flexCrossAlignStr));
@@ -252,7 +480,7 @@ public class LvglXmlSerializer {
 				widget.setFlexCrossAlign(LvglWidget.FlexAlign.START);
 			}
 		}
-		String flexTrackAlignStr = element.getAttribute("flexTrackAlign");
+		String flexTrackAlignStr = attributes.get("flexTrackAlign");
 		if (flexTrackAlignStr != null && !flexTrackAlignStr.isEmpty()) {
 			try {
 				widget.setFlexTrackAlign(LvglWidget.FlexAlign.valueOf(flexTrackAlignStr));
@@ -260,19 +488,8 @@ public class LvglXmlSerializer {
 				widget.setFlexTrackAlign(LvglWidget.FlexAlign.START);
 			}
 		}
-		widget.setPadRow(parseInt(element.getAttribute("padRow"), 0));
-		widget.setPadColumn(parseInt(element.getAttribute("padColumn"), 0));
-
-		// Parse child widgets
-		NodeList children = element.getElementsByTagName("widget");
-		for (int i = 0; i < children.getLength(); i++) {
-			Element childElement = (Element) children.item(i);
-			// Only process direct children
-			if (childElement.getParentNode() == element) {
-				LvglWidget child = parseWidget(childElement);
-				widget.addChild(child);
-			}
-		}
+		widget.setPadRow(parseInt(attributes.get("padRow"), 0));
+		widget.setPadColumn(parseInt(attributes.get("padColumn"), 0));
 
 		return widget;
 	}
@@ -282,7 +499,13 @@ public class LvglXmlSerializer {
 	 * LVGL basic widgets primarily use RGB colors.
 	 */
 	private String formatColor(int color) {
-		return String.format("#%06X", color & 0xFFFFFF);
+		char[] chars = new char[7];
+		chars[0] = '#';
+		for (int i = 6; i > 0; i--) {
+			chars[i] = HEX_DIGITS[color & 0xF];
+			color >>>= 4;
+		}
+		return new String(chars);
 	}
 
 	private int parseColor(String colorStr) {
@@ -309,4 +532,100 @@ public class LvglXmlSerializer {
 			return defaultValue;
 		}
 	}
+
+	/**
+	 * Character sink for the streaming writer. Attribute values are escaped the same way
+	 * as the JDK identity transform: markup characters become entities, control characters
+	 * and characters outside the basic multilingual plane become decimal character references.
+	 * Like the JDK serializer, a high surrogate ending one attribute value is held back and
+	 * paired with the next escaped character.
+	 */
+	private static final class XmlOutput {
+
+		private final Writer writer;
+		private final String lineSeparator = System.lineSeparator();
+		private char pendingHighSurrogate;
+
+		XmlOutput(Writer writer) {
+			this.writer = writer;
+		}
+
+		void write(char c) throws IOException {
+			writer.write(c);
+		}
+
+		void write(String text) throws IOException {
+			writer.write(text);
+		}
+
+		void newLine() throws IOException {
+			writer.write(lineSeparator);
+		}
+
+		void indent(int depth) throws IOException {
+			for (int i = 0; i < depth; i++) {
+				writer.write(INDENT);
+			}
+		}
+
+		void attribute(String name, String value) throws IOException {
+			writer.write(' ');
+			writer.write(name);
+			writer.write("=\"");
+			if (value != null) {
+				writeEscaped(value);
+			}
+			writer.write('"');
+		}
+
+		void flush() throws IOException {
+			writer.flush();
+		}
+
+		private void writeEscaped(String value) throws IOException {
+			int length = value.length();
+			int start = 0;
+			for (int i = 0; i < length; i++) {
+				char c = value.charAt(i);
+				String replacement;
+				if (c == '&') {
+					replacement = "&amp;";
+				} else if (c == '<') {
+					replacement = "&lt;";
+				} else if (c == '>') {
+					replacement = "&gt;";
+				} else if (c == '"') {
+					replacement = "&quot;";
+				} else if (c >= 0x20 && !Character.isSurrogate(c)) {
+					continue;
+				} else if (pendingHighSurrogate != 0) {
+					replacement = surrogatePairReference(pendingHighSurrogate, c);
+					pendingHighSurrogate = 0;
+				} else if (Character.isHighSurrogate(c)) {
+					writer.write(value, start, i - start);
+					start = i + 1;
+					if (start == length) {
+						pendingHighSurrogate = c;
+						continue;
+					}
+					replacement = surrogatePairReference(c, value.charAt(start));
+					i = start;
+				} else {
+					replacement = "&#" + (int) c + ";";
+				}
+				writer.write(value, start, i - start);
+				writer.write(replacement);
+				start = i + 1;
+			}
+			writer.write(value, start, length - start);
+		}
+
+		private static String surrogatePairReference(char high, char low) throws IOException {
+			if (!Character.isLowSurrogate(low)) {
+				throw new IOException("Invalid UTF-16 surrogate detected: "
+						+ Integer.toHexString(high) + " " + Integer.toHexString(low));
+			}
+			return "&#" + Character.toCodePoint(high, low) + ";";
+		}
+	}
 }
@@ -6,16 +6,33 @@
  ******************************************************************************/
 package com.tlcsdm.eclipse.gefemf.demo.model;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import org.eclipse.emf.ecore.EObject;
 
 /**
  * Base class for all model elements with property change support.
+ * <p>
+ * Changes can be batched: while a batch is open on the current thread, the changes of
+ * every element are collected instead of being fired one by one. When the outermost
+ * batch ends, each changed element fires a single {@link BatchEvent} whose new value is
+ * the set of changed property names, so listeners refresh once per element. The event
+ * also keeps the collected changes with their old and new values.
+ * </p>
  */
 public abstract class ModelElement implements Serializable {
 
@@ -26,6 +43,76 @@ public abstract class ModelElement implements Serializable {
     public static final String PROPERTY_REMOVE = "remove";
     public static final String PROPERTY_NAME = "name";
     public static final String PROPERTY_CONNECTION = "connection";
+    public static final String PROPERTY_BATCH = "batch";
+
+    /** The batch open on the current thread, or null */
+    private static final ThreadLocal<Batch> CURRENT_BATCH = new ThreadLocal<>();
+
+    /**
+     * Changes collected while a batch is open: the changes of every element, in the
+     * order the elements first changed.
+     */
+    private static final class Batch {
+        private int depth;
+        private final Map<ModelElement, Changes> changes = new LinkedHashMap<>();
+    }
+
+    /**
+     * The changes of one element in a batch, in the order they were made. A property
+     * changed several times is kept once, with its first old and its last new value;
+     * every {@link #PROPERTY_ADD} and {@link #PROPERTY_REMOVE} is kept with its child.
+     */
+    private static final class Changes {
+        private final List<PropertyChangeEvent> events = new ArrayList<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        void add(ModelElement element, String propertyName, Object oldValue, Object newValue) {
+            if (PROPERTY_ADD.equals(propertyName) || PROPERTY_REMOVE.equals(propertyName)) {
+                events.add(new PropertyChangeEvent(element, propertyName, oldValue, newValue));
+                return;
+            }
+            Integer index = indexes.putIfAbsent(propertyName, events.size());
+            if (index == null) {
+                events.add(new PropertyChangeEvent(element, propertyName, oldValue, newValue));
+            } else {
+                events.set(index, new PropertyChangeEvent(element, propertyName, events.get(index).getOldValue(),
+                        newValue));
+            }
+        }
+    }
+
+    /**
+     * The {@link #PROPERTY_BATCH} event an element fires when a batch ends. Its new value
+     * is the unmodifiable set of the changed property names.
+     */
+    public static final class BatchEvent extends PropertyChangeEvent {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<PropertyChangeEvent> events;
+
+        BatchEvent(ModelElement source, List<PropertyChangeEvent> events) {
+            super(source, PROPERTY_BATCH, null, propertyNames(events));
+            this.events = Collections.unmodifiableList(events);
+        }
+
+        private static Set<String> propertyNames(List<PropertyChangeEvent> events) {
+            Set<String> names = new LinkedHashSet<>();
+            for (PropertyChangeEvent event : events) {
+                names.add(event.getPropertyName());
+            }
+            return Collections.unmodifiableSet(names);
+        }
+
+        /**
+         * @return the collected changes in the order they were made: a property changed
+         *         several times once, with its first old and last new value, and every
+         *         {@link #PROPERTY_ADD} and {@link #PROPERTY_REMOVE} with its child
+         */
+        public List<PropertyChangeEvent> getEvents() {
+            return events;
+        }
+    }
 
     private transient PropertyChangeSupport listeners = new PropertyChangeSupport(this);
 
@@ -46,7 +133,92 @@ public abstract class ModelElement implements Serializable {
     }
 
     protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
-        listeners.firePropertyChange(propertyName, oldValue, newValue);
+        if (!listeners.hasListeners(propertyName)) {
+            return;
+        }
+        Batch batch = CURRENT_BATCH.get();
+        if (batch == null) {
+            listeners.firePropertyChange(propertyName, oldValue, newValue);
+        } else if (oldValue == null || !Objects.equals(oldValue, newValue)) {
+            // Same rule as PropertyChangeSupport: equal non-null values are no change
+            batch.changes.computeIfAbsent(this, element -> new Changes()).add(this, propertyName, oldValue,
+                    newValue);
+        }
+    }
+
+    /**
+     * Start collecting the changes made on the current thread. Batches nest; the changes
+     * are fired when the outermost batch ends. Every call must be paired with
+     * {@link #endBatch()}, preferably in a finally block.
+     */
+    public static void beginBatch() {
+        Batch batch = CURRENT_BATCH.get();
+        if (batch == null) {
+            batch = new Batch();
+            CURRENT_BATCH.set(batch);
+        }
+        batch.depth++;
+    }
+
+    /**
+     * End a batch started by {@link #beginBatch()}. Ending the outermost batch fires one
+     * {@link BatchEvent} per changed element. Every element gets its event even if a
+     * listener of another element throws; the first exception is rethrown afterwards.
+     *
+     * @throws IllegalStateException if no batch is open on the current thread
+     */
+    public static void endBatch() {
+        Batch batch = CURRENT_BATCH.get();
+        if (batch == null) {
+            throw new IllegalStateException("No batch is open");
+        }
+        if (--batch.depth > 0) {
+            return;
+        }
+        // Listeners may start batches of their own while the events are fired
+        CURRENT_BATCH.remove();
+        RuntimeException failure = null;
+        for (Map.Entry<ModelElement, Changes> entry : batch.changes.entrySet()) {
+            ModelElement element = entry.getKey();
+            try {
+                element.listeners.firePropertyChange(new BatchEvent(element, entry.getValue().events));
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Run an action in a batch, so the changes it makes are fired once per element.
+     */
+    public static void runBatched(Runnable action) {
+        beginBatch();
+        try {
+            action.run();
+        } finally {
+            endBatch();
+        }
+    }
+
+    /**
+     * Get the names of the properties an event reports as changed.
+     *
+     * @return the changed properties of a {@link #PROPERTY_BATCH} event, otherwise the
+     *         property of the event
+     */
+    @SuppressWarnings("unchecked")
+    public static Set<String> getChangedProperties(PropertyChangeEvent event) {
+        if (PROPERTY_BATCH.equals(event.getPropertyName()) && event.getNewValue() instanceof Set<?> names) {
+            return (Set<String>) names;
+        }
+        return Collections.singleton(event.getPropertyName());
     }
 
     /**
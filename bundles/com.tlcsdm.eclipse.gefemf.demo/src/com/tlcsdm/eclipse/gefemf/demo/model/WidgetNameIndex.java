@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index from C variable name to the widgets of a screen, including nested widgets.
+ * <p>
+ * The generated code declares one global variable per widget, named by
+ * {@link LvglWidget#getVariableName()}, so two widgets with the same variable name do
+ * not compile. The index is kept up to date by the screen when widgets are added or
+ * removed, by {@link LvglWidget#addChild}/{@link LvglWidget#removeChild} and by
+ * {@link LvglWidget#setName}, and tracks the names used more than once, so lookups and
+ * collision checks never walk the widget tree. It is not thread-safe, like the rest of
+ * the model.
+ * </p>
+ */
+public final class WidgetNameIndex {
+
+	/** Widgets by variable name; a list holds more than one widget only for a collision */
+	private final Map<String, List<LvglWidget>> widgets = new HashMap<>();
+
+	/** Variable names used by more than one widget, in the order they started to collide */
+	private final Set<String> collisions = new LinkedHashSet<>();
+
+	/** Next suffix to try per name prefix, so generating a name does not probe every taken one */
+	private final Map<String, Integer> nextSuffixes = new HashMap<>();
+
+	WidgetNameIndex(List<LvglWidget> topLevelWidgets) {
+		for (LvglWidget widget : topLevelWidgets) {
+			addTopLevel(widget);
+		}
+	}
+
+	void addTopLevel(LvglWidget widget) {
+		widget.setNameIndex(this);
+		addTree(widget);
+	}
+
+	void removeTopLevel(LvglWidget widget) {
+		if (widget.getNameIndex() == this) {
+			widget.setNameIndex(null);
+			removeTree(widget);
+		}
+	}
+
+	/**
+	 * Add a widget and all its descendants.
+	 */
+	void addTree(LvglWidget widget) {
+		add(widget.getVariableName(), widget);
+		for (LvglWidget child : widget.getChildren()) {
+			addTree(child);
+		}
+	}
+
+	/**
+	 * Remove a widget and all its descendants.
+	 */
+	void removeTree(LvglWidget widget) {
+		remove(widget.getVariableName(), widget);
+		for (LvglWidget child : widget.getChildren()) {
+			removeTree(child);
+		}
+	}
+
+	/**
+	 * Move a widget to its new variable name after it was renamed.
+	 */
+	void rename(LvglWidget widget, String oldVariableName) {
+		String variableName = widget.getVariableName();
+		if (!variableName.equals(oldVariableName)) {
+			remove(oldVariableName, widget);
+			add(variableName, widget);
+		}
+	}
+
+	private void add(String variableName, LvglWidget widget) {
+		List<LvglWidget> named = widgets.computeIfAbsent(variableName, name -> new ArrayList<>(1));
+		named.add(widget);
+		if (named.size() == 2) {
+			collisions.add(variableName);
+		}
+	}
+
+	private void remove(String variableName, LvglWidget widget) {
+		List<LvglWidget> named = widgets.get(variableName);
+		if (named == null || !named.removeIf(candidate -> candidate == widget)) {
+			return;
+		}
+		if (named.isEmpty()) {
+			widgets.remove(variableName);
+		} else if (named.size() == 1) {
+			collisions.remove(variableName);
+		}
+	}
+
+	/**
+	 * @return the widget with a variable name, the first one added on a collision, or null
+	 */
+	public LvglWidget find(String variableName) {
+		List<LvglWidget> named = widgets.get(variableName);
+		return named != null ? named.get(0) : null;
+	}
+
+	/**
+	 * @return true if a widget has the variable name
+	 */
+	public boolean contains(String variableName) {
+		return widgets.containsKey(variableName);
+	}
+
+	/**
+	 * Create a widget name of the form {@code prefix_N} whose variable name is not used
+	 * yet. Suffixes only grow, so names of deleted widgets are not handed out again.
+	 *
+	 * @param prefix the name prefix, usually the lower case widget type
+	 * @return the unused name
+	 */
+	public String createUniqueName(String prefix) {
+		int suffix = nextSuffixes.getOrDefault(prefix, 1);
+		String name = prefix + "_" + suffix;
+		while (contains(LvglWidget.toVariableName(name))) {
+			name = prefix + "_" + ++suffix;
+		}
+		nextSuffixes.put(prefix, suffix + 1);
+		return name;
+	}
+
+	/**
+	 * @return the widgets of every variable name used more than once, in the order the
+	 *         names started to collide
+	 */
+	public Map<String, List<LvglWidget>> getCollisions() {
+		Map<String, List<LvglWidget>> result = new LinkedHashMap<>();
+		for (String variableName : collisions) {
+			result.put(variableName, List.copyOf(widgets.get(variableName)));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Spatial index over the children of one screen or container, in the coordinates of
+ * that parent.
+ * <p>
+ * Children are bucketed into a uniform grid of {@link #CELL_SIZE} pixel cells, so a
+ * query only looks at the widgets in the cells it covers. Widgets spanning more than
+ * {@link #MAX_CELLS} cells are kept in a separate list that every query scans, which
+ * keeps large backgrounds and pages from filling the grid. The index is kept up to date
+ * by the parent when children are added or removed and by {@link LvglWidget#setBounds}.
+ * It is not thread-safe, like the rest of the model.
+ * </p>
+ */
+public final class WidgetSpatialIndex {
+
+	/** Edge length of a grid cell, in pixels */
+	public static final int CELL_SIZE = 64;
+
+	/** Widgets covering more cells are not put into the grid */
+	private static final int MAX_CELLS = 64;
+
+	private final Map<Long, List<LvglWidget>> cells = new HashMap<>();
+	private final List<LvglWidget> largeWidgets = new ArrayList<>();
+
+	/** The bounds every widget was indexed with; the widget's rectangle may change in place */
+	private final Map<LvglWidget, Rectangle> indexed = new IdentityHashMap<>();
+
+	WidgetSpatialIndex(List<LvglWidget> widgets) {
+		for (LvglWidget widget : widgets) {
+			add(widget);
+		}
+	}
+
+	void add(LvglWidget widget) {
+		WidgetSpatialIndex previous = widget.getContainerIndex();
+		if (previous != null) {
+			previous.remove(widget);
+		}
+		Rectangle bounds = widget.getBounds().getCopy();
+		indexed.put(widget, bounds);
+		widget.setContainerIndex(this);
+		if (isLarge(bounds)) {
+			largeWidgets.add(widget);
+			return;
+		}
+		int lastColumn = lastCell(bounds.x, bounds.width);
+		int lastRow = lastCell(bounds.y, bounds.height);
+		for (int column = firstCell(bounds.x); column <= lastColumn; column++) {
+			for (int row = firstCell(bounds.y); row <= lastRow; row++) {
+				cells.computeIfAbsent(key(column, row), cell -> new ArrayList<>(4)).add(widget);
+			}
+		}
+	}
+
+	void remove(LvglWidget widget) {
+		Rectangle bounds = indexed.remove(widget);
+		if (bounds == null) {
+			return;
+		}
+		widget.setContainerIndex(null);
+		if (isLarge(bounds)) {
+			largeWidgets.remove(widget);
+			return;
+		}
+		int lastColumn = lastCell(bounds.x, bounds.width);
+		int lastRow = lastCell(bounds.y, bounds.height);
+		for (int column = firstCell(bounds.x); column <= lastColumn; column++) {
+			for (int row = firstCell(bounds.y); row <= lastRow; row++) {
+				Long key = key(column, row);
+				List<LvglWidget> cell = cells.get(key);
+				if (cell != null) {
+					cell.remove(widget);
+					if (cell.isEmpty()) {
+						cells.remove(key);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Re-index a widget after its bounds changed.
+	 */
+	void update(LvglWidget widget) {
+		remove(widget);
+		add(widget);
+	}
+
+	/**
+	 * @return the number of indexed widgets
+	 */
+	public int size() {
+		return indexed.size();
+	}
+
+	/**
+	 * Find the widgets whose bounds overlap an area. Widgets and areas without width or
+	 * height overlap nothing.
+	 *
+	 * @param area the area, in the coordinates of the parent
+	 * @return the overlapping widgets, in no particular order
+	 */
+	public List<LvglWidget> findIntersecting(Rectangle area) {
+		List<LvglWidget> result = new ArrayList<>();
+		if (area.width <= 0 || area.height <= 0) {
+			return result;
+		}
+		for (LvglWidget widget : largeWidgets) {
+			if (intersects(indexed.get(widget), area)) {
+				result.add(widget);
+			}
+		}
+		int firstColumn = firstCell(area.x);
+		int lastColumn = lastCell(area.x, area.width);
+		int firstRow = firstCell(area.y);
+		int lastRow = lastCell(area.y, area.height);
+		long cellCount = (long) (lastColumn - firstColumn + 1) * (lastRow - firstRow + 1);
+		if (cellCount > cells.size()) {
+			// The area covers more cells than are in use, checking every widget is cheaper
+			for (Map.Entry<LvglWidget, Rectangle> entry : indexed.entrySet()) {
+				if (!isLarge(entry.getValue()) && intersects(entry.getValue(), area)) {
+					result.add(entry.getKey());
+				}
+			}
+			return result;
+		}
+		// A widget spanning several cells is found once per cell
+		Set<LvglWidget> seen = cellCount > 1 ? Collections.newSetFromMap(new IdentityHashMap<>()) : null;
+		for (int column = firstColumn; column <= lastColumn; column++) {
+			for (int row = firstRow; row <= lastRow; row++) {
+				List<LvglWidget> cell = cells.get(key(column, row));
+				if (cell == null) {
+					continue;
+				}
+				for (LvglWidget widget : cell) {
+					if (intersects(indexed.get(widget), area) && (seen == null || seen.add(widget))) {
+						result.add(widget);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Find the widgets containing a point.
+	 *
+	 * @return the widgets, in no particular order
+	 */
+	public List<LvglWidget> findAt(int x, int y) {
+		return findIntersecting(new Rectangle(x, y, 1, 1));
+	}
+
+	private static boolean intersects(Rectangle bounds, Rectangle area) {
+		return bounds.width > 0 && bounds.height > 0
+				&& bounds.x < area.x + area.width && area.x < bounds.x + bounds.width
+				&& bounds.y < area.y + area.height && area.y < bounds.y + bounds.height;
+	}
+
+	private static boolean isLarge(Rectangle bounds) {
+		long columns = (long) lastCell(bounds.x, bounds.width) - firstCell(bounds.x) + 1;
+		long rows = (long) lastCell(bounds.y, bounds.height) - firstCell(bounds.y) + 1;
+		return columns * rows > MAX_CELLS;
+	}
+
+	private static int firstCell(int position) {
+		return Math.floorDiv(position, CELL_SIZE);
+	}
+
+	/**
+	 * @return the last cell covered by a span; a span without size stays in its first cell
+	 */
+	private static int lastCell(int position, int size) {
+		return size > 0 ? Math.floorDiv(position + size - 1, CELL_SIZE) : firstCell(position);
+	}
+
+	private static Long key(int column, int row) {
+		return ((long) column << 32) | (row & 0xFFFFFFFFL);
+	}
+}
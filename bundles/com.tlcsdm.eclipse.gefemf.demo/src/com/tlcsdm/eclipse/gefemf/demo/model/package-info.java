@@ -14,16 +14,38 @@
  * <ul>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.model.ModelElement} - 
  *       所有模型元素的抽象基类，提供属性变更通知机制 (PropertyChangeSupport)，
- *       当模型属性发生变化时通知对应的 EditPart 刷新视图</li>
+ *       当模型属性发生变化时通知对应的 EditPart 刷新视图；
+ *       beginBatch()/endBatch() 或 runBatched() 在当前线程开启批量修改，期间的变更被收集，
+ *       最外层批量结束时每个变化的元素只触发一个 PROPERTY_BATCH 事件（BatchEvent），新值为变化的属性名集合，
+ *       getEvents() 保留收集到的变更：多次修改的属性合并为一个事件（第一次的旧值和最后一次的新值），
+ *       每次添加/删除子元素都保留原事件；各元素的事件分别触发，某个监听器抛出异常不影响其他元素，
+ *       全部触发后再抛出第一个异常；没有监听器的元素不创建事件</li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen} - 
- *       表示一个 LVGL 屏幕，是所有控件的根容器，定义屏幕的尺寸和背景色</li>
+ *       表示一个 LVGL 屏幕，是所有控件的根容器，定义屏幕的尺寸和背景色；
+ *       findWidgets() 通过顶层控件的空间索引查找与区域重叠的控件</li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget} - 
- *       表示一个 LVGL 控件（按钮、标签、滑块等），包含控件类型、位置、大小、
- *       文本、颜色等属性，支持嵌套子控件形成控件树</li>
+ *       表示一个 LVGL 控件（按钮、标签、滑块等），各属性的事件名定义为 PROPERTY_* 常量，包含控件类型、位置、大小、
+ *       文本、颜色等属性，支持嵌套子控件形成控件树；findChildren() 通过子控件的空间索引查找与区域重叠的子控件</li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.model.WidgetSpatialIndex} - 
+ *       一个屏幕或容器的子控件的空间索引，按 64 像素均匀网格分桶，跨越过多网格的大控件单独存放；
+ *       首次查询时创建，之后由 addWidget/removeWidget、addChild/removeChild 和 setBounds 增量更新；
+ *       LvglScreen.findWidgets() 和 LvglWidget.findChildren() 使用该索引</li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.model.WidgetNameIndex} - 
+ *       屏幕内所有控件（包括嵌套控件）从 C 变量名到控件的哈希索引，由 LvglScreen.getNameIndex() 首次调用时创建，
+ *       之后由添加/删除控件和 setName 增量更新；提供 O(1) 查找、唯一名称生成 createUniqueName()
+ *       和重复变量名集合 getCollisions()，无需遍历控件树</li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.model.Connection} - 
  *       表示控件之间的连接线，用于可视化事件绑定关系</li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.model.LvglXmlSerializer} - 
- *       XML 序列化器，负责将模型保存为 XML 文件或从 XML 文件加载模型</li>
+ *       XML 序列化器，负责将模型保存为 XML 文件或从 XML 文件加载模型；
+ *       加载默认使用 StAX 流式解析一次前向构建模型，DOM 解析作为后备 (loadDom)；
+ *       保存直接流式写出 XML，输出与 DOM + Transformer 方式 (saveDom) 逐字节一致</li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.model.LvglBinarySerializer} - 
+ *       紧凑的二进制格式 (.gefbin) 序列化器，使用字符串表、varint 编码和枚举序号，
+ *       通过 FileChannel.map 内存映射加载；作为 XML 的缓存或旁路文件，XML 仍是唯一数据源；
+ *       copy() 通过二进制格式复制模型，供后台作业使用</li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.model.LvglFormatConverter} - 
+ *       XML 与二进制格式之间的互相转换</li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.model.Diagram} - 
  *       类图模型，用于展示 EMF 建模功能（作为参考实现）</li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.model.ClassNode} - 
@@ -7,6 +7,7 @@
 package com.tlcsdm.eclipse.gefemf.demo.palette;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import org.eclipse.gef.palette.CreationToolEntry;
 import org.eclipse.gef.palette.PaletteDrawer;
@@ -15,6 +16,7 @@ import org.eclipse.gef.palette.SelectionToolEntry;
 import org.eclipse.gef.requests.CreationFactory;
 import org.eclipse.jface.resource.ImageDescriptor;
 
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
 import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
 
 /**
@@ -22,7 +24,13 @@ import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
  */
 public class LvglPaletteFactory {
 
-	public static PaletteRoot createPalette() {
+	/**
+	 * Create the palette.
+	 *
+	 * @param screenSupplier supplies the screen new widgets are created for, so their
+	 *                       names can be made unique within it; may supply null
+	 */
+	public static PaletteRoot createPalette(Supplier<LvglScreen> screenSupplier) {
 		PaletteRoot palette = new PaletteRoot();
 
 		// Tools group
@@ -39,19 +47,19 @@ public class LvglPaletteFactory {
 		PaletteDrawer basicDrawer = new PaletteDrawer("Basic");
 
 		// Container and layout
-		basicDrawer.add(createWidgetEntry("Container", "Create an LVGL container", LvglWidget.WidgetType.CONTAINER));
+		basicDrawer.add(createWidgetEntry("Container", "Create an LVGL container", LvglWidget.WidgetType.CONTAINER, screenSupplier));
 		// Button
-		basicDrawer.add(createWidgetEntry("Button", "Create an LVGL button", LvglWidget.WidgetType.BUTTON));
+		basicDrawer.add(createWidgetEntry("Button", "Create an LVGL button", LvglWidget.WidgetType.BUTTON, screenSupplier));
 		// Label
-		basicDrawer.add(createWidgetEntry("Label", "Create an LVGL label", LvglWidget.WidgetType.LABEL));
+		basicDrawer.add(createWidgetEntry("Label", "Create an LVGL label", LvglWidget.WidgetType.LABEL, screenSupplier));
 		// Image
-		basicDrawer.add(createWidgetEntry("Image", "Create an LVGL image", LvglWidget.WidgetType.IMAGE));
+		basicDrawer.add(createWidgetEntry("Image", "Create an LVGL image", LvglWidget.WidgetType.IMAGE, screenSupplier));
 		// Line
-		basicDrawer.add(createWidgetEntry("Line", "Create an LVGL line", LvglWidget.WidgetType.LINE));
+		basicDrawer.add(createWidgetEntry("Line", "Create an LVGL line", LvglWidget.WidgetType.LINE, screenSupplier));
 		// Arc
-		basicDrawer.add(createWidgetEntry("Arc", "Create an LVGL arc", LvglWidget.WidgetType.ARC));
+		basicDrawer.add(createWidgetEntry("Arc", "Create an LVGL arc", LvglWidget.WidgetType.ARC, screenSupplier));
 		// Bar
-		basicDrawer.add(createWidgetEntry("Bar", "Create an LVGL progress bar", LvglWidget.WidgetType.BAR));
+		basicDrawer.add(createWidgetEntry("Bar", "Create an LVGL progress bar", LvglWidget.WidgetType.BAR, screenSupplier));
 
 		palette.add(basicDrawer);
 
@@ -59,23 +67,23 @@ public class LvglPaletteFactory {
 		PaletteDrawer inputDrawer = new PaletteDrawer("Input");
 
 		// Slider
-		inputDrawer.add(createWidgetEntry("Slider", "Create an LVGL slider", LvglWidget.WidgetType.SLIDER));
+		inputDrawer.add(createWidgetEntry("Slider", "Create an LVGL slider", LvglWidget.WidgetType.SLIDER, screenSupplier));
 		// Switch
-		inputDrawer.add(createWidgetEntry("Switch", "Create an LVGL switch", LvglWidget.WidgetType.SWITCH));
+		inputDrawer.add(createWidgetEntry("Switch", "Create an LVGL switch", LvglWidget.WidgetType.SWITCH, screenSupplier));
 		// Checkbox
-		inputDrawer.add(createWidgetEntry("Checkbox", "Create an LVGL checkbox", LvglWidget.WidgetType.CHECKBOX));
+		inputDrawer.add(createWidgetEntry("Checkbox", "Create an LVGL checkbox", LvglWidget.WidgetType.CHECKBOX, screenSupplier));
 		// Dropdown
-		inputDrawer.add(createWidgetEntry("Dropdown", "Create an LVGL dropdown", LvglWidget.WidgetType.DROPDOWN));
+		inputDrawer.add(createWidgetEntry("Dropdown", "Create an LVGL dropdown", LvglWidget.WidgetType.DROPDOWN, screenSupplier));
 		// Textarea
-		inputDrawer.add(createWidgetEntry("Textarea", "Create an LVGL textarea", LvglWidget.WidgetType.TEXTAREA));
+		inputDrawer.add(createWidgetEntry("Textarea", "Create an LVGL textarea", LvglWidget.WidgetType.TEXTAREA, screenSupplier));
 		// Roller
-		inputDrawer.add(createWidgetEntry("Roller", "Create an LVGL roller", LvglWidget.WidgetType.ROLLER));
+		inputDrawer.add(createWidgetEntry("Roller", "Create an LVGL roller", LvglWidget.WidgetType.ROLLER, screenSupplier));
 		// Spinbox
-		inputDrawer.add(createWidgetEntry("Spinbox", "Create an LVGL spinbox", LvglWidget.WidgetType.SPINBOX));
+		inputDrawer.add(createWidgetEntry("Spinbox", "Create an LVGL spinbox", LvglWidget.WidgetType.SPINBOX, screenSupplier));
 		// Keyboard
-		inputDrawer.add(createWidgetEntry("Keyboard", "Create an LVGL keyboard", LvglWidget.WidgetType.KEYBOARD));
+		inputDrawer.add(createWidgetEntry("Keyboard", "Create an LVGL keyboard", LvglWidget.WidgetType.KEYBOARD, screenSupplier));
 		// Button Matrix
-		inputDrawer.add(createWidgetEntry("Button Matrix", "Create an LVGL button matrix", LvglWidget.WidgetType.BUTTONMATRIX));
+		inputDrawer.add(createWidgetEntry("Button Matrix", "Create an LVGL button matrix", LvglWidget.WidgetType.BUTTONMATRIX, screenSupplier));
 
 		palette.add(inputDrawer);
 
@@ -83,39 +91,39 @@ public class LvglPaletteFactory {
 		PaletteDrawer advancedDrawer = new PaletteDrawer("Advanced");
 
 		// LED
-		advancedDrawer.add(createWidgetEntry("LED", "Create an LVGL LED", LvglWidget.WidgetType.LED));
+		advancedDrawer.add(createWidgetEntry("LED", "Create an LVGL LED", LvglWidget.WidgetType.LED, screenSupplier));
 		// Scale
-		advancedDrawer.add(createWidgetEntry("Scale", "Create an LVGL scale", LvglWidget.WidgetType.SCALE));
+		advancedDrawer.add(createWidgetEntry("Scale", "Create an LVGL scale", LvglWidget.WidgetType.SCALE, screenSupplier));
 		// Spinner
-		advancedDrawer.add(createWidgetEntry("Spinner", "Create an LVGL spinner", LvglWidget.WidgetType.SPINNER));
+		advancedDrawer.add(createWidgetEntry("Spinner", "Create an LVGL spinner", LvglWidget.WidgetType.SPINNER, screenSupplier));
 		// Animation Image
-		advancedDrawer.add(createWidgetEntry("Animation Image", "Create an LVGL animation image", LvglWidget.WidgetType.ANIMIMG));
+		advancedDrawer.add(createWidgetEntry("Animation Image", "Create an LVGL animation image", LvglWidget.WidgetType.ANIMIMG, screenSupplier));
 		// Arc Label
-		advancedDrawer.add(createWidgetEntry("Arc Label", "Create an LVGL arc label", LvglWidget.WidgetType.ARCLABEL));
+		advancedDrawer.add(createWidgetEntry("Arc Label", "Create an LVGL arc label", LvglWidget.WidgetType.ARCLABEL, screenSupplier));
 		// Chart
-		advancedDrawer.add(createWidgetEntry("Chart", "Create an LVGL chart", LvglWidget.WidgetType.CHART));
+		advancedDrawer.add(createWidgetEntry("Chart", "Create an LVGL chart", LvglWidget.WidgetType.CHART, screenSupplier));
 		// Table
-		advancedDrawer.add(createWidgetEntry("Table", "Create an LVGL table", LvglWidget.WidgetType.TABLE));
+		advancedDrawer.add(createWidgetEntry("Table", "Create an LVGL table", LvglWidget.WidgetType.TABLE, screenSupplier));
 		// Calendar
-		advancedDrawer.add(createWidgetEntry("Calendar", "Create an LVGL calendar", LvglWidget.WidgetType.CALENDAR));
+		advancedDrawer.add(createWidgetEntry("Calendar", "Create an LVGL calendar", LvglWidget.WidgetType.CALENDAR, screenSupplier));
 		// Spangroup
-		advancedDrawer.add(createWidgetEntry("Spangroup", "Create an LVGL spangroup", LvglWidget.WidgetType.SPANGROUP));
+		advancedDrawer.add(createWidgetEntry("Spangroup", "Create an LVGL spangroup", LvglWidget.WidgetType.SPANGROUP, screenSupplier));
 		// List
-		advancedDrawer.add(createWidgetEntry("List", "Create an LVGL list", LvglWidget.WidgetType.LIST));
+		advancedDrawer.add(createWidgetEntry("List", "Create an LVGL list", LvglWidget.WidgetType.LIST, screenSupplier));
 		// Menu
-		advancedDrawer.add(createWidgetEntry("Menu", "Create an LVGL menu", LvglWidget.WidgetType.MENU));
+		advancedDrawer.add(createWidgetEntry("Menu", "Create an LVGL menu", LvglWidget.WidgetType.MENU, screenSupplier));
 		// Tab View
-		advancedDrawer.add(createWidgetEntry("Tab View", "Create an LVGL tab view", LvglWidget.WidgetType.TABVIEW));
+		advancedDrawer.add(createWidgetEntry("Tab View", "Create an LVGL tab view", LvglWidget.WidgetType.TABVIEW, screenSupplier));
 		// Tile View
-		advancedDrawer.add(createWidgetEntry("Tile View", "Create an LVGL tile view", LvglWidget.WidgetType.TILEVIEW));
+		advancedDrawer.add(createWidgetEntry("Tile View", "Create an LVGL tile view", LvglWidget.WidgetType.TILEVIEW, screenSupplier));
 		// Window
-		advancedDrawer.add(createWidgetEntry("Window", "Create an LVGL window", LvglWidget.WidgetType.WIN));
+		advancedDrawer.add(createWidgetEntry("Window", "Create an LVGL window", LvglWidget.WidgetType.WIN, screenSupplier));
 		// Message Box
-		advancedDrawer.add(createWidgetEntry("Message Box", "Create an LVGL message box", LvglWidget.WidgetType.MSGBOX));
+		advancedDrawer.add(createWidgetEntry("Message Box", "Create an LVGL message box", LvglWidget.WidgetType.MSGBOX, screenSupplier));
 		// Image Button
-		advancedDrawer.add(createWidgetEntry("Image Button", "Create an LVGL image button", LvglWidget.WidgetType.IMAGEBUTTON));
+		advancedDrawer.add(createWidgetEntry("Image Button", "Create an LVGL image button", LvglWidget.WidgetType.IMAGEBUTTON, screenSupplier));
 		// Canvas
-		advancedDrawer.add(createWidgetEntry("Canvas", "Create an LVGL canvas", LvglWidget.WidgetType.CANVAS));
+		advancedDrawer.add(createWidgetEntry("Canvas", "Create an LVGL canvas", LvglWidget.WidgetType.CANVAS, screenSupplier));
 
 		palette.add(advancedDrawer);
 
@@ -125,9 +133,10 @@ public class LvglPaletteFactory {
 	/**
 	 * Create a palette entry for a widget type with icon.
 	 */
-	private static CreationToolEntry createWidgetEntry(String label, String description, LvglWidget.WidgetType type) {
+	private static CreationToolEntry createWidgetEntry(String label, String description, LvglWidget.WidgetType type,
+			Supplier<LvglScreen> screenSupplier) {
 		ImageDescriptor icon = LvglWidgetIcons.getIcon(type);
-		return new CreationToolEntry(label, description, new LvglWidgetFactory(type), icon, icon);
+		return new CreationToolEntry(label, description, new LvglWidgetFactory(type, screenSupplier), icon, icon);
 	}
 
 	/**
@@ -135,16 +144,21 @@ public class LvglPaletteFactory {
 	 */
 	private static class LvglWidgetFactory implements CreationFactory {
 		private final LvglWidget.WidgetType widgetType;
+		private final Supplier<LvglScreen> screenSupplier;
 		private static final AtomicInteger counter = new AtomicInteger(0);
 
-		public LvglWidgetFactory(LvglWidget.WidgetType widgetType) {
+		public LvglWidgetFactory(LvglWidget.WidgetType widgetType, Supplier<LvglScreen> screenSupplier) {
 			this.widgetType = widgetType;
+			this.screenSupplier = screenSupplier;
 		}
 
 		@Override
 		public Object getNewObject() {
-			int count = counter.incrementAndGet();
-			String name = widgetType.name().toLowerCase() + "_" + count;
+			String prefix = widgetType.name().toLowerCase();
+			LvglScreen screen = screenSupplier.get();
+			// The name index of the screen finds a free name without walking the widget tree
+			String name = screen != null ? screen.getNameIndex().createUniqueName(prefix)
+					: prefix + "_" + counter.incrementAndGet();
 			LvglWidget widget = new LvglWidget(name, widgetType);
 
 			// Set default text and size based on widget type
@@ -20,7 +20,8 @@
  *         <li><b>Input (输入控件)</b> - Slider、Switch、Checkbox、Dropdown、Textarea、Roller、Spinbox、Keyboard、Button Matrix</li>
  *         <li><b>Advanced (高级控件)</b> - LED、Scale、Spinner、Chart、Table、Calendar、List、Menu、Tab View 等</li>
  *       </ul>
- *       内部类 LvglWidgetFactory 实现 CreationFactory 接口，创建 LvglWidget 实例。
+ *       内部类 LvglWidgetFactory 实现 CreationFactory 接口，创建 LvglWidget 实例；
+ *       控件名通过编辑器当前屏幕的名称索引生成，保证 C 变量名在屏幕内唯一。
  *   </li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.palette.LvglWidgetIcons} - 
  *       控件图标管理器，为每种控件类型提供调色板图标</li>
@@ -16,6 +16,32 @@ public class LvglPreferenceConstants {
 	 */
 	public static final String P_LICENSE_HEADER = "licenseHeader";
 
+	/**
+	 * Preference key for generating shared lv_style_t objects for widgets with identical styles.
+	 */
+	public static final String P_SHARED_STYLES = "sharedStyles";
+
+	/**
+	 * Preference key for the widget creation mode, the name of a
+	 * {@code LvglGeneratorOptions.CreationMode} constant.
+	 */
+	public static final String P_CREATION_MODE = "creationMode";
+
+	/**
+	 * Preference key for generating the screen manager with lazily created screens and pages.
+	 */
+	public static final String P_SCREEN_MANAGER = "screenManager";
+
+	/**
+	 * Preference key for pooling identical string literals into static const char arrays.
+	 */
+	public static final String P_STRING_POOLING = "stringPooling";
+
+	/**
+	 * Preference key for splitting the generated source into one file per top-level container.
+	 */
+	public static final String P_SPLIT_UNITS = "splitUnits";
+
 	/**
 	 * Default license header template.
 	 */
@@ -21,5 +21,10 @@ public class LvglPreferenceInitializer extends AbstractPreferenceInitializer {
 		IPreferenceStore store = Activator.getDefault().getPreferenceStore();
 		store.setDefault(LvglPreferenceConstants.P_LICENSE_HEADER, 
 				LvglPreferenceConstants.DEFAULT_LICENSE_HEADER);
+		store.setDefault(LvglPreferenceConstants.P_SHARED_STYLES, false);
+		store.setDefault(LvglPreferenceConstants.P_CREATION_MODE, "UNROLLED");
+		store.setDefault(LvglPreferenceConstants.P_SCREEN_MANAGER, false);
+		store.setDefault(LvglPreferenceConstants.P_STRING_POOLING, false);
+		store.setDefault(LvglPreferenceConstants.P_SPLIT_UNITS, false);
 	}
 }
@@ -6,6 +6,8 @@
  ******************************************************************************/
 package com.tlcsdm.eclipse.gefemf.demo.preferences;
 
+import org.eclipse.jface.preference.BooleanFieldEditor;
+import org.eclipse.jface.preference.ComboFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
@@ -16,7 +18,7 @@ import com.tlcsdm.eclipse.gefemf.demo.Activator;
  * Preference page for LVGL UI Editor settings.
  * <p>
  * This page allows users to configure the license header text that will be
- * added to generated C/H files.
+ * added to generated C/H files, and the code generation options.
  * </p>
  */
 public class LvglPreferencePage extends FieldEditorPreferencePage implements IWorkbenchPreferencePage {
@@ -33,6 +35,29 @@ public class LvglPreferencePage extends FieldEditorPreferencePage implements IWo
 				LvglPreferenceConstants.P_LICENSE_HEADER,
 				"License Header:",
 				getFieldEditorParent()));
+		addField(new BooleanFieldEditor(
+				LvglPreferenceConstants.P_SHARED_STYLES,
+				"Share identical widget styles (lv_style_t)",
+				getFieldEditorParent()));
+		addField(new ComboFieldEditor(
+				LvglPreferenceConstants.P_CREATION_MODE,
+				"Widget creation:",
+				new String[][] {
+						{ "One block of calls per widget", "UNROLLED" },
+						{ "Descriptor table and creation loop", "TABLE" } },
+				getFieldEditorParent()));
+		addField(new BooleanFieldEditor(
+				LvglPreferenceConstants.P_SCREEN_MANAGER,
+				"Generate screen manager (lazy screens and pages, screen cache)",
+				getFieldEditorParent()));
+		addField(new BooleanFieldEditor(
+				LvglPreferenceConstants.P_STRING_POOLING,
+				"Pool identical strings (static const char)",
+				getFieldEditorParent()));
+		addField(new BooleanFieldEditor(
+				LvglPreferenceConstants.P_SPLIT_UNITS,
+				"Split source into one file per top-level container",
+				getFieldEditorParent()));
 	}
 
 	@Override
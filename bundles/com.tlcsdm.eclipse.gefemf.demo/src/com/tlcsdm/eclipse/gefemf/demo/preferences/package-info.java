@@ -16,6 +16,11 @@
  *       首选项页面，在 Window → Preferences → LVGL UI Editor 下显示：
  *       <ul>
  *         <li>许可证头 - 代码生成时添加到文件头部的版权声明</li>
+ *         <li>共享样式 - 样式相同的控件共享静态 lv_style_t</li>
+ *         <li>控件创建模式 - 逐个生成调用，或使用描述符表和通用创建循环</li>
+ *         <li>屏幕管理器 - 屏幕和 Tab/Tile 页面首次显示时创建，缓存最近使用的屏幕</li>
+ *         <li>字符串池 - 屏幕中相同的文本只生成一个 static const char 数组</li>
+ *         <li>拆分编译单元 - 每个顶层容器的子树生成到单独的源文件</li>
  *         <li>其他代码生成选项</li>
  *       </ul>
  *   </li>
@@ -53,7 +58,7 @@
  * 
  * <h2>与其他包的关系</h2>
  * <ul>
- *   <li>被 generator 包读取，获取许可证头等配置</li>
+ *   <li>被 generator 包的 LvglGeneratorOptions 读取，获取许可证头等配置</li>
  *   <li>使用 Activator 获取 PreferenceStore</li>
  * </ul>
  * 
@@ -28,6 +28,9 @@ public class LvglScreenPropertySource implements IPropertySource {
 	private static final String CATEGORY_SIZE = "Size";
 	private static final String CATEGORY_STYLE = "Style";
 
+	/** The descriptors are the same for every screen, callers must not modify them */
+	private static final IPropertyDescriptor[] DESCRIPTORS = createDescriptors();
+
 	private final LvglScreen screen;
 
 	public LvglScreenPropertySource(LvglScreen screen) {
@@ -41,6 +44,10 @@ public class LvglScreenPropertySource implements IPropertySource {
 
 	@Override
 	public IPropertyDescriptor[] getPropertyDescriptors() {
+		return DESCRIPTORS;
+	}
+
+	private static IPropertyDescriptor[] createDescriptors() {
 		// General properties
 		TextPropertyDescriptor nameDescriptor = new TextPropertyDescriptor(PROPERTY_NAME, "Name");
 		nameDescriptor.setCategory(CATEGORY_GENERAL);
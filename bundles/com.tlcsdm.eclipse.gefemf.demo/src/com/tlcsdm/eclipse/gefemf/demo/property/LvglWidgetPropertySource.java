@@ -7,7 +7,9 @@
 package com.tlcsdm.eclipse.gefemf.demo.property;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.swt.graphics.RGB;
 import org.eclipse.ui.views.properties.IPropertyDescriptor;
@@ -25,7 +27,8 @@ import com.tlcsdm.eclipse.gefemf.demo.property.widget.WidgetPropertyProviderRegi
  * <p>
  * Common properties are defined here, while widget-specific properties
  * are delegated to {@link WidgetPropertyProvider} implementations registered
- * in the {@link WidgetPropertyProviderRegistry}.
+ * in the {@link WidgetPropertyProviderRegistry}. The descriptor array is built once per
+ * widget type and shared; callers must not modify it.
  * </p>
  */
 public class LvglWidgetPropertySource implements IPropertySource {
@@ -50,12 +53,31 @@ public class LvglWidgetPropertySource implements IPropertySource {
 	private static final String CATEGORY_SIZE = "Size";
 	private static final String CATEGORY_STYLE = "Style";
 
+	/** Descriptors of the properties every widget has */
+	private static final IPropertyDescriptor[] COMMON_DESCRIPTORS = createCommonDescriptors();
+
+	/**
+	 * Descriptors per widget type, with the provider descriptors they include. Only
+	 * accessed on the UI thread, like the Properties view.
+	 */
+	private static final Map<LvglWidget.WidgetType, CachedDescriptors> DESCRIPTORS = new EnumMap<>(
+			LvglWidget.WidgetType.class);
+
+	private record CachedDescriptors(List<IPropertyDescriptor> providerDescriptors,
+			IPropertyDescriptor[] descriptors) {
+	}
+
 	private final LvglWidget widget;
-	private final List<WidgetPropertyProvider> providers;
 
 	public LvglWidgetPropertySource(LvglWidget widget) {
 		this.widget = widget;
-		this.providers = WidgetPropertyProviderRegistry.getInstance().getProviders(widget.getWidgetType());
+	}
+
+	/**
+	 * Get the providers of the current widget type.
+	 */
+	private List<WidgetPropertyProvider> getProviders() {
+		return WidgetPropertyProviderRegistry.getInstance().getProviders(widget.getWidgetType());
 	}
 
 	@Override
@@ -65,6 +87,27 @@ public class LvglWidgetPropertySource implements IPropertySource {
 
 	@Override
 	public IPropertyDescriptor[] getPropertyDescriptors() {
+		List<IPropertyDescriptor> providerDescriptors = WidgetPropertyProviderRegistry.getInstance()
+				.getPropertyDescriptors(widget);
+		CachedDescriptors cached = DESCRIPTORS.get(widget.getWidgetType());
+		// The registry returns a new list after the providers of the type changed
+		if (cached == null || cached.providerDescriptors() != providerDescriptors) {
+			IPropertyDescriptor[] descriptors = new IPropertyDescriptor[COMMON_DESCRIPTORS.length
+					+ providerDescriptors.size()];
+			System.arraycopy(COMMON_DESCRIPTORS, 0, descriptors, 0, COMMON_DESCRIPTORS.length);
+			for (int i = 0; i < providerDescriptors.size(); i++) {
+				descriptors[COMMON_DESCRIPTORS.length + i] = providerDescriptors.get(i);
+			}
+			cached = new CachedDescriptors(providerDescriptors, descriptors);
+			DESCRIPTORS.put(widget.getWidgetType(), cached);
+		}
+		return cached.descriptors();
+	}
+
+	/**
+	 * Create the descriptors of the properties every widget has.
+	 */
+	private static IPropertyDescriptor[] createCommonDescriptors() {
 		List<IPropertyDescriptor> descriptors = new ArrayList<>();
 
 		// General properties
@@ -122,11 +165,6 @@ public class LvglWidgetPropertySource implements IPropertySource {
 		radiusDescriptor.setCategory(CATEGORY_STYLE);
 		descriptors.add(radiusDescriptor);
 
-		// Add widget-specific properties from registered providers
-		for (WidgetPropertyProvider provider : providers) {
-			descriptors.addAll(provider.getPropertyDescriptors(widget));
-		}
-
 		return descriptors.toArray(new IPropertyDescriptor[0]);
 	}
 
@@ -162,7 +200,7 @@ public class LvglWidgetPropertySource implements IPropertySource {
 			return String.valueOf(widget.getRadius());
 		default:
 			// Delegate to widget-specific providers
-			for (WidgetPropertyProvider provider : providers) {
+			for (WidgetPropertyProvider provider : getProviders()) {
 				Object value = provider.getPropertyValue(widget, propertyId);
 				if (value != null) {
 					return value;
@@ -206,7 +244,7 @@ public class LvglWidgetPropertySource implements IPropertySource {
 			return;
 		default:
 			// Delegate to widget-specific providers
-			for (WidgetPropertyProvider provider : providers) {
+			for (WidgetPropertyProvider provider : getProviders()) {
 				if (provider.resetPropertyValue(widget, propertyId)) {
 					return;
 				}
@@ -261,7 +299,7 @@ public class LvglWidgetPropertySource implements IPropertySource {
 			return;
 		default:
 			// Delegate to widget-specific providers
-			for (WidgetPropertyProvider provider : providers) {
+			for (WidgetPropertyProvider provider : getProviders()) {
 				if (provider.setPropertyValue(widget, propertyId, value)) {
 					return;
 				}
@@ -17,14 +17,15 @@
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.property.LvglWidgetPropertySource} - 
  *       LVGL 控件属性源，实现 IPropertySource 接口：
  *       <ul>
- *         <li>getPropertyDescriptors() - 返回属性描述符数组</li>
+ *         <li>getPropertyDescriptors() - 返回属性描述符数组，按控件类型缓存，
+ *             所有同类型控件共享同一个数组，提供者变化时重建</li>
  *         <li>getPropertyValue() - 获取属性值</li>
  *         <li>setPropertyValue() - 设置属性值</li>
  *         <li>使用 WidgetPropertyProviderRegistry 获取特定控件类型的属性</li>
  *       </ul>
  *   </li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.property.LvglScreenPropertySource} - 
- *       屏幕属性源，定义屏幕级别的属性（名称、尺寸、背景色等）</li>
+ *       屏幕属性源，定义屏幕级别的属性（名称、尺寸、背景色等），描述符数组只创建一次</li>
  * </ul>
  * 
  * <h3>PropertyDescriptor 类（属性描述符）</h3>
@@ -52,7 +53,7 @@
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.property.widget.WidgetPropertyProvider} - 
  *       属性提供者接口，定义获取属性描述符和处理属性值的方法</li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.property.widget.WidgetPropertyProviderRegistry} - 
- *       属性提供者注册表，根据控件类型返回对应的属性提供者</li>
+ *       属性提供者注册表，根据控件类型返回对应的属性提供者，并按类型缓存提供者的描述符</li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.property.widget.ImagePropertyProvider} - 
  *       图片控件属性提供者，添加图片源属性</li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.property.widget.CheckboxPropertyProvider} - 
@@ -85,8 +86,14 @@
  * 显示属性列表和编辑器
  *     │
  *     ▼
- * 用户修改属性 → setPropertyValue() → widget.setXxx()
+ * 用户修改属性 → UndoablePropertySheetEntry 为每个选中的控件创建 SetPropertyValueCommand
+ *     │
+ *     ▼
+ * CommandStack 执行复合命令 → setPropertyValue() → widget.setXxx()
  * </pre>
+ * <p>属性视图页由 DiagramEditor 提供（GEF 的 UndoablePropertySheetPage），因此属性修改
+ * 可以撤销/重做。多选控件时，一次修改作为一条复合命令应用到所有选中的控件，
+ * BatchingCommandStack 在命令执行完后每个控件只触发一次模型通知。
  * 
  * <h2>与其他包的关系</h2>
  * <ul>
@@ -32,7 +32,8 @@ public interface WidgetPropertyProvider {
 
 	/**
 	 * Get the property descriptors specific to this widget type.
-	 * These descriptors are added in addition to the common properties.
+	 * These descriptors are added in addition to the common properties. They are
+	 * cached per widget type, so they must not depend on the widget instance.
 	 * 
 	 * @param widget the widget instance
 	 * @return list of property descriptors
@@ -7,17 +7,21 @@
 package com.tlcsdm.eclipse.gefemf.demo.property.widget;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.ui.views.properties.IPropertyDescriptor;
+
 import com.tlcsdm.eclipse.gefemf.demo.model.LvglWidget;
 
 /**
  * Registry for widget-specific property providers.
  * <p>
  * This class manages the mapping between widget types and their property providers,
- * allowing for easy extension with custom widget types.
+ * allowing for easy extension with custom widget types. The descriptors of the providers
+ * are cached per widget type until the providers of the type change.
  * </p>
  */
 public class WidgetPropertyProviderRegistry {
@@ -26,6 +30,9 @@ public class WidgetPropertyProviderRegistry {
 	
 	private final Map<LvglWidget.WidgetType, List<WidgetPropertyProvider>> providers = new HashMap<>();
 
+	/** Descriptors of all providers per widget type, created on first use */
+	private final Map<LvglWidget.WidgetType, List<IPropertyDescriptor>> descriptors = new HashMap<>();
+
 	private WidgetPropertyProviderRegistry() {
 		// Register default providers
 		registerDefaultProviders();
@@ -51,6 +58,7 @@ public class WidgetPropertyProviderRegistry {
 	public void registerProvider(WidgetPropertyProvider provider) {
 		LvglWidget.WidgetType type = provider.getWidgetType();
 		providers.computeIfAbsent(type, k -> new ArrayList<>()).add(provider);
+		descriptors.remove(type);
 	}
 
 	/**
@@ -60,7 +68,25 @@ public class WidgetPropertyProviderRegistry {
 	 * @return list of property providers for the type, or empty list if none
 	 */
 	public List<WidgetPropertyProvider> getProviders(LvglWidget.WidgetType type) {
-		return providers.getOrDefault(type, new ArrayList<>());
+		return providers.getOrDefault(type, Collections.emptyList());
+	}
+
+	/**
+	 * Get the property descriptors of all providers for the type of a widget. They are
+	 * created once per widget type, so providers must not make them depend on the widget
+	 * instance.
+	 * 
+	 * @param widget a widget of the type
+	 * @return the unmodifiable descriptors; the same list until the providers of the type change
+	 */
+	public List<IPropertyDescriptor> getPropertyDescriptors(LvglWidget widget) {
+		return descriptors.computeIfAbsent(widget.getWidgetType(), type -> {
+			List<IPropertyDescriptor> typeDescriptors = new ArrayList<>();
+			for (WidgetPropertyProvider provider : getProviders(type)) {
+				typeDescriptors.addAll(provider.getPropertyDescriptors(widget));
+			}
+			return List.copyOf(typeDescriptors);
+		});
 	}
 
 	/**
@@ -70,6 +96,7 @@ public class WidgetPropertyProviderRegistry {
 	 */
 	public void unregisterProviders(LvglWidget.WidgetType type) {
 		providers.remove(type);
+		descriptors.remove(type);
 	}
 
 	/**
@@ -25,7 +25,9 @@
  *   </li>
  *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.property.widget.WidgetPropertyProviderRegistry} - 
  *       属性提供者注册表，维护控件类型到属性提供者的映射，
- *       根据 LvglWidget.WidgetType 返回对应的 WidgetPropertyProvider 列表</li>
+ *       根据 LvglWidget.WidgetType 返回对应的 WidgetPropertyProvider 列表（没有时返回共享的空列表）；
+ *       getPropertyDescriptors() 按控件类型缓存所有提供者的描述符，注册或注销提供者时失效，
+ *       因此提供者的描述符不能依赖具体的控件实例</li>
  * </ul>
  * 
  * <h2>属性提供者实现</h2>
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Content of a generated file that has not been written yet.
+ * <p>
+ * The content is written like any output stream. It stays in memory while it is small
+ * and moves to a temporary file once it exceeds {@link #MEMORY_LIMIT}, so generating a
+ * very large screen never holds the whole file in memory. Call {@link #dispose()} when
+ * the content is no longer needed to delete the temporary file.
+ * </p>
+ */
+public final class GeneratedContent extends OutputStream {
+
+	/** Content up to this size is kept in memory */
+	public static final int MEMORY_LIMIT = 1024 * 1024;
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private byte[] buffer = new byte[BUFFER_SIZE];
+	private int count;
+	private long size;
+	private Path file;
+	private OutputStream fileOut;
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		Objects.checkFromIndexSize(off, len, b.length);
+		if (file == null && count + len > MEMORY_LIMIT) {
+			spill();
+		}
+		if (file != null) {
+			fileOut.write(b, off, len);
+		} else {
+			if (count + len > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.min(Math.max(2 * buffer.length, count + len), MEMORY_LIMIT));
+			}
+			System.arraycopy(b, off, buffer, count, len);
+			count += len;
+		}
+		size += len;
+	}
+
+	/**
+	 * Move the content written so far into a temporary file.
+	 */
+	private void spill() throws IOException {
+		file = Files.createTempFile("lvgl-", ".gen");
+		fileOut = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+		fileOut.write(buffer, 0, count);
+		buffer = null;
+		count = 0;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (fileOut != null) {
+			fileOut.flush();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (fileOut != null) {
+			fileOut.close();
+		}
+	}
+
+	/**
+	 * @return the number of bytes written
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * Open a stream reading the content from the start. The content must not be written
+	 * to while it is read.
+	 */
+	public InputStream openStream() throws IOException {
+		if (file != null) {
+			fileOut.flush();
+			return Files.newInputStream(file);
+		}
+		return new ByteArrayInputStream(buffer, 0, count);
+	}
+
+	/**
+	 * Compare the content with a stream, stopping at the first difference.
+	 *
+	 * @param in the stream to compare with; it is read but not closed
+	 * @return true if the stream has exactly this content
+	 */
+	public boolean hasSameContent(InputStream in) throws IOException {
+		try (InputStream expected = openStream()) {
+			byte[] actualBuffer = new byte[BUFFER_SIZE];
+			byte[] expectedBuffer = new byte[BUFFER_SIZE];
+			while (true) {
+				int actualRead = in.readNBytes(actualBuffer, 0, BUFFER_SIZE);
+				int expectedRead = expected.readNBytes(expectedBuffer, 0, BUFFER_SIZE);
+				if (actualRead != expectedRead
+						|| Arrays.mismatch(actualBuffer, 0, actualRead, expectedBuffer, 0, expectedRead) != -1) {
+					return false;
+				}
+				if (actualRead < BUFFER_SIZE) {
+					return true;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Release the content and delete its temporary file, if any.
+	 */
+	public void dispose() {
+		buffer = null;
+		count = 0;
+		if (file != null) {
+			try {
+				fileOut.close();
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				file.toFile().deleteOnExit();
+			}
+			file = null;
+			fileOut = null;
+		}
+	}
+}
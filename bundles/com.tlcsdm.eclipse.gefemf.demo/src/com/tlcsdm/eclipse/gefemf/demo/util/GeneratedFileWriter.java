@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import com.tlcsdm.eclipse.gefemf.demo.Activator;
+
+/**
+ * Utility class for writing generated files into the workspace.
+ * Files whose content on disk already matches are left untouched, so their
+ * timestamps do not change and dependent builds are not triggered.
+ */
+public final class GeneratedFileWriter {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private GeneratedFileWriter() {
+		// Utility class, prevent instantiation
+	}
+
+	/**
+	 * Write the content to the file unless the file already has exactly this content.
+	 *
+	 * @param file    the file to create or update
+	 * @param content the new content
+	 * @param monitor the progress monitor, may be null
+	 * @return true if the file was created or updated, false if it was already up to date
+	 * @throws CoreException if the file cannot be read or written
+	 */
+	public static boolean writeIfChanged(IFile file, byte[] content, IProgressMonitor monitor) throws CoreException {
+		if (file.exists()) {
+			if (hasContent(file, content)) {
+				return false;
+			}
+			file.setContents(new ByteArrayInputStream(content), true, true, monitor);
+		} else {
+			file.create(new ByteArrayInputStream(content), true, monitor);
+		}
+		return true;
+	}
+
+	/**
+	 * Write the content to the file unless the file already has exactly this content.
+	 * The content is streamed from memory or its temporary file, without copying it.
+	 *
+	 * @param file    the file to create or update
+	 * @param content the new content
+	 * @param monitor the progress monitor, may be null
+	 * @return true if the file was created or updated, false if it was already up to date
+	 * @throws CoreException if the file cannot be read or written
+	 */
+	public static boolean writeIfChanged(IFile file, GeneratedContent content, IProgressMonitor monitor)
+			throws CoreException {
+		try {
+			if (file.exists()) {
+				try (InputStream in = file.getContents(true)) {
+					if (content.hasSameContent(in)) {
+						return false;
+					}
+				}
+				try (InputStream in = content.openStream()) {
+					file.setContents(in, true, true, monitor);
+				}
+			} else {
+				try (InputStream in = content.openStream()) {
+					file.create(in, true, monitor);
+				}
+			}
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID,
+					"Failed to write " + file.getFullPath(), e));
+		}
+		return true;
+	}
+
+	/**
+	 * Compare the file on disk with the content, stopping at the first difference.
+	 */
+	private static boolean hasContent(IFile file, byte[] content) throws CoreException {
+		try (InputStream in = file.getContents(true)) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int offset = 0;
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				if (offset + read > content.length
+						|| Arrays.mismatch(buffer, 0, read, content, offset, offset + read) != -1) {
+					return false;
+				}
+				offset += read;
+			}
+			return offset == content.length;
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID,
+					"Failed to read " + file.getFullPath(), e));
+		}
+	}
+}
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the replacements that turn one text into another.
+ * <p>
+ * The texts are compared line by line with the Myers difference algorithm, after the
+ * common leading and trailing lines are skipped, and every run of changed lines becomes
+ * one replacement narrowed to the characters that actually differ. The XML serializer
+ * writes one widget per line, so a change to a few widgets touches only their lines. When
+ * the texts differ in more than {@link #MAX_EDIT_DISTANCE} lines, the differing middle
+ * part is replaced as a whole instead.
+ * </p>
+ */
+public final class TextDiff {
+
+	/** Maximum number of inserted plus deleted lines the line comparison looks for */
+	public static final int MAX_EDIT_DISTANCE = 1000;
+
+	/**
+	 * Replacement of a region of the old text.
+	 *
+	 * @param offset the start of the region in the old text
+	 * @param length the length of the region in the old text
+	 * @param text   the new text of the region
+	 */
+	public record Replacement(int offset, int length, String text) {
+	}
+
+	private TextDiff() {
+	}
+
+	/**
+	 * Compute the replacements that turn a text into another.
+	 *
+	 * @return the replacements, ordered by offset and not overlapping; to apply them from
+	 *         the first to the last, shift the offset of each by the change in length of
+	 *         the ones before it
+	 */
+	public static List<Replacement> compute(String oldText, String newText) {
+		List<Replacement> replacements = new ArrayList<>();
+		if (oldText.equals(newText)) {
+			return replacements;
+		}
+		int[] oldStarts = lineStarts(oldText);
+		int[] newStarts = lineStarts(newText);
+		int oldLines = oldStarts.length - 1;
+		int newLines = newStarts.length - 1;
+
+		// Lines are compared by id, so every line is hashed once
+		Map<String, Integer> ids = new HashMap<>();
+		int[] oldIds = lineIds(oldText, oldStarts, ids);
+		int[] newIds = lineIds(newText, newStarts, ids);
+
+		int prefix = 0;
+		while (prefix < oldLines && prefix < newLines && oldIds[prefix] == newIds[prefix]) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < oldLines - prefix && suffix < newLines - prefix
+				&& oldIds[oldLines - 1 - suffix] == newIds[newLines - 1 - suffix]) {
+			suffix++;
+		}
+		int[] a = Arrays.copyOfRange(oldIds, prefix, oldLines - suffix);
+		int[] b = Arrays.copyOfRange(newIds, prefix, newLines - suffix);
+
+		boolean[] deleted = new boolean[a.length];
+		boolean[] inserted = new boolean[b.length];
+		if (!diff(a, b, deleted, inserted)) {
+			Arrays.fill(deleted, true);
+			Arrays.fill(inserted, true);
+		}
+
+		// Every run of deleted and inserted lines between two equal lines is one replacement
+		int i = 0;
+		int j = 0;
+		while (i < a.length || j < b.length) {
+			if (i < a.length && j < b.length && !deleted[i] && !inserted[j]) {
+				i++;
+				j++;
+				continue;
+			}
+			int oldStart = i;
+			int newStart = j;
+			while (i < a.length && deleted[i]) {
+				i++;
+			}
+			while (j < b.length && inserted[j]) {
+				j++;
+			}
+			addReplacement(replacements, oldText, oldStarts[prefix + oldStart], oldStarts[prefix + i], newText,
+					newStarts[prefix + newStart], newStarts[prefix + j]);
+		}
+		return replacements;
+	}
+
+	/**
+	 * Add the replacement of a region of the old text by a region of the new text,
+	 * without the characters both regions start or end with.
+	 */
+	private static void addReplacement(List<Replacement> replacements, String oldText, int oldStart, int oldEnd,
+			String newText, int newStart, int newEnd) {
+		while (oldStart < oldEnd && newStart < newEnd && oldText.charAt(oldStart) == newText.charAt(newStart)) {
+			oldStart++;
+			newStart++;
+		}
+		while (oldStart < oldEnd && newStart < newEnd && oldText.charAt(oldEnd - 1) == newText.charAt(newEnd - 1)) {
+			oldEnd--;
+			newEnd--;
+		}
+		if (oldStart < oldEnd || newStart < newEnd) {
+			replacements.add(new Replacement(oldStart, oldEnd - oldStart, newText.substring(newStart, newEnd)));
+		}
+	}
+
+	/**
+	 * Find a shortest edit script between two line sequences with the Myers algorithm.
+	 *
+	 * @return false if the sequences differ in more than {@link #MAX_EDIT_DISTANCE} lines
+	 */
+	private static boolean diff(int[] a, int[] b, boolean[] deleted, boolean[] inserted) {
+		int n = a.length;
+		int m = b.length;
+		int max = Math.min(n + m, MAX_EDIT_DISTANCE);
+		int offset = max + 1;
+		int[] v = new int[2 * max + 3];
+		// The diagonals reached after each number of edits, kept to trace the path back
+		List<int[]> trace = new ArrayList<>();
+		for (int d = 0; d <= max; d++) {
+			trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+			for (int k = -d; k <= d; k += 2) {
+				int x = k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1]) ? v[offset + k + 1]
+						: v[offset + k - 1] + 1;
+				int y = x - k;
+				while (x < n && y < m && a[x] == b[y]) {
+					x++;
+					y++;
+				}
+				v[offset + k] = x;
+				if (x >= n && y >= m) {
+					traceBack(trace, d, n, m, deleted, inserted);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static void traceBack(List<int[]> trace, int edits, int n, int m, boolean[] deleted,
+			boolean[] inserted) {
+		int x = n;
+		int y = m;
+		for (int d = edits; d > 0; d--) {
+			// The diagonals reached with d - 1 edits, indexed from -d
+			int[] v = trace.get(d);
+			int k = x - y;
+			int previousK = k == -d || (k != d && v[k - 1 + d] < v[k + 1 + d]) ? k + 1 : k - 1;
+			int previousX = v[previousK + d];
+			int previousY = previousX - previousK;
+			while (x > previousX && y > previousY) {
+				x--;
+				y--;
+			}
+			if (x == previousX) {
+				inserted[previousY] = true;
+			} else {
+				deleted[previousX] = true;
+			}
+			x = previousX;
+			y = previousY;
+		}
+	}
+
+	/**
+	 * @return the offset of every line, followed by the length of the text; a line
+	 *         includes its line delimiter
+	 */
+	private static int[] lineStarts(String text) {
+		int[] starts = new int[16];
+		int count = 1;
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) == '\n' && i + 1 < text.length()) {
+				if (count == starts.length) {
+					starts = Arrays.copyOf(starts, count * 2);
+				}
+				starts[count++] = i + 1;
+			}
+		}
+		if (text.isEmpty()) {
+			return new int[] { 0 };
+		}
+		starts = Arrays.copyOf(starts, count + 1);
+		starts[count] = text.length();
+		return starts;
+	}
+
+	private static int[] lineIds(String text, int[] starts, Map<String, Integer> ids) {
+		int[] lineIds = new int[starts.length - 1];
+		for (int i = 0; i < lineIds.length; i++) {
+			lineIds[i] = ids.computeIfAbsent(text.substring(starts[i], starts[i + 1]), line -> ids.size());
+		}
+		return lineIds;
+	}
+}
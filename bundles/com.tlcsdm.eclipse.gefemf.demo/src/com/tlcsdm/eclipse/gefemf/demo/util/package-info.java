@@ -21,6 +21,15 @@
  *       </ul>
  *       日志消息会显示在 Eclipse 的 Console 视图中，方便用户查看操作结果。
  *   </li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.util.GeneratedFileWriter} - 
+ *       生成文件写入工具，writeIfChanged 先将新内容与磁盘文件流式比较，
+ *       内容相同时不写入，保持文件时间戳不变</li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.util.GeneratedContent} - 
+ *       尚未写入的生成内容，作为 OutputStream 写入；不超过 1 MB 时保存在内存中，
+ *       超过后转存到临时文件，使峰值内存与屏幕大小无关；dispose() 删除临时文件</li>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.util.TextDiff} - 
+ *       文本差异计算，用 Myers 算法逐行比较两段文本，返回按偏移排序的最小替换区域，
+ *       供多页编辑器增量更新 XML 文档</li>
  * </ul>
  * 
  * <h2>Console 日志使用示例</h2>
@@ -41,6 +50,7 @@
  *   <li>被 handler 包用于输出命令执行结果</li>
  *   <li>被 editor 包用于输出保存等操作的错误信息</li>
  *   <li>被 generator 包用于输出代码生成进度</li>
+ *   <li>TextDiff 被 editor 包用于增量同步 XML 文档</li>
  * </ul>
  * 
  * @see org.eclipse.ui.console.MessageConsole
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+package com.tlcsdm.eclipse.gefemf.demo.view;
+
+import java.util.function.Function;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.TableViewerColumn;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IWorkbenchPart;
+import org.eclipse.ui.IWorkbenchPartReference;
+import org.eclipse.ui.part.ViewPart;
+
+import com.tlcsdm.eclipse.gefemf.demo.Activator;
+import com.tlcsdm.eclipse.gefemf.demo.editor.DiagramEditor;
+import com.tlcsdm.eclipse.gefemf.demo.editor.DiagramMultiPageEditor;
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglFootprintEstimator;
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglFootprintReport;
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglFootprintReport.WidgetFootprint;
+import com.tlcsdm.eclipse.gefemf.demo.generator.LvglGeneratorOptions;
+import com.tlcsdm.eclipse.gefemf.demo.model.LvglScreen;
+
+/**
+ * View showing the estimated RAM and flash footprint of every widget of the screen in
+ * the active LVGL editor. Columns sort when their header is clicked.
+ */
+public class LvglFootprintView extends ViewPart {
+
+	/** The view id */
+	public static final String ID = Activator.PLUGIN_ID + ".footprintView";
+
+	private TableViewer viewer;
+	private final FootprintComparator comparator = new FootprintComparator();
+	private LvglScreen screen;
+	private LvglFootprintReport report;
+
+	private final IPartListener2 partListener = new IPartListener2() {
+		@Override
+		public void partActivated(IWorkbenchPartReference partRef) {
+			LvglScreen activeScreen = getEditorScreen(partRef.getPart(false));
+			if (activeScreen != null) {
+				showScreen(activeScreen);
+			}
+		}
+	};
+
+	@Override
+	public void createPartControl(Composite parent) {
+		viewer = new TableViewer(parent, SWT.BORDER | SWT.FULL_SELECTION | SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL);
+		Table table = viewer.getTable();
+		table.setHeaderVisible(true);
+		table.setLinesVisible(true);
+
+		createColumn("Widget", 160, WidgetFootprint::getName);
+		createColumn("Type", 110, footprint -> footprint.getWidgetType().getDisplayName());
+		createColumn("RAM", 80, WidgetFootprint::getRam);
+		createColumn("Object RAM", 90, WidgetFootprint::getObjectRam);
+		createColumn("Style RAM", 80, WidgetFootprint::getStyleRam);
+		createColumn("Flash", 80, WidgetFootprint::getFlash);
+		createColumn("Code", 80, WidgetFootprint::getCodeBytes);
+		createColumn("Strings", 80, WidgetFootprint::getStringBytes);
+
+		viewer.setContentProvider(ArrayContentProvider.getInstance());
+		viewer.setComparator(comparator);
+
+		Action refreshAction = new Action("Refresh") {
+			@Override
+			public void run() {
+				if (screen != null) {
+					showScreen(screen);
+				}
+			}
+		};
+		refreshAction.setToolTipText("Estimate the footprint again");
+		getViewSite().getActionBars().getToolBarManager().add(refreshAction);
+
+		getSite().getPage().addPartListener(partListener);
+		LvglScreen activeScreen = getEditorScreen(getSite().getPage().getActiveEditor());
+		if (activeScreen != null) {
+			showScreen(activeScreen);
+		} else {
+			setContentDescription("Open an LVGL UI editor to estimate its footprint.");
+		}
+	}
+
+	private void createColumn(String title, int width, Function<WidgetFootprint, Object> value) {
+		TableViewerColumn column = new TableViewerColumn(viewer, SWT.NONE);
+		column.getColumn().setText(title);
+		column.getColumn().setWidth(width);
+		column.getColumn().setAlignment(title.equals("Widget") || title.equals("Type") ? SWT.LEFT : SWT.RIGHT);
+		column.setLabelProvider(new ColumnLabelProvider() {
+			@Override
+			public String getText(Object element) {
+				return String.valueOf(value.apply((WidgetFootprint) element));
+			}
+		});
+		column.getColumn().addListener(SWT.Selection, event -> sortBy(column.getColumn(), value));
+	}
+
+	private void sortBy(TableColumn column, Function<WidgetFootprint, Object> value) {
+		Table table = viewer.getTable();
+		boolean ascending = table.getSortColumn() != column || table.getSortDirection() != SWT.UP;
+		table.setSortColumn(column);
+		table.setSortDirection(ascending ? SWT.UP : SWT.DOWN);
+		comparator.setSortKey(value, ascending);
+		viewer.refresh();
+	}
+
+	/**
+	 * Estimate the footprint of the screen with the current generator preferences and show it.
+	 * The screen is kept for the Refresh action.
+	 *
+	 * @return the estimated footprint
+	 */
+	public LvglFootprintReport showScreen(LvglScreen screen) {
+		this.screen = screen;
+		report = new LvglFootprintEstimator(screen, LvglGeneratorOptions.fromPreferences()).estimate();
+		showReport();
+		return report;
+	}
+
+	/**
+	 * @return the screen whose footprint is shown, or null
+	 */
+	public LvglScreen getScreen() {
+		return screen;
+	}
+
+	/**
+	 * @return the footprint shown, or null
+	 */
+	public LvglFootprintReport getReport() {
+		return report;
+	}
+
+	private void showReport() {
+		if (viewer == null || viewer.getControl().isDisposed()) {
+			return;
+		}
+		viewer.setInput(report.getWidgets());
+		setContentDescription(String.format("%s: RAM %d bytes (objects %d, styles %d), flash %d bytes (code %d, strings %d)",
+				report.getScreenName(), report.getTotalRam(), report.getObjectRam(), report.getStyleRam(),
+				report.getTotalFlash(), report.getCodeBytes(), report.getStringBytes()));
+	}
+
+	private LvglScreen getEditorScreen(IWorkbenchPart part) {
+		if (part instanceof DiagramMultiPageEditor multiPageEditor) {
+			return multiPageEditor.getScreen();
+		} else if (part instanceof DiagramEditor diagramEditor) {
+			return diagramEditor.getScreen();
+		}
+		return null;
+	}
+
+	@Override
+	public void setFocus() {
+		viewer.getControl().setFocus();
+	}
+
+	@Override
+	public void dispose() {
+		getSite().getPage().removePartListener(partListener);
+		super.dispose();
+	}
+
+	/**
+	 * Sorts by the value of the selected column, numbers numerically and text alphabetically.
+	 */
+	private static class FootprintComparator extends ViewerComparator {
+
+		private Function<WidgetFootprint, Object> sortKey;
+		private boolean ascending = true;
+
+		void setSortKey(Function<WidgetFootprint, Object> sortKey, boolean ascending) {
+			this.sortKey = sortKey;
+			this.ascending = ascending;
+		}
+
+		@Override
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		public int compare(Viewer viewer, Object e1, Object e2) {
+			if (sortKey == null) {
+				// Keep the creation order until a column is selected
+				return 0;
+			}
+			Comparable value1 = (Comparable) sortKey.apply((WidgetFootprint) e1);
+			Comparable value2 = (Comparable) sortKey.apply((WidgetFootprint) e2);
+			int result = value1.compareTo(value2);
+			return ascending ? result : -result;
+		}
+	}
+}
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Tlcsdm. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ ******************************************************************************/
+
+/**
+ * 视图 - Views
+ * 
+ * <p>本包包含插件提供的 Eclipse 工作台视图。
+ * 
+ * <h2>核心类说明</h2>
+ * <ul>
+ *   <li>{@link com.tlcsdm.eclipse.gefemf.demo.view.LvglFootprintView} - 
+ *       LVGL 占用视图，显示当前编辑器屏幕的估算占用：
+ *       <ul>
+ *         <li>每行一个控件，列出 RAM（对象、样式）和 Flash（代码、字符串）字节数</li>
+ *         <li>点击列头按该列排序，再次点击切换升序/降序</li>
+ *         <li>激活其他 LVGL 编辑器时自动更新，工具栏"Refresh"重新估算最近显示的屏幕</li>
+ *         <li>视图描述中显示整个屏幕的合计</li>
+ *       </ul>
+ *   </li>
+ * </ul>
+ * 
+ * @see com.tlcsdm.eclipse.gefemf.demo.generator.LvglFootprintEstimator
+ */
+package com.tlcsdm.eclipse.gefemf.demo.view;